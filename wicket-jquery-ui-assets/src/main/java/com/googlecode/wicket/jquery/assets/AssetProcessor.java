@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.assets;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.mozilla.javascript.ErrorReporter;
+import org.mozilla.javascript.EvaluatorException;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.yahoo.platform.yui.compressor.CssCompressor;
+import com.yahoo.platform.yui.compressor.JavaScriptCompressor;
+
+/**
+ * Provides the build-time processing of the javascript and stylesheet resources of a module, so that they are not processed again and again at runtime:
+ * <ul>
+ * <li>Files having no minified counterpart are minified to {@code name.min.ext}, which Wicket serves in deployment mode</li>
+ * <li>Files are precompressed to {@code name.ext.gz} and {@code name.ext.br}, which are served by {@code PrecompressedResourceCachingStrategy} according to the
+ * {@code Accept-Encoding} request header</li>
+ * </ul>
+ * Minified files shipped in the source directories are never overwritten, and outputs that are up to date are not generated again. A file that fails to be
+ * minified is reported and left as is.<br/>
+ * <br/>
+ * Usage: {@code AssetProcessor <directory> [threshold [sources...]]}, where threshold is the minimum size, in bytes, of the files to be precompressed (default is
+ * {@value #THRESHOLD}), and sources are the directories the processed directory is built from
+ */
+public class AssetProcessor
+{
+	/** Default minimum size of the files to be precompressed */
+	public static final int THRESHOLD = 1024;
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final String MIN = ".min";
+
+	private final File directory;
+	private final int threshold;
+	private final File[] sources;
+	private final boolean brotli;
+
+	private int minified = 0;
+	private int compressed = 0;
+
+	/**
+	 * Main entry point
+	 *
+	 * @param args the directory to process, the optional threshold, and the optional source directories
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1)
+		{
+			System.err.println("Usage: AssetProcessor <directory> [threshold [sources...]]");
+			return;
+		}
+
+		int threshold = args.length > 1 ? Integer.parseInt(args[1]) : THRESHOLD;
+		File[] sources = new File[Math.max(0, args.length - 2)];
+
+		for (int i = 0; i < sources.length; i++)
+		{
+			sources[i] = new File(args[i + 2]);
+		}
+
+		new AssetProcessor(new File(args[0]), threshold, sources).process();
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param directory the directory to process, recursively
+	 * @param threshold the minimum size of the files to be precompressed
+	 * @param sources the directories the processed directory is built from, in which the shipped minified files are looked up
+	 */
+	public AssetProcessor(File directory, int threshold, File... sources)
+	{
+		this.directory = directory;
+		this.threshold = threshold;
+		this.sources = sources;
+		this.brotli = AssetProcessor.isBrotliAvailable();
+	}
+
+	// Methods //
+
+	/**
+	 * Processes the directory
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void process() throws IOException
+	{
+		if (!this.directory.isDirectory())
+		{
+			return; // ie: pom modules
+		}
+
+		if (!this.brotli)
+		{
+			AssetProcessor.log("brotli is not available on this platform, only gzip variants will be generated");
+		}
+
+		List<File> files = new ArrayList<File>();
+		AssetProcessor.collect(this.directory, files);
+
+		// minification first, so minified files are precompressed as well //
+		List<File> targets = new ArrayList<File>(files);
+
+		for (File file : files)
+		{
+			File min = this.minify(file);
+
+			if (min != null && !targets.contains(min))
+			{
+				targets.add(min);
+			}
+		}
+
+		for (File file : targets)
+		{
+			this.compress(file);
+		}
+
+		AssetProcessor.log(String.format("%s: %d file(s) minified, %d file(s) precompressed", this.directory, this.minified, this.compressed));
+	}
+
+	/**
+	 * Minifies a file, unless its minified counterpart is shipped or up to date
+	 *
+	 * @param file the source file
+	 * @return the minified {@link File}, or {@code null} if the file is already minified, or if it failed to be minified
+	 * @throws IOException if an I/O error occurs
+	 */
+	private File minify(File file) throws IOException
+	{
+		String name = file.getName();
+		int dot = name.lastIndexOf('.');
+		String basename = name.substring(0, dot);
+
+		if (basename.endsWith(MIN))
+		{
+			return null;
+		}
+
+		File min = new File(file.getParentFile(), basename + MIN + name.substring(dot));
+
+		if (this.isShipped(min) || AssetProcessor.isUpToDate(min, file))
+		{
+			return null;
+		}
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		try (Reader reader = new InputStreamReader(new ByteArrayInputStream(Files.readAllBytes(file.toPath())), UTF_8); Writer writer = new OutputStreamWriter(output, UTF_8))
+		{
+			if (name.endsWith(".css"))
+			{
+				new CssCompressor(reader).compress(writer, -1);
+			}
+			else
+			{
+				new JavaScriptCompressor(reader, new Reporter(file)).compress(writer, -1, true, false, false, false);
+			}
+		}
+		catch (EvaluatorException e)
+		{
+			AssetProcessor.log(String.format("unable to minify %s: %s", file, e.getMessage()));
+
+			return null;
+		}
+
+		Files.write(min.toPath(), output.toByteArray());
+		this.minified++;
+
+		return min;
+	}
+
+	/**
+	 * Writes the gzip and brotli variants of a file
+	 *
+	 * @param file the source file
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void compress(File file) throws IOException
+	{
+		if (file.length() < this.threshold)
+		{
+			return;
+		}
+
+		byte[] bytes = null;
+		File gz = new File(file.getPath() + ".gz");
+
+		if (!AssetProcessor.isUpToDate(gz, file))
+		{
+			bytes = Files.readAllBytes(file.toPath());
+			AssetProcessor.write(gz, AssetProcessor.gzip(bytes), bytes.length);
+		}
+
+		File br = new File(file.getPath() + ".br");
+
+		if (this.brotli && !AssetProcessor.isUpToDate(br, file))
+		{
+			bytes = bytes != null ? bytes : Files.readAllBytes(file.toPath());
+			AssetProcessor.write(br, Encoder.compress(bytes, new Encoder.Parameters().setQuality(11)), bytes.length);
+		}
+
+		if (bytes != null)
+		{
+			this.compressed++;
+		}
+	}
+
+	// Helpers //
+
+	/**
+	 * Indicates whether a file of the processed directory is shipped in one of the source directories
+	 *
+	 * @param file the file
+	 * @return {@code true} or {@code false}
+	 */
+	private boolean isShipped(File file)
+	{
+		String path = this.directory.toPath().relativize(file.toPath()).toString();
+
+		for (File source : this.sources)
+		{
+			if (new File(source, path).exists())
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Collects the javascript and stylesheet files of a directory, recursively
+	 *
+	 * @param directory the directory
+	 * @param files the list to add the files to
+	 */
+	private static void collect(File directory, List<File> files)
+	{
+		File[] children = directory.listFiles();
+
+		if (children != null)
+		{
+			for (File child : children)
+			{
+				if (child.isDirectory())
+				{
+					AssetProcessor.collect(child, files);
+				}
+				else if (child.getName().endsWith(".js") || child.getName().endsWith(".css"))
+				{
+					files.add(child);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether an output is up to date
+	 *
+	 * @param output the output file
+	 * @param file the source file
+	 * @return {@code true} if the output exists and is not older than the source
+	 */
+	private static boolean isUpToDate(File output, File file)
+	{
+		return output.exists() && output.lastModified() >= file.lastModified();
+	}
+
+	/**
+	 * Writes a compressed variant, unless it is not smaller than the source
+	 *
+	 * @param file the output file
+	 * @param bytes the compressed bytes
+	 * @param length the length of the source
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void write(File file, byte[] bytes, int length) throws IOException
+	{
+		if (bytes.length < length)
+		{
+			Files.write(file.toPath(), bytes);
+		}
+	}
+
+	/**
+	 * Gzips bytes, with the best compression level
+	 *
+	 * @param bytes the bytes
+	 * @return the compressed bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static byte[] gzip(byte[] bytes) throws IOException
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 3);
+
+		try (OutputStream stream = new GZIPOutputStream(output) {
+
+			{
+				this.def.setLevel(Deflater.BEST_COMPRESSION);
+			}
+		})
+		{
+			stream.write(bytes);
+		}
+
+		return output.toByteArray();
+	}
+
+	/**
+	 * Indicates whether the brotli native library is available on this platform
+	 *
+	 * @return {@code true} or {@code false}
+	 */
+	private static boolean isBrotliAvailable()
+	{
+		try
+		{
+			return Brotli4jLoader.isAvailable();
+		}
+		catch (Throwable t)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Logs a message to the standard output
+	 *
+	 * @param message the message
+	 */
+	private static void log(String message)
+	{
+		System.out.println("[assets] " + message);
+	}
+
+	// Classes //
+
+	/**
+	 * Provides the {@link ErrorReporter} of the javascript compressor, which reports warnings and throws on errors
+	 */
+	private static class Reporter implements ErrorReporter
+	{
+		private final File file;
+
+		public Reporter(File file)
+		{
+			this.file = file;
+		}
+
+		@Override
+		public void warning(String message, String sourceName, int line, String lineSource, int lineOffset)
+		{
+			// warnings (ie: undeclared variables) are not relevant here
+		}
+
+		@Override
+		public void error(String message, String sourceName, int line, String lineSource, int lineOffset)
+		{
+			throw this.runtimeError(message, sourceName, line, lineSource, lineOffset);
+		}
+
+		@Override
+		public EvaluatorException runtimeError(String message, String sourceName, int line, String lineSource, int lineOffset)
+		{
+			return new EvaluatorException(String.format("%s (%s:%d)", message, this.file.getName(), line));
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import com.googlecode.wicket.kendo.ui.scheduler.SchedulerEvent;
+
+/**
+ * Provides the datasets of the benchmarks<br/>
+ * Datasets are generated from a fixed seed, so that runs are comparable between versions.
+ */
+public class BenchmarkData
+{
+	private static final long SEED = 42L;
+
+	private static final String[] ADJECTIVES = { "Aged", "Blue", "Classic", "Dark", "Extra", "Fresh", "Golden", "Hot", "Imported", "Light", "Mild", "Original", "Premium", "Roasted", "Smoked", "Spicy", "Sweet", "Traditional", "Wild" };
+	private static final String[] NOUNS = { "Anchovies", "Bagels", "Beer", "Biscuits", "Camembert", "Chai", "Chocolate", "Coffee", "Crab Meat", "Gnocchi", "Lager", "Marmalade", "Mozzarella", "Pasta", "Pepper Sauce", "Ravioli", "Salmon", "Syrup", "Tofu", "Tea" };
+	private static final String[] UNITS = { "10 boxes x 20 bags", "24 - 12 oz bottles", "12 - 550 ml bottles", "48 - 6 oz jars", "36 boxes", "12 - 1 lb pkgs.", "5 kg pkg.", "24 - 0.5 l bottles" };
+
+	/**
+	 * Gets a list of {@link Product}{@code s}
+	 *
+	 * @param size the number of products
+	 * @return a new list
+	 */
+	public static List<Product> newProducts(int size)
+	{
+		Random random = new Random(SEED);
+		List<Product> list = new ArrayList<Product>(size);
+
+		for (int i = 0; i < size; i++)
+		{
+			String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " #" + i;
+			String description = UNITS[random.nextInt(UNITS.length)];
+			double price = random.nextInt(10000) / 100d;
+
+			list.add(new Product(i, name, description, price, "vendor #" + random.nextInt(50)));
+		}
+
+		return list;
+	}
+
+	/**
+	 * Gets a list of product names
+	 *
+	 * @param size the number of names
+	 * @return a new list
+	 */
+	public static List<String> newNames(int size)
+	{
+		List<String> list = new ArrayList<String>(size);
+
+		for (Product product : BenchmarkData.newProducts(size))
+		{
+			list.add(product.getName());
+		}
+
+		return list;
+	}
+
+	/**
+	 * Gets a list of {@link SchedulerEvent}{@code s}, spread over one year, one out of ten events being recurrent
+	 *
+	 * @param size the number of events
+	 * @return a new list
+	 */
+	public static List<SchedulerEvent> newSchedulerEvents(int size)
+	{
+		Random random = new Random(SEED);
+		List<SchedulerEvent> list = new ArrayList<SchedulerEvent>(size);
+
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2015, Calendar.JANUARY, 1, 8, 0);
+
+		for (int i = 0; i < size; i++)
+		{
+			calendar.set(Calendar.DAY_OF_YEAR, 1 + random.nextInt(365));
+			calendar.set(Calendar.HOUR_OF_DAY, 8 + random.nextInt(10));
+
+			Date start = calendar.getTime();
+			Date end = new Date(start.getTime() + (30 + random.nextInt(8) * 15) * 60000L);
+
+			SchedulerEvent event = new SchedulerEvent(i, NOUNS[random.nextInt(NOUNS.length)] + " meeting", start, end);
+			event.setDescription("Meeting #" + i);
+			event.setResource("roomId", random.nextInt(10));
+
+			if (i % 10 == 0)
+			{
+				event.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=10");
+			}
+
+			list.add(event);
+		}
+
+		return list;
+	}
+
+	/**
+	 * Utility class
+	 */
+	private BenchmarkData()
+	{
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.markup.html.WebMarkupContainer;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.markup.repeater.data.ListDataProvider;
+
+import com.googlecode.wicket.jquery.core.behavior.ChoiceModelBehavior;
+import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
+import com.googlecode.wicket.kendo.ui.datatable.DataSourceBehavior;
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
+import com.googlecode.wicket.kendo.ui.datatable.column.PropertyColumn;
+
+/**
+ * Provides the page hosting the components whose ajax behaviors are benchmarked
+ */
+public class BenchmarkPage extends WebPage
+{
+	private static final long serialVersionUID = 1L;
+
+	private final DataTable<Product> table;
+	private final ChoiceModelBehavior<Product> choiceBehavior;
+
+	/**
+	 * Constructor
+	 *
+	 * @param products the dataset
+	 * @param choices the number of choices returned by the {@link ChoiceModelBehavior}
+	 */
+	public BenchmarkPage(final List<Product> products, final int choices)
+	{
+		// DataTable //
+		this.table = new DataTable<Product>("datatable", BenchmarkPage.newColumns(), new ListDataProvider<Product>(products), 20);
+		this.add(this.table);
+
+		// Choices //
+		this.choiceBehavior = new ChoiceModelBehavior<Product>(new TextRenderer<Product>("name")) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public List<Product> getChoices()
+			{
+				return products.subList(0, Math.min(choices, products.size()));
+			}
+		};
+
+		this.add(new WebMarkupContainer("choices").add(this.choiceBehavior));
+	}
+
+	/**
+	 * Gets the columns of the {@link DataTable}
+	 *
+	 * @return the list of {@link IColumn}
+	 */
+	public static List<IColumn> newColumns()
+	{
+		List<IColumn> columns = new ArrayList<IColumn>();
+
+		columns.add(new PropertyColumn("ID", "id", 50));
+		columns.add(new PropertyColumn("Name", "name"));
+		columns.add(new PropertyColumn("Description", "description"));
+		columns.add(new PropertyColumn("Price", "price", 70));
+		columns.add(new PropertyColumn("Vendor", "vendor"));
+
+		return columns;
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link DataSourceBehavior} of the {@link DataTable}
+	 *
+	 * @return the {@link DataSourceBehavior}
+	 */
+	public Behavior getDataSourceBehavior()
+	{
+		return this.table.getBehaviors(DataSourceBehavior.class).get(0);
+	}
+
+	/**
+	 * Gets the {@link ChoiceModelBehavior}
+	 *
+	 * @return the {@link ChoiceModelBehavior}
+	 */
+	public Behavior getChoiceBehavior()
+	{
+		return this.choiceBehavior;
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.markup.repeater.data.ListDataProvider;
+import org.apache.wicket.util.tester.WicketTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
+import com.googlecode.wicket.kendo.ui.datatable.column.IExportableColumn;
+import com.googlecode.wicket.kendo.ui.datatable.export.CSVDataExporter;
+
+/**
+ * Benchmarks {@link CSVDataExporter#exportData(IDataProvider, List, OutputStream)}, to a stream that discards the output<br/>
+ * The exporter uses the application's converters, so the benchmark thread is bound to a {@link WicketTester} application.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CSVDataExporterBenchmark
+{
+	@Param({ "10000", "100000" })
+	private int size;
+
+	private WicketTester tester;
+	private IDataProvider<Product> provider;
+	private List<IExportableColumn> columns;
+	private CSVDataExporter exporter;
+	private CountingOutputStream output;
+
+	@Setup
+	public void setup()
+	{
+		this.tester = new WicketTester();
+
+		this.provider = new ListDataProvider<Product>(BenchmarkData.newProducts(this.size));
+		this.columns = new ArrayList<IExportableColumn>();
+
+		for (IColumn column : BenchmarkPage.newColumns())
+		{
+			this.columns.add((IExportableColumn) column);
+		}
+
+		this.exporter = new CSVDataExporter();
+		this.output = new CountingOutputStream();
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		this.tester.destroy();
+	}
+
+	@Benchmark
+	public long exportData() throws IOException
+	{
+		this.output.count = 0;
+		this.exporter.exportData(this.provider, this.columns, this.output);
+
+		return this.output.count;
+	}
+
+	/**
+	 * Provides an {@link OutputStream} that only counts the written bytes
+	 */
+	static class CountingOutputStream extends OutputStream
+	{
+		long count = 0;
+
+		@Override
+		public void write(int b)
+		{
+			this.count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len)
+		{
+			this.count += len;
+		}
+	}
+}
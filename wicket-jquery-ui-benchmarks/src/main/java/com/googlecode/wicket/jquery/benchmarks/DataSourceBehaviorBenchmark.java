@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.behavior.AbstractAjaxBehavior;
+import org.apache.wicket.util.tester.WicketTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataSourceBehavior;
+
+/**
+ * Benchmarks the page JSON of the {@link DataSourceBehavior}, that is a whole ajax request processed by a {@link WicketTester}, reading a page in the middle of the
+ * dataset
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataSourceBehaviorBenchmark
+{
+	@Param({ "10000" })
+	private int size;
+
+	@Param({ "20", "100" })
+	private int take;
+
+	private WicketTester tester;
+	private AbstractAjaxBehavior behavior;
+
+	@Setup
+	public void setup()
+	{
+		this.tester = new WicketTester();
+
+		BenchmarkPage page = this.tester.startPage(new BenchmarkPage(BenchmarkData.newProducts(this.size), 0));
+		this.behavior = (AbstractAjaxBehavior) page.getDataSourceBehavior();
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		this.tester.destroy();
+	}
+
+	@Benchmark
+	public int page()
+	{
+		this.tester.getRequest().setParameter("skip", String.valueOf(this.size / 2));
+		this.tester.getRequest().setParameter("take", String.valueOf(this.take));
+		this.tester.executeBehavior(this.behavior);
+
+		return this.tester.getLastResponse().getBinaryContent().length;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.jquery.core.data.HashIndex;
+import com.googlecode.wicket.jquery.core.utils.ListUtils;
+
+/**
+ * Benchmarks the lookup and the move of a sortable item by hashcode, using {@link ListUtils} and a {@link HashIndex}<br/>
+ * Each invocation moves the last item to the middle of the list, the way a drag and drop does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashIndexBenchmark
+{
+	@Param({ "100", "1000", "10000" })
+	private int size;
+
+	private List<String> names;
+	private HashIndex<String> index;
+
+	@Setup
+	public void setup()
+	{
+		this.names = BenchmarkData.newNames(this.size);
+		this.index = new HashIndex<String>();
+	}
+
+	@Benchmark
+	public String listUtils()
+	{
+		String item = ListUtils.fromHash(this.names.get(this.size - 1).hashCode(), this.names);
+		ListUtils.move(item, this.size / 2, this.names);
+
+		return item;
+	}
+
+	@Benchmark
+	public String hashIndex()
+	{
+		String item = this.index.get(this.names.get(this.size - 1).hashCode(), this.names);
+		this.index.move(item, this.size / 2, this.names);
+
+		return item;
+	}
+}
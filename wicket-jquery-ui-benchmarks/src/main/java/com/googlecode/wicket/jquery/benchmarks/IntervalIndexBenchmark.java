@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.jquery.core.data.IntervalIndex;
+
+/**
+ * Benchmarks the lookup of the events of a week, using a linear scan of the event list and an {@link IntervalIndex}<br/>
+ * Events last from 30 minutes to 4 hours, and are spread over 5 years.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalIndexBenchmark
+{
+	private static final long HOUR = 3600000L;
+	private static final long WEEK = 7 * 24 * HOUR;
+	private static final long SPAN = 5 * 52 * WEEK;
+
+	@Param({ "1000", "10000", "100000" })
+	private int size;
+
+	private long[][] events;
+	private IntervalIndex<long[]> index;
+	private Random random;
+
+	@Setup
+	public void setup()
+	{
+		this.random = new Random(42);
+		this.events = new long[this.size][];
+		this.index = new IntervalIndex<long[]>();
+
+		for (int i = 0; i < this.size; i++)
+		{
+			long start = (long) (this.random.nextDouble() * SPAN);
+			long end = start + HOUR / 2 + (long) (this.random.nextDouble() * 3.5 * HOUR);
+
+			this.events[i] = new long[] { start, end };
+			this.index.put(i, start, end, this.events[i]);
+		}
+	}
+
+	@Benchmark
+	public List<long[]> scan()
+	{
+		long start = this.nextWeek();
+		long end = start + WEEK;
+
+		List<long[]> list = new ArrayList<long[]>();
+
+		for (long[] event : this.events)
+		{
+			if (event[0] < end && event[1] > start)
+			{
+				list.add(event);
+			}
+		}
+
+		return list;
+	}
+
+	@Benchmark
+	public List<long[]> intervalIndex()
+	{
+		long start = this.nextWeek();
+
+		return this.index.query(start, start + WEEK);
+	}
+
+	private long nextWeek()
+	{
+		return (long) (this.random.nextDouble() * (SPAN - WEEK));
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.jquery.core.JQueryBehavior;
+
+/**
+ * Benchmarks {@link JQueryBehavior#$()}, the widget statement rendered on each page render and ajax refresh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JQueryBehaviorBenchmark
+{
+	@Param({ "10", "100" })
+	private int entries;
+
+	private StatementBehavior behavior;
+
+	@Setup
+	public void setup()
+	{
+		this.behavior = new StatementBehavior("#datatable1", "kendoGrid", this.entries);
+	}
+
+	@Benchmark
+	public String statement()
+	{
+		return this.behavior.statement();
+	}
+
+	/**
+	 * Exposes {@link JQueryBehavior#$()}
+	 */
+	static class StatementBehavior extends JQueryBehavior
+	{
+		private static final long serialVersionUID = 1L;
+
+		public StatementBehavior(String selector, String method, int entries)
+		{
+			super(selector, method, OptionsBenchmark.newOptions(entries));
+		}
+
+		public String statement()
+		{
+			return this.$();
+		}
+	}
+}
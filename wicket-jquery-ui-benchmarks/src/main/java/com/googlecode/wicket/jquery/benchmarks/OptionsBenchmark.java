@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.jquery.core.Options;
+
+/**
+ * Benchmarks {@link Options#toString()}, which is called for every widget statement<br/>
+ * The options mimic a widget configuration: literals, quoted strings, a nested {@link Options} and an array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionsBenchmark
+{
+	@Param({ "10", "100" })
+	private int entries;
+
+	private Options options;
+
+	@Setup
+	public void setup()
+	{
+		this.options = OptionsBenchmark.newOptions(this.entries);
+	}
+
+	@Benchmark
+	public String toJson()
+	{
+		return this.options.toString();
+	}
+
+	/**
+	 * Gets new {@link Options}
+	 *
+	 * @param entries the number of entries
+	 * @return new {@link Options}
+	 */
+	static Options newOptions(int entries)
+	{
+		Options options = new Options();
+
+		for (int i = 0; i < entries; i++)
+		{
+			switch (i % 5)
+			{
+			case 0:
+				options.set("number" + i, i);
+				break;
+			case 1:
+				options.set("boolean" + i, i % 2 == 0);
+				break;
+			case 2:
+				options.set("string" + i, Options.asString("value #" + i));
+				break;
+			case 3:
+				options.set("options" + i, new Options("field", Options.asString("name")).set("dir", Options.asString("asc")));
+				break;
+			default:
+				options.set("array" + i, 1, 2, 3, 4, 5);
+				break;
+			}
+		}
+
+		return options;
+	}
+}
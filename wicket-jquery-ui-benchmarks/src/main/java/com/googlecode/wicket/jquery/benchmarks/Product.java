@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.io.Serializable;
+
+/**
+ * Provides the bean of the benchmark datasets
+ */
+public class Product implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final int id;
+	private final String name;
+	private final String description;
+	private final double price;
+	private final String vendor;
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the id
+	 * @param name the name
+	 * @param description the description
+	 * @param price the price
+	 * @param vendor the vendor
+	 */
+	public Product(int id, String name, String description, double price, String vendor)
+	{
+		this.id = id;
+		this.name = name;
+		this.description = description;
+		this.price = price;
+		this.vendor = vendor;
+	}
+
+	// Properties //
+
+	public int getId()
+	{
+		return this.id;
+	}
+
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public String getDescription()
+	{
+		return this.description;
+	}
+
+	public double getPrice()
+	{
+		return this.price;
+	}
+
+	public String getVendor()
+	{
+		return this.vendor;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return this.id;
+	}
+
+	@Override
+	public boolean equals(Object object)
+	{
+		return (object instanceof Product) && (this.id == ((Product) object).id);
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.name;
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.ajax.json.JSONArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.kendo.ui.scheduler.SchedulerEvent;
+import com.googlecode.wicket.kendo.ui.scheduler.SchedulerEventFactory;
+
+/**
+ * Benchmarks {@link SchedulerEventFactory#toJson(SchedulerEvent)}, measuring the serialization of a whole scheduler feed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerEventFactoryBenchmark
+{
+	@Param({ "100", "1000" })
+	private int size;
+
+	private List<SchedulerEvent> events;
+
+	@Setup
+	public void setup()
+	{
+		this.events = BenchmarkData.newSchedulerEvents(this.size);
+	}
+
+	@Benchmark
+	public String toJson()
+	{
+		JSONArray array = new JSONArray();
+
+		for (SchedulerEvent event : this.events)
+		{
+			array.put(SchedulerEventFactory.toJson(event));
+		}
+
+		return array.toString();
+	}
+}
@@ -21,12 +21,15 @@ import java.util.List;
 
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
 import org.apache.wicket.util.lang.Args;
 import org.threeten.bp.LocalDateTime;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryContainer;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.data.ChangeSet;
 import com.googlecode.wicket.jquery.ui.calendar.EventSource.GoogleCalendar;
 
 /**
@@ -186,6 +189,17 @@ public class Calendar extends JQueryContainer implements ICalendarListener
 		this.add(this.modelBehavior);
 	}
 
+	@Override
+	public void renderHead(IHeaderResponse response)
+	{
+		super.renderHead(response);
+
+		if (this.modelBehavior.isSyncEnabled())
+		{
+			response.render(JavaScriptHeaderItem.forReference(ChangeSet.SYNC_STORE));
+		}
+	}
+
 	@Override
 	public void onConfigure(JQueryBehavior behavior)
 	{
@@ -193,7 +207,15 @@ public class Calendar extends JQueryContainer implements ICalendarListener
 
 		// builds sources //
 		StringBuilder sourceBuilder = new StringBuilder();
-		sourceBuilder.append(String.format("{ url: '%s' }", Calendar.this.modelBehavior.getCallbackUrl()));
+
+		if (Calendar.this.modelBehavior.isSyncEnabled())
+		{
+			sourceBuilder.append(String.format("{ events: %s }", this.getSyncFunction()));
+		}
+		else
+		{
+			sourceBuilder.append(String.format("{ url: '%s' }", Calendar.this.modelBehavior.getCallbackUrl()));
+		}
 
 		if (Calendar.this.sources != null)
 		{
@@ -249,6 +271,23 @@ public class Calendar extends JQueryContainer implements ICalendarListener
 		// noop
 	}
 
+	// Helpers //
+
+	/**
+	 * Gets the 'events' function of the source that synchronizes the events of the {@link CalendarModel}, see {@link CalendarModelBehavior#isSyncEnabled()}
+	 *
+	 * @return the 'events' function
+	 */
+	private String getSyncFunction()
+	{
+		return "(function() {" // lf
+				+ " var store = jQuery.syncStore('" + this.modelBehavior.getCallbackUrl() + "');" // lf
+				+ " return function(start, end, timezone, callback) {" // lf
+				+ "		store.fetch({ start: start.format('YYYY-MM-DD'), end: end.format('YYYY-MM-DD') }, callback, function() { callback([]); });" // lf
+				+ "	};" // lf
+				+ "})()";
+	}
+
 	// IJQueryWidget //
 
 	/**
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.calendar;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.threeten.bp.LocalDate;
+import org.threeten.bp.LocalDateTime;
+import org.threeten.bp.ZoneOffset;
+
+import com.googlecode.wicket.jquery.core.data.IntervalIndex;
+
+/**
+ * Provides an in-memory store of {@link CalendarEvent}{@code s}, indexed by id and by time interval, to be shared across sessions (ie: held by the application)<br/>
+ * Events are indexed on their local date-time, as the {@link CalendarModel} period is. An event having no end date is indexed as an instant.<br/>
+ * The store is thread-safe. The stored events are shared, so they should be replaced rather than modified once added.
+ *
+ * @see CalendarEventStoreModel
+ */
+public class CalendarEventStore extends IntervalIndex<CalendarEvent>
+{
+	/**
+	 * Constructor
+	 */
+	public CalendarEventStore()
+	{
+		super();
+	}
+
+	// Methods //
+
+	/**
+	 * Adds or replaces an event, according to its id
+	 *
+	 * @param event the {@link CalendarEvent}
+	 * @return this, for chaining
+	 */
+	public CalendarEventStore add(CalendarEvent event)
+	{
+		long start = CalendarEventStore.toEpochSecond(event.getStart());
+		long end = event.getEnd() != null ? CalendarEventStore.toEpochSecond(event.getEnd()) : start;
+
+		this.put(event.getId(), start, end, event);
+
+		return this;
+	}
+
+	/**
+	 * Adds or replaces events, according to their id
+	 *
+	 * @param events the {@link CalendarEvent}{@code s}
+	 * @return this, for chaining
+	 */
+	public CalendarEventStore addAll(Collection<? extends CalendarEvent> events)
+	{
+		for (CalendarEvent event : events)
+		{
+			this.add(event);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Gets the events that intersect the supplied period, ordered by start date
+	 *
+	 * @param start the period start, or {@code null} for no lower bound
+	 * @param end the period end, exclusive, or {@code null} for no upper bound
+	 * @return the list of {@link CalendarEvent}
+	 */
+	public List<CalendarEvent> getEvents(LocalDate start, LocalDate end)
+	{
+		long from = start != null ? CalendarEventStore.toEpochSecond(start.atStartOfDay()) : Long.MIN_VALUE;
+		long to = end != null ? CalendarEventStore.toEpochSecond(end.atStartOfDay()) : Long.MAX_VALUE;
+
+		return this.query(from, to);
+	}
+
+	// Helpers //
+
+	/**
+	 * Gets the number of seconds of a local date-time, as if it was in UTC
+	 *
+	 * @param date the {@link LocalDateTime}
+	 * @return the number of seconds
+	 */
+	private static long toEpochSecond(LocalDateTime date)
+	{
+		return date.toEpochSecond(ZoneOffset.UTC);
+	}
+}
@@ -25,10 +25,19 @@ import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.IRequestParameters;
 import org.apache.wicket.request.cycle.RequestCycle;
 import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.util.string.Strings;
+import org.apache.wicket.util.time.Duration;
 import org.threeten.bp.LocalDate;
 
+import com.googlecode.wicket.jquery.core.data.ChangeSet;
+import com.googlecode.wicket.jquery.core.data.IChangeSetProvider;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
+import com.googlecode.wicket.jquery.core.utils.HttpCacheUtils;
+
 /**
- * Provides the behavior that loads {@link CalendarEvent}{@code s} according to {@link CalendarModel} start &amp; end dates
+ * Provides the behavior that loads {@link CalendarEvent}{@code s} according to {@link CalendarModel} start &amp; end dates<br/>
+ * If the {@link CalendarModel} is an {@link IChangeSetProvider}, a request carrying the sync token of the client (see {@link ChangeSet#PARAMETER}) is responded with the
+ * {@link ChangeSet} since that token, instead of all the events of the period.
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -39,6 +48,9 @@ public class CalendarModelBehavior extends AbstractAjaxBehavior
 
 	private final CalendarModel model;
 
+	/** the sync token of the current request, {@code null} if it is not a sync request */
+	private transient String token = null;
+
 	/**
 	 * Constructor
 	 *
@@ -57,6 +69,7 @@ public class CalendarModelBehavior extends AbstractAjaxBehavior
 
 		final String start = parameters.getParameterValue("start").toString();
 		final String end = parameters.getParameterValue("end").toString();
+		this.token = parameters.getParameterValue(ChangeSet.PARAMETER).toString();
 
 		if (this.model != null)
 		{
@@ -91,6 +104,27 @@ public class CalendarModelBehavior extends AbstractAjaxBehavior
 		model.setEnd(date);
 	}
 
+	/**
+	 * Indicates whether the events can be synchronized, that is, whether the {@link CalendarModel} is an {@link IChangeSetProvider}
+	 *
+	 * @return {@code true} or {@code false}
+	 */
+	public boolean isSyncEnabled()
+	{
+		return this.model instanceof IChangeSetProvider;
+	}
+
+	/**
+	 * Gets the version of the events, which is used as the {@code ETag} of the response<br/>
+	 * As long as the version does not change, the browser revalidates its copy of the requested period and the events are not loaded.
+	 *
+	 * @return the version of the {@link CalendarModel} if it is an {@link IVersionProvider}, {@code null} otherwise (the response is not cacheable)
+	 */
+	protected String getVersion()
+	{
+		return HttpCacheUtils.getVersion(this.model);
+	}
+
 	/**
 	 * Gets the new {@link IRequestHandler} that will respond the list of {@link CalendarEvent} in a json format
 	 *
@@ -100,6 +134,37 @@ public class CalendarModelBehavior extends AbstractAjaxBehavior
 	{
 		return new CalendarModelRequestHandler();
 	}
+
+	/**
+	 * Gets the json representation of the {@link ChangeSet} since the supplied token
+	 *
+	 * @param token the sync token of the client, or {@code null}
+	 * @return the json representation
+	 */
+	@SuppressWarnings("unchecked")
+	private String getChanges(String token)
+	{
+		ChangeSet<? extends CalendarEvent> changes = ((IChangeSetProvider<? extends CalendarEvent>) this.model).getChanges(token);
+		StringBuilder builder = new StringBuilder("[ ");
+
+		int count = 0;
+		for (CalendarEvent event : changes.getUpdated())
+		{
+			if (this.model instanceof ICalendarVisitor)
+			{
+				event.accept((ICalendarVisitor) this.model); // last chance to set options
+			}
+
+			if (count++ > 0)
+			{
+				builder.append(", ");
+			}
+
+			builder.append(event.toString());
+		}
+
+		return changes.toJson(builder.append(" ]"));
+	}
 	
 	// Classes //
 
@@ -115,7 +180,19 @@ public class CalendarModelBehavior extends AbstractAjaxBehavior
 
 			final String encoding = Application.get().getRequestCycleSettings().getResponseRequestEncoding();
 			response.setContentType("text/json; charset=" + encoding);
-			response.disableCaching();
+
+			if (token != null && CalendarModelBehavior.this.isSyncEnabled())
+			{
+				response.disableCaching(); // the response depends on the changes since the token
+				response.write(CalendarModelBehavior.this.getChanges(Strings.isEmpty(token) ? null : token));
+
+				return;
+			}
+
+			if (HttpCacheUtils.isNotModified(response, CalendarModelBehavior.this.getVersion(), Duration.NONE))
+			{
+				return;
+			}
 
 			if (model != null)
 			{
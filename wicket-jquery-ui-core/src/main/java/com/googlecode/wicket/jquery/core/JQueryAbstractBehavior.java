@@ -97,7 +97,7 @@ public abstract class JQueryAbstractBehavior extends Behavior
 		JQueryLibrarySettings settings = getJQueryLibrarySettings();
 
 		// jQuery Globalize resource reference //
-		if (settings != null && settings.getJQueryGlobalizeReference() != null)
+		if (settings != null && settings.getJQueryGlobalizeReference() != null && this.isCultureAware(component))
 		{
 			this.renderPriorityHeaderItem(JavaScriptHeaderItem.forReference(settings.getJQueryGlobalizeReference()), response);
 		}
@@ -117,6 +117,30 @@ public abstract class JQueryAbstractBehavior extends Behavior
 		}
 
 		// Adds the statement //
+		this.renderStatement(response);
+	}
+
+	/**
+	 * Indicates whether the component needs the jQuery Globalize library<br/>
+	 * By default, only {@link IJQueryCultureWidget}{@code s} do, so pages without such widget do not download it.
+	 *
+	 * @param component the {@link Component} the behavior is bound to
+	 * @return {@code true} if the component is an {@link IJQueryCultureWidget}
+	 * @see JQueryLibrarySettings#getJQueryGlobalizeReference()
+	 */
+	protected boolean isCultureAware(Component component)
+	{
+		return component instanceof IJQueryCultureWidget;
+	}
+
+	/**
+	 * Renders the jQuery statement returned by {@link #$()}<br/>
+	 * By default, the statement is rendered 'on-dom-ready', see {@link #renderOnDomReadyScript(String, IHeaderResponse)}
+	 *
+	 * @param response the {@link IHeaderResponse}
+	 */
+	protected void renderStatement(IHeaderResponse response)
+	{
 		this.renderOnDomReadyScript(this.$(), response);
 	}
 
@@ -17,13 +17,22 @@
 package com.googlecode.wicket.jquery.core;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
 import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.resource.JQueryPluginResourceReference;
 import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.string.Strings;
+
+import com.googlecode.wicket.jquery.core.head.JQueryInitializerHeaderItem;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 
 /**
  * Provides a default implementation of {@link JQueryAbstractBehavior}.
@@ -35,6 +44,33 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 {
 	private static final long serialVersionUID = 1L;
 
+	/** the script providing {@code jQuery.lazyInit} */
+	private static final JQueryPluginResourceReference LAZY_INIT = new JQueryPluginResourceReference(JQueryBehavior.class, "JQueryBehavior.js");
+
+	/** Indicates, per class, whether {@link #$()} is overridden (in which case the statement cannot be aggregated) */
+	private static final ClassValue<Boolean> OVERRIDDEN = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(Class<?> type)
+		{
+			for (Class<?> c = type; c != null && c != JQueryBehavior.class; c = c.getSuperclass())
+			{
+				try
+				{
+					c.getDeclaredMethod("$");
+
+					return true;
+				}
+				catch (NoSuchMethodException e)
+				{
+					// continue
+				}
+			}
+
+			return false;
+		}
+	};
+
 	/**
 	 * Gets the jQuery statement.
 	 *
@@ -54,6 +90,12 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 
 	private List<String> events = null;
 
+	/** whether the initialization is deferred; {@code null} means that the {@link JQueryLibrarySettings} default applies */
+	private Boolean lazy = null;
+
+	/** serialized forms of immutable option subtrees, reused across renders */
+	private Map<String, String> immutables = null;
+
 	/**
 	 * Constructor
 	 *
@@ -114,6 +156,43 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 		}
 	}
 
+	/**
+	 * {@inheritDoc}<br/>
+	 * If the statement can be aggregated (see {@link #isAggregated()}), it is added to the response's {@link JQueryInitializerHeaderItem} instead<br/>
+	 * If the behavior is lazy (see {@link #isLazy()}), the statement is deferred until the element becomes visible or is first interacted with
+	 */
+	@Override
+	protected void renderStatement(IHeaderResponse response)
+	{
+		final boolean lazy = this.isLazy();
+
+		if (lazy)
+		{
+			this.renderPriorityHeaderItem(JavaScriptHeaderItem.forReference(LAZY_INIT), response);
+		}
+
+		if (this.isAggregated())
+		{
+			JQueryInitializerHeaderItem item = JQueryInitializerHeaderItem.get();
+
+			if (item.add(this.selector, this.method, this.options, lazy))
+			{
+				response.render(item);
+
+				return;
+			}
+		}
+
+		if (lazy)
+		{
+			this.renderOnDomReadyScript(String.format("jQuery.lazyInit('%s', function() { %s });", this.selector, this.$()), response);
+		}
+		else
+		{
+			super.renderStatement(response);
+		}
+	}
+
 	/**
 	 * Removes the element matching the current selector from the DOM.<br/>
 	 * The {@code #detach} method is the same as {@code #remove}, except that {@code #detach} keeps all jQuery data associated with the removed elements.<br/>
@@ -143,6 +222,55 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 
 	// Properties //
 
+	/**
+	 * Indicates whether the widget statement should be aggregated into the response's {@link JQueryInitializerHeaderItem}<br/>
+	 * This is the case if the aggregation is enabled in the {@link JQueryLibrarySettings}, if the response is a full page render (not an ajax response) and if {@link #$()} is not overridden.
+	 *
+	 * @return {@code true} if the statement should be aggregated
+	 */
+	protected boolean isAggregated()
+	{
+		JQueryLibrarySettings settings = getJQueryLibrarySettings();
+
+		if (settings != null && settings.isScriptAggregationEnabled() && !Strings.isEmpty(this.method))
+		{
+			return RequestCycleUtils.getRequestHandler() == null && !OVERRIDDEN.get(this.getClass());
+		}
+
+		return false;
+	}
+
+	/**
+	 * Indicates whether the widget initialization is deferred until the element becomes visible (IntersectionObserver) or is first interacted with.
+	 *
+	 * @return the value supplied to {@link #setLazy(boolean)}, or the {@link JQueryLibrarySettings#isLazyInitializationEnabled()} default
+	 */
+	public boolean isLazy()
+	{
+		if (this.lazy != null)
+		{
+			return this.lazy;
+		}
+
+		JQueryLibrarySettings settings = getJQueryLibrarySettings();
+
+		return settings != null && settings.isLazyInitializationEnabled();
+	}
+
+	/**
+	 * Sets whether the widget initialization should be deferred until the element becomes visible (IntersectionObserver) or is first interacted with.<br/>
+	 * <b>Warning: </b> statements that rely on the widget instance (ie: {@code jQuery('#myId').data('kendoGrid')}) should not be executed before the widget is initialized.
+	 *
+	 * @param lazy {@code true} to defer the initialization
+	 * @return the {@link JQueryBehavior} (this)
+	 */
+	public JQueryBehavior setLazy(boolean lazy)
+	{
+		this.lazy = lazy;
+
+		return this;
+	}
+
 	/**
 	 * Gets the selector
 	 *
@@ -249,6 +377,83 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 		}
 	}
 
+	/**
+	 * Gets the serialized form of an immutable option subtree, previously supplied to {@link #setImmutableOption(String, Object)}
+	 *
+	 * @param key the subtree key (ie: "dataSource.schema")
+	 * @return the serialized subtree, or {@code null} if it has not been supplied yet or has been invalidated
+	 */
+	protected final String getImmutableOption(String key)
+	{
+		if (this.immutables != null)
+		{
+			return this.immutables.get(key);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Marks an option subtree as immutable: the value is serialized once, and the serialized form is kept until it is invalidated.<br/>
+	 * The returned string can be supplied as-is as an option value, so it will not be serialized again on subsequent renders and ajax repaints.<br/>
+	 * <br/>
+	 * Usage:
+	 *
+	 * <pre>
+	 * <code>
+	 * String schema = this.getImmutableOption("dataSource.schema");
+	 *
+	 * if (schema == null)
+	 * {
+	 * 	schema = this.setImmutableOption("dataSource.schema", this.newSchema());
+	 * }
+	 *
+	 * source.set("schema", schema);
+	 * </code>
+	 * </pre>
+	 *
+	 * <b>Warning: </b> the subtree should not contain render-dependent values, like callback urls.
+	 *
+	 * @param key the subtree key (ie: "dataSource.schema")
+	 * @param value the subtree value, typically an {@link Options} or a JSON string
+	 * @return the serialized subtree
+	 * @see #invalidateOption(String)
+	 */
+	protected final String setImmutableOption(String key, Object value)
+	{
+		String json = String.valueOf(value);
+
+		if (this.immutables == null)
+		{
+			this.immutables = new HashMap<String, String>();
+		}
+
+		this.immutables.put(key, json);
+
+		return json;
+	}
+
+	/**
+	 * Invalidates the serialized form of an immutable option subtree, so it will be computed again on next render
+	 *
+	 * @param key the subtree key (ie: "dataSource.schema")
+	 */
+	public void invalidateOption(String key)
+	{
+		if (this.immutables != null)
+		{
+			this.immutables.remove(key);
+		}
+	}
+
+	/**
+	 * Invalidates the serialized forms of all immutable option subtrees
+	 */
+	public void invalidateOptions()
+	{
+		this.immutables = null;
+	}
+
 	// Statements //
 
 	/**
@@ -16,25 +16,29 @@
  */
 package com.googlecode.wicket.jquery.core;
 
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.util.io.IClusterable;
 
-import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
 import com.googlecode.wicket.jquery.core.utils.DateUtils;
 
 /**
- * Provides a wrapper on a {@link Map} that will contains jQuery behavior options (key/value).<br/>
- * the {@link #toString()} methods returns the JSON representation of the options.
+ * Provides an insertion-ordered store that will contains jQuery behavior options (key/value).<br/>
+ * the {@link #toString()} methods returns the JSON representation of the options.<br/>
+ * Keys and values are kept in compact arrays, so the output is deterministic (options are rendered in the order they have been set) and the JSON can be appended directly to an {@link Appendable}, nested
+ * {@link Options} included, using {@link #appendTo(Appendable)}.
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -45,6 +49,9 @@ public class Options implements IClusterable
 
 	public static final String QUOTE = "\"";
 
+	/** initial capacity of the store */
+	private static final int CAPACITY = 8;
+
 	/**
 	 * Converts an object to its javascript representation. ie: "myvalue" (with the double quotes)<br/>
 	 * If the supplied value is null, "null" is returned
@@ -131,14 +138,17 @@ public class Options implements IClusterable
 		return builder.toString();
 	}
 
-	private final Map<String, Object> map;
+	private String[] keys;
+	private Object[] values;
+	private int size = 0;
 
 	/**
 	 * Constructor.
 	 */
 	public Options()
 	{
-		this.map = new HashMap<String, Object>();
+		this.keys = new String[CAPACITY];
+		this.values = new Object[CAPACITY];
 	}
 
 	/**
@@ -201,11 +211,11 @@ public class Options implements IClusterable
 	@SuppressWarnings("unchecked")
 	public <T extends Object> T get(String key)
 	{
-		Object value = this.map.get(key);
+		int index = this.indexOf(key);
 
-		if (value != null)
+		if (index > -1)
 		{
-			return (T) value;
+			return (T) this.values[index];
 		}
 
 		return null;
@@ -221,13 +231,22 @@ public class Options implements IClusterable
 	 */
 	public final Options set(String key, Object value)
 	{
+		int index = this.indexOf(key);
+
 		if (value == null)
 		{
-			this.map.remove(key);
+			if (index > -1)
+			{
+				this.removeAt(index);
+			}
+		}
+		else if (index > -1)
+		{
+			this.values[index] = value; // keeps the insertion order
 		}
 		else
 		{
-			this.map.put(key, value);
+			this.add(key, value);
 		}
 
 		return this;
@@ -294,11 +313,60 @@ public class Options implements IClusterable
 	/**
 	 * Gets a read-only entry set of options
 	 *
-	 * @return an unmodifiable set of internal map entries
+	 * @return an unmodifiable set of entries, in insertion order
 	 */
 	public Set<Entry<String, Object>> entries()
 	{
-		return Collections.unmodifiableSet(this.map.entrySet());
+		return new EntrySet();
+	}
+
+	/**
+	 * Gets the number of options
+	 *
+	 * @return the number of options
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Indicates whether there is no options
+	 *
+	 * @return {@code true} if there is no options
+	 */
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	/**
+	 * Appends the JSON representation of the Options to the supplied {@link Appendable}<br/>
+	 * Nested {@link Options} are appended directly, without intermediate {@link #toString()}
+	 *
+	 * @param appendable the {@link Appendable} (ie: a {@link StringBuilder} or a {@link java.io.Writer})
+	 * @return the {@link Appendable}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public <A extends Appendable> A appendTo(A appendable) throws IOException
+	{
+		appendable.append("{ ");
+
+		for (int i = 0; i < this.size; i++)
+		{
+			if (i > 0)
+			{
+				appendable.append(", ");
+			}
+
+			Options.appendKey(appendable, this.keys[i]);
+			appendable.append(": ");
+			Options.appendValue(appendable, this.values[i]);
+		}
+
+		appendable.append(" }");
+
+		return appendable;
 	}
 
 	/**
@@ -307,19 +375,157 @@ public class Options implements IClusterable
 	@Override
 	public String toString()
 	{
-		StringBuilder builder = new StringBuilder("{ ");
+		try
+		{
+			return this.appendTo(new StringBuilder(16 + this.size * 24)).toString();
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e); // cannot happen with a StringBuilder
+		}
+	}
 
-		int i = 0;
-		for (Entry<String, Object> entry : this.map.entrySet())
+	// Helpers //
+
+	/**
+	 * Gets the index of the key
+	 *
+	 * @param key the key
+	 * @return the index or -1 if not found
+	 */
+	private int indexOf(String key)
+	{
+		for (int i = 0; i < this.size; i++)
 		{
-			if (i++ > 0)
+			if (this.keys[i].equals(key))
 			{
-				builder.append(", ");
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private void add(String key, Object value)
+	{
+		if (this.size == this.keys.length)
+		{
+			this.keys = Arrays.copyOf(this.keys, this.size * 2);
+			this.values = Arrays.copyOf(this.values, this.size * 2);
+		}
+
+		this.keys[this.size] = key;
+		this.values[this.size] = value;
+		this.size++;
+	}
+
+	private void removeAt(int index)
+	{
+		int moved = this.size - index - 1;
+
+		if (moved > 0)
+		{
+			System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+			System.arraycopy(this.values, index + 1, this.values, index, moved);
+		}
+
+		this.size--;
+		this.keys[this.size] = null;
+		this.values[this.size] = null;
+	}
+
+	/**
+	 * Appends the quoted key. The key is quoted using {@link JSONObject#quote(String)} only if it contains characters to be escaped
+	 *
+	 * @param appendable the {@link Appendable}
+	 * @param key the key
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void appendKey(Appendable appendable, String key) throws IOException
+	{
+		for (int i = 0; i < key.length(); i++)
+		{
+			char c = key.charAt(i);
+
+			if (c < ' ' || c == '"' || c == '\\' || c == '/' || c >= '\u0080')
+			{
+				appendable.append(JSONObject.quote(key));
+				return;
 			}
+		}
+
+		appendable.append('"').append(key).append('"');
+	}
 
-			BuilderUtils.append(builder, entry.getKey(), entry.getValue());
+	/**
+	 * Appends the value, which is *not* quoted
+	 *
+	 * @param appendable the {@link Appendable}
+	 * @param value the value
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void appendValue(Appendable appendable, Object value) throws IOException
+	{
+		if (value instanceof Options)
+		{
+			((Options) value).appendTo(appendable);
+		}
+		else if (value instanceof CharSequence)
+		{
+			appendable.append((CharSequence) value);
 		}
+		else
+		{
+			appendable.append(String.valueOf(value));
+		}
+	}
+
+	// Classes //
 
-		return builder.append(" }").toString();
+	/**
+	 * Provides the read-only, insertion-ordered, entry set view
+	 */
+	private class EntrySet extends AbstractSet<Entry<String, Object>>
+	{
+		@Override
+		public Iterator<Entry<String, Object>> iterator()
+		{
+			return new Iterator<Entry<String, Object>>() {
+
+				private int index = 0;
+
+				@Override
+				public boolean hasNext()
+				{
+					return this.index < Options.this.size;
+				}
+
+				@Override
+				public Entry<String, Object> next()
+				{
+					if (!this.hasNext())
+					{
+						throw new NoSuchElementException();
+					}
+
+					Entry<String, Object> entry = new SimpleImmutableEntry<String, Object>(Options.this.keys[this.index], Options.this.values[this.index]);
+					this.index++;
+
+					return entry;
+				}
+
+				@Override
+				public void remove()
+				{
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public int size()
+		{
+			return Options.this.size;
+		}
 	}
 }
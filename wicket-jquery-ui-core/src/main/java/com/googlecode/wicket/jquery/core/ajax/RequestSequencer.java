@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.ajax;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.Url.QueryParameter;
+import org.apache.wicket.request.cycle.AbstractRequestCycleListener;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.session.ISessionStore.UnboundListener;
+import org.apache.wicket.util.string.StringValue;
+
+/**
+ * Provides the application-scoped registry of the latest sequence numbers sent by clients to a callback url<br/>
+ * Requests to a same page are processed one at a time, so a client typing in an auto-complete field may queue several requests, of which only the last one is still
+ * relevant. As sequence numbers are recorded when the request begins, before the page is locked, a queued request can tell that it has been superseded and skip its
+ * processing (see {@link #isObsolete(RequestCycle)}).
+ */
+public class RequestSequencer
+{
+	/** The request header holding the sequence number, which is not a query parameter so that the callback url remains cacheable */
+	public static final String HEADER = "X-Request-Sequence";
+
+	private static final MetaDataKey<RequestSequencer> KEY = new MetaDataKey<RequestSequencer>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	/**
+	 * Gets the {@link RequestSequencer} of the current {@link Application}, installing it if needed
+	 *
+	 * @return the {@link RequestSequencer}
+	 */
+	public static RequestSequencer get()
+	{
+		return RequestSequencer.get(Application.get());
+	}
+
+	/**
+	 * Gets the {@link RequestSequencer} of the supplied {@link Application}, installing it if needed
+	 *
+	 * @param application the {@link Application}
+	 * @return the {@link RequestSequencer}
+	 */
+	public static RequestSequencer get(Application application)
+	{
+		RequestSequencer sequencer = application.getMetaData(KEY);
+
+		if (sequencer == null)
+		{
+			sequencer = RequestSequencer.install(application);
+		}
+
+		return sequencer;
+	}
+
+	/**
+	 * Installs the {@link RequestSequencer} to the supplied {@link Application}, unless another thread did it in the meantime
+	 *
+	 * @param application the {@link Application}
+	 * @return the {@link RequestSequencer}
+	 */
+	private static synchronized RequestSequencer install(Application application)
+	{
+		RequestSequencer sequencer = application.getMetaData(KEY);
+
+		if (sequencer == null)
+		{
+			sequencer = new RequestSequencer(application);
+			sequencer.register();
+			application.setMetaData(KEY, sequencer);
+		}
+
+		return sequencer;
+	}
+
+	private final Application application;
+	private final ConcurrentMap<String, Long> sequences = new ConcurrentHashMap<String, Long>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param application the {@link Application}
+	 */
+	private RequestSequencer(Application application)
+	{
+		this.application = application;
+	}
+
+	/**
+	 * Registers the listeners that record the sequence numbers and release them on session unbound
+	 */
+	private void register()
+	{
+		this.application.getRequestCycleListeners().add(new AbstractRequestCycleListener() {
+
+			@Override
+			public void onBeginRequest(RequestCycle cycle)
+			{
+				RequestSequencer.this.record(cycle.getRequest());
+			}
+		});
+
+		this.application.getSessionStore().registerUnboundListener(new UnboundListener() {
+
+			@Override
+			public void sessionUnbound(String sessionId)
+			{
+				RequestSequencer.this.release(sessionId);
+			}
+		});
+	}
+
+	// Methods //
+
+	/**
+	 * Indicates whether the current request has been superseded by a request with a higher sequence number, to the same callback url and from the same session
+	 *
+	 * @param cycle the {@link RequestCycle}
+	 * @return {@code true} if the request is obsolete, {@code false} if it is the latest or if it has no sequence number
+	 */
+	public boolean isObsolete(RequestCycle cycle)
+	{
+		Request request = cycle.getRequest();
+		long sequence = RequestSequencer.getSequence(request);
+
+		if (sequence > 0)
+		{
+			String key = this.getKey(request);
+
+			if (key != null)
+			{
+				Long latest = this.sequences.get(key);
+
+				return latest != null && sequence < latest;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Records the sequence number of a request, if it is the latest one
+	 *
+	 * @param request the {@link Request}
+	 */
+	private void record(Request request)
+	{
+		long sequence = RequestSequencer.getSequence(request);
+
+		if (sequence > 0)
+		{
+			String key = this.getKey(request);
+
+			while (key != null)
+			{
+				Long latest = this.sequences.putIfAbsent(key, sequence);
+
+				if (latest == null || latest >= sequence || this.sequences.replace(key, latest, sequence))
+				{
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Releases the sequence numbers of a session
+	 *
+	 * @param sessionId the session id
+	 */
+	private void release(String sessionId)
+	{
+		String prefix = sessionId + "|";
+
+		for (String key : this.sequences.keySet())
+		{
+			if (key.startsWith(prefix))
+			{
+				this.sequences.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Gets the key of a request, made of the session id and of the callback url (the path and the page component info)
+	 *
+	 * @param request the {@link Request}
+	 * @return the key, or {@code null} if there is no session
+	 */
+	private String getKey(Request request)
+	{
+		String sessionId = this.application.getSessionStore().getSessionId(request, false);
+
+		if (sessionId == null)
+		{
+			return null;
+		}
+
+		Url url = request.getUrl();
+		List<QueryParameter> parameters = url.getQueryParameters();
+		String info = parameters.isEmpty() ? "" : parameters.get(0).getName();
+
+		return sessionId + "|" + url.getPath() + "?" + info;
+	}
+
+	/**
+	 * Gets the sequence number of a request
+	 *
+	 * @param request the {@link Request}
+	 * @return the sequence number, or {@code 0} if the request has none
+	 */
+	private static long getSequence(Request request)
+	{
+		if (request instanceof WebRequest)
+		{
+			return StringValue.valueOf(((WebRequest) request).getHeader(HEADER)).toLong(0L);
+		}
+
+		return 0L;
+	}
+}
@@ -25,13 +25,21 @@ import org.apache.wicket.request.IRequestCycle;
 import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.cycle.RequestCycle;
 import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.resource.JQueryPluginResourceReference;
+import org.apache.wicket.util.time.Duration;
 
+import com.googlecode.wicket.jquery.core.ajax.RequestSequencer;
 import com.googlecode.wicket.jquery.core.data.IChoiceProvider;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
 import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
 import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
+import com.googlecode.wicket.jquery.core.utils.HttpCacheUtils;
 
 /**
- * Provides the choice ajax loading behavior
+ * Provides the choice ajax loading behavior<br/>
+ * If a version of the choices is provided (see {@link #getVersion()}), the response is validated by the browser cache and the choices are not retrieved again as long as
+ * the version does not change.
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -41,6 +49,12 @@ public abstract class ChoiceModelBehavior<T> extends AbstractAjaxBehavior implem
 {
 	private static final long serialVersionUID = 1L;
 
+	/** No Content, the status of a response to a superseded request */
+	public static final int NO_CONTENT = 204;
+
+	/** the script providing {@code jQuery.choiceCache}, the client-side cache of the choices of auto-complete widgets */
+	public static final ResourceReference CHOICE_CACHE = new JQueryPluginResourceReference(ChoiceModelBehavior.class, "ChoiceModelBehavior.js");
+
 	protected final ITextRenderer<? super T> renderer;
 
 	public ChoiceModelBehavior(ITextRenderer<? super T> renderer)
@@ -62,6 +76,47 @@ public abstract class ChoiceModelBehavior<T> extends AbstractAjaxBehavior implem
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Indicates whether the current request has been superseded by a newer request of the same client, in which case the choices are not retrieved and the response has no
+	 * content<br/>
+	 * The client should send a sequence number (see {@link RequestSequencer}), which is the case of {@code jQuery.choiceCache}
+	 *
+	 * @return {@code true} if the request is obsolete
+	 */
+	protected boolean isObsolete()
+	{
+		return RequestSequencer.get().isObsolete(RequestCycle.get());
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the version of the choices, which is used as the {@code ETag} of the response<br/>
+	 * As long as the version does not change, the browser revalidates its copy and the choices are neither retrieved nor serialized.
+	 *
+	 * @return the version of this behavior or of its component, if they are {@link IVersionProvider}{@code s}, {@code null} otherwise (the response is not cacheable)
+	 */
+	protected String getVersion()
+	{
+		if (this instanceof IVersionProvider)
+		{
+			return ((IVersionProvider) this).getVersion();
+		}
+
+		return HttpCacheUtils.getVersion(this.getComponent());
+	}
+
+	/**
+	 * Gets the duration during which the browser may reuse the response without revalidating it, ie: for static choice lists<br/>
+	 * This is only relevant if {@link #getVersion()} is not {@code null}.
+	 *
+	 * @return {@link Duration#NONE} by default
+	 */
+	protected Duration getMaxAge()
+	{
+		return Duration.NONE;
+	}
+
 	// Events //
 
 	@Override
@@ -98,7 +153,19 @@ public abstract class ChoiceModelBehavior<T> extends AbstractAjaxBehavior implem
 
 			final String encoding = Application.get().getRequestCycleSettings().getResponseRequestEncoding();
 			response.setContentType("application/json; charset=" + encoding);
-			response.disableCaching();
+
+			if (ChoiceModelBehavior.this.isObsolete())
+			{
+				response.disableCaching();
+				response.setStatus(NO_CONTENT);
+
+				return;
+			}
+
+			if (HttpCacheUtils.isNotModified(response, ChoiceModelBehavior.this.getVersion(), ChoiceModelBehavior.this.getMaxAge()))
+			{
+				return;
+			}
 
 			List<T> choices = ChoiceModelBehavior.this.getChoices();
 
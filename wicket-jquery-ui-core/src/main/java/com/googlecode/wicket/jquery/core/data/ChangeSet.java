@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.resource.JQueryPluginResourceReference;
+
+/**
+ * Provides the items that have been created, updated or deleted since a previous synchronization, see {@link IChangeSetProvider}<br/>
+ * A full change set contains all the items, and the client replaces its own ones with them.<br/>
+ * On the client side, change sets are merged into a {@code jQuery.syncStore} (see {@link #SYNC_STORE}), which sends back the token of the last change set.
+ *
+ * @param <T> the type of the items
+ */
+public class ChangeSet<T>
+{
+	/** The name of the request parameter carrying the token of the last change set */
+	public static final String PARAMETER = "sync";
+
+	/** The client-side store, see {@code jQuery.syncStore} */
+	public static final ResourceReference SYNC_STORE = new JQueryPluginResourceReference(ChangeSet.class, "ChangeSet.js");
+
+	private final String token;
+	private final boolean full;
+	private final List<T> updated = new ArrayList<T>();
+	private final List<Object> deleted = new ArrayList<Object>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param token the token identifying the state of the items once the changes are applied
+	 * @param full indicates whether the change set contains all the items
+	 */
+	public ChangeSet(String token, boolean full)
+	{
+		this.token = token;
+		this.full = full;
+	}
+
+	// Methods //
+
+	/**
+	 * Adds an item that has been created or updated
+	 *
+	 * @param item the item
+	 * @return this, for chaining
+	 */
+	public ChangeSet<T> update(T item)
+	{
+		this.updated.add(item);
+
+		return this;
+	}
+
+	/**
+	 * Adds items that have been created or updated
+	 *
+	 * @param items the items
+	 * @return this, for chaining
+	 */
+	public ChangeSet<T> updateAll(Collection<? extends T> items)
+	{
+		this.updated.addAll(items);
+
+		return this;
+	}
+
+	/**
+	 * Adds the id of an item that has been deleted<br/>
+	 * This is ignored for a full change set
+	 *
+	 * @param id the id of the item, typically an {@link Integer} or a {@link String}
+	 * @return this, for chaining
+	 */
+	public ChangeSet<T> delete(Object id)
+	{
+		if (!this.full)
+		{
+			this.deleted.add(id);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Gets the json representation of the change set, ie: <code>{ "token": "42", "full": false, "updated": [ ... ], "deleted": [ 1, 2 ] }</code><br/>
+	 * As the representation of the items depends on the widget, the caller supplies the json array of the updated items.
+	 *
+	 * @param updated the json array of the updated items
+	 * @return the json representation
+	 */
+	public String toJson(CharSequence updated)
+	{
+		StringBuilder builder = new StringBuilder("{ ");
+
+		builder.append("\"token\": ").append(JSONObject.quote(this.token != null ? this.token : "")).append(", ");
+		builder.append("\"full\": ").append(this.full).append(", ");
+		builder.append("\"updated\": ").append(updated).append(", ");
+		builder.append("\"deleted\": [ ");
+
+		for (int i = 0; i < this.deleted.size(); i++)
+		{
+			if (i > 0)
+			{
+				builder.append(", ");
+			}
+
+			builder.append(JSONObject.valueToString(this.deleted.get(i)));
+		}
+
+		return builder.append(" ] }").toString();
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the token identifying the state of the items once the changes are applied
+	 *
+	 * @return the token
+	 */
+	public String getToken()
+	{
+		return this.token;
+	}
+
+	/**
+	 * Indicates whether the change set contains all the items
+	 *
+	 * @return {@code true} or {@code false}
+	 */
+	public boolean isFull()
+	{
+		return this.full;
+	}
+
+	/**
+	 * Gets the items that have been created or updated
+	 *
+	 * @return the {@link List} of items
+	 */
+	public List<T> getUpdated()
+	{
+		return this.updated;
+	}
+
+	/**
+	 * Gets the ids of the items that have been deleted
+	 *
+	 * @return the {@link List} of ids
+	 */
+	public List<Object> getDeleted()
+	{
+		return this.deleted;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ChangeSet [token=" + this.token + ", full=" + this.full + ", updated=" + this.updated.size() + ", deleted=" + this.deleted.size() + "]";
+	}
+}
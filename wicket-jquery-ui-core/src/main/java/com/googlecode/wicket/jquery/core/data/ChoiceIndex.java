@@ -0,0 +1,761 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
+import com.googlecode.wicket.jquery.core.utils.ListUtils;
+
+/**
+ * Provides a search index of choices, intended to be built once per choice set and shared across sessions (ie: held by a static field or by the application)<br/>
+ * Texts are normalized once, at indexing time: they are lower-cased according to the index {@link Locale} and their accents are removed, so that "espanol" matches
+ * "Español". Words are kept in a sorted dictionary, used as a prefix tree, and substrings are looked up through an index of trigrams.<br/>
+ * <br/>
+ * Results are ranked: exact matches first, then texts starting with the search criteria, then texts having a word starting with it, then other matches. Ties are
+ * broken by the shortest text, then by insertion order.<br/>
+ * The index is thread-safe and can be updated incrementally; it is not serializable and should not be held by a component.
+ *
+ * @param <T> the type of the choices
+ * @see ListUtils#contains(String, List)
+ * @see ListUtils#startsWith(String, List)
+ */
+public class ChoiceIndex<T>
+{
+	/** Default max number of results */
+	public static final int MAX = 20;
+
+	/** Size of the n-grams */
+	private static final int GRAM = 3;
+
+	/** Removed slots are reclaimed when they exceed the number of choices, and this threshold */
+	private static final int COMPACT_THRESHOLD = 1024;
+
+	private static final Pattern MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+	private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	/**
+	 * Provides the {@link Comparator} of {@link Hit}{@code s}, best first
+	 */
+	private static final Comparator<Hit> BEST_FIRST = new Comparator<Hit>() {
+
+		@Override
+		public int compare(Hit h1, Hit h2)
+		{
+			if (h1.score != h2.score)
+			{
+				return h1.score < h2.score ? -1 : 1;
+			}
+
+			if (h1.length != h2.length)
+			{
+				return h1.length < h2.length ? -1 : 1;
+			}
+
+			return h1.id < h2.id ? -1 : (h1.id == h2.id ? 0 : 1);
+		}
+	};
+
+	private final ITextRenderer<? super T> renderer;
+	private final Locale locale;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** choices by id, {@code null} if removed */
+	private final List<T> items = new ArrayList<T>();
+
+	/** normalized texts by id, {@code null} if removed */
+	private final List<String> texts = new ArrayList<String>();
+
+	private final Map<T, Integer> ids = new HashMap<T, Integer>();
+	private final NavigableMap<String, Postings> words = new TreeMap<String, Postings>();
+	private final Map<String, Postings> grams = new HashMap<String, Postings>();
+	private int removed = 0;
+
+	/**
+	 * Constructor, using the textual representation (toString()) of the choices
+	 */
+	public ChoiceIndex()
+	{
+		this(new TextRenderer<T>(), Locale.ROOT);
+	}
+
+	/**
+	 * Constructor, using the textual representation (toString()) of the choices
+	 *
+	 * @param locale the {@link Locale} used to lower-case the texts
+	 */
+	public ChoiceIndex(Locale locale)
+	{
+		this(new TextRenderer<T>(), locale);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param renderer the {@link ITextRenderer}, which should be the one of the widget
+	 */
+	public ChoiceIndex(ITextRenderer<? super T> renderer)
+	{
+		this(renderer, Locale.ROOT);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param renderer the {@link ITextRenderer}, which should be the one of the widget
+	 * @param locale the {@link Locale} used to lower-case the texts
+	 */
+	public ChoiceIndex(ITextRenderer<? super T> renderer, Locale locale)
+	{
+		this.renderer = Args.notNull(renderer, "renderer");
+		this.locale = Args.notNull(locale, "locale");
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link Locale} used to lower-case the texts
+	 *
+	 * @return the {@link Locale}
+	 */
+	public Locale getLocale()
+	{
+		return this.locale;
+	}
+
+	/**
+	 * Gets the number of indexed choices
+	 *
+	 * @return the number of choices
+	 */
+	public int size()
+	{
+		this.lock.readLock().lock();
+
+		try
+		{
+			return this.ids.size();
+		}
+		finally
+		{
+			this.lock.readLock().unlock();
+		}
+	}
+
+	// Methods //
+
+	/**
+	 * Adds a choice to the index<br/>
+	 * If the choice is already indexed, its text is indexed again (ie: after the choice has been modified)
+	 *
+	 * @param choice the choice
+	 * @return this, for chaining
+	 */
+	public ChoiceIndex<T> add(T choice)
+	{
+		return this.addAll(Collections.singleton(choice));
+	}
+
+	/**
+	 * Adds choices to the index<br/>
+	 * Choices that are already indexed get their text indexed again (ie: after they have been modified)
+	 *
+	 * @param choices the choices
+	 * @return this, for chaining
+	 */
+	public ChoiceIndex<T> addAll(Collection<? extends T> choices)
+	{
+		this.lock.writeLock().lock();
+
+		try
+		{
+			for (T choice : choices)
+			{
+				Args.notNull(choice, "choice");
+
+				this.unindex(choice);
+				this.index(choice);
+			}
+
+			this.compact();
+		}
+		finally
+		{
+			this.lock.writeLock().unlock();
+		}
+
+		return this;
+	}
+
+	/**
+	 * Removes a choice from the index
+	 *
+	 * @param choice the choice
+	 * @return {@code true} if the choice was indexed
+	 */
+	public boolean remove(T choice)
+	{
+		this.lock.writeLock().lock();
+
+		try
+		{
+			boolean result = this.unindex(choice);
+			this.compact();
+
+			return result;
+		}
+		finally
+		{
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes all choices from the index
+	 */
+	public void clear()
+	{
+		this.lock.writeLock().lock();
+
+		try
+		{
+			this.items.clear();
+			this.texts.clear();
+			this.ids.clear();
+			this.words.clear();
+			this.grams.clear();
+			this.removed = 0;
+		}
+		finally
+		{
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the choices having their text containing the search criteria<br/>
+	 * The max size of the list is {@link #MAX}
+	 *
+	 * @param search the search criteria
+	 * @return the ranked list of choices
+	 */
+	public List<T> contains(String search)
+	{
+		return this.contains(search, MAX);
+	}
+
+	/**
+	 * Returns the choices having their text containing the search criteria
+	 *
+	 * @param search the search criteria
+	 * @param max max size of the list to be returned
+	 * @return the ranked list of choices
+	 */
+	public List<T> contains(String search, int max)
+	{
+		final String query = this.normalize(search);
+
+		this.lock.readLock().lock();
+
+		try
+		{
+			if (query.isEmpty())
+			{
+				return this.first(max);
+			}
+
+			Ranking ranking = new Ranking(query, max);
+
+			if (query.length() < GRAM)
+			{
+				// too short to be looked-up, the (normalized) texts are scanned //
+				for (int id = 0; id < this.texts.size(); id++)
+				{
+					String text = this.texts.get(id);
+
+					if (text != null && text.contains(query))
+					{
+						ranking.offer(id, text);
+					}
+				}
+			}
+			else
+			{
+				// candidates are the choices of the rarest trigram //
+				Postings candidates = null;
+
+				for (int i = 0; i + GRAM <= query.length(); i++)
+				{
+					Postings postings = this.grams.get(query.substring(i, i + GRAM));
+
+					if (postings == null)
+					{
+						return new ArrayList<T>();
+					}
+
+					if (candidates == null || postings.size < candidates.size)
+					{
+						candidates = postings;
+					}
+				}
+
+				for (int i = 0; i < candidates.size; i++)
+				{
+					int id = candidates.ids[i];
+					String text = this.texts.get(id);
+
+					if (text != null && text.contains(query))
+					{
+						ranking.offer(id, text);
+					}
+				}
+			}
+
+			return ranking.toList();
+		}
+		finally
+		{
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the choices having a word starting with each word of the search criteria<br/>
+	 * The max size of the list is {@link #MAX}
+	 *
+	 * @param search the search criteria
+	 * @return the ranked list of choices
+	 */
+	public List<T> startsWith(String search)
+	{
+		return this.startsWith(search, MAX);
+	}
+
+	/**
+	 * Returns the choices having a word starting with each word of the search criteria<br/>
+	 * ie: "ro en" matches "Rock en Español", but "Rock and roll" is ranked first for "ro"
+	 *
+	 * @param search the search criteria
+	 * @param max max size of the list to be returned
+	 * @return the ranked list of choices
+	 */
+	public List<T> startsWith(String search, int max)
+	{
+		final String query = this.normalize(search);
+		final String[] tokens = ChoiceIndex.tokenize(query);
+
+		this.lock.readLock().lock();
+
+		try
+		{
+			if (tokens.length == 0)
+			{
+				return this.first(max);
+			}
+
+			// candidates are the choices having a word starting with the longest token //
+			String longest = tokens[0];
+
+			for (String token : tokens)
+			{
+				if (token.length() > longest.length())
+				{
+					longest = token;
+				}
+			}
+
+			Ranking ranking = new Ranking(query, max);
+			BitSet visited = new BitSet(this.texts.size());
+
+			for (Postings postings : this.words.subMap(longest, true, longest + Character.MAX_VALUE, false).values())
+			{
+				for (int i = 0; i < postings.size; i++)
+				{
+					int id = postings.ids[i];
+
+					if (!visited.get(id))
+					{
+						visited.set(id);
+
+						String text = this.texts.get(id);
+
+						if (text != null && ChoiceIndex.hasWordsStartingWith(text, tokens))
+						{
+							ranking.offer(id, text);
+						}
+					}
+				}
+			}
+
+			return ranking.toList();
+		}
+		finally
+		{
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Normalizes a text, by lower-casing it according to the index {@link Locale}, removing its accents and collapsing its whitespaces
+	 *
+	 * @param text the text
+	 * @return the normalized text
+	 */
+	protected String normalize(String text)
+	{
+		if (text == null)
+		{
+			return "";
+		}
+
+		String folded = Normalizer.normalize(text.toLowerCase(this.locale), Normalizer.Form.NFD);
+		folded = MARKS.matcher(folded).replaceAll("");
+
+		return SPACES.matcher(folded).replaceAll(" ").trim();
+	}
+
+	/**
+	 * Gets the first choices, in insertion order<br/>
+	 * <b>Warning:</b> the read lock should be held
+	 *
+	 * @param max the max number of choices
+	 * @return the list of choices
+	 */
+	private List<T> first(int max)
+	{
+		List<T> list = new ArrayList<T>();
+
+		for (int id = 0; id < this.items.size() && list.size() < max; id++)
+		{
+			T item = this.items.get(id);
+
+			if (item != null)
+			{
+				list.add(item);
+			}
+		}
+
+		return list;
+	}
+
+	/**
+	 * Indexes a choice under a new id<br/>
+	 * <b>Warning:</b> the write lock should be held
+	 *
+	 * @param choice the choice
+	 */
+	private void index(T choice)
+	{
+		final int id = this.items.size();
+		final String text = this.normalize(this.renderer.getText(choice));
+
+		this.items.add(choice);
+		this.texts.add(text);
+		this.ids.put(choice, id);
+
+		for (String word : new HashSet<String>(Arrays.asList(ChoiceIndex.tokenize(text))))
+		{
+			ChoiceIndex.postings(this.words, word).add(id);
+		}
+
+		Set<String> set = new HashSet<String>();
+
+		for (int i = 0; i + GRAM <= text.length(); i++)
+		{
+			String gram = text.substring(i, i + GRAM);
+
+			if (set.add(gram))
+			{
+				ChoiceIndex.postings(this.grams, gram).add(id);
+			}
+		}
+	}
+
+	/**
+	 * Removes a choice from the index. Its postings are left, and skipped at lookup, until the next compaction<br/>
+	 * <b>Warning:</b> the write lock should be held
+	 *
+	 * @param choice the choice
+	 * @return {@code true} if the choice was indexed
+	 */
+	private boolean unindex(T choice)
+	{
+		Integer id = this.ids.remove(choice);
+
+		if (id != null)
+		{
+			this.items.set(id, null);
+			this.texts.set(id, null);
+			this.removed++;
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Rebuilds the index if there are too many removed slots<br/>
+	 * <b>Warning:</b> the write lock should be held
+	 */
+	private void compact()
+	{
+		if (this.removed > COMPACT_THRESHOLD && this.removed > this.ids.size())
+		{
+			List<T> list = this.first(Integer.MAX_VALUE);
+
+			this.clear();
+
+			for (T item : list)
+			{
+				this.index(item);
+			}
+		}
+	}
+
+	// Helpers //
+
+	/**
+	 * Splits a normalized text into words
+	 *
+	 * @param text the normalized text
+	 * @return the words
+	 */
+	private static String[] tokenize(String text)
+	{
+		List<String> list = new ArrayList<String>();
+
+		for (String word : WORD_SEPARATORS.split(text))
+		{
+			if (!word.isEmpty())
+			{
+				list.add(word);
+			}
+		}
+
+		return list.toArray(new String[list.size()]);
+	}
+
+	/**
+	 * Indicates whether the normalized text has a word starting with each of the tokens
+	 *
+	 * @param text the normalized text
+	 * @param tokens the tokens
+	 * @return {@code true} or {@code false}
+	 */
+	private static boolean hasWordsStartingWith(String text, String[] tokens)
+	{
+		for (String token : tokens)
+		{
+			if (!ChoiceIndex.hasWordStartingWith(text, token))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Indicates whether the normalized text has a word starting with the search criteria
+	 *
+	 * @param text the normalized text
+	 * @param search the search criteria
+	 * @return {@code true} or {@code false}
+	 */
+	private static boolean hasWordStartingWith(String text, String search)
+	{
+		for (int index = text.indexOf(search); index > -1; index = text.indexOf(search, index + 1))
+		{
+			if (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1)))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets the {@link Postings} of a key, creating it if needed
+	 *
+	 * @param map the map of {@link Postings}
+	 * @param key the key
+	 * @return the {@link Postings}
+	 */
+	private static Postings postings(Map<String, Postings> map, String key)
+	{
+		Postings postings = map.get(key);
+
+		if (postings == null)
+		{
+			postings = new Postings();
+			map.put(key, postings);
+		}
+
+		return postings;
+	}
+
+	// Classes //
+
+	/**
+	 * Provides the growable, ordered list of choice ids of a word or a trigram
+	 */
+	private static class Postings
+	{
+		private int[] ids = new int[4];
+		private int size = 0;
+
+		void add(int id)
+		{
+			if (this.size == this.ids.length)
+			{
+				this.ids = Arrays.copyOf(this.ids, this.size * 2);
+			}
+
+			this.ids[this.size++] = id;
+		}
+	}
+
+	/**
+	 * Provides a search hit
+	 */
+	private static class Hit
+	{
+		private final int id;
+		private final int score;
+		private final int length;
+
+		Hit(int id, int score, int length)
+		{
+			this.id = id;
+			this.score = score;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Provides the bounded ranking of the hits of a search
+	 */
+	private class Ranking
+	{
+		private final String query;
+		private final int max;
+		private final PriorityQueue<Hit> queue; // worst first
+
+		Ranking(String query, int max)
+		{
+			this.query = query;
+			this.max = max;
+			this.queue = new PriorityQueue<Hit>(Math.max(1, Math.min(max, 64)) + 1, Collections.reverseOrder(BEST_FIRST));
+		}
+
+		/**
+		 * Offers a matching choice
+		 *
+		 * @param id the choice id
+		 * @param text the normalized text
+		 */
+		void offer(int id, String text)
+		{
+			if (this.max < 1)
+			{
+				return;
+			}
+
+			Hit hit = new Hit(id, this.score(text), text.length());
+
+			if (this.queue.size() < this.max)
+			{
+				this.queue.add(hit);
+			}
+			else if (BEST_FIRST.compare(hit, this.queue.peek()) < 0)
+			{
+				this.queue.poll();
+				this.queue.add(hit);
+			}
+		}
+
+		/**
+		 * Gets the score of a matching text, the lower the better
+		 *
+		 * @param text the normalized text
+		 * @return the score
+		 */
+		private int score(String text)
+		{
+			if (text.equals(this.query))
+			{
+				return 0;
+			}
+
+			if (text.startsWith(this.query))
+			{
+				return 1;
+			}
+
+			if (ChoiceIndex.hasWordStartingWith(text, this.query))
+			{
+				return 2;
+			}
+
+			return 3;
+		}
+
+		/**
+		 * Gets the ranked choices
+		 *
+		 * @return the list of choices
+		 */
+		List<T> toList()
+		{
+			List<Hit> hits = new ArrayList<Hit>(this.queue);
+			Collections.sort(hits, BEST_FIRST);
+
+			List<T> list = new ArrayList<T>(hits.size());
+
+			for (Hit hit : hits)
+			{
+				list.add(ChoiceIndex.this.items.get(hit.id));
+			}
+
+			return list;
+		}
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.googlecode.wicket.jquery.core.utils.ListUtils;
+
+/**
+ * Provides an index of the positions of the items of a list, by hashcode<br/>
+ * The index is bound to one list instance at a time and is not thread-safe: it is meant to be held by the component (or behavior) owning the list, typically as a
+ * {@code transient} field. The index is rebuilt whenever the list size changes and positions are verified at lookup, so it heals itself if the list is modified elsewhere; on a {@link RandomAccess} list, a lookup is
+ * O(1) as long as the list is only modified through {@link #move(Object, int, List)}.<br/>
+ * As with {@link ListUtils#indexOf(int, List)}, the first occurrence of a hashcode wins.
+ *
+ * @param <T> the type of the items
+ */
+public class HashIndex<T>
+{
+	private List<T> list = null;
+	private int size = 0;
+	private final Map<Integer, Integer> positions = new HashMap<Integer, Integer>();
+
+	// Methods //
+
+	/**
+	 * Gets the list-item matching the given hash
+	 *
+	 * @param hash the hashcode to match
+	 * @param list the {@link List} to search in
+	 * @return the list-item or {@code null} if not found
+	 */
+	public T get(int hash, List<T> list)
+	{
+		int index = this.indexOf(hash, list);
+
+		if (index > -1)
+		{
+			return list.get(index);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the index of the item matching the specified hashcode
+	 *
+	 * @param hash the hashcode to match
+	 * @param list the {@link List}
+	 * @return the index of the item matching the hashcode or -1 if not found
+	 */
+	public int indexOf(int hash, List<T> list)
+	{
+		if (!(list instanceof RandomAccess))
+		{
+			return ListUtils.indexOf(hash, list);
+		}
+
+		if (list != this.list || list.size() != this.size)
+		{
+			this.rebuild(list);
+		}
+
+		Integer index = this.positions.get(hash);
+
+		if (index != null && this.isValid(index, hash))
+		{
+			return index;
+		}
+
+		// the list has been modified elsewhere //
+		this.rebuild(list);
+		index = this.positions.get(hash);
+
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * Moves a list-item at a new position, retrieving it by its hashcode
+	 *
+	 * @param item the item
+	 * @param index the position to move to
+	 * @param list the {@link List}
+	 * @see ListUtils#move(Object, int, List)
+	 */
+	public void move(T item, int index, List<T> list)
+	{
+		if (index < list.size())
+		{
+			int from = this.indexOf(item.hashCode(), list);
+
+			if (from > -1)
+			{
+				list.add(index, list.remove(from));
+
+				if (list == this.list)
+				{
+					this.update(Math.min(from, index), Math.max(from, index));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Invalidates the index, which will be rebuilt at next lookup
+	 */
+	public void invalidate()
+	{
+		this.list = null;
+		this.size = 0;
+		this.positions.clear();
+	}
+
+	/**
+	 * Indicates whether the item at the supplied position has the supplied hashcode
+	 *
+	 * @param index the position
+	 * @param hash the hashcode
+	 * @return {@code true} or {@code false}
+	 */
+	private boolean isValid(int index, int hash)
+	{
+		return this.list.get(index).hashCode() == hash;
+	}
+
+	/**
+	 * Rebuilds the index of the supplied list
+	 *
+	 * @param list the {@link List}
+	 */
+	private void rebuild(List<T> list)
+	{
+		this.list = list;
+		this.size = list.size();
+		this.positions.clear();
+
+		for (int i = list.size() - 1; i > -1; i--)
+		{
+			this.positions.put(list.get(i).hashCode(), i); // reverse order, so that the first occurrence wins
+		}
+	}
+
+	/**
+	 * Updates the positions of a range of items, after a move
+	 *
+	 * @param from the first position, inclusive
+	 * @param to the last position, inclusive
+	 */
+	private void update(int from, int to)
+	{
+		for (int i = to; i >= from; i--)
+		{
+			int hash = this.list.get(i).hashCode();
+			Integer index = this.positions.get(hash);
+
+			if (index == null || index >= from)
+			{
+				this.positions.put(hash, i); // a duplicate hashcode positioned before the range is kept
+			}
+		}
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+/**
+ * Specifies that the implementing class (typically a model) is able to provide the changes of its items since a previous synchronization<br/>
+ * The token identifies a state of the items; it is opaque to the client, which only sends back the token of the last {@link ChangeSet} it has received. A revision
+ * number or a timestamp of a change log is a good candidate.
+ *
+ * @param <T> the type of the items
+ */
+public interface IChangeSetProvider<T>
+{
+	/**
+	 * Gets the changes of the items since the supplied token<br/>
+	 * If the token is {@code null}, unknown or too old to compute the changes, a full {@link ChangeSet} - containing all items - should be returned.
+	 *
+	 * @param token the token of the last {@link ChangeSet} received by the client, or {@code null}
+	 * @return the {@link ChangeSet}
+	 */
+	ChangeSet<T> getChanges(String token);
+}
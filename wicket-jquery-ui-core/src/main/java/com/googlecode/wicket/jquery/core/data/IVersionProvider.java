@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+/**
+ * Specifies that the implementing class (typically a model or a data provider) provides the version of its data<br/>
+ * The version is used as the {@code ETag} of the json responses built from the data, so that the browser can revalidate its copy instead of downloading the same data
+ * again. It should change whenever the data changes; a revision number or a last-modified timestamp is a good candidate.
+ */
+public interface IVersionProvider
+{
+	/**
+	 * Gets the version of the data
+	 *
+	 * @return the version, or {@code null} if the data should not be cached
+	 */
+	String getVersion();
+}
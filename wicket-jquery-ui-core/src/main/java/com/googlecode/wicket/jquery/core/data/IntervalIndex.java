@@ -0,0 +1,459 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides an in-memory index of values over time intervals (ie: events), intended to be shared across sessions (ie: held by a static field or by the application)<br/>
+ * Values are identified by a key, and are kept in an interval tree: a randomized binary search tree (treap) ordered by interval start, where each node holds the
+ * maximum interval end of its subtree. Thus, getting the values that intersect a period costs O(log n + k), and adding, updating or removing a value costs O(log n).<br/>
+ * <br/>
+ * The index is thread-safe: queries share a read lock and updates take the write lock. It is also an {@link IVersionProvider}, whose version changes on each update, so
+ * that json responses built from it can be revalidated by the browser. The index is not serializable and should not be held by a component.
+ *
+ * @param <T> the type of the values
+ */
+public class IntervalIndex<T> implements IVersionProvider
+{
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Object, Node<T>> nodes = new HashMap<Object, Node<T>>();
+	private final Random random = new Random();
+	private final String instance = Long.toString(System.currentTimeMillis(), 36); // prevents ETags from matching across restarts
+
+	private Node<T> root = null;
+	private long sequence = 0; // breaks ties between equal starts
+	private volatile long revision = 0;
+
+	/**
+	 * Constructor
+	 */
+	public IntervalIndex()
+	{
+		// noop
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the number of indexed values
+	 *
+	 * @return the number of values
+	 */
+	public int size()
+	{
+		this.lock.readLock().lock();
+
+		try
+		{
+			return this.nodes.size();
+		}
+		finally
+		{
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public String getVersion()
+	{
+		return this.instance + '-' + this.revision;
+	}
+
+	// Methods //
+
+	/**
+	 * Adds or replaces a value<br/>
+	 * An interval ending before its start is considered as an instant.
+	 *
+	 * @param key the key of the value
+	 * @param start the interval start (ie: in milliseconds), inclusive
+	 * @param end the interval end, exclusive
+	 * @param value the value
+	 * @return the replaced value, or {@code null}
+	 */
+	public T put(Object key, long start, long end, T value)
+	{
+		Args.notNull(key, "key");
+		Args.notNull(value, "value");
+
+		this.lock.writeLock().lock();
+
+		try
+		{
+			Node<T> previous = this.nodes.remove(key);
+
+			if (previous != null)
+			{
+				this.root = this.delete(this.root, previous);
+			}
+
+			Node<T> node = new Node<T>(key, start, Math.max(start, end), this.sequence++, this.random.nextInt(), value);
+			this.nodes.put(key, node);
+			this.root = this.insert(this.root, node);
+			this.revision++;
+
+			return previous != null ? previous.value : null;
+		}
+		finally
+		{
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a value
+	 *
+	 * @param key the key of the value
+	 * @return the removed value, or {@code null} if not found
+	 */
+	public T remove(Object key)
+	{
+		this.lock.writeLock().lock();
+
+		try
+		{
+			Node<T> node = this.nodes.remove(key);
+
+			if (node != null)
+			{
+				this.root = this.delete(this.root, node);
+				this.revision++;
+
+				return node.value;
+			}
+
+			return null;
+		}
+		finally
+		{
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes all values
+	 */
+	public void clear()
+	{
+		this.lock.writeLock().lock();
+
+		try
+		{
+			this.nodes.clear();
+			this.root = null;
+			this.revision++;
+		}
+		finally
+		{
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets a value
+	 *
+	 * @param key the key of the value
+	 * @return the value, or {@code null} if not found
+	 */
+	public T get(Object key)
+	{
+		this.lock.readLock().lock();
+
+		try
+		{
+			Node<T> node = this.nodes.get(key);
+
+			return node != null ? node.value : null;
+		}
+		finally
+		{
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the values whose interval intersects the supplied period, ordered by interval start<br/>
+	 * An instant intersects the period if it is within the period.
+	 *
+	 * @param start the period start, inclusive
+	 * @param end the period end, exclusive
+	 * @return the list of values
+	 */
+	public List<T> query(long start, long end)
+	{
+		List<T> list = new ArrayList<T>();
+
+		this.lock.readLock().lock();
+
+		try
+		{
+			this.query(this.root, start, end, list);
+		}
+		finally
+		{
+			this.lock.readLock().unlock();
+		}
+
+		return list;
+	}
+
+	// Helpers //
+
+	/**
+	 * Collects the values of the subtree that intersect the period, in order<br/>
+	 * <b>Warning:</b> the read lock should be held
+	 *
+	 * @param node the subtree root
+	 * @param start the period start
+	 * @param end the period end
+	 * @param list the list to add values to
+	 */
+	private void query(Node<T> node, long start, long end, List<T> list)
+	{
+		while (node != null && node.max >= start) // the subtree may contain intersecting intervals
+		{
+			this.query(node.left, start, end, list);
+
+			if (node.start >= end)
+			{
+				return; // the right subtree starts after the period
+			}
+
+			if (node.end > start || node.start >= start)
+			{
+				list.add(node.value);
+			}
+
+			node = node.right;
+		}
+	}
+
+	/**
+	 * Inserts a node in the subtree<br/>
+	 * <b>Warning:</b> the write lock should be held
+	 *
+	 * @param root the subtree root
+	 * @param node the node to insert
+	 * @return the new subtree root
+	 */
+	private Node<T> insert(Node<T> root, Node<T> node)
+	{
+		if (root == null)
+		{
+			return node;
+		}
+
+		if (node.compareTo(root) < 0)
+		{
+			root.left = this.insert(root.left, node);
+
+			if (root.left.priority > root.priority)
+			{
+				root = IntervalIndex.rotateRight(root);
+			}
+		}
+		else
+		{
+			root.right = this.insert(root.right, node);
+
+			if (root.right.priority > root.priority)
+			{
+				root = IntervalIndex.rotateLeft(root);
+			}
+		}
+
+		root.update();
+
+		return root;
+	}
+
+	/**
+	 * Deletes a node from the subtree<br/>
+	 * <b>Warning:</b> the write lock should be held
+	 *
+	 * @param root the subtree root
+	 * @param node the node to delete
+	 * @return the new subtree root
+	 */
+	private Node<T> delete(Node<T> root, Node<T> node)
+	{
+		if (root == null)
+		{
+			return null;
+		}
+
+		if (root == node)
+		{
+			return IntervalIndex.merge(root.left, root.right);
+		}
+
+		if (node.compareTo(root) < 0)
+		{
+			root.left = this.delete(root.left, node);
+		}
+		else
+		{
+			root.right = this.delete(root.right, node);
+		}
+
+		root.update();
+
+		return root;
+	}
+
+	/**
+	 * Merges two subtrees, all nodes of the left one being lower than the nodes of the right one
+	 *
+	 * @param left the left subtree
+	 * @param right the right subtree
+	 * @return the merged subtree root
+	 */
+	private static <T> Node<T> merge(Node<T> left, Node<T> right)
+	{
+		if (left == null)
+		{
+			return right;
+		}
+
+		if (right == null)
+		{
+			return left;
+		}
+
+		if (left.priority > right.priority)
+		{
+			left.right = IntervalIndex.merge(left.right, right);
+			left.update();
+
+			return left;
+		}
+
+		right.left = IntervalIndex.merge(left, right.left);
+		right.update();
+
+		return right;
+	}
+
+	/**
+	 * Rotates the subtree to the right
+	 *
+	 * @param node the subtree root
+	 * @return the new subtree root
+	 */
+	private static <T> Node<T> rotateRight(Node<T> node)
+	{
+		Node<T> left = node.left;
+		node.left = left.right;
+		left.right = node;
+
+		node.update();
+		left.update();
+
+		return left;
+	}
+
+	/**
+	 * Rotates the subtree to the left
+	 *
+	 * @param node the subtree root
+	 * @return the new subtree root
+	 */
+	private static <T> Node<T> rotateLeft(Node<T> node)
+	{
+		Node<T> right = node.right;
+		node.right = right.left;
+		right.left = node;
+
+		node.update();
+		right.update();
+
+		return right;
+	}
+
+	// Classes //
+
+	/**
+	 * Provides a node of the tree
+	 *
+	 * @param <T> the type of the value
+	 */
+	private static class Node<T> implements Comparable<Node<T>>
+	{
+		final Object key;
+		final long start;
+		final long end;
+		final long sequence;
+		final int priority;
+		final T value;
+
+		long max; // the maximum end of the subtree
+		Node<T> left = null;
+		Node<T> right = null;
+
+		Node(Object key, long start, long end, long sequence, int priority, T value)
+		{
+			this.key = key;
+			this.start = start;
+			this.end = end;
+			this.sequence = sequence;
+			this.priority = priority;
+			this.value = value;
+			this.max = end;
+		}
+
+		void update()
+		{
+			this.max = this.end;
+
+			if (this.left != null && this.left.max > this.max)
+			{
+				this.max = this.left.max;
+			}
+
+			if (this.right != null && this.right.max > this.max)
+			{
+				this.max = this.right.max;
+			}
+		}
+
+		@Override
+		public int compareTo(Node<T> node)
+		{
+			if (this.start != node.start)
+			{
+				return this.start < node.start ? -1 : 1;
+			}
+
+			return this.sequence < node.sequence ? -1 : (this.sequence > node.sequence ? 1 : 0);
+		}
+
+		@Override
+		public String toString()
+		{
+			return this.key + " [" + this.start + ", " + this.end + "[";
+		}
+	}
+}
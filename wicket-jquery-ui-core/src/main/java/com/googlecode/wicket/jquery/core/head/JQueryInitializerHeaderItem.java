@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.head;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.core.util.string.JavaScriptUtils;
+import org.apache.wicket.markup.head.HeaderItem;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.request.Response;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.resource.ResourceReference;
+
+import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
+
+/**
+ * Provides the {@link HeaderItem} that aggregates all widget statements of a response into a single initializer.<br/>
+ * The widgets are collected as a table of {@code [selector, method, options]} rows, which is iterated once on the client, on dom ready.<br/>
+ * Rows of lazy widgets have a 4th flag, and are initialized through {@code jQuery.lazyInit}.<br/>
+ * <br/>
+ * There is one instance per {@link RequestCycle}. Rows can be added until the item is rendered, which happens when the header response is closed.
+ *
+ * @see JQueryLibrarySettings#setScriptAggregationEnabled(boolean)
+ */
+public class JQueryInitializerHeaderItem extends HeaderItem
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final String TOKEN = "jquery-initializer";
+	private static final MetaDataKey<JQueryInitializerHeaderItem> KEY = new MetaDataKey<JQueryInitializerHeaderItem>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	/**
+	 * Gets the {@link JQueryInitializerHeaderItem} of the current {@link RequestCycle}
+	 *
+	 * @return the {@link JQueryInitializerHeaderItem}
+	 */
+	public static JQueryInitializerHeaderItem get()
+	{
+		RequestCycle requestCycle = RequestCycle.get();
+		JQueryInitializerHeaderItem item = requestCycle.getMetaData(KEY);
+
+		if (item == null)
+		{
+			item = new JQueryInitializerHeaderItem();
+			requestCycle.setMetaData(KEY, item);
+		}
+
+		return item;
+	}
+
+	private final StringBuilder rows = new StringBuilder();
+	private int count = 0;
+	private boolean rendered = false;
+
+	/**
+	 * Constructor
+	 */
+	JQueryInitializerHeaderItem()
+	{
+	}
+
+	/**
+	 * Adds a widget row to the initializer
+	 *
+	 * @param selector the html selector (ie: "#myId")
+	 * @param method the jQuery method to invoke
+	 * @param options the {@link Options} to be applied
+	 * @return {@code false} if the item has already been rendered, meaning the statement should be rendered separately
+	 */
+	public boolean add(String selector, String method, Options options)
+	{
+		return this.add(selector, method, options, false);
+	}
+
+	/**
+	 * Adds a widget row to the initializer
+	 *
+	 * @param selector the html selector (ie: "#myId")
+	 * @param method the jQuery method to invoke
+	 * @param options the {@link Options} to be applied
+	 * @param lazy whether the initialization should be deferred until the element becomes visible or is first interacted with
+	 * @return {@code false} if the item has already been rendered, meaning the statement should be rendered separately
+	 */
+	public boolean add(String selector, String method, Options options, boolean lazy)
+	{
+		if (this.rendered)
+		{
+			return false;
+		}
+
+		if (this.count++ > 0)
+		{
+			this.rows.append(", ");
+		}
+
+		this.rows.append('[').append(JSONObject.quote(selector)).append(", ").append(JSONObject.quote(method)).append(", ");
+
+		try
+		{
+			options.appendTo(this.rows);
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e); // cannot happen with a StringBuilder
+		}
+
+		if (lazy)
+		{
+			this.rows.append(", 1");
+		}
+
+		this.rows.append(']');
+
+		return true;
+	}
+
+	@Override
+	public Iterable<?> getRenderTokens()
+	{
+		return Collections.singletonList(TOKEN);
+	}
+
+	@Override
+	public List<HeaderItem> getDependencies()
+	{
+		ResourceReference reference = Application.get().getJavaScriptLibrarySettings().getJQueryReference();
+
+		if (reference != null)
+		{
+			return Arrays.<HeaderItem> asList(JavaScriptHeaderItem.forReference(reference));
+		}
+
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void render(Response response)
+	{
+		this.rendered = true;
+
+		if (this.count > 0)
+		{
+			StringBuilder builder = new StringBuilder(this.rows.length() + 128);
+
+			builder.append("jQuery(function() { jQuery.each([");
+			builder.append(this.rows);
+			builder.append("], function(i, w) { var f = function() { jQuery(w[0])[w[1]](w[2]); }; if (w[3]) { jQuery.lazyInit(w[0], f); } else { f(); } }); });");
+
+			JavaScriptUtils.writeJavaScript(response, builder, TOKEN);
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return "JQueryInitializerHeaderItem(" + this.count + ")";
+	}
+}
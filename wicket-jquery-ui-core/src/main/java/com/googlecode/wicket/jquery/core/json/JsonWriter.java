@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.json;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.ajax.json.JSONString;
+import org.apache.wicket.request.Response;
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.jquery.core.Options;
+
+/**
+ * Provides a forward-only JSON writer that streams tokens directly to a {@link Writer}<br/>
+ * Unlike {@link JSONObject}, only the nesting state is kept in memory, so large payloads (ie: a page of rows) can be written item by item.<br/>
+ * <br/>
+ * Usage:
+ *
+ * <pre>
+ * <code>
+ * JsonWriter writer = JsonWriter.of(response, "UTF-8");
+ *
+ * writer.beginObject();
+ * writer.name("__count").value(size);
+ * writer.name("results").beginArray();
+ * ...
+ * writer.endArray();
+ * writer.endObject();
+ * writer.flush();
+ * </code>
+ * </pre>
+ */
+public class JsonWriter implements Flushable
+{
+	private static final int BUFFER_SIZE = 8192;
+	private static final int DEPTH = 16;
+
+	/**
+	 * Gets a new {@link JsonWriter} that writes to the {@link Response}'s output stream
+	 *
+	 * @param response the {@link Response}
+	 * @param encoding the response encoding
+	 * @return a new {@link JsonWriter}
+	 */
+	public static JsonWriter of(Response response, String encoding)
+	{
+		return new JsonWriter(new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), Charset.forName(encoding)), BUFFER_SIZE));
+	}
+
+	private final Writer writer;
+
+	/** indicates, for each nesting level, whether a value has already been written */
+	private boolean[] scopes = new boolean[DEPTH];
+	private int depth = 0;
+
+	/** indicates whether a name has been written and its value is pending */
+	private boolean named = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param writer the {@link Writer} to write to
+	 */
+	public JsonWriter(Writer writer)
+	{
+		this.writer = Args.notNull(writer, "writer");
+	}
+
+	// Methods //
+
+	/**
+	 * Begins a new JSON object
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter beginObject() throws IOException
+	{
+		return this.open('{');
+	}
+
+	/**
+	 * Ends the current JSON object
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter endObject() throws IOException
+	{
+		return this.close('}');
+	}
+
+	/**
+	 * Begins a new JSON array
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter beginArray() throws IOException
+	{
+		return this.open('[');
+	}
+
+	/**
+	 * Ends the current JSON array
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter endArray() throws IOException
+	{
+		return this.close(']');
+	}
+
+	/**
+	 * Writes the name of an object member. The next call should write its value.
+	 *
+	 * @param name the member name
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter name(String name) throws IOException
+	{
+		this.separate();
+
+		JSONObject.quote(name, this.writer);
+		this.writer.write(':');
+		this.named = true;
+
+		return this;
+	}
+
+	/**
+	 * Writes a {@code null} value
+	 *
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter nullValue() throws IOException
+	{
+		return this.rawValue("null");
+	}
+
+	/**
+	 * Writes a string value, which will be quoted
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(String value) throws IOException
+	{
+		if (value == null)
+		{
+			return this.nullValue();
+		}
+
+		this.prepare();
+		JSONObject.quote(value, this.writer);
+
+		return this;
+	}
+
+	/**
+	 * Writes a boolean value
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(boolean value) throws IOException
+	{
+		return this.rawValue(value ? "true" : "false");
+	}
+
+	/**
+	 * Writes a long value
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(long value) throws IOException
+	{
+		return this.rawValue(Long.toString(value));
+	}
+
+	/**
+	 * Writes a double value<br/>
+	 * Non-finite values (NaN, infinity) are written as {@code null}
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(double value) throws IOException
+	{
+		return this.rawValue(JSONObject.doubleToString(value));
+	}
+
+	/**
+	 * Writes a {@link Number} value
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(Number value) throws IOException
+	{
+		if (value == null)
+		{
+			return this.nullValue();
+		}
+
+		if (value instanceof Double || value instanceof Float)
+		{
+			return this.value(value.doubleValue());
+		}
+
+		return this.rawValue(value.toString());
+	}
+
+	/**
+	 * Writes an object value, the same way {@link JSONObject} does:
+	 * <ul>
+	 * <li>{@code null} is written as {@code null}</li>
+	 * <li>{@link Number}{@code s} and {@link Boolean}{@code s} are written as is</li>
+	 * <li>{@link JSONString}{@code s} are written using their {@link JSONString#toJSONString()} representation</li>
+	 * <li>{@link Options} are appended as is, using {@link Options#appendTo(Appendable)}</li>
+	 * <li>{@link Map}{@code s} are written as objects; {@link Collection}{@code s} and arrays as arrays</li>
+	 * <li>any other object is written as its quoted {@link Object#toString()} representation</li>
+	 * </ul>
+	 *
+	 * @param value the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter value(Object value) throws IOException
+	{
+		if (value == null || JSONObject.NULL.equals(value))
+		{
+			return this.nullValue();
+		}
+
+		if (value instanceof Number)
+		{
+			return this.value((Number) value);
+		}
+
+		if (value instanceof Boolean)
+		{
+			return this.value(((Boolean) value).booleanValue());
+		}
+
+		if (value instanceof JSONString)
+		{
+			return this.rawValue(((JSONString) value).toJSONString());
+		}
+
+		if (value instanceof Options)
+		{
+			this.prepare();
+			((Options) value).appendTo(this.writer);
+
+			return this;
+		}
+
+		if (value instanceof Map<?, ?>)
+		{
+			this.beginObject();
+
+			for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+			{
+				this.name(String.valueOf(entry.getKey())).value(entry.getValue());
+			}
+
+			return this.endObject();
+		}
+
+		if (value instanceof Collection<?>)
+		{
+			this.beginArray();
+
+			for (Object item : (Collection<?>) value)
+			{
+				this.value(item);
+			}
+
+			return this.endArray();
+		}
+
+		if (value instanceof Object[])
+		{
+			return this.value(Arrays.asList((Object[]) value));
+		}
+
+		return this.value(value.toString());
+	}
+
+	/**
+	 * Writes a value that is already serialized, as is (ie: a javascript function or a JSON fragment)
+	 *
+	 * @param value the JSON/javascript representation of the value
+	 * @return this, for chaining
+	 * @throws IOException if an I/O error occurs
+	 */
+	public JsonWriter rawValue(CharSequence value) throws IOException
+	{
+		this.prepare();
+		this.writer.append(value);
+
+		return this;
+	}
+
+	@Override
+	public void flush() throws IOException
+	{
+		this.writer.flush();
+	}
+
+	// Helpers //
+
+	/**
+	 * Writes the members separator if the current scope already contains a member
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void separate() throws IOException
+	{
+		if (this.depth > 0)
+		{
+			if (this.scopes[this.depth - 1])
+			{
+				this.writer.write(',');
+			}
+			else
+			{
+				this.scopes[this.depth - 1] = true;
+			}
+		}
+	}
+
+	/**
+	 * Prepares the writing of a value: writes the separator, unless the value follows a name
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void prepare() throws IOException
+	{
+		if (this.named)
+		{
+			this.named = false;
+		}
+		else
+		{
+			this.separate();
+		}
+	}
+
+	private JsonWriter open(char c) throws IOException
+	{
+		this.prepare();
+		this.writer.write(c);
+
+		if (this.depth == this.scopes.length)
+		{
+			this.scopes = Arrays.copyOf(this.scopes, this.depth * 2);
+		}
+
+		this.scopes[this.depth++] = false;
+
+		return this;
+	}
+
+	private JsonWriter close(char c) throws IOException
+	{
+		if (this.depth == 0)
+		{
+			throw new IllegalStateException("Nesting problem: no opened object or array");
+		}
+
+		this.depth--;
+		this.writer.write(c);
+
+		return this;
+	}
+}
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.lang;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.core.util.lang.PropertyResolver;
+import org.apache.wicket.util.string.Strings;
+
+/**
+ * Provides a compiled, cached, read-only alternative to {@link PropertyResolver#getValue(String, Object)}<br/>
+ * <br/>
+ * The property expression is parsed once per (class, expression) pair and compiled into a chain of {@link MethodHandle}{@code s} (getters, {@code is} methods, {@code method()} or fields), so the per-row cost is reduced to
+ * the invocations themselves.<br/>
+ * Nested paths are null-safe: if an intermediate value is {@code null}, {@code null} is returned.<br/>
+ * Expressions that cannot be compiled (indexes, {@link Map}{@code s}, {@link List}{@code s}, arrays, ...) are delegated to {@link PropertyResolver}, so the semantic is preserved.
+ */
+public abstract class PropertyAccessor
+{
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	/** Cache of accessors, per class and per expression. Relying on {@link ClassValue} does not prevent classes from being unloaded */
+	private static final ClassValue<ConcurrentMap<String, PropertyAccessor>> CACHE = new ClassValue<ConcurrentMap<String, PropertyAccessor>>() {
+
+		@Override
+		protected ConcurrentMap<String, PropertyAccessor> computeValue(Class<?> type)
+		{
+			return new ConcurrentHashMap<String, PropertyAccessor>();
+		}
+	};
+
+	/**
+	 * Gets the value of the property expression against the supplied object<br/>
+	 * This is a drop-in replacement for {@link PropertyResolver#getValue(String, Object)}
+	 *
+	 * @param expression the property expression (ie: "bean.property")
+	 * @param object the object
+	 * @return the value, or {@code null} if the object or an intermediate value is {@code null}
+	 */
+	public static Object getValue(String expression, Object object)
+	{
+		if (Strings.isEmpty(expression) || object == null)
+		{
+			return object;
+		}
+
+		return PropertyAccessor.of(object.getClass(), expression).getValue(object);
+	}
+
+	/**
+	 * Gets the (cached) {@link PropertyAccessor} for the supplied class and expression
+	 *
+	 * @param type the class of the objects the accessor will be applied to
+	 * @param expression the property expression (ie: "bean.property")
+	 * @return the {@link PropertyAccessor}
+	 */
+	public static PropertyAccessor of(Class<?> type, String expression)
+	{
+		ConcurrentMap<String, PropertyAccessor> accessors = CACHE.get(type);
+		PropertyAccessor accessor = accessors.get(expression);
+
+		if (accessor == null)
+		{
+			accessor = PropertyAccessor.compile(type, expression);
+
+			PropertyAccessor existing = accessors.putIfAbsent(expression, accessor);
+
+			if (existing != null)
+			{
+				accessor = existing;
+			}
+		}
+
+		return accessor;
+	}
+
+	/**
+	 * Compiles the expression against the supplied class
+	 *
+	 * @param type the class
+	 * @param expression the property expression
+	 * @return a new {@link PropertyAccessor}
+	 */
+	private static PropertyAccessor compile(Class<?> type, String expression)
+	{
+		if (expression.indexOf('[') > -1)
+		{
+			return new ResolverAccessor(expression);
+		}
+
+		String[] segments = Strings.split(expression, '.');
+		MethodHandle[] getters = new MethodHandle[segments.length];
+		Class<?> current = type;
+
+		for (int i = 0; i < segments.length; i++)
+		{
+			Member member = Member.find(current, segments[i]);
+
+			if (member == null)
+			{
+				if (i == 0)
+				{
+					return new ResolverAccessor(expression);
+				}
+
+				// the remaining expression will be resolved against the runtime class of the intermediate value //
+				String remaining = Strings.join(".", Arrays.copyOfRange(segments, i, segments.length));
+
+				return new ChainAccessor(Arrays.copyOf(getters, i), remaining);
+			}
+
+			getters[i] = member.handle;
+			current = member.type;
+		}
+
+		return new ChainAccessor(getters, null);
+	}
+
+	/**
+	 * Constructor
+	 */
+	PropertyAccessor()
+	{
+	}
+
+	/**
+	 * Gets the value of the property against the supplied object
+	 *
+	 * @param object the object, which should be an instance of the class the accessor has been compiled for
+	 * @return the value, or {@code null} if the object or an intermediate value is {@code null}
+	 */
+	public abstract Object getValue(Object object);
+
+	// Classes //
+
+	/**
+	 * Provides a compiled getter and the type it returns
+	 */
+	private static class Member
+	{
+		/**
+		 * Finds a readable member (method, getter or field) of the supplied class
+		 *
+		 * @param type the class
+		 * @param name the expression segment
+		 * @return the {@link Member} or {@code null} if it cannot be compiled
+		 */
+		static Member find(Class<?> type, String name)
+		{
+			if (type.isArray() || type.isPrimitive() || Map.class.isAssignableFrom(type) || List.class.isAssignableFrom(type))
+			{
+				return null;
+			}
+
+			try
+			{
+				if (name.endsWith("()"))
+				{
+					return Member.of(Member.findMethod(type, name.substring(0, name.length() - 2)));
+				}
+
+				String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+				Method method = Member.findMethod(type, "get" + suffix);
+
+				if (method == null)
+				{
+					method = Member.findMethod(type, "is" + suffix);
+				}
+
+				if (method != null)
+				{
+					return Member.of(method);
+				}
+
+				return Member.of(Member.findField(type, name));
+			}
+			catch (IllegalAccessException e)
+			{
+				return null;
+			}
+			catch (RuntimeException e)
+			{
+				return null; // SecurityException, InaccessibleObjectException, etc.
+			}
+		}
+
+		private static Method findMethod(Class<?> type, String name)
+		{
+			try
+			{
+				Method method = type.getMethod(name);
+
+				if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class)
+				{
+					return method;
+				}
+			}
+			catch (NoSuchMethodException e)
+			{
+				// not found
+			}
+
+			return null;
+		}
+
+		private static Field findField(Class<?> type, String name)
+		{
+			for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+			{
+				try
+				{
+					Field field = c.getDeclaredField(name);
+
+					if (!Modifier.isStatic(field.getModifiers()))
+					{
+						return field;
+					}
+				}
+				catch (NoSuchFieldException e)
+				{
+					// continue
+				}
+			}
+
+			return null;
+		}
+
+		private static Member of(Method method) throws IllegalAccessException
+		{
+			if (method == null)
+			{
+				return null;
+			}
+
+			method.setAccessible(true); // public methods of non-public classes
+
+			return new Member(MethodHandles.lookup().unreflect(method), method.getReturnType());
+		}
+
+		private static Member of(Field field) throws IllegalAccessException
+		{
+			if (field == null)
+			{
+				return null;
+			}
+
+			field.setAccessible(true);
+
+			return new Member(MethodHandles.lookup().unreflectGetter(field), field.getType());
+		}
+
+		final MethodHandle handle;
+		final Class<?> type;
+
+		Member(MethodHandle handle, Class<?> type)
+		{
+			this.handle = handle.asType(GETTER_TYPE);
+			this.type = type;
+		}
+	}
+
+	/**
+	 * Provides a {@link PropertyAccessor} that invokes a chain of compiled getters
+	 */
+	private static class ChainAccessor extends PropertyAccessor
+	{
+		private final MethodHandle[] getters;
+		private final String remaining;
+
+		/**
+		 * Constructor
+		 *
+		 * @param getters the compiled getters
+		 * @param remaining the remaining expression to be resolved against the runtime class of the last value, if any
+		 */
+		ChainAccessor(MethodHandle[] getters, String remaining)
+		{
+			this.getters = getters;
+			this.remaining = remaining;
+		}
+
+		@Override
+		public Object getValue(Object object)
+		{
+			Object value = object;
+
+			for (MethodHandle getter : this.getters)
+			{
+				if (value == null)
+				{
+					return null;
+				}
+
+				try
+				{
+					value = (Object) getter.invokeExact(value);
+				}
+				catch (RuntimeException e)
+				{
+					throw e;
+				}
+				catch (Error e)
+				{
+					throw e;
+				}
+				catch (Throwable e)
+				{
+					throw new WicketRuntimeException("Error getting property value of " + object.getClass().getName(), e);
+				}
+			}
+
+			if (this.remaining != null)
+			{
+				return PropertyAccessor.getValue(this.remaining, value);
+			}
+
+			return value;
+		}
+	}
+
+	/**
+	 * Provides a {@link PropertyAccessor} that delegates to {@link PropertyResolver}
+	 */
+	private static class ResolverAccessor extends PropertyAccessor
+	{
+		private final String expression;
+
+		ResolverAccessor(String expression)
+		{
+			this.expression = expression;
+		}
+
+		@Override
+		public Object getValue(Object object)
+		{
+			return PropertyResolver.getValue(this.expression, object);
+		}
+	}
+}
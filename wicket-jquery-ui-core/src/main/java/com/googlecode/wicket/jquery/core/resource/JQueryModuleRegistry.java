@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides a registry of the {@link JQueryModuleResourceReference}{@code s} of a modular javascript library<br/>
+ * Modules are registered by name, along with the names of the modules they depend on; the references are created once and shared afterward.
+ *
+ *
+ */
+public class JQueryModuleRegistry
+{
+	private final Class<?> scope;
+	private final String pattern;
+	private final Map<String, JQueryModuleResourceReference> modules = new ConcurrentHashMap<String, JQueryModuleResourceReference>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param scope the scope of the module files
+	 * @param pattern the format of the module file names, ie: "ui/%s.js"
+	 */
+	public JQueryModuleRegistry(Class<?> scope, String pattern)
+	{
+		this.scope = Args.notNull(scope, "scope");
+		this.pattern = Args.notNull(pattern, "pattern");
+	}
+
+	// Methods //
+
+	/**
+	 * Registers a module
+	 *
+	 * @param name the module name
+	 * @param dependencies the names of the modules it directly depends on, which should be registered already
+	 * @return the {@link JQueryModuleResourceReference}
+	 * @throws IllegalArgumentException if a dependency is not registered
+	 */
+	public JQueryModuleResourceReference register(String name, String... dependencies)
+	{
+		ResourceReference[] references = new ResourceReference[dependencies.length];
+
+		for (int i = 0; i < dependencies.length; i++)
+		{
+			references[i] = this.modules.get(dependencies[i]);
+
+			if (references[i] == null)
+			{
+				throw new IllegalArgumentException(String.format("Module '%s' depends on the unregistered module '%s'", name, dependencies[i]));
+			}
+		}
+
+		JQueryModuleResourceReference reference = new JQueryModuleResourceReference(this.scope, String.format(this.pattern, name), references);
+		this.modules.put(name, reference);
+
+		return reference;
+	}
+
+	/**
+	 * Gets a module
+	 *
+	 * @param name the module name
+	 * @return the {@link JQueryModuleResourceReference}, or {@code null} if not registered
+	 */
+	public JQueryModuleResourceReference get(String name)
+	{
+		return name != null ? this.modules.get(name) : null;
+	}
+
+	/**
+	 * Gets the references of the supplied modules
+	 *
+	 * @param names the module names
+	 * @return the list of {@link ResourceReference}, or {@code null} if one of the module is not registered
+	 */
+	public List<ResourceReference> get(List<String> names)
+	{
+		List<ResourceReference> references = new ArrayList<ResourceReference>(names.size());
+
+		for (String name : names)
+		{
+			JQueryModuleResourceReference reference = this.get(name);
+
+			if (reference == null)
+			{
+				return null;
+			}
+
+			references.add(reference);
+		}
+
+		return references;
+	}
+
+	/**
+	 * Indicates whether a module is registered
+	 *
+	 * @param name the module name
+	 * @return {@code true} if registered
+	 */
+	public boolean contains(String name)
+	{
+		return name != null && this.modules.containsKey(name);
+	}
+}
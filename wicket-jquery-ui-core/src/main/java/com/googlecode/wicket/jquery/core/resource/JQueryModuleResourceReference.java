@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import java.util.List;
+
+import org.apache.wicket.markup.head.HeaderItem;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.resource.JQueryPluginResourceReference;
+
+/**
+ * Provides the resource reference of a single module of a javascript library<br/>
+ * The modules it depends on are declared as dependencies, so rendering the reference renders them first (only once per page)
+ *
+ *
+ */
+public class JQueryModuleResourceReference extends JQueryPluginResourceReference
+{
+	private static final long serialVersionUID = 1L;
+
+	private final ResourceReference[] dependencies;
+
+	/**
+	 * Constructor
+	 *
+	 * @param scope the scope
+	 * @param name the name of the resource
+	 * @param dependencies the {@link ResourceReference}{@code s} of the modules this module depends on
+	 */
+	public JQueryModuleResourceReference(Class<?> scope, String name, ResourceReference... dependencies)
+	{
+		super(scope, name);
+
+		this.dependencies = dependencies;
+	}
+
+	@Override
+	public List<HeaderItem> getDependencies()
+	{
+		List<HeaderItem> items = super.getDependencies();
+
+		for (ResourceReference dependency : this.dependencies)
+		{
+			items.add(JavaScriptHeaderItem.forReference(dependency));
+		}
+
+		return items;
+	}
+}
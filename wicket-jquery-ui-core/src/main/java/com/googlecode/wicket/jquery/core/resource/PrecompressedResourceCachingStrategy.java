@@ -0,0 +1,445 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.core.util.resource.locator.IResourceStreamLocator;
+import org.apache.wicket.request.IRequestHandler;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.handler.resource.ResourceReferenceRequestHandler;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.resource.AbstractResource.ContentRangeType;
+import org.apache.wicket.request.resource.AbstractResource.ResourceResponse;
+import org.apache.wicket.request.resource.AbstractResource.WriteCallback;
+import org.apache.wicket.request.resource.IResource.Attributes;
+import org.apache.wicket.request.resource.PackageResourceReference;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.request.resource.caching.IResourceCachingStrategy;
+import org.apache.wicket.request.resource.caching.IStaticCacheableResource;
+import org.apache.wicket.request.resource.caching.ResourceUrl;
+import org.apache.wicket.resource.bundles.ConcatBundleResource;
+import org.apache.wicket.util.io.IOUtils;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.lang.Objects;
+import org.apache.wicket.util.lang.Packages;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.ResourceStreamNotFoundException;
+import org.apache.wicket.util.time.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides an {@link IResourceCachingStrategy} that decorates another strategy (the application's one, by default) to serve precompressed resources<br/>
+ * <ul>
+ * <li>Package resources are served from their {@code .br} or {@code .gz} variant, generated at build time, according to the {@code Accept-Encoding} request header</li>
+ * <li>Resource bundles, which are concatenated at runtime, are gzipped once and kept in memory</li>
+ * <li>Resources having a versioned url are marked as {@code immutable}, so browsers do not revalidate them</li>
+ * </ul>
+ * A precompressed variant is only used if its uncompressed counterpart is the very content that would have been served (same length and same last-modified time), so
+ * localized or runtime-compressed resources are served as usual.<br/>
+ * <br/>
+ * Usage, in {@code Application#init()}:
+ *
+ * <pre>
+ * PrecompressedResourceCachingStrategy.install(this);
+ * </pre>
+ */
+public class PrecompressedResourceCachingStrategy implements IResourceCachingStrategy
+{
+	private static final Logger LOG = LoggerFactory.getLogger(PrecompressedResourceCachingStrategy.class);
+
+	/** Minimum size of the bundles to be compressed at runtime */
+	public static final int THRESHOLD = 1024;
+
+	/** Brotli content-coding */
+	public static final String BROTLI = "br";
+
+	/** Gzip content-coding */
+	public static final String GZIP = "gzip";
+
+	/**
+	 * Installs a {@link PrecompressedResourceCachingStrategy} to the supplied {@link Application}, decorating its current caching strategy
+	 *
+	 * @param application the {@link Application}
+	 * @return the {@link PrecompressedResourceCachingStrategy}
+	 */
+	public static PrecompressedResourceCachingStrategy install(Application application)
+	{
+		IResourceCachingStrategy strategy = application.getResourceSettings().getCachingStrategy();
+
+		if (strategy instanceof PrecompressedResourceCachingStrategy)
+		{
+			return (PrecompressedResourceCachingStrategy) strategy;
+		}
+
+		PrecompressedResourceCachingStrategy precompressed = new PrecompressedResourceCachingStrategy(strategy);
+		application.getResourceSettings().setCachingStrategy(precompressed);
+
+		return precompressed;
+	}
+
+	private final IResourceCachingStrategy delegate;
+	private final Map<Serializable, CompressedBundle> bundles = new ConcurrentHashMap<Serializable, CompressedBundle>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param delegate the decorated {@link IResourceCachingStrategy}
+	 */
+	public PrecompressedResourceCachingStrategy(IResourceCachingStrategy delegate)
+	{
+		this.delegate = Args.notNull(delegate, "delegate");
+	}
+
+	// Methods //
+
+	@Override
+	public void decorateUrl(ResourceUrl url, IStaticCacheableResource resource)
+	{
+		this.delegate.decorateUrl(url, resource);
+	}
+
+	@Override
+	public void undecorateUrl(ResourceUrl url)
+	{
+		this.delegate.undecorateUrl(url);
+	}
+
+	@Override
+	public void decorateResponse(ResourceResponse response, IStaticCacheableResource resource)
+	{
+		this.delegate.decorateResponse(response, resource);
+
+		if (WebResponse.MAX_CACHE_DURATION.equals(response.getCacheDuration()))
+		{
+			response.getHeaders().addHeader("Cache-Control", "immutable"); // versioned url
+		}
+
+		response.getHeaders().addHeader("Vary", "Accept-Encoding");
+
+		if (response.getWriteCallback() == null)
+		{
+			return; // not modified, or error
+		}
+
+		WebRequest request = PrecompressedResourceCachingStrategy.getWebRequest();
+
+		if (request == null || request.getHeader("Range") != null)
+		{
+			return;
+		}
+
+		String header = request.getHeader("Accept-Encoding");
+
+		if (resource instanceof ConcatBundleResource)
+		{
+			if (PrecompressedResourceCachingStrategy.accepts(header, GZIP))
+			{
+				this.encodeBundle(response, resource);
+			}
+		}
+		else
+		{
+			if (PrecompressedResourceCachingStrategy.accepts(header, BROTLI) && this.encode(response, BROTLI, ".br"))
+			{
+				return;
+			}
+
+			if (PrecompressedResourceCachingStrategy.accepts(header, GZIP))
+			{
+				this.encode(response, GZIP, ".gz");
+			}
+		}
+	}
+
+	@Override
+	public void clearCache()
+	{
+		this.bundles.clear();
+		this.delegate.clearCache();
+	}
+
+	/**
+	 * Serves the precompressed variant of the requested package resource, if any
+	 *
+	 * @param response the {@link ResourceResponse}
+	 * @param coding the content-coding
+	 * @param extension the extension of the precompressed variant
+	 * @return {@code true} if the variant is served
+	 */
+	private boolean encode(ResourceResponse response, String coding, String extension)
+	{
+		ResourceReference reference = PrecompressedResourceCachingStrategy.getResourceReference();
+
+		if (!(reference instanceof PackageResourceReference))
+		{
+			return false;
+		}
+
+		IResourceStreamLocator locator = Application.get().getResourceSettings().getResourceStreamLocator();
+		String path = Packages.absolutePath(reference.getScope(), reference.getName());
+
+		IResourceStream original = locator.locate(reference.getScope(), path);
+
+		if (original == null || !this.isServed(original, response))
+		{
+			return false;
+		}
+
+		final IResourceStream stream = locator.locate(reference.getScope(), path + extension);
+
+		if (stream == null)
+		{
+			return false;
+		}
+
+		response.setContentLength(stream.length().bytes());
+		response.setAcceptRange(ContentRangeType.NONE);
+		response.getHeaders().addHeader("Content-Encoding", coding);
+		response.setWriteCallback(new WriteCallback() {
+
+			@Override
+			public void writeData(Attributes attributes) throws IOException
+			{
+				try
+				{
+					this.writeStream(attributes, stream.getInputStream());
+				}
+				catch (ResourceStreamNotFoundException e)
+				{
+					throw new IOException(e);
+				}
+				finally
+				{
+					IOUtils.close(stream);
+				}
+			}
+		});
+
+		return true;
+	}
+
+	/**
+	 * Serves the gzipped content of a resource bundle, compressing it the first time
+	 *
+	 * @param response the {@link ResourceResponse}
+	 * @param resource the {@link ConcatBundleResource}
+	 */
+	private void encodeBundle(ResourceResponse response, IStaticCacheableResource resource)
+	{
+		if (response.getContentLength() >= 0 && response.getContentLength() < THRESHOLD)
+		{
+			return;
+		}
+
+		Serializable key = resource.getCacheKey();
+		Time lastModified = response.getLastModified();
+
+		if (key == null)
+		{
+			return;
+		}
+
+		CompressedBundle bundle = this.bundles.get(key);
+
+		if (bundle == null || !bundle.isValid(lastModified))
+		{
+			try
+			{
+				bundle = new CompressedBundle(lastModified, PrecompressedResourceCachingStrategy.gzip(resource.getResourceStream()));
+				this.bundles.put(key, bundle);
+			}
+			catch (Exception e)
+			{
+				LOG.warn("Unable to compress the bundle {}: {}", key, e.getMessage());
+
+				return;
+			}
+		}
+
+		final byte[] bytes = bundle.bytes;
+
+		response.setContentLength(bytes.length);
+		response.setAcceptRange(ContentRangeType.NONE);
+		response.getHeaders().addHeader("Content-Encoding", GZIP);
+		response.setWriteCallback(new WriteCallback() {
+
+			@Override
+			public void writeData(Attributes attributes) throws IOException
+			{
+				attributes.getResponse().write(bytes);
+			}
+		});
+	}
+
+	/**
+	 * Indicates whether the located stream is the content that is about to be served
+	 *
+	 * @param stream the located {@link IResourceStream}
+	 * @param response the {@link ResourceResponse}
+	 * @return {@code true} if the lengths and the last-modified times match
+	 */
+	private boolean isServed(IResourceStream stream, ResourceResponse response)
+	{
+		try
+		{
+			return stream.length().bytes() == response.getContentLength() && Objects.equal(stream.lastModifiedTime(), response.getLastModified());
+		}
+		finally
+		{
+			IOUtils.closeQuietly(stream);
+		}
+	}
+
+	// Helpers //
+
+	/**
+	 * Gets the current {@link WebRequest}
+	 *
+	 * @return the {@link WebRequest} or {@code null}
+	 */
+	private static WebRequest getWebRequest()
+	{
+		RequestCycle cycle = RequestCycle.get();
+
+		if (cycle != null)
+		{
+			Request request = cycle.getRequest();
+
+			if (request instanceof WebRequest)
+			{
+				return (WebRequest) request;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the {@link ResourceReference} being served
+	 *
+	 * @return the {@link ResourceReference} or {@code null}
+	 */
+	private static ResourceReference getResourceReference()
+	{
+		IRequestHandler handler = RequestCycle.get().getActiveRequestHandler();
+
+		if (handler instanceof ResourceReferenceRequestHandler)
+		{
+			return ((ResourceReferenceRequestHandler) handler).getResourceReference();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Indicates whether the {@code Accept-Encoding} header accepts the content-coding
+	 *
+	 * @param header the header value, may be {@code null}
+	 * @param coding the content-coding
+	 * @return {@code true} if the coding is listed, with a non-zero quality value
+	 */
+	static boolean accepts(String header, String coding)
+	{
+		if (header == null)
+		{
+			return false;
+		}
+
+		for (String token : header.split(","))
+		{
+			String[] parts = token.split(";");
+
+			if (parts[0].trim().equalsIgnoreCase(coding))
+			{
+				for (int i = 1; i < parts.length; i++)
+				{
+					String param = parts[i].trim().replace(" ", "");
+
+					if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?"))
+					{
+						return false; // explicitly refused
+					}
+				}
+
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gzips the content of a resource stream
+	 *
+	 * @param stream the {@link IResourceStream}
+	 * @return the compressed bytes
+	 * @throws IOException if an I/O error occurs
+	 * @throws ResourceStreamNotFoundException if the stream cannot be read
+	 */
+	private static byte[] gzip(IResourceStream stream) throws IOException, ResourceStreamNotFoundException
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		try
+		{
+			InputStream input = stream.getInputStream();
+			GZIPOutputStream gzip = new GZIPOutputStream(output);
+
+			IOUtils.copy(input, gzip);
+			gzip.close();
+		}
+		finally
+		{
+			IOUtils.close(stream);
+		}
+
+		return output.toByteArray();
+	}
+
+	// Classes //
+
+	/**
+	 * Holds the compressed content of a bundle, along with the last-modified time it has been compressed for
+	 */
+	private static class CompressedBundle
+	{
+		private final Time lastModified;
+		private final byte[] bytes;
+
+		public CompressedBundle(Time lastModified, byte[] bytes)
+		{
+			this.lastModified = lastModified;
+			this.bytes = bytes;
+		}
+
+		public boolean isValid(Time lastModified)
+		{
+			return Objects.equal(this.lastModified, lastModified);
+		}
+	}
+}
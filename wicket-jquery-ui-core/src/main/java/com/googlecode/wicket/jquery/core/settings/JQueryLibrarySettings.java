@@ -46,6 +46,8 @@ import org.apache.wicket.settings.JavaScriptLibrarySettings;
 public class JQueryLibrarySettings extends JavaScriptLibrarySettings
 {
 	private ResourceReference globalizeReference = null; // null by default, meaning the user has to set it explicitly
+	private boolean aggregationEnabled = false;
+	private boolean lazyInitializationEnabled = false;
 
 	/**
 	 * Constructor
@@ -73,4 +75,48 @@ public class JQueryLibrarySettings extends JavaScriptLibrarySettings
 	{
 		this.globalizeReference = reference;
 	}
+
+	/**
+	 * Indicates whether the widget statements of a (full page) response are aggregated into a single initializer script
+	 *
+	 * @return {@code false} by default
+	 * @see com.googlecode.wicket.jquery.core.head.JQueryInitializerHeaderItem
+	 */
+	public boolean isScriptAggregationEnabled()
+	{
+		return this.aggregationEnabled;
+	}
+
+	/**
+	 * Sets whether the widget statements of a (full page) response should be aggregated into a single initializer script.<br/>
+	 * Instead of one {@code jQuery('#id').method({...});} statement per widget, the page ships one table of {@code [selector, method, options]} and one loop.
+	 *
+	 * @param enabled {@code true} to enable aggregation
+	 */
+	public void setScriptAggregationEnabled(boolean enabled)
+	{
+		this.aggregationEnabled = enabled;
+	}
+
+	/**
+	 * Indicates whether widgets are lazily initialized by default, meaning their statement is deferred until the element becomes visible or is first interacted with
+	 *
+	 * @return {@code false} by default
+	 * @see com.googlecode.wicket.jquery.core.JQueryBehavior#setLazy(boolean)
+	 */
+	public boolean isLazyInitializationEnabled()
+	{
+		return this.lazyInitializationEnabled;
+	}
+
+	/**
+	 * Sets whether widgets should be lazily initialized by default.<br/>
+	 * This default can be overridden per behavior, using {@link com.googlecode.wicket.jquery.core.JQueryBehavior#setLazy(boolean)}
+	 *
+	 * @param enabled {@code true} to defer widget initializations
+	 */
+	public void setLazyInitializationEnabled(boolean enabled)
+	{
+		this.lazyInitializationEnabled = enabled;
+	}
 }
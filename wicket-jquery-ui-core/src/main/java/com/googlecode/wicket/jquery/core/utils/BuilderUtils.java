@@ -17,7 +17,8 @@
 package com.googlecode.wicket.jquery.core.utils;
 
 import org.apache.wicket.ajax.json.JSONObject;
-import org.apache.wicket.core.util.lang.PropertyResolver;
+
+import com.googlecode.wicket.jquery.core.lang.PropertyAccessor;
 
 /**
  * Utility class for {@link StringBuilder}
@@ -61,7 +62,7 @@ public class BuilderUtils
 	 */
 	public static <T> void resolve(StringBuilder builder, final T object, final String property)
 	{
-		String value = String.valueOf(PropertyResolver.getValue(property, object)); // convert to String to quote it
+		String value = String.valueOf(PropertyAccessor.getValue(property, object)); // convert to String to quote it
 
 		BuilderUtils.append(builder, property, value);
 	}
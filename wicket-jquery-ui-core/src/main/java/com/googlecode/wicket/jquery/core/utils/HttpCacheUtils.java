@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.utils;
+
+import java.util.Locale;
+
+import org.apache.wicket.Session;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
+
+/**
+ * Utility class for the HTTP caching of json responses, validated by {@code ETag} (see {@link IVersionProvider})
+ *
+ *
+ */
+public class HttpCacheUtils
+{
+	/** The 'Not Modified' status code */
+	public static final int NOT_MODIFIED = 304;
+
+	/**
+	 * Gets the version of an object, if it is an {@link IVersionProvider}
+	 *
+	 * @param object the object, may be {@code null}
+	 * @return the version or {@code null}
+	 */
+	public static String getVersion(Object object)
+	{
+		if (object instanceof IVersionProvider)
+		{
+			return ((IVersionProvider) object).getVersion();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the {@code ETag} corresponding to a version<br/>
+	 * The session locale is part of the tag, because it may affect the rendering of the data.
+	 *
+	 * @param version the version
+	 * @return the quoted {@code ETag}
+	 */
+	public static String newETag(String version)
+	{
+		StringBuilder builder = new StringBuilder("\"").append(version.replace('"', '\''));
+
+		if (Session.exists())
+		{
+			Locale locale = Session.get().getLocale();
+
+			if (locale != null)
+			{
+				builder.append('-').append(locale.toLanguageTag());
+			}
+		}
+
+		return builder.append('"').toString();
+	}
+
+	/**
+	 * Sets the caching headers of a json response, and indicates whether the copy of the client is still valid<br/>
+	 * <ul>
+	 * <li>If the version is {@code null}, the response is not cacheable</li>
+	 * <li>Otherwise the {@code ETag} is sent, and the response may be reused by the browser for the supplied duration, and revalidated afterward</li>
+	 * </ul>
+	 * If the {@code If-None-Match} request header matches the {@code ETag}, the status is set to 304 (Not Modified) and nothing should be written to the response.
+	 *
+	 * @param response the {@link WebResponse}
+	 * @param version the version of the data, may be {@code null}
+	 * @param maxAge the duration during which the response can be reused without revalidation
+	 * @return {@code true} if the status has been set to 304 (Not Modified)
+	 */
+	public static boolean isNotModified(WebResponse response, String version, Duration maxAge)
+	{
+		if (version == null)
+		{
+			response.disableCaching();
+
+			return false;
+		}
+
+		String etag = HttpCacheUtils.newETag(version);
+
+		if (maxAge != null && maxAge.getMilliseconds() > 0)
+		{
+			response.enableCaching(maxAge, WebResponse.CacheScope.PRIVATE);
+		}
+		else
+		{
+			response.setHeader("Cache-Control", "private, no-cache"); // can be stored, but should be revalidated
+		}
+
+		response.setHeader("ETag", etag);
+
+		if (HttpCacheUtils.matches(HttpCacheUtils.getHeader("If-None-Match"), etag))
+		{
+			response.setStatus(NOT_MODIFIED);
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Indicates whether an {@code If-None-Match} header matches the {@code ETag}
+	 *
+	 * @param header the header value, may be {@code null}
+	 * @param etag the quoted {@code ETag}
+	 * @return {@code true} or {@code false}
+	 */
+	static boolean matches(String header, String etag)
+	{
+		if (header == null)
+		{
+			return false;
+		}
+
+		for (String tag : header.split(","))
+		{
+			tag = tag.trim();
+
+			if (tag.startsWith("W/"))
+			{
+				tag = tag.substring(2); // weak comparison
+			}
+
+			if (tag.equals(etag) || tag.equals("*"))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets a header of the current request
+	 *
+	 * @param name the header name
+	 * @return the header value, or {@code null}
+	 */
+	private static String getHeader(String name)
+	{
+		Request request = RequestCycle.get().getRequest();
+
+		if (request instanceof WebRequest)
+		{
+			return ((WebRequest) request).getHeader(name);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Utility class
+	 */
+	private HttpCacheUtils()
+	{
+	}
+}
@@ -20,8 +20,11 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import com.googlecode.wicket.jquery.core.data.HashIndex;
+
 /**
- * Utility class for {@link List}({@code s})
+ * Utility class for {@link List}({@code s})<br/>
+ * Hash lookups scan the list; components doing repeated lookups on a same list should rather use a {@link HashIndex}
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -35,7 +38,7 @@ public class ListUtils
 	 * @param list the {@link List} to search in
 	 * @return the list-item or {@code null} if not found
 	 */
-	public static synchronized <T> T fromHash(int hash, List<T> list)
+	public static <T> T fromHash(int hash, List<T> list)
 	{
 		int index = ListUtils.indexOf(hash, list);
 
@@ -54,7 +57,7 @@ public class ListUtils
 	 * @param hash the hashcode to match
 	 * @return the index of the item matching the hashcode or -1 if not found
 	 */
-	public static synchronized int indexOf(int hash, List<?> list)
+	public static int indexOf(int hash, List<?> list)
 	{
 		Iterator<?> iterator = list.iterator();
 
@@ -77,7 +80,7 @@ public class ListUtils
 	 * @param item the item
 	 * @param index the position to move to
 	 */
-	public static synchronized <T> void move(final T item, int index, final List<T> list)
+	public static <T> void move(final T item, int index, final List<T> list)
 	{
 		if (index < list.size())
 		{
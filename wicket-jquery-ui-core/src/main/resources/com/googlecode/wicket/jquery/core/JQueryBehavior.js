@@ -0,0 +1,61 @@
+/*
+ * Defers widget initializations until the element becomes visible (IntersectionObserver)
+ * or is first interacted with (mouseover, focusin, touchstart).
+ *
+ * Usage: jQuery.lazyInit('#myId', function() { jQuery('#myId').method({ ... }); });
+ */
+(function(jQuery) {
+    var KEY = 'lazy-init',
+        EVENTS = 'mouseover.lazyinit focusin.lazyinit touchstart.lazyinit',
+        observer = null;
+
+    if ('IntersectionObserver' in window) {
+        observer = new IntersectionObserver(function(entries) {
+            jQuery.each(entries, function(i, entry) {
+                if (entry.isIntersecting || entry.intersectionRatio > 0) {
+                    flush(entry.target);
+                }
+            });
+        });
+    }
+
+    function flush(element) {
+        var queue = jQuery.data(element, KEY);
+
+        if (queue) {
+            jQuery.removeData(element, KEY);
+            jQuery(element).off(EVENTS);
+            observer.unobserve(element);
+
+            jQuery.each(queue, function(i, task) {
+                if (!task.done) {
+                    task.done = true; // the same task may be shared by several elements
+                    task.callback();
+                }
+            });
+        }
+    }
+
+    jQuery.lazyInit = function(selector, callback) {
+        var $elements = jQuery(selector),
+            task = { done: false, callback: callback };
+
+        // no support or nothing to observe: initializes immediately //
+        if (observer === null || $elements.length === 0) {
+            callback();
+            return;
+        }
+
+        $elements.each(function() {
+            var queue = jQuery.data(this, KEY);
+
+            if (queue) {
+                queue.push(task);
+            } else {
+                jQuery.data(this, KEY, [ task ]);
+                jQuery(this).one(EVENTS, function() { flush(this); });
+                observer.observe(this);
+            }
+        });
+    };
+})(jQuery);
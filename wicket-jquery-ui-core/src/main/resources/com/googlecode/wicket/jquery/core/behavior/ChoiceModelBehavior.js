@@ -0,0 +1,164 @@
+/*
+ * Provides a client-side cache of the choices returned by a choice callback url, for auto-complete widgets:
+ * - choices are cached by term; a response having less choices than 'max' is complete, so the choices of a longer term are narrowed from it on the client
+ *   (ignoring case, and accents if 'accents' is true),
+ * - a request superseded by a new term is aborted, and carries a sequence number so that the server can skip it while it is still queued,
+ * - each choice is stamped with the term and the index it has been returned for (_term, _index), so that a selection can be resolved on the server.
+ *
+ * Usage: var cache = jQuery.choiceCache(url, { param: 'term', field: 'value', filter: 'contains', max: 20, accents: false, size: 50 });
+ *        cache.fetch(term, function(choices) { ... }, function(status) { ... });
+ */
+(function(jQuery) {
+    var MARKS = /[\u0300-\u036f]/g,
+        SEPARATORS = /[^0-9a-z\u00c0-\uffff]+/,
+        sequence = 0;
+
+    /* folds the case of a text, like ListUtils does, and its accents if requested, like ChoiceIndex does */
+    function fold(text, accents) {
+        text = String(text === undefined || text === null ? '' : text).toLowerCase();
+
+        if (accents) {
+            text = (text.normalize ? text.normalize('NFD').replace(MARKS, '') : text).replace(/\s+/g, ' ').replace(/^ | $/g, '');
+        }
+
+        return text;
+    }
+
+    /* indicates whether a word of the (folded) text starts with the (folded) token */
+    function hasWordStartingWith(text, token) {
+        for (var index = text.indexOf(token); index > -1; index = text.indexOf(token, index + 1)) {
+            if (index === 0 || SEPARATORS.test(text.charAt(index - 1))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    var FILTERS = {
+        contains: function(text, term) {
+            return text.indexOf(term) > -1;
+        },
+        startswith: function(text, term) {
+            return text.indexOf(term) === 0;
+        },
+        words: function(text, term) {
+            var tokens = term.split(SEPARATORS);
+
+            for (var i = 0; i < tokens.length; i++) {
+                if (tokens[i] && !hasWordStartingWith(text, tokens[i])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    };
+
+    /* a sequence number that keeps increasing across page loads */
+    function nextSequence() {
+        sequence = Math.max(sequence + 1, new Date().getTime());
+
+        return sequence;
+    }
+
+    jQuery.choiceCache = function(url, options) {
+        var settings = jQuery.extend({ param: 'term', field: 'value', filter: 'contains', max: 20, accents: false, size: 50 }, options),
+            filter = FILTERS[settings.filter] || FILTERS.contains,
+            cache = {},
+            terms = [],
+            xhr = null;
+
+        function put(term, choices) {
+            if (settings.size > 0) {
+                if (!cache.hasOwnProperty(term)) {
+                    terms.push(term);
+                }
+
+                cache[term] = choices;
+
+                while (terms.length > settings.size) {
+                    delete cache[terms.shift()];
+                }
+            }
+        }
+
+        function get(term) {
+            if (cache.hasOwnProperty(term)) {
+                return cache[term];
+            }
+
+            // narrows the choices of the longest cached prefix, if its response was complete //
+            if (settings.max > 0) {
+                for (var i = term.length - 1; i > 0; i--) {
+                    var choices = cache[term.substring(0, i)];
+
+                    if (choices && choices.length < settings.max) {
+                        var folded = fold(term, settings.accents);
+
+                        return jQuery.grep(choices, function(choice) {
+                            return filter(fold(choice[settings.field], settings.accents), folded);
+                        });
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        return {
+            fetch: function(term, success, error) {
+                var choices = get(term);
+
+                if (xhr !== null) {
+                    xhr.abort(); // the superseded request fails with the 'abort' status
+                }
+
+                if (choices !== null) {
+                    success(choices);
+                    return;
+                }
+
+                var data = {};
+                data[settings.param] = term;
+                // the sequence number is sent as a header, so that the url - and the browser cache entry - only depends on the term //
+                var request = xhr = jQuery.ajax({ url: url, data: data, dataType: 'json', headers: { 'X-Request-Sequence': nextSequence() } });
+
+                request.done(function(choices, status, jqXHR) {
+                    if (!jQuery.isArray(choices)) {
+                        if (error) {
+                            error('obsolete', jqXHR); // the server skipped the request, which has been superseded
+                        }
+
+                        return;
+                    }
+
+                    jQuery.each(choices, function(index, choice) {
+                        choice._term = term;
+                        choice._index = index;
+                    });
+
+                    put(term, choices);
+                    success(choices);
+                });
+
+                request.fail(function(jqXHR, status) {
+                    if (error) {
+                        error(status, jqXHR);
+                    }
+                });
+
+                request.always(function() {
+                    if (xhr === request) {
+                        xhr = null;
+                    }
+                });
+            },
+
+            clear: function() {
+                cache = {};
+                terms = [];
+            }
+        };
+    };
+})(jQuery);
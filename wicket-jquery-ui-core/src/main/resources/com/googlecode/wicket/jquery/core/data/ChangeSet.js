@@ -0,0 +1,95 @@
+/*
+ * Provides a client-side store of items, synchronized with a change set feed (see ChangeSet):
+ * - the token of the last change set is sent back ('sync' parameter), so that the server only returns the items created, updated or deleted since then,
+ * - the store is bound to the requested range: requesting another range starts over with a full change set,
+ * - a response to a request superseded by a newer one is not merged.
+ *
+ * Usage: var store = jQuery.syncStore(url, { id: 'id' });
+ *        store.fetch({ start: 1420066800000, end: 1420671600000 }, function(items) { ... }, function(status) { ... });
+ */
+(function(jQuery) {
+    jQuery.syncStore = function(url, options) {
+        var settings = jQuery.extend({ id: 'id', param: 'sync' }, options),
+            range = null,
+            token = '',
+            items = {},
+            requested = 0,
+            merged = 0;
+
+        function reset() {
+            token = '';
+            items = {};
+        }
+
+        function merge(changes) {
+            if (changes.full) {
+                items = {};
+            }
+
+            jQuery.each(changes.updated || [], function(i, item) {
+                items[item[settings.id]] = item;
+            });
+
+            jQuery.each(changes.deleted || [], function(i, id) {
+                delete items[id];
+            });
+
+            token = changes.token || '';
+        }
+
+        function values() {
+            var list = [];
+
+            for (var id in items) {
+                if (items.hasOwnProperty(id)) {
+                    list.push(items[id]);
+                }
+            }
+
+            return list;
+        }
+
+        return {
+            fetch: function(data, success, error) {
+                var key = jQuery.param(data),
+                    sequence = ++requested;
+
+                if (key !== range) {
+                    range = key;
+                    reset();
+                }
+
+                var params = jQuery.extend({}, data);
+                params[settings.param] = token;
+
+                jQuery.ajax({ url: url, data: params, cache: false, dataType: 'json' })
+                    .done(function(changes) {
+                        if (key !== range) {
+                            if (error) {
+                                error('obsolete'); // the range has changed meanwhile
+                            }
+
+                            return;
+                        }
+
+                        if (sequence > merged) {
+                            merged = sequence;
+                            merge(changes);
+                        }
+
+                        success(values());
+                    })
+                    .fail(function(jqXHR, status) {
+                        if (error) {
+                            error(status, jqXHR);
+                        }
+                    });
+            },
+
+            reset: function() {
+                range = null;
+                reset();
+            }
+        };
+    };
+})(jQuery);
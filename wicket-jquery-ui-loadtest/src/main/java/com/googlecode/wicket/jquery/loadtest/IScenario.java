@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest;
+
+/**
+ * Specifies a script played by each simulated session, typically a page render followed by ajax callbacks
+ */
+public interface IScenario
+{
+	/**
+	 * Gets the scenario name, used as a prefix of the step names
+	 *
+	 * @return the name
+	 */
+	String getName();
+
+	/**
+	 * Plays the scenario
+	 *
+	 * @param session the {@link SimulatedSession}
+	 */
+	void run(SimulatedSession session);
+}
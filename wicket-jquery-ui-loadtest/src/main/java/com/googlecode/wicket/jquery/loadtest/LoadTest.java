@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.servlet.ServletException;
+
+import com.googlecode.wicket.jquery.loadtest.scenario.AutoCompleteScenario;
+import com.googlecode.wicket.jquery.loadtest.scenario.DataTableScenario;
+import com.googlecode.wicket.jquery.loadtest.scenario.SchedulerScenario;
+import com.googlecode.wicket.jquery.ui.samples.SampleApplication;
+
+/**
+ * Provides the load-test harness: drives concurrent {@link SimulatedSession}{@code s} through the {@link IScenario}{@code s} and reports the throughput, the
+ * latency percentiles per step and the serialized page sizes<br/>
+ * <br/>
+ * Arguments (all optional):
+ * <ul>
+ * <li>-sessions: the number of concurrent sessions (default: 10)</li>
+ * <li>-warmups: the number of unrecorded iterations per session (default: 2)</li>
+ * <li>-iterations: the number of recorded iterations per session (default: 10)</li>
+ * <li>-think: the pause between two steps, in milliseconds (default: 0)</li>
+ * <li>-scenarios: the comma-separated scenario names (default: datatable,scheduler,autocomplete)</li>
+ * </ul>
+ */
+public class LoadTest
+{
+	private static final double MS = 1000000d;
+	private static final double KB = 1024d;
+
+	/**
+	 * Gets the available scenarios, by name
+	 *
+	 * @return the {@link Map} of {@link IScenario}
+	 */
+	private static Map<String, IScenario> newScenarios()
+	{
+		Map<String, IScenario> map = new LinkedHashMap<String, IScenario>();
+
+		for (IScenario scenario : new IScenario[] { new DataTableScenario(), new SchedulerScenario(), new AutoCompleteScenario() })
+		{
+			map.put(scenario.getName(), scenario);
+		}
+
+		return map;
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		LoadTest test = new LoadTest();
+
+		for (int i = 0; i + 1 < args.length; i += 2)
+		{
+			test.set(args[i], args[i + 1]);
+		}
+
+		test.run(System.out);
+	}
+
+	private int sessions = 10;
+	private int warmups = 2;
+	private int iterations = 10;
+	private long thinkTime = 0;
+	private final List<IScenario> scenarios = new ArrayList<IScenario>(LoadTest.newScenarios().values());
+
+	// Properties //
+
+	/**
+	 * Sets a parameter
+	 *
+	 * @param name the parameter name (ie: "-sessions")
+	 * @param value the parameter value
+	 */
+	public void set(String name, String value)
+	{
+		if ("-sessions".equals(name))
+		{
+			this.sessions = Integer.parseInt(value);
+		}
+		else if ("-warmups".equals(name))
+		{
+			this.warmups = Integer.parseInt(value);
+		}
+		else if ("-iterations".equals(name))
+		{
+			this.iterations = Integer.parseInt(value);
+		}
+		else if ("-think".equals(name))
+		{
+			this.thinkTime = Long.parseLong(value);
+		}
+		else if ("-scenarios".equals(name))
+		{
+			Map<String, IScenario> map = LoadTest.newScenarios();
+			this.scenarios.clear();
+
+			for (String scenario : value.split(","))
+			{
+				if (!map.containsKey(scenario.trim()))
+				{
+					throw new IllegalArgumentException("Unknown scenario: " + scenario + ", available scenarios are " + map.keySet());
+				}
+
+				this.scenarios.add(map.get(scenario.trim()));
+			}
+		}
+		else
+		{
+			throw new IllegalArgumentException("Unknown parameter: " + name);
+		}
+	}
+
+	// Methods //
+
+	/**
+	 * Runs the load test
+	 *
+	 * @param out the {@link PrintStream} the report is written to
+	 * @throws ServletException if the application fails to initialize
+	 * @throws InterruptedException if the thread is interrupted
+	 * @throws ExecutionException if a session has failed
+	 */
+	public void run(PrintStream out) throws ServletException, InterruptedException, ExecutionException
+	{
+		SimulatedServer server = new SimulatedServer(new SampleApplication());
+		Recorder recorder = new Recorder(this.sessions);
+		ExecutorService executor = Executors.newFixedThreadPool(this.sessions);
+
+		try
+		{
+			List<Future<Long>> futures = new ArrayList<Future<Long>>();
+
+			for (int i = 0; i < this.sessions; i++)
+			{
+				futures.add(executor.submit(new SimulatedSession(server, recorder, this.scenarios, this.warmups, this.iterations, this.thinkTime)));
+			}
+
+			for (Future<Long> future : futures)
+			{
+				future.get();
+			}
+
+			this.report(recorder, (System.nanoTime() - recorder.getStartTime()) / MS, out);
+		}
+		finally
+		{
+			executor.shutdownNow();
+			server.destroy();
+		}
+	}
+
+	/**
+	 * Writes the report
+	 *
+	 * @param recorder the {@link Recorder}
+	 * @param duration the duration of the measure period, in milliseconds
+	 * @param out the {@link PrintStream}
+	 */
+	private void report(Recorder recorder, double duration, PrintStream out)
+	{
+		out.printf("%nsessions: %d, iterations: %d, think time: %d ms, duration: %.1f s%n", this.sessions, this.iterations, this.thinkTime, duration / 1000);
+
+		// latencies //
+		out.printf("%n%-24s %8s %10s %10s %10s %10s %10s %10s%n", "step (ms)", "count", "ops/s", "mean", "p50", "p90", "p99", "max");
+
+		long count = 0;
+
+		for (Map.Entry<String, Statistics> entry : recorder.getLatencies().entrySet())
+		{
+			Statistics s = entry.getValue();
+			count += s.getCount();
+
+			out.printf("%-24s %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n", entry.getKey(), s.getCount(), s.getCount() * 1000 / duration, s.getMean() / MS, s.percentile(50) / MS, s.percentile(90) / MS, s.percentile(99) / MS, s.getMax() / MS);
+		}
+
+		out.printf("%-24s %8d %10.1f%n", "total", count, count * 1000 / duration);
+
+		// page sizes //
+		out.printf("%n%-24s %8s %10s %10s %10s %10s%n", "serialized page (KB)", "count", "mean", "p50", "p99", "max");
+
+		for (Map.Entry<String, Statistics> entry : recorder.getPageSizes().entrySet())
+		{
+			Statistics s = entry.getValue();
+
+			out.printf("%-24s %8d %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), s.getCount(), s.getMean() / KB, s.percentile(50) / KB, s.percentile(99) / KB, s.getMax() / KB);
+		}
+
+		Statistics s = recorder.getStoreSizes();
+		out.printf("%-24s %8d %10.1f %10.1f %10.1f %10.1f%n", "page store per session", s.getCount(), s.getMean() / KB, s.percentile(50) / KB, s.percentile(99) / KB, s.getMax() / KB);
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Provides the recorder of the measures of a load test, shared by all simulated sessions<br/>
+ * Latencies are recorded in nanoseconds, per step (ie: "datatable:render"); serialized page sizes are recorded in bytes, per page class.<br/>
+ * The measure period starts once all sessions are warmed up (see {@link #awaitStart()}).
+ */
+public class Recorder
+{
+	private final Map<String, Statistics> latencies = new TreeMap<String, Statistics>();
+	private final Map<String, Statistics> pageSizes = new TreeMap<String, Statistics>();
+	private final Statistics storeSizes = new Statistics();
+
+	private final CyclicBarrier barrier;
+	private volatile long startTime = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param sessions the number of simulated sessions
+	 */
+	public Recorder(int sessions)
+	{
+		this.barrier = new CyclicBarrier(sessions, new Runnable() {
+
+			@Override
+			public void run()
+			{
+				Recorder.this.startTime = System.nanoTime();
+			}
+		});
+	}
+
+	/**
+	 * Gets the {@link Statistics} of a key, creating it if needed
+	 *
+	 * @param map the map
+	 * @param key the key
+	 * @return the {@link Statistics}
+	 */
+	private static Statistics get(Map<String, Statistics> map, String key)
+	{
+		synchronized (map)
+		{
+			Statistics statistics = map.get(key);
+
+			if (statistics == null)
+			{
+				statistics = new Statistics();
+				map.put(key, statistics);
+			}
+
+			return statistics;
+		}
+	}
+
+	// Methods //
+
+	/**
+	 * Waits for all sessions to be warmed up
+	 *
+	 * @throws InterruptedException if the thread is interrupted
+	 * @throws BrokenBarrierException if another session failed
+	 */
+	public void awaitStart() throws InterruptedException, BrokenBarrierException
+	{
+		this.barrier.await();
+	}
+
+	/**
+	 * Releases the sessions waiting for the start, because a session has failed
+	 */
+	public void abort()
+	{
+		this.barrier.reset();
+	}
+
+	/**
+	 * Starts a measure
+	 *
+	 * @return the start time, to be supplied to {@link #stop(String, long)}
+	 */
+	public long start()
+	{
+		return System.nanoTime();
+	}
+
+	/**
+	 * Stops a measure and records the latency of the step
+	 *
+	 * @param step the step name
+	 * @param start the start time, as returned by {@link #start()}
+	 */
+	public void stop(String step, long start)
+	{
+		Recorder.get(this.latencies, step).add(System.nanoTime() - start);
+	}
+
+	/**
+	 * Records the serialized size of a page
+	 *
+	 * @param page the page class name
+	 * @param bytes the serialized size
+	 */
+	public void recordPageSize(String page, long bytes)
+	{
+		Recorder.get(this.pageSizes, page).add(bytes);
+	}
+
+	/**
+	 * Records the page-store size of a session, that is the sum of the serialized sizes of its pages
+	 *
+	 * @param bytes the size
+	 */
+	public void recordStoreSize(long bytes)
+	{
+		this.storeSizes.add(bytes);
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the start time of the measure period
+	 *
+	 * @return the {@link System#nanoTime()} at start, or 0 if not started
+	 */
+	public long getStartTime()
+	{
+		return this.startTime;
+	}
+
+	/**
+	 * Gets the latencies, by step
+	 *
+	 * @return the {@link Map} of {@link Statistics}
+	 */
+	public Map<String, Statistics> getLatencies()
+	{
+		return this.latencies;
+	}
+
+	/**
+	 * Gets the serialized page sizes, by page class
+	 *
+	 * @return the {@link Map} of {@link Statistics}
+	 */
+	public Map<String, Statistics> getPageSizes()
+	{
+		return this.pageSizes;
+	}
+
+	/**
+	 * Gets the page-store sizes of the sessions
+	 *
+	 * @return the {@link Statistics}
+	 */
+	public Statistics getStoreSizes()
+	{
+		return this.storeSizes;
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.apache.wicket.Page;
+import org.apache.wicket.ThreadContext;
+import org.apache.wicket.core.request.handler.IPageRequestHandler;
+import org.apache.wicket.protocol.http.WebApplication;
+import org.apache.wicket.protocol.http.WicketFilter;
+import org.apache.wicket.protocol.http.mock.MockHttpServletRequest;
+import org.apache.wicket.protocol.http.mock.MockHttpServletResponse;
+import org.apache.wicket.protocol.http.mock.MockHttpSession;
+import org.apache.wicket.protocol.http.mock.MockServletContext;
+import org.apache.wicket.request.IRequestHandler;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.cycle.AbstractRequestCycleListener;
+import org.apache.wicket.request.cycle.RequestCycle;
+
+/**
+ * Provides a simulated server, that is a {@link WicketFilter} serving a single {@link WebApplication} to all {@link SimulatedSession}{@code s}<br/>
+ * Each session sends its requests from its own thread and with its own {@link HttpSession}, so that the sessions share the application, its page manager and its
+ * caches, as they would on a servlet container.
+ */
+public class SimulatedServer
+{
+	private static final String FILTER_NAME = "loadtest";
+
+	private final WebApplication application;
+	private final ServletContext context;
+	private final WicketFilter filter;
+
+	/** the page of the last request, by session thread */
+	private final ThreadLocal<Page> lastPage = new ThreadLocal<Page>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param application the {@link WebApplication}, not initialized
+	 * @throws ServletException if the application fails to initialize
+	 */
+	public SimulatedServer(WebApplication application) throws ServletException
+	{
+		this.application = application;
+		this.context = new MockServletContext(application, null);
+		this.filter = new WicketFilter(application);
+		this.filter.init(this.newFilterConfig());
+
+		this.application.getRequestCycleListeners().add(new AbstractRequestCycleListener() {
+
+			@Override
+			public void onRequestHandlerExecuted(RequestCycle cycle, IRequestHandler handler)
+			{
+				if (handler instanceof IPageRequestHandler && ((IPageRequestHandler) handler).isPageInstanceCreated())
+				{
+					SimulatedServer.this.lastPage.set((Page) ((IPageRequestHandler) handler).getPage());
+				}
+			}
+		});
+	}
+
+	// Methods //
+
+	/**
+	 * Gets a new {@link HttpSession}
+	 *
+	 * @return the {@link HttpSession}
+	 */
+	public HttpSession newSession()
+	{
+		return new MockHttpSession(this.context);
+	}
+
+	/**
+	 * Sends a request and follows the redirects, as a browser does
+	 *
+	 * @param session the {@link HttpSession}
+	 * @param url the url, relative to the filter path
+	 * @param parameters the request parameters, as name/value pairs
+	 * @return the last {@link MockHttpServletResponse}
+	 * @throws IOException if the request fails
+	 * @throws ServletException if the request fails
+	 */
+	public MockHttpServletResponse process(HttpSession session, String url, String... parameters) throws IOException, ServletException
+	{
+		MockHttpServletResponse response = this.send(session, url, parameters);
+
+		while (response.isRedirect())
+		{
+			response = this.send(session, response.getRedirectLocation());
+		}
+
+		return response;
+	}
+
+	/**
+	 * Sends a request
+	 *
+	 * @param session the {@link HttpSession}
+	 * @param url the url, relative to the filter path
+	 * @param parameters the request parameters, as name/value pairs
+	 * @return the {@link MockHttpServletResponse}
+	 * @throws IOException if the request fails
+	 * @throws ServletException if the request fails
+	 */
+	private MockHttpServletResponse send(HttpSession session, String url, String... parameters) throws IOException, ServletException
+	{
+		MockHttpServletRequest request = new MockHttpServletRequest(this.application, session, this.context);
+		request.setURL(request.getContextPath() + '/' + url.replaceFirst("^\\.?/", ""));
+
+		for (int i = 0; i + 1 < parameters.length; i += 2)
+		{
+			request.setParameter(parameters[i], parameters[i + 1]);
+		}
+
+		MockHttpServletResponse response = new MockHttpServletResponse(request);
+
+		this.filter.doFilter(request, response, new FilterChain() {
+
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response)
+			{
+				// the request is not served by the application //
+			}
+		});
+
+		return response;
+	}
+
+	/**
+	 * Gets the url of a {@link IRequestHandler}, relative to the filter path
+	 *
+	 * @param handler the {@link IRequestHandler}
+	 * @return the url
+	 */
+	public String urlFor(IRequestHandler handler)
+	{
+		ThreadContext previous = ThreadContext.detach();
+
+		try
+		{
+			ThreadContext.setApplication(this.application);
+			Url url = this.application.getRootRequestMapper().mapHandler(handler);
+
+			return url.toString();
+		}
+		finally
+		{
+			ThreadContext.restore(previous);
+		}
+	}
+
+	/**
+	 * Stops the server and destroys the application
+	 */
+	public void destroy()
+	{
+		this.filter.destroy();
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link WebApplication}
+	 *
+	 * @return the {@link WebApplication}
+	 */
+	public WebApplication getApplication()
+	{
+		return this.application;
+	}
+
+	/**
+	 * Gets the {@link Page} rendered or called back by the last request of the current thread
+	 *
+	 * @return the {@link Page}, or {@code null} if none
+	 */
+	public Page getLastPage()
+	{
+		return this.lastPage.get();
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new {@link FilterConfig} mapping the filter to all the urls of the servlet context
+	 *
+	 * @return the {@link FilterConfig}
+	 */
+	private FilterConfig newFilterConfig()
+	{
+		return new FilterConfig() {
+
+			@Override
+			public String getFilterName()
+			{
+				return FILTER_NAME;
+			}
+
+			@Override
+			public ServletContext getServletContext()
+			{
+				return SimulatedServer.this.context;
+			}
+
+			@Override
+			public String getInitParameter(String name)
+			{
+				return WicketFilter.FILTER_MAPPING_PARAM.equals(name) ? "/*" : null;
+			}
+
+			@Override
+			public Enumeration<String> getInitParameterNames()
+			{
+				return Collections.enumeration(Collections.singletonList(WicketFilter.FILTER_MAPPING_PARAM));
+			}
+		};
+	}
+}
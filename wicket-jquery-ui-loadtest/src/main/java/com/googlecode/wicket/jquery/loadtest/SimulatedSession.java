@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.servlet.http.HttpSession;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.ThreadContext;
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.behavior.IBehaviorListener;
+import org.apache.wicket.core.request.handler.BookmarkablePageRequestHandler;
+import org.apache.wicket.core.request.handler.ListenerInterfaceRequestHandler;
+import org.apache.wicket.core.request.handler.PageAndComponentProvider;
+import org.apache.wicket.core.request.handler.PageProvider;
+import org.apache.wicket.protocol.http.mock.MockHttpServletResponse;
+
+/**
+ * Provides a simulated session, that is an {@link HttpSession} playing {@link IScenario}{@code s} in its own thread<br/>
+ * All sessions send their requests to the same {@link SimulatedServer}, so they share the application, the JVM, the CPUs and the static state of the library.
+ */
+public class SimulatedSession implements Callable<Long>
+{
+	private final SimulatedServer server;
+	private final Recorder recorder;
+	private final List<IScenario> scenarios;
+	private final int warmups;
+	private final int iterations;
+	private final long thinkTime;
+
+	/** serialized size of the stored pages, by page id */
+	private final Map<Integer, Long> pages = new HashMap<Integer, Long>();
+	private boolean recording = false;
+	private HttpSession session = null;
+	private Page page = null;
+
+	/**
+	 * Constructor
+	 *
+	 * @param server the {@link SimulatedServer}
+	 * @param recorder the {@link Recorder}
+	 * @param scenarios the list of {@link IScenario}
+	 * @param warmups the number of unrecorded iterations
+	 * @param iterations the number of recorded iterations
+	 * @param thinkTime the pause between two steps, in milliseconds
+	 */
+	public SimulatedSession(SimulatedServer server, Recorder recorder, List<IScenario> scenarios, int warmups, int iterations, long thinkTime)
+	{
+		this.server = server;
+		this.recorder = recorder;
+		this.scenarios = scenarios;
+		this.warmups = warmups;
+		this.iterations = iterations;
+		this.thinkTime = thinkTime;
+	}
+
+	/**
+	 * Plays the scenarios
+	 *
+	 * @return the page-store size of the session, in bytes
+	 */
+	@Override
+	public Long call() throws Exception
+	{
+		this.session = this.server.newSession();
+		ThreadContext.setApplication(this.server.getApplication()); // needed to serialize the pages
+
+		try
+		{
+			try
+			{
+				this.play(this.warmups);
+			}
+			catch (RuntimeException e)
+			{
+				this.recorder.abort(); // releases the other sessions
+
+				throw e;
+			}
+
+			this.recorder.awaitStart();
+			this.recording = true;
+			this.play(this.iterations);
+
+			long size = 0;
+
+			for (Long bytes : this.pages.values())
+			{
+				size += bytes;
+			}
+
+			this.recorder.recordStoreSize(size);
+
+			return size;
+		}
+		finally
+		{
+			this.session.invalidate();
+			ThreadContext.detach();
+		}
+	}
+
+	// Methods //
+
+	/**
+	 * Plays the scenarios
+	 *
+	 * @param count the number of iterations
+	 */
+	private void play(int count)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			for (IScenario scenario : this.scenarios)
+			{
+				scenario.run(this);
+			}
+		}
+	}
+
+	/**
+	 * Renders a page
+	 *
+	 * @param step the step name
+	 * @param pageClass the page class
+	 * @return the rendered page
+	 */
+	public <P extends Page> P render(String step, Class<P> pageClass)
+	{
+		String url = this.server.urlFor(new BookmarkablePageRequestHandler(new PageProvider(pageClass)));
+
+		this.request(step, url);
+		this.page = this.server.getLastPage();
+
+		return pageClass.cast(this.page);
+	}
+
+	/**
+	 * Executes the (first) behavior of the supplied type, attached to a component of the last rendered page
+	 *
+	 * @param step the step name
+	 * @param path the component path
+	 * @param type the behavior type
+	 * @param parameters the request parameters, as name/value pairs
+	 */
+	public void execute(String step, String path, Class<? extends Behavior> type, String... parameters)
+	{
+		Component component = this.page.get(path);
+		Behavior behavior = component.getBehaviors(type).get(0);
+
+		String url = this.server.urlFor(new ListenerInterfaceRequestHandler(new PageAndComponentProvider(this.page, component), IBehaviorListener.INTERFACE, component.getBehaviorId(behavior)));
+
+		this.request(step, url, parameters);
+	}
+
+	/**
+	 * Sends a request, records its latency and the size of the page it has rendered or called back
+	 *
+	 * @param step the step name
+	 * @param url the url
+	 * @param parameters the request parameters, as name/value pairs
+	 */
+	private void request(String step, String url, String... parameters)
+	{
+		this.think();
+
+		long start = this.recorder.start();
+		MockHttpServletResponse response;
+
+		try
+		{
+			response = this.server.process(this.session, url, parameters);
+		}
+		catch (Exception e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+
+		if (this.recording)
+		{
+			this.recorder.stop(step, start);
+		}
+
+		if (response.getStatus() != 200)
+		{
+			throw new WicketRuntimeException(String.format("%s: %s responded %d", step, url, response.getStatus()));
+		}
+
+		this.measure(this.server.getLastPage());
+	}
+
+	/**
+	 * Records the serialized size of the page, as it would be written to the page store
+	 *
+	 * @param page the {@link Page}
+	 */
+	private void measure(Page page)
+	{
+		byte[] bytes = this.server.getApplication().getFrameworkSettings().getSerializer().serialize(page);
+
+		if (bytes != null)
+		{
+			this.pages.put(page.getPageId(), (long) bytes.length);
+
+			if (this.recording)
+			{
+				this.recorder.recordPageSize(page.getClass().getSimpleName(), bytes.length);
+			}
+		}
+	}
+
+	/**
+	 * Pauses the session for the think time
+	 */
+	private void think()
+	{
+		if (this.thinkTime > 0)
+		{
+			try
+			{
+				Thread.sleep(this.thinkTime);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
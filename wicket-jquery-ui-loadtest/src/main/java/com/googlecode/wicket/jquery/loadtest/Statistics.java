@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Provides the samples of one measure (ie: the latencies of a step), and their statistics<br/>
+ * Samples are kept in full, so that the percentiles are exact.
+ */
+public class Statistics
+{
+	private long[] values = new long[256];
+	private int count = 0;
+	private long sum = 0;
+
+	// Methods //
+
+	/**
+	 * Adds a sample
+	 *
+	 * @param value the value
+	 */
+	public synchronized void add(long value)
+	{
+		if (this.count == this.values.length)
+		{
+			this.values = Arrays.copyOf(this.values, this.count * 2);
+		}
+
+		this.values[this.count++] = value;
+		this.sum += value;
+	}
+
+	/**
+	 * Gets the value at the supplied percentile (nearest-rank method)
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the value, or 0 if there is no sample
+	 */
+	public synchronized long percentile(double percentile)
+	{
+		if (this.count == 0)
+		{
+			return 0;
+		}
+
+		long[] sorted = Arrays.copyOf(this.values, this.count);
+		Arrays.sort(sorted);
+
+		int rank = (int) Math.ceil(percentile / 100d * this.count);
+
+		return sorted[Math.max(0, Math.min(this.count, rank) - 1)];
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the number of samples
+	 *
+	 * @return the number of samples
+	 */
+	public synchronized int getCount()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Gets the sum of the samples
+	 *
+	 * @return the sum
+	 */
+	public synchronized long getSum()
+	{
+		return this.sum;
+	}
+
+	/**
+	 * Gets the mean of the samples
+	 *
+	 * @return the mean, or 0 if there is no sample
+	 */
+	public synchronized long getMean()
+	{
+		return this.count > 0 ? this.sum / this.count : 0;
+	}
+
+	/**
+	 * Gets the max of the samples
+	 *
+	 * @return the max, or 0 if there is no sample
+	 */
+	public long getMax()
+	{
+		return this.percentile(100);
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest.scenario;
+
+import com.googlecode.wicket.jquery.core.behavior.ChoiceModelBehavior;
+import com.googlecode.wicket.jquery.loadtest.IScenario;
+import com.googlecode.wicket.jquery.loadtest.SimulatedSession;
+import com.googlecode.wicket.jquery.ui.samples.pages.kendo.autocomplete.KendoAutoCompletePage;
+
+/**
+ * Renders the Kendo UI autocomplete sample page, then requests the choices of an input being typed
+ */
+public class AutoCompleteScenario implements IScenario
+{
+	private static final String TERM = "filter[filters][0][value]";
+	private static final String[] INPUTS = { "r", "ro", "roc", "p", "po", "pos" };
+
+	@Override
+	public String getName()
+	{
+		return "autocomplete";
+	}
+
+	@Override
+	public void run(SimulatedSession session)
+	{
+		session.render(this.getName() + ":render", KendoAutoCompletePage.class);
+
+		for (String input : INPUTS)
+		{
+			session.execute(this.getName() + ":choices", "form:autocomplete", ChoiceModelBehavior.class, TERM, input);
+		}
+	}
+}
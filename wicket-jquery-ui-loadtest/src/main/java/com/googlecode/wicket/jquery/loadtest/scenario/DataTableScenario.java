@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest.scenario;
+
+import com.googlecode.wicket.jquery.loadtest.IScenario;
+import com.googlecode.wicket.jquery.loadtest.SimulatedSession;
+import com.googlecode.wicket.jquery.ui.samples.pages.kendo.datatable.DefaultDataTablePage;
+import com.googlecode.wicket.kendo.ui.datatable.DataSourceBehavior;
+
+/**
+ * Renders the Kendo UI datatable sample page, then reads the first pages of data, as the grid does when paging
+ */
+public class DataTableScenario implements IScenario
+{
+	private static final int PAGES = 3;
+	private static final int ROWS = 20;
+
+	@Override
+	public String getName()
+	{
+		return "datatable";
+	}
+
+	@Override
+	public void run(SimulatedSession session)
+	{
+		session.render(this.getName() + ":render", DefaultDataTablePage.class);
+
+		for (int page = 0; page < PAGES; page++)
+		{
+			session.execute(this.getName() + ":read", "form:datatable", DataSourceBehavior.class, "skip", String.valueOf(page * ROWS), "take", String.valueOf(ROWS));
+		}
+	}
+}
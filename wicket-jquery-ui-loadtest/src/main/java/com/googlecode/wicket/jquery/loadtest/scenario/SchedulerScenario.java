@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.loadtest.scenario;
+
+import com.googlecode.wicket.jquery.loadtest.IScenario;
+import com.googlecode.wicket.jquery.loadtest.SimulatedSession;
+import com.googlecode.wicket.jquery.ui.samples.pages.kendo.scheduler.DefaultSchedulerPage;
+import com.googlecode.wicket.kendo.ui.scheduler.SchedulerModelBehavior;
+
+/**
+ * Renders the Kendo UI scheduler sample page, then reads the events of the current and the next weeks, as the scheduler does when navigating
+ */
+public class SchedulerScenario implements IScenario
+{
+	private static final long WEEK = 7L * 24 * 60 * 60 * 1000;
+	private static final int WEEKS = 3;
+
+	@Override
+	public String getName()
+	{
+		return "scheduler";
+	}
+
+	@Override
+	public void run(SimulatedSession session)
+	{
+		session.render(this.getName() + ":render", DefaultSchedulerPage.class);
+
+		long start = System.currentTimeMillis();
+
+		for (int week = 0; week < WEEKS; week++)
+		{
+			session.execute(this.getName() + ":read", "form:scheduler", SchedulerModelBehavior.class, "start", String.valueOf(start + week * WEEK), "end", String.valueOf(start + (week + 1) * WEEK));
+		}
+	}
+}
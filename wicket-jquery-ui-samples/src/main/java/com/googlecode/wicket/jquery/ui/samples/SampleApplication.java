@@ -6,6 +6,7 @@ import org.apache.wicket.protocol.http.WebApplication;
 import org.apache.wicket.request.Request;
 import org.apache.wicket.request.Response;
 
+import com.googlecode.wicket.jquery.core.resource.PrecompressedResourceCachingStrategy;
 import com.googlecode.wicket.jquery.ui.samples.pages.accordion.DefaultAccordionPage;
 import com.googlecode.wicket.jquery.ui.samples.pages.autocomplete.DefaultAutoCompletePage;
 import com.googlecode.wicket.jquery.ui.samples.pages.button.DefaultButtonPage;
@@ -63,6 +64,9 @@ public class SampleApplication extends WebApplication
 
 		this.getResourceSettings().setThrowExceptionOnMissingResource(false);
 
+		// serves the precompressed resources (.br, .gz) //
+		PrecompressedResourceCachingStrategy.install(this);
+
 		// SiteMap //
 		this.mountPage("/sitemap.xml", SiteMapPage.class);
 
@@ -15,7 +15,9 @@ public class DynamicEffectPage extends AbstractEffectPage
 
 	public DynamicEffectPage()
 	{
-		this.add(new JQueryUIBehavior("#tabs", "tabs"));
+		JQueryUIBehavior behavior = new JQueryUIBehavior("#tabs", "tabs");
+		behavior.addModule("effect-explode"); // the effect is played on ajax, so its module is rendered with the page
+		this.add(behavior);
 
 		Form<Void> form = new Form<Void>("form");
 		this.add(form);
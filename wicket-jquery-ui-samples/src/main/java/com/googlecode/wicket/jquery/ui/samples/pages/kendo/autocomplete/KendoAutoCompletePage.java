@@ -7,8 +7,9 @@ import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.markup.html.form.Form;
 import org.apache.wicket.model.Model;
 
-import com.googlecode.wicket.jquery.core.utils.ListUtils;
+import com.googlecode.wicket.jquery.core.data.ChoiceIndex;
 import com.googlecode.wicket.kendo.ui.form.autocomplete.AutoCompleteTextField;
+import com.googlecode.wicket.kendo.ui.form.autocomplete.IndexedAutoCompleteTextField;
 import com.googlecode.wicket.kendo.ui.form.button.AjaxButton;
 import com.googlecode.wicket.kendo.ui.form.button.Button;
 import com.googlecode.wicket.kendo.ui.panel.KendoFeedbackPanel;
@@ -25,6 +26,9 @@ public class KendoAutoCompletePage extends AbstractAutoCompletePage
 			"Raga rock", "Rap metal", "Rap rock", "Rapcore", "Riot grrrl", "Rock and roll", "Rock en Español", "Rock in Opposition", "Sadcore", "Screamo", "Shoegazer", "Slowcore", "Sludge metal", "Soft rock", "Southern rock", "Space Rock",
 			"Speed metal", "Stoner rock", "Sufi rock", "Surf rock", "Symphonic metal", "Technical Death Metal", "Thrash metal", "Thrashcore", "Twee Pop", "Unblack metal", "World Fusion");
 
+	/** the index is shared across sessions */
+	private static final ChoiceIndex<String> INDEX = new ChoiceIndex<String>().addAll(CHOICES);
+
 	public KendoAutoCompletePage()
 	{
 		// Form //
@@ -36,14 +40,14 @@ public class KendoAutoCompletePage extends AbstractAutoCompletePage
 		form.add(feedback);
 
 		// Auto-complete //
-		final AutoCompleteTextField<String> autocomplete = new AutoCompleteTextField<String>("autocomplete", Model.of("Heavy metal")) {
+		final AutoCompleteTextField<String> autocomplete = new IndexedAutoCompleteTextField<String>("autocomplete", Model.of("Heavy metal")) {
 
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected List<String> getChoices(String input)
+			protected ChoiceIndex<String> getChoiceIndex()
 			{
-				return ListUtils.startsWith(input, CHOICES);
+				return INDEX;
 			}
 		};
 
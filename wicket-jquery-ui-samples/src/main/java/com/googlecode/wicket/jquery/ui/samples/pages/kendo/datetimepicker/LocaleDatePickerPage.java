@@ -13,7 +13,7 @@ import com.googlecode.wicket.kendo.ui.form.button.AjaxButton;
 import com.googlecode.wicket.kendo.ui.form.button.Button;
 import com.googlecode.wicket.kendo.ui.form.datetime.DatePicker;
 import com.googlecode.wicket.kendo.ui.panel.KendoFeedbackPanel;
-import com.googlecode.wicket.kendo.ui.resource.KendoGlobalizeResourceReference;
+import com.googlecode.wicket.kendo.ui.resource.KendoCultureResolver;
 
 public class LocaleDatePickerPage extends AbstractTimePickerPage
 {
@@ -73,6 +73,7 @@ public class LocaleDatePickerPage extends AbstractTimePickerPage
 
 		// response.render(JavaScriptHeaderItem.forReference(new KendoGlobalizeResourceReference("fr"))); // or fr-FR
 		// response.render(JavaScriptHeaderItem.forReference(new KendoGlobalizeResourceReference(KendoCulture.FR_FR)));
-		response.render(JavaScriptHeaderItem.forReference(new KendoGlobalizeResourceReference(Locale.FRENCH)));
+		// response.render(KendoCultureResolver.newHeaderItem(Locale.FRENCH, true)); // inlined
+		response.render(JavaScriptHeaderItem.forReference(KendoCultureResolver.getReference(Locale.FRENCH)));
 	}
 }
@@ -17,7 +17,7 @@ import com.googlecode.wicket.kendo.ui.form.datetime.DatePicker;
 import com.googlecode.wicket.kendo.ui.form.datetime.DateTimePicker;
 import com.googlecode.wicket.kendo.ui.form.datetime.TimePicker;
 import com.googlecode.wicket.kendo.ui.panel.KendoFeedbackPanel;
-import com.googlecode.wicket.kendo.ui.resource.KendoGlobalizeResourceReference;
+import com.googlecode.wicket.kendo.ui.resource.KendoCultureResolver;
 
 public class LocaleDateTimePickerPage extends AbstractTimePickerPage
 {
@@ -94,6 +94,6 @@ public class LocaleDateTimePickerPage extends AbstractTimePickerPage
 	{
 		super.renderHead(response);
 
-		response.render(JavaScriptHeaderItem.forReference(new KendoGlobalizeResourceReference(Locale.FRENCH)));
+		response.render(JavaScriptHeaderItem.forReference(KendoCultureResolver.getReference(Locale.FRENCH)));
 	}
 }
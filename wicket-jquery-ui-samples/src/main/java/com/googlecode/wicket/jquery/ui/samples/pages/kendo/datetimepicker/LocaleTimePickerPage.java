@@ -13,7 +13,7 @@ import com.googlecode.wicket.kendo.ui.form.button.AjaxButton;
 import com.googlecode.wicket.kendo.ui.form.button.Button;
 import com.googlecode.wicket.kendo.ui.form.datetime.TimePicker;
 import com.googlecode.wicket.kendo.ui.panel.KendoFeedbackPanel;
-import com.googlecode.wicket.kendo.ui.resource.KendoGlobalizeResourceReference;
+import com.googlecode.wicket.kendo.ui.resource.KendoCultureResolver;
 
 public class LocaleTimePickerPage extends AbstractTimePickerPage
 {
@@ -74,6 +74,6 @@ public class LocaleTimePickerPage extends AbstractTimePickerPage
 	{
 		super.renderHead(response);
 
-		response.render(JavaScriptHeaderItem.forReference(new KendoGlobalizeResourceReference(Locale.FRENCH)));
+		response.render(JavaScriptHeaderItem.forReference(KendoCultureResolver.getReference(Locale.FRENCH)));
 	}
 }
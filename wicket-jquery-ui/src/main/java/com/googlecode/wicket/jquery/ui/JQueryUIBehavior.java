@@ -16,9 +16,17 @@
  */
 package com.googlecode.wicket.jquery.ui;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.wicket.Application;
 import org.apache.wicket.Component;
 import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.request.resource.ResourceReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +34,7 @@ import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.utils.JQueryUtils;
 import com.googlecode.wicket.jquery.ui.JQueryDestroyListener.IDestroyable;
+import com.googlecode.wicket.jquery.ui.resource.JQueryUIModules;
 import com.googlecode.wicket.jquery.ui.settings.JQueryUILibrarySettings;
 
 /**
@@ -39,6 +48,9 @@ public class JQueryUIBehavior extends JQueryBehavior implements IDestroyable
 	private static final long serialVersionUID = 1L;
 	private static final Logger LOG = LoggerFactory.getLogger(JQueryUIBehavior.class);
 
+	/** Additional modules */
+	private List<String> modules = null;
+
 	/**
 	 * Constructor
 	 *
@@ -64,26 +76,102 @@ public class JQueryUIBehavior extends JQueryBehavior implements IDestroyable
 		this.initReferences();
 	}
 
-	// Methods //
+	// Properties //
 
 	/**
-	 * Initializes CSS & JavaScript resource references
+	 * Gets the jQuery UI javascript references to be rendered<br/>
+	 * If modular references are enabled, these are the references of the modules the widget depends on (see {@link JQueryUIModules#getModules(String)}), including the
+	 * effects referenced by the 'show' and 'hide' options and the added modules; if the method is not a known jQuery UI method, all the modules are rendered. Otherwise, it is
+	 * the jQuery UI library reference.
+	 *
+	 * @return the list of {@link ResourceReference}
+	 * @see JQueryUILibrarySettings#isModularReferencesEnabled()
 	 */
-	private void initReferences()
+	protected List<ResourceReference> getJavaScriptReferences()
 	{
 		JQueryUILibrarySettings settings = JQueryUILibrarySettings.get();
 
+		if (settings.isModularReferencesEnabled())
+		{
+			List<String> names = JQueryUIModules.getModules(this.method);
+
+			if (names == null)
+			{
+				LOG.debug("'{}' is not a known jQuery UI method, all the modules will be rendered", this.method);
+
+				return JQueryUIModules.getAll();
+			}
+
+			names = new ArrayList<String>(names);
+			names.addAll(JQueryUIModules.getEffects(this.getOption("show")));
+			names.addAll(JQueryUIModules.getEffects(this.getOption("hide")));
+
+			if (this.modules != null)
+			{
+				names.addAll(this.modules);
+			}
+
+			return JQueryUIModules.get(names);
+		}
+
 		if (settings.getJavaScriptReference() != null)
 		{
-			this.add(settings.getJavaScriptReference());
+			return Collections.singletonList(settings.getJavaScriptReference());
 		}
 
+		return Collections.emptyList();
+	}
+
+	// Methods //
+
+	/**
+	 * Initializes CSS resource references<br/>
+	 * JavaScript resource references are rendered at {@link #renderHead(Component, IHeaderResponse)} time, see {@link #getJavaScriptReferences()}
+	 */
+	private void initReferences()
+	{
+		JQueryUILibrarySettings settings = JQueryUILibrarySettings.get();
+
 		if (settings.getStyleSheetReference() != null)
 		{
 			this.add(settings.getStyleSheetReference());
 		}
 	}
 
+	/**
+	 * Adds a jQuery UI module to be rendered along with the ones the widget depends on<br/>
+	 * This is typically needed when an effect is played outside of the widget options, ie: an 'effect-explode' effect played on ajax.
+	 *
+	 * @param name the module name, see {@link JQueryUIModules}
+	 * @return {@code true} (as specified by {@link Collection#add})
+	 * @throws IllegalArgumentException if the module does not exist
+	 */
+	public boolean addModule(String name)
+	{
+		if (JQueryUIModules.get(name) == null)
+		{
+			throw new IllegalArgumentException(String.format("'%s' is not a jQuery UI module", name));
+		}
+
+		if (this.modules == null)
+		{
+			this.modules = new ArrayList<String>();
+		}
+
+		return this.modules.add(name);
+	}
+
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		for (ResourceReference reference : this.getJavaScriptReferences())
+		{
+			this.renderPriorityHeaderItem(JavaScriptHeaderItem.forReference(reference), response);
+		}
+
+		super.renderHead(component, response);
+	}
+
 	/**
 	 * Gets the jQuery UI object
 	 *
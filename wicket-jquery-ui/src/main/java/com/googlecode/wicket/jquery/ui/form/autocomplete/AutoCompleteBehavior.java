@@ -19,17 +19,24 @@ package com.googlecode.wicket.jquery.ui.form.autocomplete;
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+import com.googlecode.wicket.jquery.core.ajax.RequestSequencer;
+import com.googlecode.wicket.jquery.core.behavior.ChoiceModelBehavior;
+import com.googlecode.wicket.jquery.core.data.ChoiceIndex;
 import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 
 /**
- * Provides a jQuery auto-complete behavior
+ * Provides a jQuery auto-complete behavior<br/>
+ * Choices are fetched through {@code jQuery.choiceCache} (see {@link ChoiceModelBehavior#CHOICE_CACHE}): responses are cached by term and narrowed on the client for
+ * longer terms, superseded requests are aborted and skipped by the server. Requests are debounced by the 'delay' option.
  *
  * @author Sebastien Briquet - sebfz1
  */
@@ -38,9 +45,20 @@ public abstract class AutoCompleteBehavior extends JQueryUIBehavior implements I
 	private static final long serialVersionUID = 1L;
 	public static final String METHOD = "autocomplete";
 
+	/** The query parameter holding the term */
+	public static final String TERM = "term";
+
+	/** Default number of terms cached on the client */
+	public static final int CACHE_SIZE = 50;
+
 	/** event listener */
 	private final IAutoCompleteListener listener;
 
+	private int cacheSize = CACHE_SIZE;
+	private int maxChoices = 0;
+	private String filter = "contains";
+	private boolean accentInsensitive = false;
+
 	private JQueryAjaxBehavior onSelectAjaxBehavior = null;
 
 	/**
@@ -77,10 +95,116 @@ public abstract class AutoCompleteBehavior extends JQueryUIBehavior implements I
 
 		this.onSelectAjaxBehavior = this.newOnSelectAjaxBehavior(this);
 		component.add(this.onSelectAjaxBehavior);
+
+		RequestSequencer.get(component.getApplication()); // records the sequence numbers of choice requests
 	}
 
 	protected abstract CharSequence getChoiceCallbackUrl();
 
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		super.renderHead(component, response);
+
+		response.render(JavaScriptHeaderItem.forReference(ChoiceModelBehavior.CHOICE_CACHE));
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the number of terms cached on the client
+	 *
+	 * @return the cache size
+	 */
+	public int getCacheSize()
+	{
+		return this.cacheSize;
+	}
+
+	/**
+	 * Sets the number of terms cached on the client
+	 *
+	 * @param size the cache size, {@code 0} disables the cache
+	 * @return this, for chaining
+	 */
+	public AutoCompleteBehavior setCacheSize(int size)
+	{
+		this.cacheSize = size;
+
+		return this;
+	}
+
+	/**
+	 * Gets the max number of choices returned for a term
+	 *
+	 * @return {@code 0} by default, the choices of longer terms are not narrowed on the client
+	 */
+	public int getMaxChoices()
+	{
+		return this.maxChoices;
+	}
+
+	/**
+	 * Sets the max number of choices returned for a term<br/>
+	 * A response having less choices is complete, so the choices of longer terms are narrowed from it on the client. The server should then return at most
+	 * {@code max} choices, as {@link ChoiceIndex} does with {@link ChoiceIndex#MAX}.
+	 *
+	 * @param max the max number of choices, {@code 0} disables the narrowing
+	 * @return this, for chaining
+	 */
+	public AutoCompleteBehavior setMaxChoices(int max)
+	{
+		this.maxChoices = max;
+
+		return this;
+	}
+
+	/**
+	 * Gets the filter used to narrow the cached choices, which should match the way choices are retrieved on the server
+	 *
+	 * @return 'contains' by default
+	 */
+	public String getFilter()
+	{
+		return this.filter;
+	}
+
+	/**
+	 * Sets the filter used to narrow the cached choices, which should match the way choices are retrieved on the server
+	 *
+	 * @param filter 'contains', 'startswith' or 'words' (each word of the term starts a word of the choice)
+	 * @return this, for chaining
+	 */
+	public AutoCompleteBehavior setFilter(String filter)
+	{
+		this.filter = Args.notNull(filter, "filter");
+
+		return this;
+	}
+
+	/**
+	 * Indicates whether accents are ignored when narrowing the cached choices
+	 *
+	 * @return {@code false} by default, like {@link com.googlecode.wicket.jquery.core.utils.ListUtils#contains(String, java.util.List)}
+	 */
+	public boolean isAccentInsensitive()
+	{
+		return this.accentInsensitive;
+	}
+
+	/**
+	 * Sets whether accents are ignored when narrowing the cached choices, which should match the way choices are retrieved on the server
+	 *
+	 * @param insensitive {@code true} if choices are retrieved from a {@link ChoiceIndex}
+	 * @return this, for chaining
+	 */
+	public AutoCompleteBehavior setAccentInsensitive(boolean insensitive)
+	{
+		this.accentInsensitive = insensitive;
+
+		return this;
+	}
+
 	// Events //
 
 	@Override
@@ -88,7 +212,7 @@ public abstract class AutoCompleteBehavior extends JQueryUIBehavior implements I
 	{
 		super.onConfigure(component);
 
-		this.setOption("source", Options.asString(this.getChoiceCallbackUrl()));
+		this.setOption("source", this.newSource());
 		this.setOption("select", this.onSelectAjaxBehavior.getCallbackFunction());
 	}
 
@@ -99,12 +223,40 @@ public abstract class AutoCompleteBehavior extends JQueryUIBehavior implements I
 	{
 		if (event instanceof SelectEvent)
 		{
-			this.listener.onSelect(target, ((SelectEvent) event).getIndex());
+			SelectEvent e = (SelectEvent) event;
+
+			if (this.listener instanceof IAutoCompleteTermListener)
+			{
+				((IAutoCompleteTermListener) this.listener).onSelect(target, e.getIndex(), e.getTerm());
+			}
+			else
+			{
+				this.listener.onSelect(target, e.getIndex());
+			}
 		}
 	}
 
 	// Factories //
 
+	/**
+	 * Gets a new 'source' function, fetching the choices through {@code jQuery.choiceCache}
+	 *
+	 * @return the 'source' function
+	 */
+	protected String newSource()
+	{
+		Options settings = new Options();
+		settings.set("param", Options.asString(TERM));
+		settings.set("field", Options.asString("value"));
+		settings.set("filter", Options.asString(this.getFilter()));
+		settings.set("max", this.getMaxChoices());
+		settings.set("accents", this.isAccentInsensitive());
+		settings.set("size", this.getCacheSize());
+
+		return String.format("(function(cache) { return function(request, response) { cache.fetch(request.term, response, function() { response([]); }); }; })(jQuery.choiceCache(%s, %s))", // lf
+				Options.asString(this.getChoiceCallbackUrl()), settings);
+	}
+
 	/**
 	 * Gets a new {@link JQueryAjaxBehavior} that will be wired to the 'select' event
 	 *
@@ -135,7 +287,8 @@ public abstract class AutoCompleteBehavior extends JQueryUIBehavior implements I
 		{
 			return new CallbackParameter[] { CallbackParameter.context("event"), // lf
 					CallbackParameter.context("ui"), // lf
-					CallbackParameter.resolved("index", "ui.item.id") };
+					CallbackParameter.resolved("index", "ui.item.id"), // lf
+					CallbackParameter.resolved(TERM, "ui.item._term") };
 		}
 
 		@Override
@@ -153,15 +306,27 @@ public abstract class AutoCompleteBehavior extends JQueryUIBehavior implements I
 	protected static class SelectEvent extends JQueryEvent
 	{
 		private final int index;
+		private final String term;
 
 		public SelectEvent()
 		{
 			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(0) - 1;
+			this.term = RequestCycleUtils.getQueryParameterValue(TERM).toOptionalString();
 		}
 
 		public int getIndex()
 		{
 			return this.index;
 		}
+
+		/**
+		 * Gets the term the selected choice has been returned for
+		 *
+		 * @return the term, or {@code null} if unknown
+		 */
+		public String getTerm()
+		{
+			return this.term;
+		}
 	}
 }
@@ -27,6 +27,7 @@ import org.apache.wicket.request.http.WebResponse;
 import com.googlecode.wicket.jquery.core.behavior.ChoiceModelBehavior;
 import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
 import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
+import com.googlecode.wicket.jquery.core.utils.HttpCacheUtils;
 
 /**
  * Provides the {@link AbstractAjaxBehavior} for the {@link AutoCompleteTextField}
@@ -61,7 +62,19 @@ abstract class AutoCompleteChoiceModelBehavior<T> extends ChoiceModelBehavior<T>
 
 			final String encoding = Application.get().getRequestCycleSettings().getResponseRequestEncoding();
 			response.setContentType("application/json; charset=" + encoding);
-			response.disableCaching();
+
+			if (AutoCompleteChoiceModelBehavior.this.isObsolete())
+			{
+				response.disableCaching();
+				response.setStatus(NO_CONTENT);
+
+				return;
+			}
+
+			if (HttpCacheUtils.isNotModified(response, AutoCompleteChoiceModelBehavior.this.getVersion(), AutoCompleteChoiceModelBehavior.this.getMaxAge()))
+			{
+				return;
+			}
 
 			List<T> choices = AutoCompleteChoiceModelBehavior.this.getChoices();
 
@@ -25,6 +25,7 @@ import org.apache.wicket.markup.ComponentTag;
 import org.apache.wicket.markup.html.form.TextField;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.util.convert.IConverter;
+import org.apache.wicket.util.string.Strings;
 
 import com.googlecode.wicket.jquery.core.IJQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
@@ -40,7 +41,7 @@ import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
  * @param <T> the type of the model object
  * @author Sebastien Briquet - sebfz1
  */
-public abstract class AutoCompleteTextField<T extends Serializable> extends TextField<T> implements IJQueryWidget, IAutoCompleteListener
+public abstract class AutoCompleteTextField<T extends Serializable> extends TextField<T> implements IJQueryWidget, IAutoCompleteTermListener
 {
 	private static final long serialVersionUID = 1L;
 
@@ -60,6 +61,11 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 	 */
 	private List<T> choices;
 
+	/**
+	 * The term of the current choices
+	 */
+	private String term;
+
 	/**
 	 * Constructor
 	 *
@@ -171,6 +177,7 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 	 */
 	private List<T> internalGetChoices(String input)
 	{
+		this.term = input;
 		this.choices = this.getChoices(input);
 
 		return this.choices;
@@ -259,7 +266,18 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 	@Override
 	public final void onSelect(AjaxRequestTarget target, int index)
 	{
-		if (-1 < index && index < this.choices.size())
+		this.onSelect(target, index, null);
+	}
+
+	@Override
+	public final void onSelect(AjaxRequestTarget target, int index, String term)
+	{
+		if (!Strings.isEmpty(term) && !term.equals(this.term))
+		{
+			this.internalGetChoices(term); // choices have been served from the client cache
+		}
+
+		if (this.choices != null && -1 < index && index < this.choices.size())
 		{
 			T choice = this.choices.get(index);
 
@@ -362,12 +380,11 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 		return new AutoCompleteChoiceModelBehavior<T>(this.renderer) {
 
 			private static final long serialVersionUID = 1L;
-			private static final String TERM = "term";
 
 			@Override
 			public List<T> getChoices()
 			{
-				final String input = RequestCycleUtils.getQueryParameterValue(TERM).toString();
+				final String input = RequestCycleUtils.getQueryParameterValue(AutoCompleteBehavior.TERM).toString();
 
 				return AutoCompleteTextField.this.internalGetChoices(input);
 			}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.wicket.model.IModel;
+
+import com.googlecode.wicket.jquery.core.JQueryBehavior;
+import com.googlecode.wicket.jquery.core.data.ChoiceIndex;
+import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+
+/**
+ * Provides a jQuery auto-complete widget whose choices are searched in a {@link ChoiceIndex}<br/>
+ * The choices contain the input (see {@link ChoiceIndex#contains(String)}). As the index returns at most {@link ChoiceIndex#MAX} choices, complete responses are
+ * narrowed on the client for longer inputs.
+ *
+ * @param <T> the type of the model object
+ */
+public abstract class IndexedAutoCompleteTextField<T extends Serializable> extends AutoCompleteTextField<T>
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 */
+	public IndexedAutoCompleteTextField(String id)
+	{
+		super(id);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param type the type of the bean. This parameter should be supplied for the internal converter ({@link #getConverter(Class)}) to be used.
+	 */
+	public IndexedAutoCompleteTextField(String id, Class<T> type)
+	{
+		super(id, type);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param renderer the {@link ITextRenderer}
+	 */
+	public IndexedAutoCompleteTextField(String id, ITextRenderer<? super T> renderer)
+	{
+		super(id, renderer);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param renderer the {@link ITextRenderer}
+	 * @param type the type of the bean. This parameter should be supplied for the internal converter ({@link #getConverter(Class)}) to be used.
+	 */
+	public IndexedAutoCompleteTextField(String id, ITextRenderer<? super T> renderer, Class<T> type)
+	{
+		super(id, renderer, type);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param model the {@link IModel}
+	 */
+	public IndexedAutoCompleteTextField(String id, IModel<T> model)
+	{
+		super(id, model);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param model the {@link IModel}
+	 * @param type the type of the bean. This parameter should be supplied for the internal converter ({@link #getConverter(Class)}) to be used.
+	 */
+	public IndexedAutoCompleteTextField(String id, IModel<T> model, Class<T> type)
+	{
+		super(id, model, type);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param model the {@link IModel}
+	 * @param renderer the {@link ITextRenderer}
+	 */
+	public IndexedAutoCompleteTextField(String id, IModel<T> model, ITextRenderer<? super T> renderer)
+	{
+		super(id, model, renderer);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param model the {@link IModel}
+	 * @param renderer the {@link ITextRenderer}
+	 * @param type the type of the bean. This parameter should be supplied for the internal converter ({@link #getConverter(Class)}) to be used.
+	 */
+	public IndexedAutoCompleteTextField(String id, IModel<T> model, ITextRenderer<? super T> renderer, Class<T> type)
+	{
+		super(id, model, renderer, type);
+	}
+
+	// Methods //
+
+	@Override
+	protected List<T> getChoices(String input)
+	{
+		return this.getChoiceIndex().contains(input);
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link ChoiceIndex} searched by {@link #getChoices(String)}<br/>
+	 * The index is meant to be shared across sessions, so it should not be held by the component (ie: it can be held by a static field or by the application)
+	 *
+	 * @return the {@link ChoiceIndex}
+	 */
+	protected abstract ChoiceIndex<T> getChoiceIndex();
+
+	// IJQueryWidget //
+
+	@Override
+	public JQueryBehavior newWidgetBehavior(String selector)
+	{
+		AutoCompleteBehavior behavior = (AutoCompleteBehavior) super.newWidgetBehavior(selector);
+		behavior.setMaxChoices(ChoiceIndex.MAX);
+		behavior.setAccentInsensitive(true);
+
+		return behavior;
+	}
+}
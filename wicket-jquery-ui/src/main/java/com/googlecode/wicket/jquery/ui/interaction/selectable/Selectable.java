@@ -19,13 +19,11 @@ package com.googlecode.wicket.jquery.ui.interaction.selectable;
 import java.io.Serializable;
 import java.util.List;
 
-import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.markup.ComponentTag;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.util.ListModel;
 
-import com.googlecode.wicket.jquery.core.JQueryAbstractBehavior;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryGenericContainer;
 import com.googlecode.wicket.jquery.ui.JQueryIcon;
@@ -141,14 +139,6 @@ public class Selectable<T extends Serializable> extends JQueryGenericContainer<L
 
 	// Events //
 
-	@Override
-	protected void onConfigure()
-	{
-		super.onConfigure();
-
-		this.add(this.newSelectedBehavior());
-	}
-
 	/**
 	 * Triggered when a selection has been made (stops)
 	 *
@@ -174,56 +164,6 @@ public class Selectable<T extends Serializable> extends JQueryGenericContainer<L
 		this.items.detach();
 	}
 
-	// Factories //
-
-	/**
-	 * Gets the JQueryAbstractBehavior in charge of selecting default items (matching model object)
-	 *
-	 * @return the {@link JQueryAbstractBehavior}
-	 */
-	protected JQueryAbstractBehavior newSelectedBehavior()
-	{
-		return new JQueryAbstractBehavior("selected") {
-
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			public boolean isTemporary(Component component)
-			{
-				return true;
-			}
-
-			private String getSelector()
-			{
-				return String.format("%s %s", JQueryWidget.getSelector(Selectable.this), Selectable.this.getItemSelector());
-			}
-
-			@Override
-			protected String $()
-			{
-				StringBuilder statement = new StringBuilder("");
-				List<T> list = Selectable.this.getModelObject();
-
-				if (list != null)
-				{
-					List<T> items = Selectable.this.getItemList();
-
-					for (T item : list)
-					{
-						int index = items.indexOf(item); // use #equals
-
-						if (index > -1)
-						{
-							statement.append("jQuery('").append(this.getSelector()).append("').eq(").append(index).append(").addClass('ui-selected');");
-						}
-					}
-				}
-
-				return statement.toString();
-			}
-		};
-	}
-
 	// IJQueryWidget //
 
 	@Override
@@ -244,6 +184,12 @@ public class Selectable<T extends Serializable> extends JQueryGenericContainer<L
 			{
 				return Selectable.this.getItemSelector();
 			}
+
+			@Override
+			protected List<T> getSelectedItems()
+			{
+				return Selectable.this.getModelObject(); // the model object is the selection
+			}
 		};
 	}
 
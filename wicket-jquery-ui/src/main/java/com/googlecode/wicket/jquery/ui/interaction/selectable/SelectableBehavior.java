@@ -18,15 +18,19 @@ package com.googlecode.wicket.jquery.ui.interaction.selectable;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.resource.JQueryPluginResourceReference;
 import org.apache.wicket.util.lang.Args;
-import org.apache.wicket.util.string.StringValue;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
@@ -36,7 +40,9 @@ import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 
 /**
- * Provides a jQuery selectable behavior
+ * Provides a jQuery selectable behavior<br/>
+ * The selection is held as a set of indexes of the item list. It is rendered as a single statement, and each 'stop' event only sends the indexes that have been
+ * added to or removed from the selection, as index ranges (ie: '0-2,5').
  *
  * @author Sebastien Briquet - sebfz1
  * @param <T>
@@ -46,9 +52,18 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryU
 	private static final long serialVersionUID = 1L;
 	public static final String METHOD = "selectable";
 
+	/** the selection helpers, see {@code jQuery.selection} */
+	public static final ResourceReference SELECTION = new JQueryPluginResourceReference(SelectableBehavior.class, "SelectableBehavior.js");
+
 	/** event listener */
 	private ISelectableListener<T> listener;
 
+	/** the indexes of the selected items, as last known by the client */
+	private final BitSet selection = new BitSet();
+
+	/** indicates whether the selection has been set on the server, in which case it is rendered */
+	private boolean selectionSet = false;
+
 	private JQueryAjaxBehavior onStopAjaxBehavior;
 
 	/**
@@ -93,6 +108,69 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryU
 	 */
 	protected abstract String getItemSelector();
 
+	/**
+	 * Gets the items to be selected when the behavior is rendered<br/>
+	 * Items are matched against the item list using {@link Object#equals(Object)} and {@link Object#hashCode()}
+	 *
+	 * @return {@code null} by default, meaning the current selection is kept
+	 */
+	protected List<T> getSelectedItems()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the selected items
+	 *
+	 * @return the {@link List} of selected items
+	 */
+	public List<T> getSelection()
+	{
+		List<T> items = new ArrayList<T>();
+		List<T> list = this.getItemList();
+
+		// defensive, if the item-selector is miss-configured, indexes can be out of bounds
+		for (int index = this.selection.nextSetBit(0); index > -1 && index < list.size(); index = this.selection.nextSetBit(index + 1))
+		{
+			items.add(list.get(index));
+		}
+
+		return items;
+	}
+
+	/**
+	 * Sets the selected items<br/>
+	 * The selection is sent to the client the next time the behavior is rendered, and every time afterward
+	 *
+	 * @param items the {@link List} of selected items
+	 */
+	public void setSelection(List<T> items)
+	{
+		this.selection.clear();
+		this.selectionSet = true;
+
+		if (items != null && !items.isEmpty())
+		{
+			List<T> list = this.getItemList();
+			Map<T, Integer> indexes = new HashMap<T, Integer>(list.size() * 2);
+
+			for (int i = list.size() - 1; i > -1; i--)
+			{
+				indexes.put(list.get(i), i); // reverse order, so that the first occurrence wins
+			}
+
+			for (T item : items)
+			{
+				Integer index = indexes.get(item);
+
+				if (index != null)
+				{
+					this.selection.set(index);
+				}
+			}
+		}
+	}
+
 	// Methods //
 
 	@Override
@@ -104,6 +182,40 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryU
 		component.add(this.onStopAjaxBehavior);
 	}
 
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		super.renderHead(component, response);
+
+		List<T> items = this.getSelectedItems();
+
+		if (items != null)
+		{
+			this.setSelection(items);
+		}
+
+		response.render(JavaScriptHeaderItem.forReference(SELECTION));
+
+		if (this.selectionSet)
+		{
+			this.renderOnDomReadyScript(this.getSelectStatement(), response);
+		}
+		else
+		{
+			this.selection.clear(); // the client starts from an empty selection, the markup is kept as is
+		}
+	}
+
+	/**
+	 * Gets the statement that selects the items of the current selection, and only them
+	 *
+	 * @return the statement
+	 */
+	protected String getSelectStatement()
+	{
+		return String.format("jQuery.selection.select('%s', '%s', '%s');", this.selector, this.getItemSelector(), SelectableBehavior.toRanges(this.selection));
+	}
+
 	// Events //
 
 	@Override
@@ -120,19 +232,19 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryU
 	{
 		if (event instanceof StopEvent)
 		{
-			List<T> items = new ArrayList<T>();
-			List<T> list = this.getItemList();
+			StopEvent e = (StopEvent) event;
 
-			for (int index : ((StopEvent) event).getIndexes())
+			this.selection.andNot(e.getRemoved());
+			this.selection.or(e.getAdded());
+			e.selection = (BitSet) this.selection.clone();
+
+			// the client did not start from the selection known by the server, the server wins //
+			if (this.selection.cardinality() != e.getCount())
 			{
-				// defensive, if the item-selector is miss-configured, this can result in an OutOfBoundException
-				if (index < list.size())
-				{
-					items.add(list.get(index));
-				}
+				target.appendJavaScript(this.getSelectStatement());
 			}
 
-			this.listener.onSelect(target, items);
+			this.listener.onSelect(target, this.getSelection());
 		}
 	}
 
@@ -149,6 +261,78 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryU
 		return new OnStopAjaxBehavior(source);
 	}
 
+	// Helpers //
+
+	/**
+	 * Encodes a set of indexes to index ranges, ie: '0-2,5'
+	 *
+	 * @param indexes the {@link BitSet} of indexes
+	 * @return the index ranges
+	 */
+	static String toRanges(BitSet indexes)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (int from = indexes.nextSetBit(0); from > -1; from = indexes.nextSetBit(from))
+		{
+			int to = indexes.nextClearBit(from) - 1;
+
+			if (builder.length() > 0)
+			{
+				builder.append(',');
+			}
+
+			builder.append(from);
+
+			if (to > from)
+			{
+				builder.append('-').append(to);
+			}
+
+			from = to + 1;
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Decodes index ranges, ie: '0-2,5', to a set of indexes<br/>
+	 * Malformed, negative or reversed ranges are ignored, and ranges are bounded to the supplied size
+	 *
+	 * @param ranges the index ranges
+	 * @param size the size of the item list
+	 * @return the {@link BitSet} of indexes
+	 */
+	static BitSet fromRanges(String ranges, int size)
+	{
+		BitSet indexes = new BitSet();
+
+		if (ranges != null)
+		{
+			for (String range : ranges.split(","))
+			{
+				int dash = range.indexOf('-');
+
+				try
+				{
+					int from = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+					int to = dash < 0 ? from : Integer.parseInt(range.substring(dash + 1));
+
+					if (from > -1 && to >= from && from < size)
+					{
+						indexes.set(from, Math.min(to, size - 1) + 1);
+					}
+				}
+				catch (NumberFormatException e)
+				{
+					// ignore
+				}
+			}
+		}
+
+		return indexes;
+	}
+
 	// Ajax classes //
 
 	/**
@@ -166,23 +350,24 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryU
 		@Override
 		protected CallbackParameter[] getCallbackParameters()
 		{
-			return new CallbackParameter[] { CallbackParameter.resolved("indexes", "indexes") };
+			return new CallbackParameter[] { CallbackParameter.resolved("added", "delta.added"), // lf
+					CallbackParameter.resolved("removed", "delta.removed"), // lf
+					CallbackParameter.resolved("count", "delta.count") };
 		}
 
 		@Override
 		public CharSequence getCallbackFunctionBody(CallbackParameter... parameters)
 		{
-			// build indexes array, ie: 'indexes=[1,2,3]'
-			String selector = String.format("%s %s", SelectableBehavior.this.selector, SelectableBehavior.this.getItemSelector());
-			String indexes = "var indexes=[]; jQuery('.ui-selected', this).each(function() { indexes.push(jQuery('" + selector + "').index(this)); }); ";
+			// gets the selection delta, ie: added='5-7', removed='1', count=4
+			String delta = String.format("var delta = jQuery.selection.delta('%s', '%s'); ", SelectableBehavior.this.selector, SelectableBehavior.this.getItemSelector());
 
-			return indexes + super.getCallbackFunctionBody(parameters);
+			return delta + super.getCallbackFunctionBody(parameters);
 		}
 
 		@Override
 		protected JQueryEvent newEvent()
 		{
-			return new StopEvent();
+			return new StopEvent(SelectableBehavior.this.getItemList().size());
 		}
 	}
 
@@ -193,28 +378,89 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryU
 	 */
 	protected static class StopEvent extends JQueryEvent
 	{
-		private final List<Integer> indexes;
-
+		/** the bound of the indexes, if the size of the item list is not supplied */
+		private static final int MAX_SIZE = 0x10000;
+
+		private final BitSet added;
+		private final BitSet removed;
+		private final int count;
+
+		/** the resulting selection, set once the event has been handled */
+		private BitSet selection = null;
+
+		/**
+		 * Constructor
+		 *
+		 * @deprecated the indexes are bounded to 65536 items, use {@link #StopEvent(int)}
+		 */
+		@Deprecated
 		public StopEvent()
 		{
-			this.indexes = new ArrayList<Integer>();
-			StringValue values = RequestCycleUtils.getQueryParameterValue("indexes");
+			this(MAX_SIZE);
+		}
 
-			if (values != null)
-			{
-				Pattern pattern = Pattern.compile("(\\d+)");
-				Matcher matcher = pattern.matcher(values.toString());
+		/**
+		 * Constructor
+		 *
+		 * @param size the size of the item list, which bounds the indexes
+		 */
+		public StopEvent(int size)
+		{
+			this.added = SelectableBehavior.fromRanges(RequestCycleUtils.getQueryParameterValue("added").toString(), size);
+			this.removed = SelectableBehavior.fromRanges(RequestCycleUtils.getQueryParameterValue("removed").toString(), size);
+			this.count = RequestCycleUtils.getQueryParameterValue("count").toInt(-1);
+		}
 
-				while (matcher.find())
-				{
-					this.indexes.add(Integer.valueOf(matcher.group()));
-				}
-			}
+		/**
+		 * Gets the indexes that have been added to the selection
+		 *
+		 * @return the {@link BitSet} of indexes
+		 */
+		public BitSet getAdded()
+		{
+			return this.added;
+		}
+
+		/**
+		 * Gets the indexes that have been removed from the selection
+		 *
+		 * @return the {@link BitSet} of indexes
+		 */
+		public BitSet getRemoved()
+		{
+			return this.removed;
 		}
 
+		/**
+		 * Gets the number of selected items on the client
+		 *
+		 * @return the number of selected items, or -1 if not supplied
+		 */
+		public int getCount()
+		{
+			return this.count;
+		}
+
+		/**
+		 * Gets the indexes of the selected items<br/>
+		 * The event only carries the changes of the selection, so the indexes are known once the event has been handled by
+		 * {@link SelectableBehavior#onAjax(AjaxRequestTarget, JQueryEvent)}. Until then, the added indexes are returned.
+		 *
+		 * @return the list of indexes
+		 * @deprecated use {@link SelectableBehavior#getSelection()}, or {@link #getAdded()} and {@link #getRemoved()}
+		 */
+		@Deprecated
 		public List<Integer> getIndexes()
 		{
-			return this.indexes;
+			BitSet indexes = this.selection != null ? this.selection : this.added;
+			List<Integer> list = new ArrayList<Integer>();
+
+			for (int index = indexes.nextSetBit(0); index > -1; index = indexes.nextSetBit(index + 1))
+			{
+				list.add(index);
+			}
+
+			return list;
 		}
 	}
 }
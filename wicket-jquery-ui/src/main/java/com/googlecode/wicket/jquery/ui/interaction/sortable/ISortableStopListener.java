@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.interaction.sortable;
+
+import java.util.List;
+
+import org.apache.wicket.ajax.AjaxRequestTarget;
+
+/**
+ * Event listener of the 'stop' event of the {@link SortableBehavior}<br/>
+ * If the listener of the {@link SortableBehavior} implements this interface and enables the 'stop' event, a move is sent in a single request.
+ *
+ * @param <T> the type of the model object
+ */
+public interface ISortableStopListener<T> extends ISortableListener<T>
+{
+	/**
+	 * Indicates whether the 'stop' event is enabled.<br />
+	 * If true, the {@link #onStop(AjaxRequestTarget, List, List)} event will be triggered, and the 'update', 'receive' and 'remove' events will not.
+	 * 
+	 * @return false by default
+	 */
+	boolean isOnStopEnabled();
+
+	/**
+	 * Triggered when the user stopped sorting, with the resulting order of each affected list<br />
+	 * This is a single event for a whole move, even across lists, so the new order(s) can be applied and persisted at once.
+	 * 
+	 * @param target the {@link AjaxRequestTarget}
+	 * @param items the items of the list, in their new order
+	 * @param targetItems the items of the connected list, in their new order, if the item has been dragged into it; {@code null} otherwise
+	 */
+	void onStop(AjaxRequestTarget target, List<T> items, List<T> targetItems);
+}
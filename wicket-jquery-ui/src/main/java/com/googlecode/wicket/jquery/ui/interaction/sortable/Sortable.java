@@ -32,18 +32,20 @@ import org.apache.wicket.util.lang.Args;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryGenericContainer;
 import com.googlecode.wicket.jquery.core.Options;
-import com.googlecode.wicket.jquery.core.utils.ListUtils;
+import com.googlecode.wicket.jquery.core.data.HashIndex;
 import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 
 /**
  * Provides a jQuery UI sortable {@link JQueryGenericContainer}.<br/>
- * The {@code Sortable} is usually associated to an &lt;UL&gt; element.
+ * The {@code Sortable} is usually associated to an &lt;UL&gt; element.<br/>
+ * If {@link #isOnStopEnabled()} is overridden to return {@code true}, a move - even across connected {@code Sortable}{@code s} - is sent in a single request and applied
+ * to each affected model object at once, see {@link #onStop(AjaxRequestTarget, List, List)}.
  *
  * @param <T> the type of the model object
  * @author Sebastien Briquet - sebfz1
  *
  */
-public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implements ISortableListener<T>
+public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implements ISortableStopListener<T>
 {
 	private static final long serialVersionUID = 1L;
 
@@ -55,6 +57,17 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 	 */
 	private Sortable<T> connectedSortable = null;
 
+	/**
+	 * The {@link Sortable} this {@link Sortable} is connected with<br/>
+	 * In other words, the {@link Sortable} that has been supplied to {@link #connectWith(Sortable)}
+	 */
+	private Sortable<T> targetSortable = null;
+
+	/**
+	 * The positions of the items of the model object, by hashcode. It is rebuilt when needed.
+	 */
+	private transient HashIndex<T> hashIndex = null;
+
 	/**
 	 * Constructor
 	 *
@@ -113,6 +126,15 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 		this.add(this.newListView(this.getModel()));
 	}
 
+	@Override
+	protected void onDetach()
+	{
+		super.onDetach();
+
+		// the index holds the list it was built on //
+		this.hashIndex = null;
+	}
+
 	@Override
 	public void onEvent(IEvent<?> event)
 	{
@@ -134,7 +156,7 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 	public void onUpdate(AjaxRequestTarget target, T item, int index)
 	{
 		this.modelChanging();
-		ListUtils.move(item, index, this.getModelObject()); // why is it called by sender if moving to receiver?
+		this.getHashIndex().move(item, index, this.getModelObject()); // why is it called by sender if moving to receiver?
 		this.modelChanged();
 	}
 
@@ -157,8 +179,38 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 		this.modelChanged();
 	}
 
+	/**
+	 * {@inheritDoc}<br/>
+	 * Applies the new order to the model object and, if the item has been dragged into the connected {@link Sortable}, to the model object of that {@link Sortable}
+	 */
+	@Override
+	public void onStop(AjaxRequestTarget target, List<T> items, List<T> targetItems)
+	{
+		this.setItems(items);
+
+		if (targetItems != null && this.targetSortable != null)
+		{
+			this.targetSortable.setItems(targetItems);
+		}
+	}
+
 	// Properties //
 
+	/**
+	 * Gets the {@link HashIndex} of the model object
+	 *
+	 * @return the {@link HashIndex}
+	 */
+	protected HashIndex<T> getHashIndex()
+	{
+		if (this.hashIndex == null)
+		{
+			this.hashIndex = new HashIndex<T>();
+		}
+
+		return this.hashIndex;
+	}
+
 	@Override
 	public boolean isOnReceiveEnabled()
 	{
@@ -171,6 +223,12 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 		return false; // 'remove' will be handled after 'receive' by the event bus because there is a risk the item is removed before being received (leading to a NPE)
 	}
 
+	@Override
+	public boolean isOnStopEnabled()
+	{
+		return false;
+	}
+
 	// Methods //
 
 	/**
@@ -185,6 +243,7 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 		Args.notNull(sortable, "sortable");
 
 		sortable.connect(this); // eq. to sortable.connectedSortable = this;
+		this.targetSortable = sortable;
 
 		return this.connectWith(JQueryWidget.getSelector(sortable));
 	}
@@ -214,9 +273,25 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 		this.connectedSortable = sortable;
 	}
 
+	/**
+	 * Replaces the items of the model object, as a single change
+	 *
+	 * @param items the new items
+	 */
+	private void setItems(List<T> items)
+	{
+		List<T> list = this.getModelObject();
+
+		this.modelChanging();
+		list.clear();
+		list.addAll(items);
+		this.getHashIndex().invalidate();
+		this.modelChanged();
+	}
+
 	/**
 	 * Helper method to locate an item in a list by identifier.<br />
-	 * By default, uses item's hashcode as identifier.
+	 * By default, uses item's hashcode as identifier, looked-up in the {@link HashIndex} of the {@link Sortable} owning the list.
 	 *
 	 * @param id the item id
 	 * @param list the list of items
@@ -225,7 +300,18 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 	 */
 	protected T findItem(String id, List<T> list)
 	{
-		return ListUtils.fromHash(Integer.parseInt(id), list);
+		Sortable<T> sortable = this;
+
+		if (this.connectedSortable != null && list == this.connectedSortable.getModelObject())
+		{
+			sortable = this.connectedSortable;
+		}
+		else if (this.targetSortable != null && list == this.targetSortable.getModelObject())
+		{
+			sortable = this.targetSortable;
+		}
+
+		return sortable.getHashIndex().get(Integer.parseInt(id), list);
 	}
 
 	// IJQueryWidget //
@@ -254,6 +340,17 @@ public abstract class Sortable<T> extends JQueryGenericContainer<List<T>> implem
 				return Collections.emptyList();
 			}
 
+			@Override
+			protected List<T> getTargetList()
+			{
+				if (Sortable.this.targetSortable != null)
+				{
+					return Sortable.this.targetSortable.getModelObject();
+				}
+
+				return Collections.emptyList();
+			}
+
 			@Override
 			protected T findItem(String id, List<T> list)
 			{
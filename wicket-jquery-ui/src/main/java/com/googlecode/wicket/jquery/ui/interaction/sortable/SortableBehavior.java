@@ -16,25 +16,33 @@
  */
 package com.googlecode.wicket.jquery.ui.interaction.sortable;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.string.StringValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.ListUtils;
+import com.googlecode.wicket.jquery.core.data.HashIndex;
 import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.jquery.ui.JQueryUIBehavior;
 import com.googlecode.wicket.jquery.ui.interaction.selectable.SelectableBehavior;
 
 /**
- * Provides a jQuery sortable behavior
+ * Provides a jQuery sortable behavior<br/>
+ * If the 'stop' event is enabled, the resulting order of the list - and of the connected list the item has been dragged into, if any - is sent in a single request,
+ * instead of the 'update', 'receive' and 'remove' requests.
  *
  * @param <T> the type of the model object
  * @author Sebastien Briquet - sebfz1
@@ -42,14 +50,26 @@ import com.googlecode.wicket.jquery.ui.interaction.selectable.SelectableBehavior
 public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJQueryAjaxAware
 {
 	private static final long serialVersionUID = 1L;
+	private static final Logger LOG = LoggerFactory.getLogger(SortableBehavior.class);
+
 	public static final String METHOD = "sortable";
 
 	/** event listener */
 	private final ISortableListener<T> listener;
 
-	private JQueryAjaxBehavior onUpdateAjaxBehavior;
+	/** 'stop' event listener, {@code null} if the listener is not an {@link ISortableStopListener} */
+	private final ISortableStopListener<T> stopListener;
+
+	private JQueryAjaxBehavior onUpdateAjaxBehavior = null;
 	private JQueryAjaxBehavior onReceiveAjaxBehavior = null;
 	private JQueryAjaxBehavior onRemoveAjaxBehavior = null;
+	private JQueryAjaxBehavior onStopAjaxBehavior = null;
+
+	/** the positions of the items of the item list, by hashcode */
+	private transient HashIndex<T> itemIndex = null;
+
+	/** the positions of the items of the connected list (or of the target list), by hashcode */
+	private transient HashIndex<T> connectedIndex = null;
 
 	/**
 	 * Constructor
@@ -74,6 +94,7 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 		super(selector, METHOD, options);
 		
 		this.listener = Args.notNull(listener, "listener");
+		this.stopListener = listener instanceof ISortableStopListener ? (ISortableStopListener<T>) listener : null;
 	}
 
 	// Properties //
@@ -96,12 +117,33 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Gets the list of the sortable this sortable is connected with (see the 'connectWith' option)<br/>
+	 * This is the list items can be dragged into, and is only used if the 'stop' event is enabled.
+	 *
+	 * @return an empty list by default
+	 */
+	protected List<T> getTargetList()
+	{
+		return Collections.emptyList();
+	}
+
 	@Override
 	public boolean isEnabled(Component component)
 	{
 		return component.isEnabledInHierarchy();
 	}
 
+	/**
+	 * Indicates whether the 'stop' event is enabled, which requires the listener to be an {@link ISortableStopListener}
+	 *
+	 * @return {@code true} if the 'stop' event supersedes the 'update', 'receive' and 'remove' events
+	 */
+	private boolean isOnStopEnabled()
+	{
+		return this.stopListener != null && this.stopListener.isOnStopEnabled();
+	}
+
 	// Methods //
 
 	@Override
@@ -109,6 +151,14 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 	{
 		super.bind(component);
 
+		if (this.isOnStopEnabled())
+		{
+			this.onStopAjaxBehavior = this.newOnStopAjaxBehavior(this);
+			component.add(this.onStopAjaxBehavior);
+
+			return; // 'stop' supersedes 'update', 'receive' and 'remove'
+		}
+
 		this.onUpdateAjaxBehavior = this.newOnUpdateAjaxBehavior(this);
 		component.add(this.onUpdateAjaxBehavior);
 
@@ -127,7 +177,7 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 
 	/**
 	 * Helper method to locate an item in a list by identifier.<br />
-	 * By default, uses item's hashcode as identifier.
+	 * By default, uses item's hashcode as identifier, looked-up in a {@link HashIndex} of the list.
 	 *
 	 * @param id the item id
 	 * @param list the list of items
@@ -136,7 +186,117 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 	 */
 	protected T findItem(String id, List<T> list)
 	{
-		return ListUtils.fromHash(Integer.parseInt(id), list);
+		return this.getHashIndex(list).get(Integer.parseInt(id), list);
+	}
+
+	/**
+	 * Gets the {@link HashIndex} of the item list or of the connected list
+	 *
+	 * @param list the item list or the connected list
+	 * @return the {@link HashIndex}
+	 */
+	private HashIndex<T> getHashIndex(List<T> list)
+	{
+		if (list == this.getItemList())
+		{
+			if (this.itemIndex == null)
+			{
+				this.itemIndex = new HashIndex<T>();
+			}
+
+			return this.itemIndex;
+		}
+
+		if (this.connectedIndex == null)
+		{
+			this.connectedIndex = new HashIndex<T>();
+		}
+
+		return this.connectedIndex;
+	}
+
+	/**
+	 * Resolves the items matching the supplied identifiers, looking in the list first, then in the other list
+	 *
+	 * @param ids the item ids
+	 * @param list the list of items
+	 * @param other the other list of items, or {@code null}
+	 * @return the items, or {@code null} if an identifier does not match any item
+	 */
+	private List<T> resolve(List<String> ids, List<T> list, List<T> other)
+	{
+		List<T> items = new ArrayList<T>(ids.size());
+
+		for (String id : ids)
+		{
+			T item = this.findItem(id, list);
+
+			if (item == null && other != null)
+			{
+				item = this.findItem(id, other);
+			}
+
+			if (item == null)
+			{
+				return null;
+			}
+
+			items.add(item);
+		}
+
+		return items;
+	}
+
+	/**
+	 * Indicates whether the resolved items are exactly the items of the lists, each one once, whatever their order<br/>
+	 * Items are compared by identity, as they have been resolved from the lists themselves.
+	 *
+	 * @param items the resolved items of the list
+	 * @param targetItems the resolved items of the target list
+	 * @param list the item list
+	 * @param other the target list
+	 * @return {@code true} if no item is lost, duplicated or unknown
+	 */
+	private static <T> boolean isPermutation(List<T> items, List<T> targetItems, List<T> list, List<T> other)
+	{
+		if (items.size() + targetItems.size() != list.size() + other.size())
+		{
+			return false;
+		}
+
+		Map<T, Integer> counts = new IdentityHashMap<T, Integer>();
+		List<T> expected = new ArrayList<T>(list);
+		expected.addAll(other);
+
+		for (T item : expected)
+		{
+			Integer count = counts.get(item);
+			counts.put(item, count == null ? 1 : count + 1);
+		}
+
+		List<T> resolved = new ArrayList<T>(items);
+		resolved.addAll(targetItems);
+
+		for (T item : resolved)
+		{
+			Integer count = counts.get(item);
+
+			if (count == null)
+			{
+				return false; // unknown or duplicated
+			}
+
+			if (count == 1)
+			{
+				counts.remove(item);
+			}
+			else
+			{
+				counts.put(item, count - 1);
+			}
+		}
+
+		return counts.isEmpty();
 	}
 
 	// Events //
@@ -148,7 +308,15 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 
 		if (this.isEnabled(component))
 		{
-			this.setOption("update", this.onUpdateAjaxBehavior.getCallbackFunction());
+			if (this.onStopAjaxBehavior != null)
+			{
+				this.setOption("stop", this.onStopAjaxBehavior.getCallbackFunction());
+			}
+
+			if (this.onUpdateAjaxBehavior != null)
+			{
+				this.setOption("update", this.onUpdateAjaxBehavior.getCallbackFunction());
+			}
 
 			if (this.onReceiveAjaxBehavior != null)
 			{
@@ -162,9 +330,24 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 		}
 	}
 
+	@Override
+	public void detach(Component component)
+	{
+		super.detach(component);
+
+		// the indexes hold the lists they were built on //
+		this.itemIndex = null;
+		this.connectedIndex = null;
+	}
+
 	@Override
 	public void onAjax(AjaxRequestTarget target, JQueryEvent event)
 	{
+		if (event instanceof StopEvent)
+		{
+			this.onStop(target, (StopEvent) event);
+		}
+
 		if (event instanceof SortableEvent)
 		{
 			SortableEvent ev = (SortableEvent) event;
@@ -203,8 +386,68 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 		}
 	}
 
+	/**
+	 * Triggered by the 'stop' event<br/>
+	 * Resolves the new order(s) and forwards them to the listener, unless the client and the server disagree on the items.
+	 *
+	 * @param target the {@link AjaxRequestTarget}
+	 * @param event the {@link StopEvent}
+	 */
+	private void onStop(AjaxRequestTarget target, StopEvent event)
+	{
+		List<T> list = this.getItemList();
+
+		if (list == null)
+		{
+			return;
+		}
+
+		if (event.isMoved())
+		{
+			List<T> other = this.getTargetList();
+			List<T> items = this.resolve(event.getOrder(), list, other);
+			List<T> targetItems = this.resolve(event.getTargetOrder(), other, list);
+
+			if (items != null && targetItems != null && SortableBehavior.isPermutation(items, targetItems, list, other))
+			{
+				this.stopListener.onStop(target, items, targetItems);
+			}
+			else
+			{
+				LOG.warn("The sortable items do not match the items of the lists, the 'stop' event is ignored");
+			}
+		}
+		else
+		{
+			List<T> items = this.resolve(event.getOrder(), list, null);
+
+			if (items != null && SortableBehavior.isPermutation(items, Collections.<T> emptyList(), list, Collections.<T> emptyList()))
+			{
+				if (!items.equals(list))
+				{
+					this.stopListener.onStop(target, items, null);
+				}
+			}
+			else
+			{
+				LOG.warn("The sortable items do not match the items of the list, the 'stop' event is ignored");
+			}
+		}
+	}
+
 	// Factories //
 
+	/**
+	 * Gets a new {@link JQueryAjaxBehavior} that will be wired to the 'stop' event, triggered when the user stopped sorting
+	 *
+	 * @param source the {@link IJQueryAjaxAware}
+	 * @return a new {@link OnStopAjaxBehavior} by default
+	 */
+	protected JQueryAjaxBehavior newOnStopAjaxBehavior(IJQueryAjaxAware source)
+	{
+		return new OnStopAjaxBehavior(source);
+	}
+
 	/**
 	 * Gets a new {@link JQueryAjaxBehavior} that will be wired to the 'update' event, triggered when the user stopped sorting
 	 *
@@ -323,6 +566,42 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 		}
 	}
 
+	/**
+	 * Provides a {@link JQueryAjaxBehavior} that aims to be wired to the 'stop' event<br/>
+	 * Sends the item ids of the list and, if the item has been dragged into another list, of that list: {@code order=1,2,3&target=4,5}
+	 */
+	protected static class OnStopAjaxBehavior extends JQueryAjaxBehavior
+	{
+		private static final long serialVersionUID = 1L;
+
+		public OnStopAjaxBehavior(IJQueryAjaxAware source)
+		{
+			super(source);
+		}
+
+		@Override
+		protected CallbackParameter[] getCallbackParameters()
+		{
+			return new CallbackParameter[] { CallbackParameter.context("event"), // lf
+					CallbackParameter.context("ui"), // lf
+					CallbackParameter.resolved("order", "jQuery(this).sortable('toArray', { attribute: 'data-hash' }).join(',')"), // lf
+					CallbackParameter.resolved("target", "$target[0] !== this ? $target.sortable('toArray', { attribute: 'data-hash' }).join(',') : ''") };
+		}
+
+		@Override
+		public CharSequence getCallbackFunctionBody(CallbackParameter... parameters)
+		{
+			// the sortable the item has been dropped into
+			return "var $target = ui.item.closest('.ui-sortable'); " + super.getCallbackFunctionBody(parameters);
+		}
+
+		@Override
+		protected JQueryEvent newEvent()
+		{
+			return new StopEvent();
+		}
+	}
+
 	// Event objects //
 
 	/**
@@ -380,4 +659,73 @@ public abstract class SortableBehavior<T> extends JQueryUIBehavior implements IJ
 	protected static class RemoveEvent extends SortableEvent
 	{
 	}
+
+	/**
+	 * Provides an event object that will be broadcasted by the {@link OnStopAjaxBehavior} callback
+	 */
+	protected static class StopEvent extends JQueryEvent
+	{
+		private final List<String> order;
+		private final List<String> targetOrder;
+
+		public StopEvent()
+		{
+			this.order = StopEvent.split(RequestCycleUtils.getQueryParameterValue("order"));
+			this.targetOrder = StopEvent.split(RequestCycleUtils.getQueryParameterValue("target"));
+		}
+
+		/**
+		 * Splits a comma separated list of ids
+		 *
+		 * @param value the {@link StringValue}
+		 * @return the list of ids
+		 */
+		private static List<String> split(StringValue value)
+		{
+			List<String> ids = new ArrayList<String>();
+
+			if (!value.isEmpty())
+			{
+				for (String id : value.toString().split(","))
+				{
+					if (!id.isEmpty())
+					{
+						ids.add(id);
+					}
+				}
+			}
+
+			return ids;
+		}
+
+		/**
+		 * Gets the item ids of the list, in their new order
+		 *
+		 * @return the list of ids
+		 */
+		public List<String> getOrder()
+		{
+			return this.order;
+		}
+
+		/**
+		 * Gets the item ids of the list the item has been dragged into, in their new order
+		 *
+		 * @return the list of ids, empty if the item has not left the list
+		 */
+		public List<String> getTargetOrder()
+		{
+			return this.targetOrder;
+		}
+
+		/**
+		 * Indicates whether the item has been dragged into another list
+		 *
+		 * @return {@code true} or {@code false}
+		 */
+		public boolean isMoved()
+		{
+			return !this.targetOrder.isEmpty();
+		}
+	}
 }
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.wicket.request.resource.ResourceReference;
+
+import com.googlecode.wicket.jquery.core.resource.JQueryModuleRegistry;
+import com.googlecode.wicket.jquery.core.resource.JQueryModuleResourceReference;
+
+/**
+ * Provides the resource references of the jQuery UI modules (v1.11.4), which are the modules of the {@link JQueryUIResourceReference} bundle<br/>
+ * Each module declares the modules it depends on, so a page with a single datepicker downloads {@code core.js} and {@code datepicker.js} only.
+ *
+ * @see com.googlecode.wicket.jquery.ui.settings.JQueryUILibrarySettings#isModularReferencesEnabled()
+ */
+public class JQueryUIModules
+{
+	private static final JQueryModuleRegistry REGISTRY = new JQueryModuleRegistry(JQueryUIResourceReference.class, "ui/%s.js");
+
+	/** Effect modules */
+	private static final List<String> EFFECTS = Arrays.asList("effect-blind", "effect-bounce", "effect-clip", "effect-drop", "effect-explode", "effect-fade", "effect-fold", "effect-highlight", "effect-size", "effect-scale", "effect-puff", "effect-pulsate", "effect-shake", "effect-slide", "effect-transfer");
+
+	static
+	{
+		REGISTRY.register("core");
+		REGISTRY.register("widget");
+		REGISTRY.register("mouse", "widget");
+		REGISTRY.register("position");
+
+		// interactions //
+		REGISTRY.register("draggable", "core", "mouse", "widget");
+		REGISTRY.register("droppable", "core", "widget", "mouse", "draggable");
+		REGISTRY.register("resizable", "core", "mouse", "widget");
+		REGISTRY.register("selectable", "core", "mouse", "widget");
+		REGISTRY.register("sortable", "core", "mouse", "widget");
+
+		// widgets //
+		REGISTRY.register("accordion", "core", "widget");
+		REGISTRY.register("menu", "core", "widget", "position");
+		REGISTRY.register("autocomplete", "core", "widget", "position", "menu");
+		REGISTRY.register("button", "core", "widget");
+		REGISTRY.register("datepicker", "core");
+		REGISTRY.register("dialog", "core", "widget", "button", "draggable", "mouse", "position", "resizable");
+		REGISTRY.register("progressbar", "core", "widget");
+		REGISTRY.register("selectmenu", "core", "widget", "position", "menu");
+		REGISTRY.register("slider", "core", "mouse", "widget");
+		REGISTRY.register("spinner", "core", "widget", "button");
+		REGISTRY.register("tabs", "core", "widget");
+		REGISTRY.register("tooltip", "core", "widget", "position");
+
+		// effects //
+		REGISTRY.register("effect");
+
+		for (String effect : EFFECTS)
+		{
+			if ("effect-scale".equals(effect))
+			{
+				REGISTRY.register(effect, "effect", "effect-size");
+			}
+			else if ("effect-puff".equals(effect))
+			{
+				REGISTRY.register(effect, "effect", "effect-scale");
+			}
+			else
+			{
+				REGISTRY.register(effect, "effect");
+			}
+		}
+	}
+
+	/**
+	 * Gets the reference of a module
+	 *
+	 * @param name the module name, ie: "datepicker" or "effect-blind"
+	 * @return the {@link JQueryModuleResourceReference}, or {@code null} if the module does not exist
+	 */
+	public static JQueryModuleResourceReference get(String name)
+	{
+		return REGISTRY.get(name);
+	}
+
+	/**
+	 * Gets the references of the supplied modules
+	 *
+	 * @param names the module names
+	 * @return the list of {@link ResourceReference}, or {@code null} if one of the module does not exist
+	 */
+	public static List<ResourceReference> get(List<String> names)
+	{
+		return REGISTRY.get(names);
+	}
+
+	/**
+	 * Gets the names of the modules needed by a jQuery UI method
+	 *
+	 * @param method the jQuery UI method, ie: "datepicker"
+	 * @return the list of module names, or {@code null} if the method is not a known jQuery UI method
+	 */
+	public static List<String> getModules(String method)
+	{
+		if ("buttonset".equals(method))
+		{
+			return Collections.singletonList("button");
+		}
+
+		// JQueryEffectBehavior without effect, which can play any //
+		if ("effect-".equals(method))
+		{
+			List<String> modules = new ArrayList<String>(EFFECTS);
+			modules.add(0, "effect");
+
+			return modules;
+		}
+
+		if (REGISTRY.contains(method))
+		{
+			return Collections.singletonList(method);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the names of the effect modules that are referenced by an option value, ie: "{ effect: 'drop', delay: 100 }" or "'explode'"
+	 *
+	 * @param value the option value, can be {@code null}
+	 * @return the list of module names, which is empty if no effect is referenced
+	 */
+	public static List<String> getEffects(Object value)
+	{
+		List<String> modules = new ArrayList<String>();
+
+		if (value != null)
+		{
+			String text = value.toString();
+
+			for (String effect : EFFECTS)
+			{
+				String name = effect.substring("effect-".length());
+
+				if (text.contains("'" + name + "'") || text.contains("\"" + name + "\""))
+				{
+					modules.add(effect);
+				}
+			}
+		}
+
+		return modules;
+	}
+
+	/**
+	 * Gets the references of all the modules, which is the modular equivalent of the {@link JQueryUIResourceReference} bundle
+	 *
+	 * @return the list of {@link ResourceReference}
+	 */
+	public static List<ResourceReference> getAll()
+	{
+		List<String> names = new ArrayList<String>(Arrays.asList("core", "widget", "mouse", "position", "draggable", "droppable", "resizable", "selectable", "sortable"));
+		names.addAll(Arrays.asList("accordion", "menu", "autocomplete", "button", "datepicker", "dialog", "progressbar", "selectmenu", "slider", "spinner", "tabs", "tooltip"));
+		names.add("effect");
+		names.addAll(EFFECTS);
+
+		return REGISTRY.get(names);
+	}
+
+	/**
+	 * Utility class
+	 */
+	private JQueryUIModules()
+	{
+	}
+}
@@ -18,6 +18,7 @@ package com.googlecode.wicket.jquery.ui.settings;
 
 import org.apache.wicket.request.resource.ResourceReference;
 
+import com.googlecode.wicket.jquery.ui.resource.JQueryUIModules;
 import com.googlecode.wicket.jquery.ui.resource.JQueryUIResourceReference;
 
 /**
@@ -36,6 +37,7 @@ import com.googlecode.wicket.jquery.ui.resource.JQueryUIResourceReference;
  *         JQueryUILibrarySettings settings = JQueryUILibrarySettings.get();
  *         settings.setJavaScriptReference(new JavaScriptResourceReference(...)); // if you want to change the js version
  *         settings.setStyleSheetReference(new CssResourceReference(MyApplication.class, "jquery-ui.custom.min.css"));
+ *         settings.setModularReferencesEnabled(true); // if you want only the needed modules to be rendered
  *     }
  * }
  * </code>
@@ -49,6 +51,7 @@ public class JQueryUILibrarySettings
 
 	private ResourceReference javascriptReference = JQueryUIResourceReference.get();
 	private ResourceReference stylesheetReference = null;
+	private boolean modularReferencesEnabled = false;
 
 	/**
 	 * Gets the {@link JQueryUILibrarySettings} instance
@@ -92,6 +95,28 @@ public class JQueryUILibrarySettings
 		this.javascriptReference = reference;
 	}
 
+	/**
+	 * Indicates whether jQuery UI is rendered by modules (see {@link JQueryUIModules}), each behavior rendering only the modules its widget depends on<br/>
+	 * Modules are split from the default library, so this is always {@code false} if another javascript reference has been set.<br/>
+	 * <b>Note:</b> an effect that is played outside of the widget options should be added to the behavior, see {@code JQueryUIBehavior#addModule(String)}
+	 *
+	 * @return {@code false} by default
+	 */
+	public boolean isModularReferencesEnabled()
+	{
+		return this.modularReferencesEnabled && this.javascriptReference == JQueryUIResourceReference.get();
+	}
+
+	/**
+	 * Sets whether jQuery UI is rendered by modules, or as a whole
+	 *
+	 * @param enabled {@code true} or {@code false}
+	 */
+	public void setModularReferencesEnabled(boolean enabled)
+	{
+		this.modularReferencesEnabled = enabled;
+	}
+
 	/**
 	 * Gets the JQuery UI stylesheet resource reference
 	 *
@@ -0,0 +1,94 @@
+/*
+ * Provides the selection helpers of the SelectableBehavior:
+ * - a selection is exchanged as index ranges, ie: '0-2,5,7-9',
+ * - the selection last known by the server is kept on the selectable element, so that only the delta is sent when a selection stops.
+ *
+ * Usage: jQuery.selection.select('#selectable', 'li', '0-2,5');
+ *        var delta = jQuery.selection.delta('#selectable', 'li'); // { added: '6', removed: '0-1', count: 3 }
+ */
+(function(jQuery) {
+    var KEY = 'wicket-selection';
+
+    /* decodes index ranges to a sorted array of indexes */
+    function decode(ranges) {
+        var indexes = [];
+
+        if (ranges) {
+            jQuery.each(ranges.split(','), function(i, range) {
+                var bounds = range.split('-'),
+                    from = parseInt(bounds[0], 10),
+                    to = bounds.length > 1 ? parseInt(bounds[1], 10) : from;
+
+                for (var index = from; index <= to; index++) {
+                    indexes.push(index);
+                }
+            });
+        }
+
+        return indexes;
+    }
+
+    /* encodes a sorted array of indexes to index ranges */
+    function encode(indexes) {
+        var ranges = [];
+
+        for (var i = 0, from; i < indexes.length; i++) {
+            from = indexes[i];
+
+            while (i + 1 < indexes.length && indexes[i + 1] === indexes[i] + 1) {
+                i++;
+            }
+
+            ranges.push(from === indexes[i] ? String(from) : from + '-' + indexes[i]);
+        }
+
+        return ranges.join(',');
+    }
+
+    jQuery.selection = {
+        /* selects the items matching the index ranges (and only them), and records the selection */
+        select: function(selector, filter, ranges) {
+            var indexes = decode(ranges),
+                selected = {};
+
+            jQuery.each(indexes, function(i, index) {
+                selected[index] = true;
+            });
+
+            jQuery(selector).data(KEY, indexes).find(filter).each(function(index) {
+                jQuery(this).toggleClass('ui-selected', selected[index] === true);
+            });
+        },
+
+        /* gets the changes since the recorded selection, and records the current one */
+        delta: function(selector, filter) {
+            var $selectable = jQuery(selector),
+                previous = $selectable.data(KEY) || [],
+                current = [],
+                added = [],
+                removed = [];
+
+            $selectable.find(filter).each(function(index) {
+                if (jQuery(this).hasClass('ui-selected')) {
+                    current.push(index);
+                }
+            });
+
+            // both arrays are sorted //
+            for (var i = 0, j = 0; i < previous.length || j < current.length;) {
+                if (j === current.length || (i < previous.length && previous[i] < current[j])) {
+                    removed.push(previous[i++]);
+                } else if (i === previous.length || current[j] < previous[i]) {
+                    added.push(current[j++]);
+                } else {
+                    i++;
+                    j++;
+                }
+            }
+
+            $selectable.data(KEY, current);
+
+            return { added: encode(added), removed: encode(removed), count: current.length };
+        }
+    };
+})(jQuery);
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.util.io.IOUtils;
+import org.apache.wicket.util.string.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.googlecode.wicket.kendo.ui.KendoCulture;
+
+/**
+ * Provides the resolution of {@link Locale}{@code s} and language tags to {@link KendoCulture}{@code s}<br/>
+ * The resolution falls back from the most specific culture to the most generic one ({@code az-Latn-AZ}, {@code az-AZ}, {@code az-Latn}, {@code az}) so that a culture file
+ * is always found if the language is supported, and no request is issued for a culture that does not exist.<br/>
+ * <br/>
+ * Resolved references are shared, and culture payloads - which are a few kilobytes - can be inlined in the page instead of being requested separately.
+ */
+public class KendoCultureResolver
+{
+	private static final Logger LOG = LoggerFactory.getLogger(KendoCultureResolver.class);
+
+	/** Index of the cultures, by lower-cased language tag */
+	private static final Map<String, KendoCulture> INDEX = KendoCultureResolver.newIndex();
+
+	/** Shared resource references, by culture */
+	private static final ConcurrentMap<KendoCulture, KendoGlobalizeResourceReference> REFERENCES = new ConcurrentHashMap<KendoCulture, KendoGlobalizeResourceReference>();
+
+	/** Culture payloads, by file name */
+	private static final ConcurrentMap<String, String> CONTENTS = new ConcurrentHashMap<String, String>();
+
+	/**
+	 * Utility class
+	 */
+	private KendoCultureResolver()
+	{
+	}
+
+	// Resolution //
+
+	/**
+	 * Resolves the {@link KendoCulture} of a {@link Locale}
+	 *
+	 * @param locale the {@link Locale}
+	 * @return the most specific {@link KendoCulture}, or {@code null} if the language is not supported
+	 */
+	public static KendoCulture resolve(Locale locale)
+	{
+		if (locale == null)
+		{
+			return null;
+		}
+
+		String tag = locale.toLanguageTag(); // converts legacy codes, ie: iw > he
+		String language = Strings.beforeFirst(tag, '-');
+
+		if (language.isEmpty())
+		{
+			language = tag;
+		}
+
+		String script = locale.getScript();
+		String country = locale.getCountry();
+
+		KendoCulture culture = KendoCultureResolver.find(tag);
+
+		if (culture == null && !script.isEmpty() && !country.isEmpty())
+		{
+			culture = KendoCultureResolver.find(language + "-" + script + "-" + country);
+		}
+
+		if (culture == null && !country.isEmpty())
+		{
+			culture = KendoCultureResolver.find(language + "-" + country);
+		}
+
+		if (culture == null && !script.isEmpty())
+		{
+			culture = KendoCultureResolver.find(language + "-" + script);
+		}
+
+		if (culture == null)
+		{
+			culture = KendoCultureResolver.find(language);
+		}
+
+		return culture;
+	}
+
+	/**
+	 * Resolves the {@link KendoCulture} of a language tag, removing the trailing subtags until a culture is found
+	 *
+	 * @param tag the language tag, ie: 'fr-FR' or 'fr_FR'
+	 * @return the most specific {@link KendoCulture}, or {@code null} if the language is not supported
+	 */
+	public static KendoCulture resolve(String tag)
+	{
+		if (tag == null)
+		{
+			return null;
+		}
+
+		String key = tag.replace('_', '-');
+
+		while (!key.isEmpty())
+		{
+			KendoCulture culture = KendoCultureResolver.find(key);
+
+			if (culture != null)
+			{
+				return culture;
+			}
+
+			int index = key.lastIndexOf('-');
+			key = index > 0 ? key.substring(0, index) : "";
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the {@link KendoCulture} matching exactly the language tag, case insensitively
+	 *
+	 * @param tag the language tag
+	 * @return the {@link KendoCulture} or {@code null}
+	 */
+	private static KendoCulture find(String tag)
+	{
+		return INDEX.get(tag.toLowerCase(Locale.ENGLISH));
+	}
+
+	// References //
+
+	/**
+	 * Gets the shared {@link KendoGlobalizeResourceReference} of a {@link KendoCulture}
+	 *
+	 * @param culture the {@link KendoCulture}
+	 * @return the {@link KendoGlobalizeResourceReference}
+	 */
+	public static KendoGlobalizeResourceReference getReference(KendoCulture culture)
+	{
+		KendoGlobalizeResourceReference reference = REFERENCES.get(culture);
+
+		if (reference == null)
+		{
+			reference = new KendoGlobalizeResourceReference(culture);
+
+			KendoGlobalizeResourceReference previous = REFERENCES.putIfAbsent(culture, reference);
+
+			if (previous != null)
+			{
+				reference = previous;
+			}
+		}
+
+		return reference;
+	}
+
+	/**
+	 * Gets the shared {@link KendoGlobalizeResourceReference} of the culture resolved from a {@link Locale}
+	 *
+	 * @param locale the {@link Locale}
+	 * @return the {@link KendoGlobalizeResourceReference}, or {@code null} if the language is not supported
+	 */
+	public static KendoGlobalizeResourceReference getReference(Locale locale)
+	{
+		KendoCulture culture = KendoCultureResolver.resolve(locale);
+
+		return culture != null ? KendoCultureResolver.getReference(culture) : null;
+	}
+
+	// Header items //
+
+	/**
+	 * Gets the header item of the culture resolved from a {@link Locale}
+	 *
+	 * @param locale the {@link Locale}
+	 * @param inline whether the culture payload should be inlined in the page, rather than requested
+	 * @return the {@link JavaScriptHeaderItem}, or {@code null} if the language is not supported
+	 */
+	public static JavaScriptHeaderItem newHeaderItem(Locale locale, boolean inline)
+	{
+		KendoCulture culture = KendoCultureResolver.resolve(locale);
+
+		if (culture == null)
+		{
+			return null;
+		}
+
+		if (inline)
+		{
+			String content = KendoCultureResolver.getContent(culture);
+
+			if (content != null)
+			{
+				return JavaScriptHeaderItem.forScript(content, "kendo-culture-" + culture);
+			}
+		}
+
+		return JavaScriptHeaderItem.forReference(KendoCultureResolver.getReference(culture));
+	}
+
+	/**
+	 * Gets the javascript payload of a {@link KendoCulture}, which is read once<br/>
+	 * The minified file is used if the application uses minified resources.
+	 *
+	 * @param culture the {@link KendoCulture}
+	 * @return the payload, or {@code null} if the file cannot be read
+	 */
+	public static String getContent(KendoCulture culture)
+	{
+		String name = String.format(KendoGlobalizeResourceReference.FILENAME_PATTERN, culture);
+
+		if (Application.exists() && Application.get().getResourceSettings().getUseMinifiedResources())
+		{
+			name = name.replaceFirst("\\.js$", ".min.js");
+		}
+
+		String content = CONTENTS.get(name);
+
+		if (content == null)
+		{
+			content = KendoCultureResolver.read(name);
+
+			if (content != null)
+			{
+				CONTENTS.putIfAbsent(name, content);
+			}
+		}
+
+		return content;
+	}
+
+	/**
+	 * Reads a culture file
+	 *
+	 * @param name the file name
+	 * @return the content, or {@code null} if the file cannot be read
+	 */
+	private static String read(String name)
+	{
+		InputStream stream = KendoGlobalizeResourceReference.class.getResourceAsStream(name);
+
+		if (stream == null)
+		{
+			LOG.warn("Culture file not found: {}", name);
+
+			return null;
+		}
+
+		try
+		{
+			return IOUtils.toString(stream, "UTF-8");
+		}
+		catch (IOException e)
+		{
+			LOG.error(e.getMessage(), e);
+		}
+		finally
+		{
+			IOUtils.closeQuietly(stream);
+		}
+
+		return null;
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new immutable index of the {@link KendoCulture}{@code s}, by lower-cased language tag
+	 *
+	 * @return the index
+	 */
+	private static Map<String, KendoCulture> newIndex()
+	{
+		Map<String, KendoCulture> map = new HashMap<String, KendoCulture>();
+
+		for (KendoCulture culture : KendoCulture.values())
+		{
+			map.put(culture.toString().toLowerCase(Locale.ENGLISH), culture);
+		}
+
+		return Collections.unmodifiableMap(map);
+	}
+}
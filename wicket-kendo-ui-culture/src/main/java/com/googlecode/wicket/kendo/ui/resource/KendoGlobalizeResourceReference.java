@@ -37,13 +37,15 @@ public class KendoGlobalizeResourceReference extends JQueryPluginResourceReferen
 	public static final String FILENAME_PATTERN = "kendo.culture.%s.js";
 
 	/**
-	 * Constructor
+	 * Constructor<br/>
+	 * The culture is resolved by the {@link KendoCultureResolver}, falling back to a more generic culture if there is no file for the exact locale.<br/>
+	 * <b>Note:</b> {@link KendoCultureResolver#getReference(Locale)} returns a shared instance.
 	 *
 	 * @param locale the {@link Locale}
 	 */
 	public KendoGlobalizeResourceReference(Locale locale)
 	{
-		this(locale.toLanguageTag()); // java7
+		this(KendoGlobalizeResourceReference.toCulture(locale));
 	}
 
 	/**
@@ -65,4 +67,17 @@ public class KendoGlobalizeResourceReference extends JQueryPluginResourceReferen
 	{
 		super(KendoGlobalizeResourceReference.class, String.format(FILENAME_PATTERN, culture));
 	}
+
+	/**
+	 * Gets the culture of a {@link Locale}
+	 *
+	 * @param locale the {@link Locale}
+	 * @return the resolved culture, or the language tag if the language is not supported
+	 */
+	private static String toCulture(Locale locale)
+	{
+		KendoCulture culture = KendoCultureResolver.resolve(locale);
+
+		return culture != null ? culture.toString() : locale.toLanguageTag(); // java7
+	}
 }
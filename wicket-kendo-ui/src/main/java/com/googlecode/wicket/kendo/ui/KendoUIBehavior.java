@@ -18,19 +18,23 @@ package com.googlecode.wicket.kendo.ui;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.wicket.Application;
 import org.apache.wicket.Component;
+import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
 import org.apache.wicket.markup.head.IHeaderResponse;
 import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.request.resource.ResourceReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.kendo.ui.KendoDestroyListener.IDestroyable;
+import com.googlecode.wicket.kendo.ui.resource.KendoUIModules;
 import com.googlecode.wicket.kendo.ui.settings.KendoUILibrarySettings;
 
 /**
@@ -71,10 +75,47 @@ public class KendoUIBehavior extends JQueryBehavior implements IDestroyable
 		this.initReferences();
 	}
 
+	// Properties //
+
+	/**
+	 * Gets the Kendo UI javascript references to be rendered<br/>
+	 * If modular references are enabled, these are the references of the modules the widget depends on (see {@link KendoUIModules#getModules(String)}), otherwise it is the
+	 * Kendo UI library reference.
+	 *
+	 * @return the list of {@link ResourceReference}
+	 * @throws WicketRuntimeException if modular references are enabled and no module is registered for the method
+	 * @see KendoUILibrarySettings#isModularReferencesEnabled()
+	 */
+	protected List<ResourceReference> getJavaScriptReferences()
+	{
+		KendoUILibrarySettings settings = KendoUILibrarySettings.get();
+
+		if (settings.isModularReferencesEnabled())
+		{
+			List<String> names = KendoUIModules.getModules(this.method);
+
+			if (names == null)
+			{
+				// the library cannot be rendered on top of the modules rendered by other widgets //
+				throw new WicketRuntimeException(String.format("No Kendo UI module is registered for '%s', see KendoUIModules#register(String, String...)", this.method));
+			}
+
+			return KendoUIModules.get(names);
+		}
+
+		if (settings.getJavaScriptReference() != null)
+		{
+			return Collections.singletonList(settings.getJavaScriptReference());
+		}
+
+		return Collections.emptyList();
+	}
+
 	// Methods //
 
 	/**
-	 * Initializes CSS & JavaScript resource references
+	 * Initializes CSS resource references<br/>
+	 * JavaScript resource references are rendered at {@link #renderHead(Component, IHeaderResponse)} time, see {@link #getJavaScriptReferences()}
 	 */
 	private void initReferences()
 	{
@@ -91,12 +132,6 @@ public class KendoUIBehavior extends JQueryBehavior implements IDestroyable
 		{
 			this.add(settings.getThemeStyleSheetReference());
 		}
-
-		// kendo.ui.core.js //
-		if (settings.getJavaScriptReference() != null)
-		{
-			this.add(settings.getJavaScriptReference());
-		}
 	}
 
 	/**
@@ -118,6 +153,12 @@ public class KendoUIBehavior extends JQueryBehavior implements IDestroyable
 	@Override
 	public void renderHead(Component component, IHeaderResponse response)
 	{
+		// kendo.ui.core.js, or modules //
+		for (ResourceReference reference : this.getJavaScriptReferences())
+		{
+			this.renderPriorityHeaderItem(JavaScriptHeaderItem.forReference(reference), response);
+		}
+
 		super.renderHead(component, response);
 
 		// Data Sources //
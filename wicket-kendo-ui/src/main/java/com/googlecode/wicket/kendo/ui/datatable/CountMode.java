@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable;
+
+import com.googlecode.wicket.kendo.ui.datatable.query.IEstimableDataProvider;
+
+/**
+ * Provides an enum of the strategies used by the {@link DataSourceBehavior} to supply the total number of rows ({@code __count})
+ *
+ * @see DataTable#setCountMode(CountMode)
+ */
+public enum CountMode
+{
+	/** The provider's size is queried on each request (default) */
+	EXACT,
+	/** The provider's size is cached per filter state, until the time-to-live elapses or {@link DataSourceBehavior#invalidateCount()} is called */
+	CACHED,
+	/** The size is estimated by the provider, if it implements {@link IEstimableDataProvider}; otherwise, the exact size is used */
+	ESTIMATED,
+	/** The size is never queried: one extra row is fetched to supply the {@code __hasMore} flag, and the count is set so that the next page is reachable (endless paging) */
+	NONE;
+}
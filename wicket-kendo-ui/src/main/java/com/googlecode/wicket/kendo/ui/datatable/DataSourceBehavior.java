@@ -16,13 +16,16 @@
  */
 package com.googlecode.wicket.kendo.ui.datatable;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.wicket.Application;
 import org.apache.wicket.Session;
-import org.apache.wicket.ajax.json.JSONException;
-import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.behavior.AbstractAjaxBehavior;
 import org.apache.wicket.core.util.lang.PropertyResolver;
 import org.apache.wicket.core.util.lang.PropertyResolverConverter;
@@ -32,19 +35,25 @@ import org.apache.wicket.extensions.markup.html.repeater.data.table.filter.IFilt
 import org.apache.wicket.markup.repeater.data.IDataProvider;
 import org.apache.wicket.request.IRequestCycle;
 import org.apache.wicket.request.IRequestHandler;
-import org.apache.wicket.request.IRequestParameters;
 import org.apache.wicket.request.cycle.RequestCycle;
 import org.apache.wicket.request.http.WebResponse;
-import org.apache.wicket.util.convert.ConversionException;
+import org.apache.wicket.util.time.Duration;
 
-import com.googlecode.wicket.jquery.core.Options;
-import com.googlecode.wicket.jquery.core.utils.BuilderUtils;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+import com.googlecode.wicket.jquery.core.utils.HttpCacheUtils;
 import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
 import com.googlecode.wicket.kendo.ui.datatable.column.PropertyColumn;
-import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
+import com.googlecode.wicket.kendo.ui.datatable.query.DataSourceQuery;
+import com.googlecode.wicket.kendo.ui.datatable.query.FilterDescriptor;
+import com.googlecode.wicket.kendo.ui.datatable.query.IEstimableDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.IQueryDataProvider;
+import com.googlecode.wicket.kendo.ui.datatable.query.SortDescriptor;
 
 /**
- * Provides the {@link DataTable} data source {@link AbstractAjaxBehavior}
+ * Provides the {@link DataTable} data source {@link AbstractAjaxBehavior}<br/>
+ * The request is parsed into a {@link DataSourceQuery}, which is handed as a whole to {@link IQueryDataProvider}{@code s}. Otherwise, the first sort criterion is applied to {@link ISortStateLocator}{@code s} and the
+ * filter values to {@link IFilterStateLocator}{@code s}.
  *
  * @param <T> the type of the model object
  * @author Sebastien Briquet - sebfz1
@@ -52,14 +61,22 @@ import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
 public class DataSourceBehavior<T> extends AbstractAjaxBehavior
 {
 	private static final long serialVersionUID = 1L;
-	private static final String ASC = "asc";
 
-	/** The max number of filtered column */
-	private static final int COLS = 20;
+	/** The max number of cached counts (filter states) */
+	private static final int COUNTS = 16;
+
+	/** The time-to-live of the prefetched window */
+	private static final Duration PREFETCH_TTL = Duration.seconds(30);
 
 	private final IDataProvider<T> provider;
 	private final List<? extends IColumn> columns;
 
+	/** The cached counts, per filter state: [count, timestamp] */
+	private Map<String, long[]> counts = null;
+
+	/** The prefetched window, if any; it is not serialized with the page */
+	private transient Window window = null;
+
 	/**
 	 * Constructor
 	 *
@@ -72,6 +89,24 @@ public class DataSourceBehavior<T> extends AbstractAjaxBehavior
 		this.provider = provider;
 	}
 
+	// Methods //
+
+	/**
+	 * Invalidates the cached counts, if any (see {@link CountMode#CACHED})
+	 */
+	public void invalidateCount()
+	{
+		this.counts = null;
+	}
+
+	/**
+	 * Invalidates the prefetched window, if any (see {@link #isPrefetchEnabled()})
+	 */
+	public void invalidatePrefetch()
+	{
+		this.window = null;
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void setSort(String property, SortOrder order)
 	{
@@ -80,60 +115,103 @@ public class DataSourceBehavior<T> extends AbstractAjaxBehavior
 		locator.getSortState().setPropertySortOrder(property, order);
 	}
 
+	// Properties //
+
+	/**
+	 * Gets the {@link CountMode}
+	 *
+	 * @return {@link CountMode#EXACT} by default
+	 */
+	protected CountMode getCountMode()
+	{
+		return CountMode.EXACT;
+	}
+
+	/**
+	 * Gets the time-to-live of the cached counts (see {@link CountMode#CACHED})
+	 *
+	 * @return one minute by default
+	 */
+	protected Duration getCountTimeToLive()
+	{
+		return Duration.ONE_MINUTE;
+	}
+
+	/**
+	 * Indicates whether the next window (same skip/take range, right after the requested one) should be fetched along with the requested one.<br/>
+	 * The next window is serialized and kept in memory (not in the page store) until the next request, which is served without querying the provider if it matches and if the count of
+	 * rows has not changed. This halves the number of provider queries when the rows are requested sequentially, typically with virtual scrolling.
+	 *
+	 * @return {@code false} by default
+	 */
+	protected boolean isPrefetchEnabled()
+	{
+		return false;
+	}
+
+	/**
+	 * Gets the version of the data, which is used as the {@code ETag} of the response<br/>
+	 * As long as the version does not change, the browser revalidates its copy of a page of rows and the provider is not queried.
+	 *
+	 * @return the version of the provider if it is an {@link IVersionProvider}, {@code null} otherwise (the response is not cacheable)
+	 */
+	protected String getVersion()
+	{
+		return HttpCacheUtils.getVersion(this.provider);
+	}
+
+	// Events //
+
 	@Override
 	public void onRequest()
 	{
 		final RequestCycle requestCycle = RequestCycle.get();
-		final IRequestParameters parameters = requestCycle.getRequest().getQueryParameters();
+		final DataSourceQuery query = DataSourceQuery.of(requestCycle.getRequest().getQueryParameters());
 
-		final int first = parameters.getParameterValue("skip").toInt(0);
-		final int count = parameters.getParameterValue("take").toInt(0);
-
-		// ISortStateLocator //
-		if (this.provider instanceof ISortStateLocator<?>)
+		// IQueryDataProvider handles the whole query //
+		if (!(this.provider instanceof IQueryDataProvider<?>))
 		{
-			String property = parameters.getParameterValue("sort[0][field]").toOptionalString();
-			String direction = parameters.getParameterValue("sort[0][dir]").toOptionalString();
-
-			if (property != null)
+			// ISortStateLocator //
+			if (this.provider instanceof ISortStateLocator<?> && !query.getSorts().isEmpty())
 			{
-				this.setSort(PropertyUtils.unescape(property), direction == null ? SortOrder.NONE : direction.equals(ASC) ? SortOrder.ASCENDING : SortOrder.DESCENDING);
+				SortDescriptor sort = query.getSorts().get(0);
+				this.setSort(sort.getField(), sort.getOrder());
 			}
-		}
 
-		// IFilterStateLocator //
-		if (this.provider instanceof IFilterStateLocator<?>)
-		{
-			@SuppressWarnings("unused")
-			String logicPattern = "filter[logic]";
-			String fieldPattern = "filter[filters][%d][field]";
-			String valuePattern = "filter[filters][%d][value]";
+			// IFilterStateLocator //
+			if (this.provider instanceof IFilterStateLocator<?> && query.getFilter() != null)
+			{
+				@SuppressWarnings("unchecked")
+				T object = ((IFilterStateLocator<T>) this.provider).getFilterState();
 
-			@SuppressWarnings("unused")
-			String operatorPattern = "filter[filters][%d][operator]";
-			// TODO: implement logic & operator (new IFilterStateLocator interface?)
+				this.setFilterState(object, query.getFilter(), this.newPropertyResolverConverter());
+			}
+		}
 
-			@SuppressWarnings("unchecked")
-			T object = ((IFilterStateLocator<T>) this.provider).getFilterState();
-			PropertyResolverConverter converter = this.newPropertyResolverConverter();
+		requestCycle.scheduleRequestHandlerAfterCurrent(this.newRequestHandler(query));
+	}
 
-			for (int i = 0; i < COLS; i++)
+	/**
+	 * Applies the filter criteria to the {@link IFilterStateLocator}'s filter state object<br/>
+	 * Only the values are set; the operators and the logic are not supported by the filter state, use an {@link IQueryDataProvider} to handle them.
+	 *
+	 * @param object the filter state object
+	 * @param filter the {@link FilterDescriptor}
+	 * @param converter the {@link PropertyResolverConverter}
+	 */
+	private void setFilterState(T object, FilterDescriptor filter, PropertyResolverConverter converter)
+	{
+		if (filter.isGroup())
+		{
+			for (FilterDescriptor child : filter.getFilters())
 			{
-				String field = parameters.getParameterValue(String.format(fieldPattern, i)).toOptionalString();
-				String value = parameters.getParameterValue(String.format(valuePattern, i)).toOptionalString();
-
-				if (field != null)
-				{
-					PropertyResolver.setValue(PropertyUtils.unescape(field), object, value, converter);
-				}
-				else
-				{
-					break;
-				}
+				this.setFilterState(object, child, converter);
 			}
 		}
-
-		requestCycle.scheduleRequestHandlerAfterCurrent(this.newRequestHandler(first, count));
+		else
+		{
+			PropertyResolver.setValue(filter.getField(), object, filter.getValue(), converter);
+		}
 	}
 
 	/**
@@ -149,11 +227,10 @@ public class DataSourceBehavior<T> extends AbstractAjaxBehavior
 	/**
 	 * Gets the new {@link IRequestHandler} that will respond the data in a json format
 	 *
-	 * @param first the first row number
-	 * @param count the count of rows
+	 * @param query the {@link DataSourceQuery}
 	 * @return a new {@link IRequestHandler}
 	 */
-	private IRequestHandler newRequestHandler(final int first, final int count)
+	private IRequestHandler newRequestHandler(final DataSourceQuery query)
 	{
 		return new IRequestHandler() {
 
@@ -164,36 +241,80 @@ public class DataSourceBehavior<T> extends AbstractAjaxBehavior
 
 				final String encoding = Application.get().getRequestCycleSettings().getResponseRequestEncoding();
 				response.setContentType("application/json; charset=" + encoding);
-				response.disableCaching();
 
-				final long size = provider.size();
-				final Iterator<? extends T> iterator = provider.iterator(first, count);
+				if (HttpCacheUtils.isNotModified(response, DataSourceBehavior.this.getVersion(), Duration.NONE))
+				{
+					return;
+				}
 
-				// builds JSON result //
-				StringBuilder builder = new StringBuilder();
+				// CountMode#NONE: fetches one extra row to know whether there are more rows //
+				final boolean countless = DataSourceBehavior.this.getCountMode() == CountMode.NONE && query.getTake() > 0;
+				final boolean prefetch = DataSourceBehavior.this.isPrefetchEnabled() && query.getTake() > 0;
+				final long size = countless ? -1 : DataSourceBehavior.this.size(query);
 
-				builder.append("{ ");
-				BuilderUtils.append(builder, "__count", size);
-				builder.append(", ");
-				builder.append(Options.QUOTE).append("results").append(Options.QUOTE).append(": ");
-				builder.append("[ ");
+				// streams JSON result //
+				JsonWriter writer = JsonWriter.of(response, encoding);
 
-				if (iterator != null)
+				try
 				{
-					for (int index = 0; iterator.hasNext(); index++)
+					writer.beginObject();
+
+					if (!countless)
+					{
+						writer.name("__count").value(size);
+					}
+
+					writer.name("results");
+
+					long rows = 0;
+					boolean hasMore = false;
+					Window window = prefetch ? DataSourceBehavior.this.pollWindow(query, size) : null;
+
+					if (window != null)
 					{
-						if (index > 0)
+						writer.rawValue(window.rows);
+
+						rows = window.count;
+						hasMore = window.hasMore;
+					}
+					else
+					{
+						// prefetch: fetches the next window along with the requested one //
+						final long take = query.getTake() * (prefetch ? 2 : 1) + (countless ? 1 : 0);
+						final Iterator<? extends T> iterator = DataSourceBehavior.this.iterator(take > 0 ? query.range(query.getSkip(), take) : query);
+
+						writer.beginArray();
+						rows = DataSourceBehavior.this.writeJsonRows(writer, iterator, query.getTake());
+						writer.endArray();
+
+						hasMore = iterator != null && iterator.hasNext();
+
+						if (prefetch && hasMore)
 						{
-							builder.append(", ");
-						}
+							StringWriter buffer = new StringWriter();
+							JsonWriter next = new JsonWriter(buffer);
+
+							next.beginArray();
+							long count = DataSourceBehavior.this.writeJsonRows(next, iterator, query.getTake());
+							next.endArray();
 
-						builder.append(DataSourceBehavior.this.newJsonRow(iterator.next()));
+							DataSourceBehavior.this.window = new Window(query.range(query.getSkip() + query.getTake(), query.getTake()), size, buffer.toString(), count, iterator.hasNext());
+						}
 					}
-				}
 
-				builder.append(" ] }");
+					if (countless)
+					{
+						writer.name("__count").value(query.getSkip() + rows + (hasMore ? 1 : 0));
+						writer.name("__hasMore").value(hasMore);
+					}
 
-				response.write(builder);
+					writer.endObject();
+					writer.flush();
+				}
+				catch (IOException e)
+				{
+					throw new WicketRuntimeException(e);
+				}
 			}
 
 			@Override
@@ -205,31 +326,201 @@ public class DataSourceBehavior<T> extends AbstractAjaxBehavior
 	}
 
 	/**
-	 * Gets a new JSON object from the bean
+	 * Writes the rows produced by the iterator, up to the supplied maximum
 	 *
-	 * @param bean T object
-	 * @return a new JSON object
+	 * @param writer the {@link JsonWriter}
+	 * @param iterator the {@link Iterator}, may be {@code null}
+	 * @param max the maximum number of rows to write, or {@code 0} for no limit
+	 * @return the number of written rows
+	 * @throws IOException if an I/O error occurs
 	 */
-	protected String newJsonRow(T bean)
+	private long writeJsonRows(JsonWriter writer, Iterator<? extends T> iterator, long max) throws IOException
 	{
-		JSONObject object = new JSONObject();
+		long rows = 0;
 
-		try
+		if (iterator != null)
 		{
-			for (IColumn column : this.columns)
+			while ((max <= 0 || rows < max) && iterator.hasNext())
 			{
-				if (column instanceof PropertyColumn)
+				this.writeJsonRow(writer, iterator.next());
+				rows++;
+			}
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Gets and consumes the prefetched {@link Window}, if it matches the query, the count of rows has not changed and it has not expired
+	 *
+	 * @param query the {@link DataSourceQuery}
+	 * @param size the current count of rows, or {@code -1} if not counted
+	 * @return the {@link Window} or {@code null}
+	 */
+	private Window pollWindow(DataSourceQuery query, long size)
+	{
+		Window window = this.window;
+		this.window = null;
+
+		if (window != null && window.matches(query) && window.size == size && System.currentTimeMillis() - window.time <= PREFETCH_TTL.getMilliseconds())
+		{
+			return window;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the number of rows, according to the {@link CountMode}
+	 *
+	 * @param query the {@link DataSourceQuery}
+	 * @return the number of rows
+	 */
+	private long size(DataSourceQuery query)
+	{
+		switch (this.getCountMode())
+		{
+		case CACHED:
+			String key = String.valueOf(query.getFilter());
+			long now = System.currentTimeMillis();
+			long[] entry = this.counts != null ? this.counts.get(key) : null;
+
+			if (entry == null || now - entry[1] > this.getCountTimeToLive().getMilliseconds())
+			{
+				if (this.counts == null || this.counts.size() >= COUNTS)
 				{
-					PropertyColumn pc = (PropertyColumn) column;
-					object.put(pc.getField(), pc.getValue(bean));
+					this.counts = new HashMap<String, long[]>();
 				}
+
+				entry = new long[] { this.exactSize(query), now };
+				this.counts.put(key, entry);
+			}
+
+			return entry[0];
+
+		case ESTIMATED:
+			if (this.provider instanceof IEstimableDataProvider<?>)
+			{
+				return ((IEstimableDataProvider<?>) this.provider).estimateSize(query);
+			}
+
+			return this.exactSize(query);
+
+		default:
+			return this.exactSize(query);
+		}
+	}
+
+	/**
+	 * Gets the exact number of rows from the provider
+	 *
+	 * @param query the {@link DataSourceQuery}
+	 * @return the number of rows
+	 */
+	private long exactSize(DataSourceQuery query)
+	{
+		if (this.provider instanceof IQueryDataProvider<?>)
+		{
+			return ((IQueryDataProvider<?>) this.provider).size(query);
+		}
+
+		return this.provider.size();
+	}
+
+	/**
+	 * Gets the iterator over the rows of the query's range
+	 *
+	 * @param query the {@link DataSourceQuery}
+	 * @return the {@link Iterator}
+	 */
+	@SuppressWarnings("unchecked")
+	private Iterator<? extends T> iterator(DataSourceQuery query)
+	{
+		if (this.provider instanceof IQueryDataProvider<?>)
+		{
+			return ((IQueryDataProvider<T>) this.provider).iterator(query);
+		}
+
+		return this.provider.iterator(query.getSkip(), query.getTake());
+	}
+
+	/**
+	 * Writes the JSON object of the bean to the supplied {@link JsonWriter}<br/>
+	 * This is called for each row, as the {@link IDataProvider}'s iterator produces them, so nothing is retained in memory.
+	 *
+	 * @param writer the {@link JsonWriter}
+	 * @param bean T object
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected void writeJsonRow(JsonWriter writer, T bean) throws IOException
+	{
+		writer.beginObject();
+
+		for (IColumn column : this.columns)
+		{
+			if (column instanceof PropertyColumn)
+			{
+				PropertyColumn pc = (PropertyColumn) column;
+				writer.name(pc.getField()).value(pc.getValue(bean));
 			}
 		}
-		catch (JSONException e)
+
+		writer.endObject();
+	}
+
+	// Classes //
+
+	/**
+	 * Provides a prefetched window of serialized rows
+	 */
+	private static class Window
+	{
+		private final String key;
+		private final long skip;
+		private final long take;
+		private final long time;
+		private final long size;
+
+		final String rows;
+		final long count;
+		final boolean hasMore;
+
+		/**
+		 * Constructor
+		 *
+		 * @param query the {@link DataSourceQuery} of the window
+		 * @param size the count of rows when the window was fetched, or {@code -1} if not counted
+		 * @param rows the serialized rows, as a JSON array
+		 * @param count the number of rows
+		 * @param hasMore whether there are more rows after the window
+		 */
+		Window(DataSourceQuery query, long size, String rows, long count, boolean hasMore)
 		{
-			throw new ConversionException(e);
+			this.key = Window.keyOf(query);
+			this.skip = query.getSkip();
+			this.take = query.getTake();
+			this.time = System.currentTimeMillis();
+			this.size = size;
+
+			this.rows = rows;
+			this.count = count;
+			this.hasMore = hasMore;
 		}
 
-		return object.toString();
+		private static String keyOf(DataSourceQuery query)
+		{
+			return String.valueOf(query.getSorts()) + String.valueOf(query.getFilter());
+		}
+
+		/**
+		 * Indicates whether the window corresponds to the query
+		 *
+		 * @param query the {@link DataSourceQuery}
+		 * @return {@code true} if the range, the sorts and the filter are the same
+		 */
+		boolean matches(DataSourceQuery query)
+		{
+			return this.skip == query.getSkip() && this.take == query.getTake() && this.key.equals(Window.keyOf(query));
+		}
 	}
 }
@@ -27,6 +27,8 @@ import org.apache.wicket.markup.ComponentTag;
 import org.apache.wicket.markup.MarkupStream;
 import org.apache.wicket.markup.html.WebComponent;
 import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.time.Duration;
 
 import com.googlecode.wicket.jquery.core.IJQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
@@ -54,6 +56,8 @@ public class DataTable<T> extends WebComponent implements IJQueryWidget, IDataTa
 	private final List<? extends IColumn> columns;
 	private final IDataProvider<T> provider;
 	private final long rows;
+	private CountMode countMode = CountMode.EXACT;
+	private boolean virtual = false;
 
 	/**
 	 * Constructor
@@ -130,6 +134,12 @@ public class DataTable<T> extends WebComponent implements IJQueryWidget, IDataTa
 	 */
 	public void refresh(IPartialPageRequestHandler handler)
 	{
+		if (this.sourceBehavior instanceof DataSourceBehavior<?>)
+		{
+			((DataSourceBehavior<?>) this.sourceBehavior).invalidateCount();
+			((DataSourceBehavior<?>) this.sourceBehavior).invalidatePrefetch();
+		}
+
 		handler.appendJavaScript(String.format("var grid = %s; grid.dataSource.read(); grid.refresh();", this.widget()));
 	}
 
@@ -155,6 +165,65 @@ public class DataTable<T> extends WebComponent implements IJQueryWidget, IDataTa
 		return this.rows;
 	}
 
+	/**
+	 * Gets the {@link CountMode} used to supply the total number of rows
+	 *
+	 * @return the {@link CountMode}
+	 */
+	public CountMode getCountMode()
+	{
+		return this.countMode;
+	}
+
+	/**
+	 * Sets the {@link CountMode} used to supply the total number of rows<br/>
+	 * <b>Note: </b> with {@link CountMode#NONE}, the total is unknown so the pager info (ie: "1 - 25 of 26 items") should be disabled
+	 *
+	 * @param mode the {@link CountMode}
+	 * @return this, for chaining
+	 */
+	public DataTable<T> setCountMode(CountMode mode)
+	{
+		this.countMode = Args.notNull(mode, "mode");
+
+		return this;
+	}
+
+	/**
+	 * Indicates whether the {@link DataTable} uses virtual scrolling
+	 *
+	 * @return {@code false} by default
+	 */
+	public boolean isVirtualScrolling()
+	{
+		return this.virtual;
+	}
+
+	/**
+	 * Sets whether the {@link DataTable} uses virtual scrolling ({@code scrollable: { virtual: true }}) instead of pages.<br/>
+	 * Rows are loaded by windows of {@link #getRowCount()} rows while scrolling, and the next window is prefetched on the server side (see {@link DataSourceBehavior#isPrefetchEnabled()}).<br/>
+	 * <b>Note: </b> the "height" option should be set, and the number of rows should be larger than the number of visible rows.
+	 *
+	 * @param virtual {@code true} to enable virtual scrolling
+	 * @return this, for chaining
+	 */
+	public DataTable<T> setVirtualScrolling(boolean virtual)
+	{
+		this.virtual = virtual;
+
+		return this;
+	}
+
+	/**
+	 * Gets the time-to-live of the cached counts, when the {@link CountMode} is {@link CountMode#CACHED}
+	 *
+	 * @return one minute by default
+	 */
+	protected Duration getCountTimeToLive()
+	{
+		return Duration.ONE_MINUTE;
+	}
+
 	/**
 	 * Gets the read-only {@link List} of {@link IColumn}{@code s}
 	 *
@@ -212,6 +281,11 @@ public class DataTable<T> extends WebComponent implements IJQueryWidget, IDataTa
 	public void onConfigure(JQueryBehavior behavior)
 	{
 		behavior.setOption("sortable", this.provider instanceof ISortStateLocator<?>);
+
+		if (this.virtual)
+		{
+			behavior.setOption("scrollable", new Options("virtual", true));
+		}
 	}
 
 	@Override
@@ -314,7 +388,28 @@ public class DataTable<T> extends WebComponent implements IJQueryWidget, IDataTa
 	 */
 	protected AbstractAjaxBehavior newDataSourceBehavior(final List<? extends IColumn> columns, final IDataProvider<T> provider)
 	{
-		return new DataSourceBehavior<T>(columns, provider);
+		return new DataSourceBehavior<T>(columns, provider) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected CountMode getCountMode()
+			{
+				return DataTable.this.getCountMode();
+			}
+
+			@Override
+			protected Duration getCountTimeToLive()
+			{
+				return DataTable.this.getCountTimeToLive();
+			}
+
+			@Override
+			protected boolean isPrefetchEnabled()
+			{
+				return DataTable.this.isVirtualScrolling();
+			}
+		};
 	}
 
 	/**
@@ -145,6 +145,30 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Indicates whether the column definitions are serialized once (per locale and style) and reused across renders<br/>
+	 * This should be enabled only if the column titles are not dynamic, as they are part of the cached definitions. Tables having command buttons are never cached.
+	 *
+	 * @return {@code false} by default
+	 * @see #invalidateOptions()
+	 */
+	protected boolean isColumnsCacheEnabled()
+	{
+		return false;
+	}
+
+	/**
+	 * Indicates whether the datasource's schema is serialized once and reused across renders<br/>
+	 * This should be enabled only if {@link #getSchemaModel()} does not change between renders.
+	 *
+	 * @return {@code false} by default
+	 * @see #invalidateOption(String)
+	 */
+	protected boolean isSchemaCacheEnabled()
+	{
+		return false;
+	}
+
 	// Events //
 
 	@Override
@@ -160,12 +184,14 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 
 		// options //
 		Options source = new Options();
-		Options schema = new Options();
 
 		// schema //
-		schema.set("data", Options.asString("results"));
-		schema.set("total", Options.asString("__count"));
-		schema.set("model", this.getSchemaModel());
+		Object schema = this.isSchemaCacheEnabled() ? this.getImmutableOption("dataSource.schema") : null;
+
+		if (schema == null)
+		{
+			schema = this.isSchemaCacheEnabled() ? this.setImmutableOption("dataSource.schema", this.newSchema()) : this.newSchema();
+		}
 
 		// source //
 		source.set("type", Options.asString("json"));
@@ -179,6 +205,16 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 		this.setOption("dataSource", source);
 
 		// columns //
+		String key = String.format("columns.%s.%s", component.getLocale(), component.getStyle()); // titles may be localized
+		String columns = this.isColumnsCacheEnabled() ? this.getImmutableOption(key) : null;
+
+		if (columns != null)
+		{
+			this.setOption("columns", columns);
+
+			return;
+		}
+
 		StringBuilder builder = new StringBuilder("[ ");
 
 		for (int i = 0; i < this.columns.size(); i++)
@@ -233,7 +269,15 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 			builder.append(" }");
 		}
 
-		this.setOption("columns", builder.append(" ]").toString());
+		columns = builder.append(" ]").toString();
+
+		// command buttons refer to callback urls, which may change between renders //
+		if (this.isColumnsCacheEnabled() && this.getColumnButtons().isEmpty())
+		{
+			this.setImmutableOption(key, columns);
+		}
+
+		this.setOption("columns", columns);
 	}
 
 	@Override
@@ -255,6 +299,23 @@ public abstract class DataTableBehavior extends KendoUIBehavior implements IJQue
 
 	// Factories //
 
+	/**
+	 * Gets a new schema {@link Options} of the datasource<br/>
+	 * If {@link #isSchemaCacheEnabled()}, the schema is serialized once, until {@link #invalidateOption(String)} is called with the "dataSource.schema" key
+	 *
+	 * @return the schema {@link Options}
+	 */
+	protected Options newSchema()
+	{
+		Options schema = new Options();
+
+		schema.set("data", Options.asString("results"));
+		schema.set("total", Options.asString("__count"));
+		schema.set("model", this.getSchemaModel());
+
+		return schema;
+	}
+
 	/**
 	 * Gets the {@link JQueryAjaxBehavior} that will be called when the user clicks a toolbar button
 	 *
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.handler.resource.ResourceStreamRequestHandler;
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.jquery.core.lang.PropertyAccessor;
+import com.googlecode.wicket.jquery.core.utils.ConverterUtils;
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
+import com.googlecode.wicket.kendo.ui.datatable.column.IExportableColumn;
+import com.googlecode.wicket.kendo.ui.datatable.column.PropertyColumn;
+
+/**
+ * Provides the base class for streaming {@link IDataExporter}{@code s}<br/>
+ * Rows are pulled from the {@link IDataProvider} by chunks, the provider being detached between chunks, so that only one chunk is held in memory at a time. Cell values of
+ * {@link PropertyColumn}{@code s} are read directly from the row object, without model allocation.
+ */
+public abstract class AbstractDataExporter implements IDataExporter
+{
+	private static final long serialVersionUID = 1L;
+
+	/** Default number of rows read from the provider at a time */
+	public static final int CHUNK_SIZE = 1000;
+
+	/** Indicates, per class, whether {@link PropertyColumn#newDataModel(IModel)} is overridden (in which case the model should be used) */
+	private static final ClassValue<Boolean> DATA_MODEL_OVERRIDDEN = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(Class<?> type)
+		{
+			try
+			{
+				return type.getMethod("newDataModel", IModel.class).getDeclaringClass() != PropertyColumn.class;
+			}
+			catch (NoSuchMethodException e)
+			{
+				return true;
+			}
+		}
+	};
+
+	/**
+	 * Exports {@link DataTable} data using the supplied {@link IDataExporter}
+	 *
+	 * @param cycle the {@link RequestCycle}
+	 * @param exporter the {@link IDataExporter}
+	 * @param table the {@link DataTable}
+	 * @param filename the file name of the output
+	 */
+	public static void export(RequestCycle cycle, IDataExporter exporter, DataTable<?> table, String filename)
+	{
+		DataExporterResourceStreamWriter writer = new DataExporterResourceStreamWriter(exporter, table.getDataProvider(), AbstractDataExporter.getExportableColumns(table));
+		cycle.scheduleRequestHandlerAfterCurrent(new ResourceStreamRequestHandler(writer, filename));
+	}
+
+	/**
+	 * Gets the {@link IExportableColumn}{@code s} of the {@link DataTable}
+	 *
+	 * @param table the {@link DataTable}
+	 * @return the list of {@link IExportableColumn}
+	 */
+	public static List<IExportableColumn> getExportableColumns(DataTable<?> table)
+	{
+		List<IExportableColumn> columns = new ArrayList<IExportableColumn>();
+
+		for (IColumn column : table.getColumns())
+		{
+			if (column instanceof IExportableColumn)
+			{
+				columns.add((IExportableColumn) column);
+			}
+		}
+
+		return columns;
+	}
+
+	private final String contentType;
+	private boolean exportHeadersEnabled = true;
+	private int chunkSize = CHUNK_SIZE;
+
+	/**
+	 * Constructor
+	 *
+	 * @param contentType the content-type
+	 */
+	public AbstractDataExporter(String contentType)
+	{
+		this.contentType = contentType;
+	}
+
+	// Properties //
+
+	@Override
+	public String getContentType()
+	{
+		return this.contentType;
+	}
+
+	@Override
+	public boolean isExportHeadersEnabled()
+	{
+		return this.exportHeadersEnabled;
+	}
+
+	/**
+	 * Sets whether headers will be written to the output
+	 *
+	 * @param enabled true or false
+	 * @return this, for chaining
+	 */
+	public AbstractDataExporter setExportHeadersEnabled(boolean enabled)
+	{
+		this.exportHeadersEnabled = enabled;
+
+		return this;
+	}
+
+	/**
+	 * Gets the number of rows read from the provider at a time
+	 *
+	 * @return the chunk size
+	 */
+	public int getChunkSize()
+	{
+		return this.chunkSize;
+	}
+
+	/**
+	 * Sets the number of rows read from the provider at a time
+	 *
+	 * @param size the chunk size
+	 * @return this, for chaining
+	 */
+	public AbstractDataExporter setChunkSize(int size)
+	{
+		this.chunkSize = Args.withinRange(1, Integer.MAX_VALUE, size, "size");
+
+		return this;
+	}
+
+	// Methods //
+
+	/**
+	 * Exports all data provided by the {@link IDataProvider} to the {@link OutputStream}.<br/>
+	 * The provider's size is not queried: chunks are read until the provider returns less rows than requested.
+	 *
+	 * @param provider the {@link IDataProvider}
+	 * @param columns the list of {@link IColumn}
+	 * @param output the {@link OutputStream}
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public <T> void exportData(IDataProvider<T> provider, List<IExportableColumn> columns, OutputStream output) throws IOException
+	{
+		this.exportData(provider, columns, output, 0, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Exports the data provided by the {@link IDataProvider} to the {@link OutputStream}.<br/>
+	 * The output stream is flushed but not closed.
+	 *
+	 * @param provider the {@link IDataProvider}
+	 * @param columns the list of {@link IColumn}
+	 * @param output the {@link OutputStream}
+	 * @param first the first row of data
+	 * @param count the number of rows to export
+	 * @throws IOException if an I/O error occurs
+	 */
+	public <T> void exportData(IDataProvider<T> provider, List<IExportableColumn> columns, OutputStream output, long first, long count) throws IOException
+	{
+		this.exportData(provider, columns, output, first, count, null);
+	}
+
+	/**
+	 * Exports the data provided by the {@link IDataProvider} to the {@link OutputStream}, notifying the {@link IExportListener} after each chunk.<br/>
+	 * The output stream is flushed but not closed.
+	 *
+	 * @param provider the {@link IDataProvider}
+	 * @param columns the list of {@link IColumn}
+	 * @param output the {@link OutputStream}
+	 * @param first the first row of data
+	 * @param count the number of rows to export
+	 * @param listener the {@link IExportListener}, may be {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public <T> void exportData(IDataProvider<T> provider, List<IExportableColumn> columns, OutputStream output, long first, long count, IExportListener listener) throws IOException
+	{
+		final IExportWriter writer = this.newExportWriter(columns, output);
+		final Object[] values = new Object[columns.size()];
+
+		// headers //
+		if (this.isExportHeadersEnabled())
+		{
+			writer.writeHeaders();
+		}
+
+		// rows //
+		long exported = 0;
+
+		while (exported < count)
+		{
+			final long size = Math.min(this.chunkSize, count - exported);
+			long rows = 0;
+
+			try
+			{
+				Iterator<? extends T> iterator = provider.iterator(first + exported, size);
+
+				while (iterator.hasNext())
+				{
+					T row = iterator.next();
+
+					for (int i = 0; i < values.length; i++)
+					{
+						values[i] = this.getValue(provider, columns.get(i), row);
+					}
+
+					writer.writeRow(values);
+					rows++;
+				}
+			}
+			finally
+			{
+				provider.detach(); // releases the chunk
+			}
+
+			exported += rows;
+
+			if (listener != null)
+			{
+				listener.onProgress(exported);
+			}
+
+			if (rows < size)
+			{
+				break; // no more rows
+			}
+		}
+
+		writer.finish();
+	}
+
+	/**
+	 * Gets the value of a cell<br/>
+	 * The value of a {@link PropertyColumn} is read directly from the row object, unless {@link IExportableColumn#newDataModel(IModel)} is overridden; other columns are read through {@link IExportableColumn#newDataModel(IModel)}
+	 *
+	 * @param provider the {@link IDataProvider}
+	 * @param column the {@link IExportableColumn}
+	 * @param row the row object
+	 * @return the cell value
+	 */
+	protected <T> Object getValue(IDataProvider<T> provider, IExportableColumn column, T row)
+	{
+		if (column instanceof PropertyColumn && !DATA_MODEL_OVERRIDDEN.get(column.getClass()))
+		{
+			return PropertyAccessor.getValue(((PropertyColumn) column).getProperty(), row);
+		}
+
+		return column.newDataModel(provider.model(row)).getObject();
+	}
+
+	/**
+	 * Converts a cell value to its string representation
+	 *
+	 * @param value the value, not {@code null}
+	 * @return the string representation, using the appropriate converter if defined
+	 */
+	protected String toString(Object value)
+	{
+		if (value instanceof String)
+		{
+			return (String) value;
+		}
+
+		return ConverterUtils.toString(value);
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new {@link IExportWriter}, for one export
+	 *
+	 * @param columns the list of {@link IColumn}
+	 * @param output the {@link OutputStream}
+	 * @return a new {@link IExportWriter}
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected abstract IExportWriter newExportWriter(List<IExportableColumn> columns, OutputStream output) throws IOException;
+
+	// Classes //
+
+	/**
+	 * Specifies the format-specific writer of one export
+	 */
+	public interface IExportWriter
+	{
+		/**
+		 * Writes the headers
+		 *
+		 * @throws IOException if an I/O error occurs
+		 */
+		void writeHeaders() throws IOException;
+
+		/**
+		 * Writes a row
+		 *
+		 * @param values the cell values, in the order of the columns. The array is reused between rows
+		 * @throws IOException if an I/O error occurs
+		 */
+		void writeRow(Object[] values) throws IOException;
+
+		/**
+		 * Finishes the export and flushes the output, without closing it
+		 *
+		 * @throws IOException if an I/O error occurs
+		 */
+		void finish() throws IOException;
+	}
+
+	/**
+	 * Specifies the listener of the export progress
+	 */
+	public interface IExportListener
+	{
+		/**
+		 * Triggered after each chunk.<br/>
+		 * The export can be aborted by throwing a {@link RuntimeException}
+		 *
+		 * @param rows the number of rows exported so far
+		 */
+		void onProgress(long rows);
+	}
+}
@@ -16,43 +16,37 @@
  */
 package com.googlecode.wicket.kendo.ui.datatable.export;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.apache.wicket.markup.repeater.data.IDataProvider;
 import org.apache.wicket.request.cycle.RequestCycle;
 import org.apache.wicket.request.handler.resource.ResourceStreamRequestHandler;
-import org.apache.wicket.util.resource.AbstractResourceStreamWriter;
 import org.apache.wicket.util.resource.IResourceStreamWriter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import com.googlecode.wicket.jquery.core.utils.ConverterUtils;
 import com.googlecode.wicket.kendo.ui.datatable.DataTable;
-import com.googlecode.wicket.kendo.ui.datatable.column.IColumn;
 import com.googlecode.wicket.kendo.ui.datatable.column.IExportableColumn;
 
 /**
- * Provides export capability for the {@link DataTable}
+ * Provides CSV export capability for the {@link DataTable}<br/>
+ * Rows are streamed to a buffered writer, chunk by chunk (see {@link AbstractDataExporter})
  *
  * @author Sebastien Briquet - sebfz1
  */
-public class CSVDataExporter implements IDataExporter
+public class CSVDataExporter extends AbstractDataExporter
 {
 	private static final long serialVersionUID = 1L;
-	private static final Logger LOG = LoggerFactory.getLogger(CSVDataExporter.class);
 
 	private static final char QUOTE = '"';
 	private static final String CRLF = "\r\n";
 	private static final String MIME = "text/csv";
+	private static final int BUFFER_SIZE = 8192;
 
-	private static final char delimiter = ',';
 	private static final String characterSet = "utf-8";
 
 	public static void export(DataTable<?> table, String filename)
@@ -69,17 +63,7 @@ public class CSVDataExporter implements IDataExporter
 	 */
 	public static void export(RequestCycle cycle, final DataTable<?> table, String filename)
 	{
-		List<IExportableColumn> columns = new ArrayList<IExportableColumn>();
-
-		for (IColumn column : table.getColumns())
-		{
-			if (column instanceof IExportableColumn)
-			{
-				columns.add((IExportableColumn) column);
-			}
-		}
-
-		CSVDataExporter.export(cycle, table.getDataProvider(), columns, filename);
+		CSVDataExporter.export(cycle, table.getDataProvider(), AbstractDataExporter.getExportableColumns(table), filename);
 	}
 
 	/**
@@ -92,21 +76,11 @@ public class CSVDataExporter implements IDataExporter
 	 */
 	public static void export(RequestCycle cycle, final IDataProvider<?> provider, final List<IExportableColumn> columns, String filename)
 	{
-		DataExporterResourceStreamWriter writer = new DataExporterResourceStreamWriter(new CSVDataExporter(), provider, columns);
+		IResourceStreamWriter writer = new com.googlecode.wicket.kendo.ui.datatable.export.DataExporterResourceStreamWriter(new CSVDataExporter(), provider, columns);
 		cycle.scheduleRequestHandlerAfterCurrent(new ResourceStreamRequestHandler(writer, filename));
-
-		try
-		{
-			writer.close();
-		}
-		catch (IOException e)
-		{
-			LOG.error(e.getMessage(), e);
-		}
 	}
 
-	private final String contentType;
-	private boolean exportHeadersEnabled = true;
+	private final char delimiter;
 
 	/**
 	 * Constructor
@@ -123,31 +97,33 @@ public class CSVDataExporter implements IDataExporter
 	 */
 	public CSVDataExporter(String contentType)
 	{
-		this.contentType = contentType;
+		this(contentType, ',');
 	}
 
-	// Properties //
-
 	/**
-	 * Gets the content type
+	 * Constructor
 	 *
-	 * @return the content type
+	 * @param contentType the content-type, ie: text/csv
+	 * @param delimiter the values delimiter
 	 */
-	@Override
-	public String getContentType()
+	protected CSVDataExporter(String contentType, char delimiter)
 	{
-		return String.format("%s; charset=%s; header=%s", this.contentType, CSVDataExporter.characterSet, this.exportHeadersEnabled ? "present" : "absent");
+		super(contentType);
+
+		this.delimiter = delimiter;
 	}
 
+	// Properties //
+
 	/**
-	 * Indicates whether headers will be written to the output
+	 * Gets the content type
 	 *
-	 * @return true or false
+	 * @return the content type
 	 */
 	@Override
-	public boolean isExportHeadersEnabled()
+	public String getContentType()
 	{
-		return this.exportHeadersEnabled;
+		return String.format("%s; charset=%s; header=%s", super.getContentType(), CSVDataExporter.characterSet, this.isExportHeadersEnabled() ? "present" : "absent");
 	}
 
 	// Methods //
@@ -164,147 +140,71 @@ public class CSVDataExporter implements IDataExporter
 		return QUOTE + value.replace("" + QUOTE, "" + QUOTE + QUOTE) + QUOTE;
 	}
 
-	/**
-	 * Writes the headers to the output
-	 *
-	 * @param provider the {@link IDataProvider}
-	 * @param columns the list of {@link IColumn}
-	 * @param writer the {@link PrintWriter}
-	 */
-	private void exportHeaders(List<IExportableColumn> columns, PrintWriter writer)
-	{
-		boolean first = true;
-
-		for (IExportableColumn column : columns)
-		{
-			if (first)
-			{
-				first = false;
-			}
-			else
-			{
-				writer.print(CSVDataExporter.delimiter);
-			}
+	// Factories //
 
-			writer.print(this.quoteValue(column.getTitle()));
-		}
-
-		writer.print(CRLF);
-	}
-
-	/**
-	 * Exports a row to the output
-	 *
-	 * @param provider the {@link IDataProvider}
-	 * @param columns the list of {@link IColumn}
-	 * @param row the row of typed objects
-	 * @param writer the {@link PrintWriter}
-	 */
-	private <T> void exportRow(IDataProvider<T> provider, List<IExportableColumn> columns, T row, PrintWriter writer)
+	@Override
+	protected IExportWriter newExportWriter(final List<IExportableColumn> columns, OutputStream output)
 	{
-		boolean first = true;
-
-		for (IExportableColumn column : columns)
-		{
-			if (first)
-			{
-				first = false;
-			}
-			else
-			{
-				writer.print(CSVDataExporter.delimiter);
-			}
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(output, Charset.forName(CSVDataExporter.characterSet)), BUFFER_SIZE);
 
-			Object object = column.newDataModel(provider.model(row)).getObject();
+		return new IExportWriter() {
 
-			if (object != null)
+			@Override
+			public void writeHeaders() throws IOException
 			{
-				String value = ConverterUtils.toString(object);
-				writer.print(this.quoteValue(value));
-			}
-		}
+				for (int i = 0; i < columns.size(); i++)
+				{
+					if (i > 0)
+					{
+						writer.write(CSVDataExporter.this.delimiter);
+					}
 
-		writer.print(CRLF);
-	}
-
-	/**
-	 * Exports all data provided by the {@link IDataProvider} to the {@link OutputStream}.
-	 *
-	 * @param provider the {@link IDataProvider}
-	 * @param columns the list of {@link IColumn}
-	 * @param output the {@link OutputStream}
-	 * @throws IOException
-	 */
-	@Override
-	public <T> void exportData(IDataProvider<T> provider, List<IExportableColumn> columns, OutputStream output) throws IOException
-	{
-		this.exportData(provider, columns, output, 0, provider.size());
-	}
+					writer.write(CSVDataExporter.this.quoteValue(columns.get(i).getTitle()));
+				}
 
-	/**
-	 * Exports the data provided by the {@link IDataProvider} to the {@link OutputStream}.
-	 *
-	 * @param provider the {@link IDataProvider}
-	 * @param columns the list of {@link IColumn}
-	 * @param output the {@link OutputStream}
-	 * @param first the first row of datacount
-	 * @param count the number of elements to retrieve
-	 * @throws IOException
-	 */
-	public <T> void exportData(IDataProvider<T> provider, List<IExportableColumn> columns, OutputStream output, long first, long count) throws IOException
-	{
-		PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, Charset.forName(CSVDataExporter.characterSet)));
+				writer.write(CRLF);
+			}
 
-		try
-		{
-			// headers //
-			if (this.isExportHeadersEnabled())
+			@Override
+			public void writeRow(Object[] values) throws IOException
 			{
-				this.exportHeaders(columns, writer);
+				for (int i = 0; i < values.length; i++)
+				{
+					if (i > 0)
+					{
+						writer.write(CSVDataExporter.this.delimiter);
+					}
+
+					if (values[i] != null)
+					{
+						writer.write(CSVDataExporter.this.quoteValue(CSVDataExporter.this.toString(values[i])));
+					}
+				}
+
+				writer.write(CRLF);
 			}
 
-			// rows //
-			Iterator<? extends T> iterator = provider.iterator(first, count);
-
-			while (iterator.hasNext())
+			@Override
+			public void finish() throws IOException
 			{
-				this.exportRow(provider, columns, iterator.next(), writer);
+				writer.flush();
 			}
-		}
-		finally
-		{
-			writer.close();
-		}
+		};
 	}
 
 	/**
-	 * Provides the {@link IResourceStreamWriter} for the {@link CSVDataExporter}
+	 * Provides the {@link IResourceStreamWriter} for {@link IDataExporter}{@code s}
+	 *
+	 * @deprecated use the top-level {@link com.googlecode.wicket.kendo.ui.datatable.export.DataExporterResourceStreamWriter}
 	 */
-	public static class DataExporterResourceStreamWriter extends AbstractResourceStreamWriter
+	@Deprecated
+	public static class DataExporterResourceStreamWriter extends com.googlecode.wicket.kendo.ui.datatable.export.DataExporterResourceStreamWriter
 	{
 		private static final long serialVersionUID = 1L;
 
-		private final IDataExporter exporter;
-		private final IDataProvider<?> provider;
-		private final List<IExportableColumn> columns;
-
 		public DataExporterResourceStreamWriter(IDataExporter exporter, final IDataProvider<?> provider, final List<IExportableColumn> columns)
 		{
-			this.exporter = exporter;
-			this.provider = provider;
-			this.columns = columns;
-		}
-
-		@Override
-		public String getContentType()
-		{
-			return this.exporter.getContentType();
-		}
-
-		@Override
-		public void write(OutputStream output) throws IOException
-		{
-			this.exporter.exportData(this.provider, this.columns, output);
+			super(exporter, provider, columns);
 		}
 	}
 }
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.util.resource.AbstractResourceStreamWriter;
+import org.apache.wicket.util.resource.IResourceStreamWriter;
+
+import com.googlecode.wicket.kendo.ui.datatable.column.IExportableColumn;
+
+/**
+ * Provides the {@link IResourceStreamWriter} for {@link IDataExporter}{@code s}
+ */
+public class DataExporterResourceStreamWriter extends AbstractResourceStreamWriter
+{
+	private static final long serialVersionUID = 1L;
+
+	private final IDataExporter exporter;
+	private final IDataProvider<?> provider;
+	private final List<IExportableColumn> columns;
+
+	/**
+	 * Constructor
+	 *
+	 * @param exporter the {@link IDataExporter}
+	 * @param provider the {@link IDataProvider}
+	 * @param columns the list of {@link IExportableColumn}
+	 */
+	public DataExporterResourceStreamWriter(IDataExporter exporter, final IDataProvider<?> provider, final List<IExportableColumn> columns)
+	{
+		this.exporter = exporter;
+		this.provider = provider;
+		this.columns = columns;
+	}
+
+	@Override
+	public String getContentType()
+	{
+		return this.exporter.getContentType();
+	}
+
+	@Override
+	public void write(OutputStream output) throws IOException
+	{
+		this.exporter.exportData(this.provider, this.columns, output);
+	}
+}
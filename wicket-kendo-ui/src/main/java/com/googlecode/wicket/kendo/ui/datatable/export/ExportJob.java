@@ -0,0 +1,415 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.export;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.Session;
+import org.apache.wicket.ThreadContext;
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.request.resource.ContentDisposition;
+import org.apache.wicket.request.resource.IResource;
+import org.apache.wicket.request.resource.ResourceStreamResource;
+import org.apache.wicket.util.resource.FileResourceStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.googlecode.wicket.kendo.ui.datatable.column.IExportableColumn;
+import com.googlecode.wicket.kendo.ui.datatable.export.AbstractDataExporter.IExportListener;
+
+/**
+ * Provides an export that runs in the background, spooling its output to a temporary file<br/>
+ * Jobs are submitted, tracked and discarded by the {@link ExportJobManager}.<br/>
+ * <br/>
+ * The job runs with the {@link Application} and the {@link Session} that submitted it, so that values are converted the way the components do (see
+ * {@link com.googlecode.wicket.jquery.core.utils.ConverterUtils}). As the session is still used by the request threads, the exporter and the provider should only read
+ * from it (ie: its locale), and never modify it.
+ */
+public class ExportJob implements Runnable
+{
+	private static final Logger LOG = LoggerFactory.getLogger(ExportJob.class);
+	private static final int BUFFER_SIZE = 8192;
+
+	/** Provides an enum of the states of an {@link ExportJob} */
+	public enum State
+	{
+		PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
+	}
+
+	private final String id = UUID.randomUUID().toString();
+	private final String sessionId;
+	private final Application application;
+	private final Session session;
+
+	private final IDataExporter exporter;
+	private final IDataProvider<?> provider;
+	private final List<IExportableColumn> columns;
+	private final String filename;
+
+	private final AtomicReference<State> state = new AtomicReference<State>(State.PENDING);
+	private volatile long total;
+	private volatile long rows = 0;
+	private volatile File file = null;
+	private volatile Throwable error = null;
+	private volatile Future<?> future = null;
+
+	/**
+	 * Constructor
+	 *
+	 * @param session the {@link Session} the job belongs to
+	 * @param exporter the {@link IDataExporter}
+	 * @param provider the {@link IDataProvider}, which should not be shared with components
+	 * @param columns the list of {@link IExportableColumn}
+	 * @param filename the file name of the output
+	 * @param total the total number of rows if known, {@code -1} otherwise
+	 */
+	ExportJob(Session session, IDataExporter exporter, IDataProvider<?> provider, List<IExportableColumn> columns, String filename, long total)
+	{
+		this.application = Application.get();
+		this.session = session;
+		this.sessionId = session.getId();
+
+		this.exporter = exporter;
+		this.provider = provider;
+		this.columns = columns;
+		this.filename = filename;
+		this.total = total;
+	}
+
+	// Methods //
+
+	@Override
+	public void run()
+	{
+		if (!this.state.compareAndSet(State.PENDING, State.RUNNING))
+		{
+			return; // cancelled while pending
+		}
+
+		ThreadContext.setApplication(this.application);
+		ThreadContext.setSession(this.session);
+
+		try
+		{
+			this.file = File.createTempFile("export-", ".tmp");
+
+			OutputStream output = new CancellableOutputStream(new BufferedOutputStream(new FileOutputStream(this.file), BUFFER_SIZE));
+
+			try
+			{
+				if (this.exporter instanceof AbstractDataExporter)
+				{
+					((AbstractDataExporter) this.exporter).exportData(this.provider, this.columns, output, 0, Long.MAX_VALUE, this.newExportListener());
+					this.total = this.rows; // the provider has no more rows
+				}
+				else
+				{
+					this.exporter.exportData(this.provider, this.columns, output);
+				}
+			}
+			finally
+			{
+				output.close();
+			}
+
+			if (!this.state.compareAndSet(State.RUNNING, State.COMPLETED))
+			{
+				this.delete(); // cancelled during the last chunk
+			}
+		}
+		catch (CancellationException e)
+		{
+			this.state.compareAndSet(State.RUNNING, State.CANCELLED);
+			this.delete();
+		}
+		catch (Exception e)
+		{
+			this.error = e;
+
+			if (this.state.compareAndSet(State.RUNNING, State.FAILED))
+			{
+				LOG.error(e.getMessage(), e);
+			}
+			else
+			{
+				this.error = null; // cancelled, the exception is a consequence
+			}
+
+			this.delete();
+		}
+		finally
+		{
+			this.provider.detach();
+			ThreadContext.detach();
+		}
+	}
+
+	/**
+	 * Cancels the job and deletes its output
+	 */
+	public void cancel()
+	{
+		if (this.state.compareAndSet(State.PENDING, State.CANCELLED) || this.state.compareAndSet(State.RUNNING, State.CANCELLED))
+		{
+			if (this.future != null)
+			{
+				this.future.cancel(true);
+			}
+		}
+
+		this.delete();
+	}
+
+	/**
+	 * Deletes the temporary file, if any
+	 */
+	private void delete()
+	{
+		File f = this.file;
+
+		if (f != null && f.exists() && !f.delete())
+		{
+			LOG.warn("Unable to delete {}", f);
+		}
+	}
+
+	/**
+	 * Gets a new {@link IResource} that serves the output of the completed job<br/>
+	 * The resource supports range requests, so the download can be resumed.
+	 *
+	 * @return a new {@link IResource}
+	 * @throws IllegalStateException if the job is not completed
+	 */
+	public IResource newResource()
+	{
+		if (this.state.get() != State.COMPLETED)
+		{
+			throw new IllegalStateException("The export job is not completed: " + this.state.get());
+		}
+
+		ResourceStreamResource resource = new ResourceStreamResource(new FileResourceStream(this.file) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String getContentType()
+			{
+				return ExportJob.this.exporter.getContentType();
+			}
+		});
+
+		resource.setFileName(this.filename);
+		resource.setContentDisposition(ContentDisposition.ATTACHMENT);
+
+		return resource;
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the job identifier
+	 *
+	 * @return the identifier
+	 */
+	public String getId()
+	{
+		return this.id;
+	}
+
+	/**
+	 * Gets the identifier of the {@link Session} the job belongs to
+	 *
+	 * @return the session id
+	 */
+	String getSessionId()
+	{
+		return this.sessionId;
+	}
+
+	/**
+	 * Sets the {@link Future} of the submitted job
+	 *
+	 * @param future the {@link Future}
+	 */
+	void setFuture(Future<?> future)
+	{
+		this.future = future;
+	}
+
+	/**
+	 * Gets the file name of the output
+	 *
+	 * @return the file name
+	 */
+	public String getFilename()
+	{
+		return this.filename;
+	}
+
+	/**
+	 * Gets the {@link State}
+	 *
+	 * @return the {@link State}
+	 */
+	public State getState()
+	{
+		return this.state.get();
+	}
+
+	/**
+	 * Indicates whether the job is over, whatever the outcome
+	 *
+	 * @return {@code true} if the job is completed, failed or cancelled
+	 */
+	public boolean isDone()
+	{
+		State state = this.state.get();
+
+		return state != State.PENDING && state != State.RUNNING;
+	}
+
+	/**
+	 * Gets the number of exported rows so far
+	 *
+	 * @return the number of rows
+	 */
+	public long getRows()
+	{
+		return this.rows;
+	}
+
+	/**
+	 * Gets the total number of rows<br/>
+	 * The provider's size is not queried, so the total is only known once the job is completed, unless it has been supplied on submission (see
+	 * {@link ExportJobManager#submit(IDataExporter, IDataProvider, List, String, long)})
+	 *
+	 * @return the total number of rows, or {@code -1} if not known
+	 */
+	public long getTotal()
+	{
+		return this.total;
+	}
+
+	/**
+	 * Gets the progress, in percent
+	 *
+	 * @return a value between 0 and 100, or 0 until the job is completed if the total is not known (see {@link #getRows()})
+	 */
+	public int getProgress()
+	{
+		if (this.state.get() == State.COMPLETED)
+		{
+			return 100;
+		}
+
+		if (this.total > 0)
+		{
+			return (int) Math.min(99, this.rows * 100 / this.total);
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Gets the error that made the job fail
+	 *
+	 * @return the {@link Throwable} or {@code null}
+	 */
+	public Throwable getError()
+	{
+		return this.error;
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new {@link IExportListener} that records the progress and aborts the export if the job is cancelled
+	 *
+	 * @return a new {@link IExportListener}
+	 */
+	private IExportListener newExportListener()
+	{
+		return new IExportListener() {
+
+			@Override
+			public void onProgress(long rows)
+			{
+				ExportJob.this.rows = rows;
+
+				ExportJob.this.checkCancelled();
+			}
+		};
+	}
+
+	/**
+	 * Aborts the export if the job is cancelled
+	 *
+	 * @throws CancellationException if the job is cancelled or the thread is interrupted
+	 */
+	private void checkCancelled()
+	{
+		if (this.state.get() == State.CANCELLED || Thread.currentThread().isInterrupted())
+		{
+			throw new CancellationException();
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ExportJob [id=" + this.id + ", filename=" + this.filename + ", state=" + this.state.get() + ", rows=" + this.rows + "]";
+	}
+
+	// Classes //
+
+	/**
+	 * Provides the output stream of the job, which aborts the export on write once the job is cancelled<br/>
+	 * Thus, exporters that do not report their progress (see {@link IExportListener}) can also be stopped.
+	 */
+	private class CancellableOutputStream extends FilterOutputStream
+	{
+		CancellableOutputStream(OutputStream output)
+		{
+			super(output);
+		}
+
+		@Override
+		public void write(int b) throws IOException
+		{
+			ExportJob.this.checkCancelled();
+			this.out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException
+		{
+			ExportJob.this.checkCancelled();
+			this.out.write(b, off, len);
+		}
+	}
+}
@@ -0,0 +1,378 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.export;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.IApplicationListener;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.Session;
+import org.apache.wicket.core.util.lang.WicketObjects;
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+import org.apache.wicket.session.ISessionStore.UnboundListener;
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+import com.googlecode.wicket.kendo.ui.datatable.column.IExportableColumn;
+
+/**
+ * Provides the application-scoped registry and executor of {@link ExportJob}{@code s}<br/>
+ * Jobs run on a bounded pool; submissions beyond the queue capacity are rejected rather than piling up. Jobs are bound to the session that submitted them, and their
+ * spooled files are deleted when the session is unbound, when the job is removed, or when the application is destroyed.
+ */
+public class ExportJobManager
+{
+	/** Default number of threads */
+	public static final int THREADS = 2;
+
+	/** Default number of pending jobs */
+	public static final int CAPACITY = 16;
+
+	private static final MetaDataKey<ExportJobManager> KEY = new MetaDataKey<ExportJobManager>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	/**
+	 * Gets the {@link ExportJobManager} of the current {@link Application}, installing one with default values if needed
+	 *
+	 * @return the {@link ExportJobManager}
+	 */
+	public static ExportJobManager get()
+	{
+		return ExportJobManager.get(Application.get());
+	}
+
+	/**
+	 * Gets the {@link ExportJobManager} of the supplied {@link Application}, installing one with default values if needed
+	 *
+	 * @param application the {@link Application}
+	 * @return the {@link ExportJobManager}
+	 */
+	public static ExportJobManager get(Application application)
+	{
+		ExportJobManager manager = application.getMetaData(KEY);
+
+		if (manager == null)
+		{
+			manager = ExportJobManager.installIfAbsent(application);
+		}
+
+		return manager;
+	}
+
+	/**
+	 * Installs an {@link ExportJobManager} with default values to the supplied {@link Application}, unless another thread did it in the meantime
+	 *
+	 * @param application the {@link Application}
+	 * @return the {@link ExportJobManager}
+	 */
+	private static synchronized ExportJobManager installIfAbsent(Application application)
+	{
+		ExportJobManager manager = application.getMetaData(KEY);
+
+		if (manager == null)
+		{
+			manager = ExportJobManager.install(application, THREADS, CAPACITY);
+		}
+
+		return manager;
+	}
+
+	/**
+	 * Installs an {@link ExportJobManager} to the supplied {@link Application}<br/>
+	 * This should be called from {@link Application#init()} in order to override the default values.
+	 *
+	 * @param application the {@link Application}
+	 * @param threads the number of threads
+	 * @param capacity the number of pending jobs
+	 * @return the {@link ExportJobManager}
+	 */
+	public static synchronized ExportJobManager install(Application application, int threads, int capacity)
+	{
+		ExportJobManager previous = application.getMetaData(KEY);
+
+		if (previous != null)
+		{
+			previous.shutdown();
+		}
+		else
+		{
+			ExportJobManager.register(application); // once per application
+		}
+
+		ExportJobManager manager = new ExportJobManager(threads, capacity);
+		application.setMetaData(KEY, manager);
+
+		return manager;
+	}
+
+	/**
+	 * Registers the listeners that release the jobs on session unbound and on application shutdown<br/>
+	 * The listeners delegate to the {@link ExportJobManager} installed at the time of the event, so they are registered only once.
+	 *
+	 * @param application the {@link Application}
+	 */
+	private static void register(final Application application)
+	{
+		application.getSessionStore().registerUnboundListener(new UnboundListener() {
+
+			@Override
+			public void sessionUnbound(String sessionId)
+			{
+				ExportJobManager manager = application.getMetaData(KEY);
+
+				if (manager != null)
+				{
+					manager.release(sessionId);
+				}
+			}
+		});
+
+		application.getApplicationListeners().add(new IApplicationListener() {
+
+			@Override
+			public void onAfterInitialized(Application application)
+			{
+				// noop
+			}
+
+			@Override
+			public void onBeforeDestroyed(Application application)
+			{
+				ExportJobManager manager = application.getMetaData(KEY);
+
+				if (manager != null)
+				{
+					manager.shutdown();
+				}
+			}
+		});
+	}
+
+	private final ThreadPoolExecutor executor;
+	private final Map<String, ExportJob> jobs = new ConcurrentHashMap<String, ExportJob>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param threads the number of threads
+	 * @param capacity the number of pending jobs
+	 */
+	private ExportJobManager(int threads, int capacity)
+	{
+		Args.withinRange(1, Integer.MAX_VALUE, threads, "threads");
+		Args.withinRange(1, Integer.MAX_VALUE, capacity, "capacity");
+
+		this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(capacity), new ExportThreadFactory());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	// Methods //
+
+	/**
+	 * Submits the export of the {@link DataTable} data
+	 *
+	 * @param exporter the {@link IDataExporter}
+	 * @param table the {@link DataTable}
+	 * @param filename the file name of the output
+	 * @return the submitted {@link ExportJob}
+	 * @throws RejectedExecutionException if the queue is full
+	 */
+	public ExportJob submit(IDataExporter exporter, DataTable<?> table, String filename)
+	{
+		return this.submit(exporter, table.getDataProvider(), AbstractDataExporter.getExportableColumns(table), filename);
+	}
+
+	/**
+	 * Submits the export of the data provided by the {@link IDataProvider}<br/>
+	 * The provider and the columns are cloned, so the job neither shares state with the components nor runs against a detached provider. Thus, they should be
+	 * serializable, which is what Wicket requires anyway.<br/>
+	 * The job runs with the current {@link Session}, which the exporter should only read from (see {@link ExportJob}).
+	 *
+	 * @param exporter the {@link IDataExporter}
+	 * @param provider the {@link IDataProvider}
+	 * @param columns the list of {@link IExportableColumn}
+	 * @param filename the file name of the output
+	 * @return the submitted {@link ExportJob}
+	 * @throws RejectedExecutionException if the queue is full
+	 */
+	public ExportJob submit(IDataExporter exporter, IDataProvider<?> provider, List<IExportableColumn> columns, String filename)
+	{
+		return this.submit(exporter, provider, columns, filename, -1);
+	}
+
+	/**
+	 * Submits the export of the data provided by the {@link IDataProvider}, which is known to have the supplied number of rows<br/>
+	 * The total is only used to report the progress (see {@link ExportJob#getProgress()}); the provider's size is not queried, as it may be as costly as the export.
+	 *
+	 * @param exporter the {@link IDataExporter}
+	 * @param provider the {@link IDataProvider}
+	 * @param columns the list of {@link IExportableColumn}
+	 * @param filename the file name of the output
+	 * @param total the total number of rows (ie: a count already displayed), or {@code -1} if not known
+	 * @return the submitted {@link ExportJob}
+	 * @throws RejectedExecutionException if the queue is full
+	 * @see #submit(IDataExporter, IDataProvider, List, String)
+	 */
+	public ExportJob submit(IDataExporter exporter, IDataProvider<?> provider, List<IExportableColumn> columns, String filename, long total)
+	{
+		Session session = Session.get();
+		session.bind(); // ensures the session has an id
+
+		IDataProvider<?> clone = WicketObjects.cloneObject(provider);
+		List<IExportableColumn> list = WicketObjects.cloneObject(new ArrayList<IExportableColumn>(columns));
+
+		ExportJob job = new ExportJob(session, exporter, clone, list, filename, total);
+		this.jobs.put(job.getId(), job);
+
+		try
+		{
+			job.setFuture(this.executor.submit(job));
+		}
+		catch (RejectedExecutionException e)
+		{
+			this.jobs.remove(job.getId());
+
+			throw e;
+		}
+
+		return job;
+	}
+
+	/**
+	 * Gets a job of the current session
+	 *
+	 * @param id the job identifier
+	 * @return the {@link ExportJob}, or {@code null} if not found or not owned by the current session
+	 */
+	public ExportJob getJob(String id)
+	{
+		ExportJob job = id != null ? this.jobs.get(id) : null;
+
+		if (job != null && job.getSessionId().equals(Session.get().getId()))
+		{
+			return job;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the jobs of the current session
+	 *
+	 * @return the list of {@link ExportJob}
+	 */
+	public List<ExportJob> getJobs()
+	{
+		List<ExportJob> list = new ArrayList<ExportJob>();
+		String sessionId = Session.get().getId();
+
+		if (sessionId != null)
+		{
+			for (ExportJob job : this.jobs.values())
+			{
+				if (sessionId.equals(job.getSessionId()))
+				{
+					list.add(job);
+				}
+			}
+		}
+
+		return list;
+	}
+
+	/**
+	 * Cancels and removes a job of the current session, deleting its output
+	 *
+	 * @param id the job identifier
+	 * @return the removed {@link ExportJob}, or {@code null} if not found
+	 */
+	public ExportJob remove(String id)
+	{
+		ExportJob job = this.getJob(id);
+
+		if (job != null)
+		{
+			this.jobs.remove(id);
+			job.cancel();
+		}
+
+		return job;
+	}
+
+	/**
+	 * Cancels and removes all jobs of a session
+	 *
+	 * @param sessionId the session id
+	 */
+	private void release(String sessionId)
+	{
+		for (ExportJob job : this.jobs.values())
+		{
+			if (job.getSessionId().equals(sessionId))
+			{
+				this.jobs.remove(job.getId());
+				job.cancel();
+			}
+		}
+	}
+
+	/**
+	 * Shuts down the executor, cancelling all jobs and deleting their output
+	 */
+	private void shutdown()
+	{
+		this.executor.shutdownNow();
+
+		for (ExportJob job : this.jobs.values())
+		{
+			job.cancel();
+		}
+
+		this.jobs.clear();
+	}
+
+	// Classes //
+
+	/**
+	 * Provides the {@link ThreadFactory} of export threads, which are daemon threads
+	 */
+	private static class ExportThreadFactory implements ThreadFactory
+	{
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable)
+		{
+			Thread thread = new Thread(runnable, "wicket-export-" + this.count.incrementAndGet());
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+}
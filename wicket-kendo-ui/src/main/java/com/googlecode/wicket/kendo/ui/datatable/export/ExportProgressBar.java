@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.export;
+
+import org.apache.wicket.ajax.AbstractAjaxTimerBehavior;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.behavior.AbstractAjaxBehavior;
+import org.apache.wicket.core.request.handler.IPartialPageRequestHandler;
+import org.apache.wicket.model.Model;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.handler.resource.ResourceRequestHandler;
+import org.apache.wicket.request.http.flow.AbortWithHttpErrorCodeException;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.kendo.ui.widget.progressbar.ProgressBar;
+
+/**
+ * Provides a {@link ProgressBar} that polls the progress of an {@link ExportJob} and starts the download once the job is completed<br/>
+ * The download is served from the spooled file, with range support, so the request thread is never held by the export itself.
+ */
+public class ExportProgressBar extends ProgressBar
+{
+	private static final long serialVersionUID = 1L;
+
+	/** Default polling interval */
+	public static final Duration INTERVAL = Duration.seconds(1);
+
+	private final String jobId;
+	private final Duration interval;
+
+	private AbstractAjaxTimerBehavior timerBehavior = null;
+	private AbstractAjaxBehavior downloadBehavior = null;
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param job the {@link ExportJob}
+	 */
+	public ExportProgressBar(String id, ExportJob job)
+	{
+		this(id, job.getId(), INTERVAL);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param jobId the {@link ExportJob} identifier
+	 * @param interval the polling interval
+	 */
+	public ExportProgressBar(String id, String jobId, Duration interval)
+	{
+		super(id, Model.of(0), new Options());
+
+		this.jobId = Args.notNull(jobId, "jobId");
+		this.interval = Args.notNull(interval, "interval");
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link ExportJob}
+	 *
+	 * @return the {@link ExportJob}, or {@code null} if it has been removed
+	 */
+	public ExportJob getJob()
+	{
+		return ExportJobManager.get().getJob(this.jobId);
+	}
+
+	// Events //
+
+	@Override
+	protected void onInitialize()
+	{
+		super.onInitialize();
+
+		this.timerBehavior = this.newTimerBehavior();
+		this.add(this.timerBehavior);
+
+		this.downloadBehavior = this.newDownloadBehavior();
+		this.add(this.downloadBehavior);
+	}
+
+	/**
+	 * Triggered at each polling interval
+	 *
+	 * @param target the {@link AjaxRequestTarget}
+	 */
+	protected void onTimer(AjaxRequestTarget target)
+	{
+		ExportJob job = this.getJob();
+
+		if (job == null)
+		{
+			this.timerBehavior.stop(target);
+			this.onError(target, null);
+
+			return;
+		}
+
+		this.setModelObject(job.getProgress());
+		this.refresh(target); // triggers #onComplete if needed
+
+		switch (job.getState())
+		{
+		case FAILED:
+		case CANCELLED:
+			this.timerBehavior.stop(target);
+			this.onError(target, job.getError());
+			break;
+
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Triggered when the job is completed<br/>
+	 * Stops the polling and starts the download
+	 *
+	 * @param handler the {@link IPartialPageRequestHandler}
+	 */
+	@Override
+	public void onComplete(IPartialPageRequestHandler handler)
+	{
+		ExportJob job = this.getJob();
+
+		if (job != null && job.getState() == ExportJob.State.COMPLETED)
+		{
+			this.timerBehavior.stop(handler);
+			handler.appendJavaScript(String.format("window.location.href='%s';", this.downloadBehavior.getCallbackUrl()));
+		}
+	}
+
+	/**
+	 * Triggered when the job has failed, has been cancelled or is not found
+	 *
+	 * @param handler the {@link IPartialPageRequestHandler}
+	 * @param error the {@link Throwable}, or {@code null} if the job was cancelled or is not found
+	 */
+	protected void onError(IPartialPageRequestHandler handler, Throwable error)
+	{
+		// noop
+	}
+
+	// Factories //
+
+	/**
+	 * Gets a new {@link AbstractAjaxTimerBehavior} that polls the job progress
+	 *
+	 * @return a new {@link AbstractAjaxTimerBehavior}
+	 */
+	protected AbstractAjaxTimerBehavior newTimerBehavior()
+	{
+		return new AbstractAjaxTimerBehavior(this.interval) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void onTimer(AjaxRequestTarget target)
+			{
+				ExportProgressBar.this.onTimer(target);
+			}
+		};
+	}
+
+	/**
+	 * Gets a new {@link AbstractAjaxBehavior} that serves the output of the completed job
+	 *
+	 * @return a new {@link AbstractAjaxBehavior}
+	 */
+	protected AbstractAjaxBehavior newDownloadBehavior()
+	{
+		return new AbstractAjaxBehavior() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void onRequest()
+			{
+				ExportJob job = ExportProgressBar.this.getJob();
+
+				if (job == null || job.getState() != ExportJob.State.COMPLETED)
+				{
+					throw new AbortWithHttpErrorCodeException(404);
+				}
+
+				RequestCycle.get().scheduleRequestHandlerAfterCurrent(new ResourceRequestHandler(job.newResource(), null));
+			}
+		};
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+import com.googlecode.wicket.kendo.ui.datatable.column.IExportableColumn;
+import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
+
+/**
+ * Provides JSON Lines export capability for the {@link DataTable}: one JSON object per row, keyed by the (unescaped) column fields<br/>
+ * Numbers and booleans are written as is; other values are converted to strings. Headers are never written.
+ */
+public class JsonLinesDataExporter extends AbstractDataExporter
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final String MIME = "application/x-ndjson";
+	private static final String CHARSET = "utf-8";
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Constructor
+	 */
+	public JsonLinesDataExporter()
+	{
+		super(MIME);
+	}
+
+	@Override
+	public String getContentType()
+	{
+		return super.getContentType() + "; charset=" + CHARSET;
+	}
+
+	// Factories //
+
+	@Override
+	protected IExportWriter newExportWriter(List<IExportableColumn> columns, OutputStream output)
+	{
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(output, Charset.forName(CHARSET)), BUFFER_SIZE);
+		final JsonWriter json = new JsonWriter(writer); // top-level values are not separated, so the writer can be reused for each row
+		final String[] fields = new String[columns.size()];
+
+		for (int i = 0; i < fields.length; i++)
+		{
+			fields[i] = PropertyUtils.unescape(columns.get(i).getField());
+		}
+
+		return new IExportWriter() {
+
+			@Override
+			public void writeHeaders() throws IOException
+			{
+				// noop
+			}
+
+			@Override
+			public void writeRow(Object[] values) throws IOException
+			{
+				json.beginObject();
+
+				for (int i = 0; i < values.length; i++)
+				{
+					json.name(fields[i]);
+
+					if (values[i] == null)
+					{
+						json.nullValue();
+					}
+					else if (values[i] instanceof Number || values[i] instanceof Boolean)
+					{
+						json.value(values[i]);
+					}
+					else
+					{
+						json.value(JsonLinesDataExporter.this.toString(values[i]));
+					}
+				}
+
+				json.endObject();
+				writer.write('\n');
+			}
+
+			@Override
+			public void finish() throws IOException
+			{
+				writer.flush();
+			}
+		};
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.export;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+
+/**
+ * Provides TSV (tab-separated values) export capability for the {@link DataTable}<br/>
+ * Values are not quoted; backslashes, tabs and line breaks are escaped ({@code \\}, {@code \t}, {@code \n}, {@code \r})
+ */
+public class TSVDataExporter extends CSVDataExporter
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final String MIME = "text/tab-separated-values";
+
+	/**
+	 * Constructor
+	 */
+	public TSVDataExporter()
+	{
+		super(MIME, '\t');
+	}
+
+	@Override
+	protected String quoteValue(String value)
+	{
+		StringBuilder builder = null;
+
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			String escaped = null;
+
+			switch (c)
+			{
+			case '\\':
+				escaped = "\\\\";
+				break;
+			case '\t':
+				escaped = "\\t";
+				break;
+			case '\n':
+				escaped = "\\n";
+				break;
+			case '\r':
+				escaped = "\\r";
+				break;
+			default:
+				break;
+			}
+
+			if (escaped != null)
+			{
+				if (builder == null)
+				{
+					builder = new StringBuilder(value.length() + 16).append(value, 0, i);
+				}
+
+				builder.append(escaped);
+			}
+			else if (builder != null)
+			{
+				builder.append(c);
+			}
+		}
+
+		return builder != null ? builder.toString() : value;
+	}
+}
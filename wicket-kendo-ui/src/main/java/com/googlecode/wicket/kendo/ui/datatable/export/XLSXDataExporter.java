@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataTable;
+import com.googlecode.wicket.kendo.ui.datatable.column.IExportableColumn;
+
+/**
+ * Provides XLSX (Office Open XML spreadsheet) export capability for the {@link DataTable}<br/>
+ * The worksheet is streamed through a StAX {@link XMLStreamWriter} into the zip entry, so rows are never held in memory. Numbers and booleans are written as such; other values are written as
+ * inline strings.<br/>
+ * <b>Note: </b> a worksheet is limited to 1,048,576 rows.
+ */
+public class XLSXDataExporter extends AbstractDataExporter
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final String MIME = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+	private static final String ENCODING = "UTF-8";
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+	private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+	private static final String NS_RELS = "http://schemas.openxmlformats.org/package/2006/relationships";
+	private static final String NS_DOC_RELS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	private static final String CONTENT_TYPES = XML // lf
+			+ "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">" // lf
+			+ "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>" // lf
+			+ "<Default Extension=\"xml\" ContentType=\"application/xml\"/>" // lf
+			+ "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>" // lf
+			+ "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>" // lf
+			+ "</Types>";
+
+	private static final String RELS = XML // lf
+			+ "<Relationships xmlns=\"" + NS_RELS + "\">" // lf
+			+ "<Relationship Id=\"rId1\" Type=\"" + NS_DOC_RELS + "/officeDocument\" Target=\"xl/workbook.xml\"/>" // lf
+			+ "</Relationships>";
+
+	private static final String WORKBOOK_RELS = XML // lf
+			+ "<Relationships xmlns=\"" + NS_RELS + "\">" // lf
+			+ "<Relationship Id=\"rId1\" Type=\"" + NS_DOC_RELS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>" // lf
+			+ "</Relationships>";
+
+	private static final String WORKBOOK = XML // lf
+			+ "<workbook xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_DOC_RELS + "\">" // lf
+			+ "<sheets><sheet name=\"%s\" sheetId=\"1\" r:id=\"rId1\"/></sheets>" // lf
+			+ "</workbook>";
+
+	private final String sheetName;
+
+	/**
+	 * Constructor
+	 */
+	public XLSXDataExporter()
+	{
+		this("Sheet1");
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param sheetName the name of the worksheet
+	 */
+	public XLSXDataExporter(String sheetName)
+	{
+		super(MIME);
+
+		this.sheetName = sheetName;
+	}
+
+	// Methods //
+
+	/**
+	 * Removes the characters that are not allowed in XML 1.0 documents (control characters other than tab and line breaks)
+	 *
+	 * @param value the value, {@code null} is treated as an empty string
+	 * @return the sanitized value
+	 */
+	private static String sanitize(String value)
+	{
+		if (value == null)
+		{
+			return "";
+		}
+
+		StringBuilder builder = null;
+
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			boolean valid = c >= 0x20 || c == '\t' || c == '\n' || c == '\r';
+
+			if (!valid && builder == null)
+			{
+				builder = new StringBuilder(value.length()).append(value, 0, i);
+			}
+			else if (valid && builder != null)
+			{
+				builder.append(c);
+			}
+		}
+
+		return builder != null ? builder.toString() : value;
+	}
+
+	/**
+	 * Writes a static zip entry
+	 *
+	 * @param zip the {@link ZipOutputStream}
+	 * @param name the entry name
+	 * @param content the entry content
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeEntry(ZipOutputStream zip, String name, String content) throws IOException
+	{
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content.getBytes(Charset.forName(ENCODING)));
+		zip.closeEntry();
+	}
+
+	// Factories //
+
+	@Override
+	protected IExportWriter newExportWriter(final List<IExportableColumn> columns, OutputStream output) throws IOException
+	{
+		final OutputStream buffer = new BufferedOutputStream(output, BUFFER_SIZE);
+		final ZipOutputStream zip = new ZipOutputStream(buffer);
+
+		XLSXDataExporter.writeEntry(zip, "[Content_Types].xml", CONTENT_TYPES);
+		XLSXDataExporter.writeEntry(zip, "_rels/.rels", RELS);
+		XLSXDataExporter.writeEntry(zip, "xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+		XLSXDataExporter.writeEntry(zip, "xl/workbook.xml", String.format(WORKBOOK, sanitize(this.sheetName).replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;")));
+
+		zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+
+		try
+		{
+			final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(zip, ENCODING);
+
+			writer.writeStartDocument(ENCODING, "1.0");
+			writer.writeStartElement("worksheet");
+			writer.writeDefaultNamespace(NS_MAIN);
+			writer.writeStartElement("sheetData");
+
+			return new IExportWriter() {
+
+				@Override
+				public void writeHeaders() throws IOException
+				{
+					try
+					{
+						writer.writeStartElement("row");
+
+						for (IExportableColumn column : columns)
+						{
+							this.writeString(column.getTitle());
+						}
+
+						writer.writeEndElement();
+					}
+					catch (XMLStreamException e)
+					{
+						throw new IOException(e);
+					}
+				}
+
+				@Override
+				public void writeRow(Object[] values) throws IOException
+				{
+					try
+					{
+						writer.writeStartElement("row");
+
+						for (Object value : values)
+						{
+							if (value == null)
+							{
+								writer.writeEmptyElement("c");
+							}
+							else if (value instanceof Boolean)
+							{
+								this.writeValue("b", (Boolean) value ? "1" : "0");
+							}
+							else if (value instanceof Number && this.isFinite((Number) value))
+							{
+								this.writeValue("n", value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+							}
+							else
+							{
+								this.writeString(XLSXDataExporter.this.toString(value));
+							}
+						}
+
+						writer.writeEndElement();
+					}
+					catch (XMLStreamException e)
+					{
+						throw new IOException(e);
+					}
+				}
+
+				@Override
+				public void finish() throws IOException
+				{
+					try
+					{
+						writer.writeEndElement(); // sheetData
+						writer.writeEndElement(); // worksheet
+						writer.writeEndDocument();
+						writer.close(); // does not close the underlying stream
+					}
+					catch (XMLStreamException e)
+					{
+						throw new IOException(e);
+					}
+
+					zip.closeEntry();
+					zip.finish();
+					buffer.flush();
+				}
+
+				private boolean isFinite(Number number)
+				{
+					if (number instanceof Double || number instanceof Float)
+					{
+						double d = number.doubleValue();
+
+						return !Double.isNaN(d) && !Double.isInfinite(d);
+					}
+
+					return true;
+				}
+
+				private void writeValue(String type, String value) throws XMLStreamException
+				{
+					writer.writeStartElement("c");
+					writer.writeAttribute("t", type);
+					writer.writeStartElement("v");
+					writer.writeCharacters(value);
+					writer.writeEndElement();
+					writer.writeEndElement();
+				}
+
+				private void writeString(String value) throws XMLStreamException
+				{
+					writer.writeStartElement("c");
+					writer.writeAttribute("t", "inlineStr");
+					writer.writeStartElement("is");
+					writer.writeStartElement("t");
+					writer.writeAttribute("xml:space", "preserve");
+					writer.writeCharacters(sanitize(value));
+					writer.writeEndElement();
+					writer.writeEndElement();
+					writer.writeEndElement();
+				}
+			};
+		}
+		catch (XMLStreamException e)
+		{
+			throw new IOException(e);
+		}
+	}
+}
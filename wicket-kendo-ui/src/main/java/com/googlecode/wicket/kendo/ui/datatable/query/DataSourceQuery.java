@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.wicket.extensions.markup.html.repeater.data.sort.SortOrder;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.util.io.IClusterable;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataSourceBehavior;
+import com.googlecode.wicket.kendo.ui.utils.PropertyUtils;
+
+/**
+ * Provides the typed query sent by the Kendo UI data source: the page range (skip &amp; take), the sort criteria and the filter tree<br/>
+ * Field names are unescaped (see {@link PropertyUtils#unescape(String)}), so they correspond to the column's property expressions.
+ *
+ * @see IQueryDataProvider
+ * @see DataSourceBehavior
+ */
+public class DataSourceQuery implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+	private static final String ASC = "asc";
+
+	/**
+	 * Parses the {@link DataSourceQuery} from the request parameters sent by the Kendo UI data source<br/>
+	 * The sort criteria are read from {@code sort[i][field|dir]}, the filter tree from {@code filter[logic]} and {@code filter[filters][i][field|operator|value|ignoreCase]}, recursively.
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @return a new {@link DataSourceQuery}
+	 */
+	public static DataSourceQuery of(IRequestParameters parameters)
+	{
+		final long skip = parameters.getParameterValue("skip").toLong(0);
+		final long take = parameters.getParameterValue("take").toLong(0);
+
+		// sorts //
+		List<SortDescriptor> sorts = new ArrayList<SortDescriptor>();
+
+		for (int i = 0;; i++)
+		{
+			String field = parameters.getParameterValue(String.format("sort[%d][field]", i)).toOptionalString();
+
+			if (field == null)
+			{
+				break;
+			}
+
+			String direction = parameters.getParameterValue(String.format("sort[%d][dir]", i)).toOptionalString();
+
+			if (direction != null)
+			{
+				sorts.add(new SortDescriptor(PropertyUtils.unescape(field), ASC.equals(direction) ? SortOrder.ASCENDING : SortOrder.DESCENDING));
+			}
+		}
+
+		return new DataSourceQuery(skip, take, sorts, DataSourceQuery.parseFilter(parameters, "filter"));
+	}
+
+	/**
+	 * Parses a filter node
+	 *
+	 * @param parameters the {@link IRequestParameters}
+	 * @param prefix the node prefix (ie: "filter[filters][0]")
+	 * @return the {@link FilterDescriptor}, or {@code null} if the node does not exist or is empty
+	 */
+	private static FilterDescriptor parseFilter(IRequestParameters parameters, String prefix)
+	{
+		String logic = parameters.getParameterValue(prefix + "[logic]").toOptionalString();
+
+		// group //
+		if (logic != null)
+		{
+			List<FilterDescriptor> filters = new ArrayList<FilterDescriptor>();
+
+			for (int i = 0;; i++)
+			{
+				String node = prefix + "[filters][" + i + "]";
+
+				if (parameters.getParameterValue(node + "[logic]").isNull() && parameters.getParameterValue(node + "[field]").isNull())
+				{
+					break;
+				}
+
+				FilterDescriptor filter = DataSourceQuery.parseFilter(parameters, node);
+
+				if (filter != null)
+				{
+					filters.add(filter);
+				}
+			}
+
+			if (filters.isEmpty())
+			{
+				return null;
+			}
+
+			return new FilterDescriptor("or".equals(logic) ? FilterDescriptor.Logic.or : FilterDescriptor.Logic.and, filters);
+		}
+
+		// criterion //
+		String field = parameters.getParameterValue(prefix + "[field]").toOptionalString();
+		FilterOperator operator = FilterOperator.get(parameters.getParameterValue(prefix + "[operator]").toString("eq"));
+
+		if (field == null || operator == null)
+		{
+			return null;
+		}
+
+		String value = parameters.getParameterValue(prefix + "[value]").toOptionalString();
+		boolean ignoreCase = parameters.getParameterValue(prefix + "[ignoreCase]").toBoolean(true);
+
+		return new FilterDescriptor(PropertyUtils.unescape(field), operator, value, ignoreCase);
+	}
+
+	private final long skip;
+	private final long take;
+	private final List<SortDescriptor> sorts;
+	private final FilterDescriptor filter;
+
+	/**
+	 * Constructor
+	 *
+	 * @param skip the index of the first row
+	 * @param take the number of rows
+	 */
+	public DataSourceQuery(long skip, long take)
+	{
+		this(skip, take, Collections.<SortDescriptor> emptyList(), null);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param skip the index of the first row
+	 * @param take the number of rows
+	 * @param sorts the {@link List} of {@link SortDescriptor}, by priority
+	 * @param filter the root {@link FilterDescriptor}, or {@code null}
+	 */
+	public DataSourceQuery(long skip, long take, List<SortDescriptor> sorts, FilterDescriptor filter)
+	{
+		this.skip = skip;
+		this.take = take;
+		this.sorts = Collections.unmodifiableList(sorts);
+		this.filter = filter;
+	}
+
+	// Methods //
+
+	/**
+	 * Gets a copy of this query, with another page range
+	 *
+	 * @param skip the index of the first row
+	 * @param take the number of rows
+	 * @return a new {@link DataSourceQuery}
+	 */
+	public DataSourceQuery range(long skip, long take)
+	{
+		return new DataSourceQuery(skip, take, this.sorts, this.filter);
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the index of the first row
+	 *
+	 * @return the index of the first row
+	 */
+	public long getSkip()
+	{
+		return this.skip;
+	}
+
+	/**
+	 * Gets the number of rows
+	 *
+	 * @return the number of rows
+	 */
+	public long getTake()
+	{
+		return this.take;
+	}
+
+	/**
+	 * Gets the read-only list of sort criteria, by priority
+	 *
+	 * @return the {@link List} of {@link SortDescriptor}
+	 */
+	public List<SortDescriptor> getSorts()
+	{
+		return this.sorts;
+	}
+
+	/**
+	 * Gets the root of the filter tree
+	 *
+	 * @return the root {@link FilterDescriptor}, or {@code null} if there is no filter
+	 */
+	public FilterDescriptor getFilter()
+	{
+		return this.filter;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "DataSourceQuery [skip=" + this.skip + ", take=" + this.take + ", sorts=" + this.sorts + ", filter=" + this.filter + "]";
+	}
+}
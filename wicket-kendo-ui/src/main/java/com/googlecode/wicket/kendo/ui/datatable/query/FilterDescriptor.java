@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.Session;
+import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides a node of the filter tree of a {@link DataSourceQuery}, which is either:
+ * <ul>
+ * <li>a group of filters, combined with a {@link Logic} (ie: {@code name startswith 'a' or price lt 10})</li>
+ * <li>a filter criterion (a field, an {@link FilterOperator} and a value)</li>
+ * </ul>
+ */
+public class FilterDescriptor implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** Provides an enum of the logical operators of a filter group */
+	public enum Logic
+	{
+		and, or
+	}
+
+	private final Logic logic;
+	private final List<FilterDescriptor> filters;
+
+	private final String field;
+	private final FilterOperator operator;
+	private final String value;
+	private final boolean ignoreCase;
+
+	/**
+	 * Constructor for a group of filters
+	 *
+	 * @param logic the {@link Logic}
+	 * @param filters the child {@link FilterDescriptor}{@code s}
+	 */
+	public FilterDescriptor(Logic logic, List<FilterDescriptor> filters)
+	{
+		this.logic = Args.notNull(logic, "logic");
+		this.filters = Collections.unmodifiableList(Args.notNull(filters, "filters"));
+
+		this.field = null;
+		this.operator = null;
+		this.value = null;
+		this.ignoreCase = false;
+	}
+
+	/**
+	 * Constructor for a filter criterion
+	 *
+	 * @param field the property (unescaped) to be filtered (ie: "vendor.name")
+	 * @param operator the {@link FilterOperator}
+	 * @param value the value, as sent by the client (may be {@code null} for unary operators)
+	 * @param ignoreCase whether the comparison of strings should be case-insensitive
+	 */
+	public FilterDescriptor(String field, FilterOperator operator, String value, boolean ignoreCase)
+	{
+		this.logic = null;
+		this.filters = Collections.emptyList();
+
+		this.field = Args.notNull(field, "field");
+		this.operator = Args.notNull(operator, "operator");
+		this.value = value;
+		this.ignoreCase = ignoreCase;
+	}
+
+	// Properties //
+
+	/**
+	 * Indicates whether this descriptor is a group of filters
+	 *
+	 * @return {@code true} if this descriptor is a group, {@code false} if it is a criterion
+	 */
+	public boolean isGroup()
+	{
+		return this.logic != null;
+	}
+
+	/**
+	 * Gets the {@link Logic} of the group
+	 *
+	 * @return the {@link Logic}, or {@code null} if this descriptor is a criterion
+	 */
+	public Logic getLogic()
+	{
+		return this.logic;
+	}
+
+	/**
+	 * Gets the read-only list of child filters of the group
+	 *
+	 * @return the {@link List} of {@link FilterDescriptor}, empty if this descriptor is a criterion
+	 */
+	public List<FilterDescriptor> getFilters()
+	{
+		return this.filters;
+	}
+
+	/**
+	 * Gets the property (unescaped) to be filtered
+	 *
+	 * @return the field (ie: "vendor.name"), or {@code null} if this descriptor is a group
+	 */
+	public String getField()
+	{
+		return this.field;
+	}
+
+	/**
+	 * Gets the {@link FilterOperator}
+	 *
+	 * @return the {@link FilterOperator}, or {@code null} if this descriptor is a group
+	 */
+	public FilterOperator getOperator()
+	{
+		return this.operator;
+	}
+
+	/**
+	 * Gets the value, as sent by the client
+	 *
+	 * @return the value
+	 */
+	public String getValue()
+	{
+		return this.value;
+	}
+
+	/**
+	 * Gets the value, converted to the supplied type using the application's converter and the session's locale
+	 *
+	 * @param <C> the type
+	 * @param type the type class
+	 * @return the converted value, or {@code null} if the value is {@code null}
+	 */
+	public <C> C getValue(Class<C> type)
+	{
+		if (this.value == null)
+		{
+			return null;
+		}
+
+		return Application.get().getConverterLocator().getConverter(type).convertToObject(this.value, Session.get().getLocale());
+	}
+
+	/**
+	 * Indicates whether the comparison of strings should be case-insensitive
+	 *
+	 * @return {@code true} by default with Kendo UI
+	 */
+	public boolean isIgnoreCase()
+	{
+		return this.ignoreCase;
+	}
+
+	@Override
+	public String toString()
+	{
+		if (this.isGroup())
+		{
+			StringBuilder builder = new StringBuilder("(");
+
+			for (int i = 0; i < this.filters.size(); i++)
+			{
+				if (i > 0)
+				{
+					builder.append(' ').append(this.logic).append(' ');
+				}
+
+				builder.append(this.filters.get(i));
+			}
+
+			return builder.append(')').toString();
+		}
+
+		return this.field + " " + this.operator + (this.operator.isUnary() ? "" : " '" + this.value + "'");
+	}
+}
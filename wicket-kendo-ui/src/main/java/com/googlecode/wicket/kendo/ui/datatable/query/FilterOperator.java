@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides an enum of the filter operators sent by the Kendo UI data source
+ */
+public enum FilterOperator
+{
+	eq, neq, lt, lte, gt, gte, startswith, endswith, contains, doesnotcontain, isnull, isnotnull, isempty, isnotempty;
+
+	private static final Logger LOG = LoggerFactory.getLogger(FilterOperator.class);
+
+	/**
+	 * Indicates whether the operator applies without any value (ie: {@link #isnull})
+	 *
+	 * @return {@code true} if the operator is unary
+	 */
+	public boolean isUnary()
+	{
+		return this == isnull || this == isnotnull || this == isempty || this == isnotempty;
+	}
+
+	/**
+	 * Safely get the {@link FilterOperator} corresponding to the supplied operator name
+	 *
+	 * @param operator the operator name
+	 * @return null if the operator name does not correspond to an operator of the enum
+	 */
+	public static FilterOperator get(String operator)
+	{
+		try
+		{
+			return FilterOperator.valueOf(operator);
+		}
+		catch (IllegalArgumentException e)
+		{
+			if (LOG.isDebugEnabled())
+			{
+				LOG.debug(e.getMessage(), e);
+			}
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import java.util.Iterator;
+
+import org.apache.wicket.markup.repeater.data.IDataProvider;
+
+import com.googlecode.wicket.kendo.ui.datatable.DataSourceBehavior;
+
+/**
+ * Specialization of {@link IDataProvider} that receives the whole {@link DataSourceQuery} (sort criteria, filter tree and page range), so it can be translated into a single back-end query.<br/>
+ * When the provider implements this interface, the {@link DataSourceBehavior} calls {@link #size(DataSourceQuery)} and {@link #iterator(DataSourceQuery)} instead of {@link #size()} and
+ * {@link #iterator(long, long)}, which are still used by other consumers (ie: data exporters)<br/>
+ * <br/>
+ * <b>Warning: </b> field names and values are sent by the client; they should be validated (ie: against the columns) or bound as parameters, never concatenated into a query.
+ *
+ * @param <T> the type of the model object
+ */
+public interface IQueryDataProvider<T> extends IDataProvider<T>
+{
+	/**
+	 * Gets the number of rows matching the query's filter
+	 *
+	 * @param query the {@link DataSourceQuery}
+	 * @return the number of rows
+	 */
+	long size(DataSourceQuery query);
+
+	/**
+	 * Gets an iterator over the rows matching the query's filter, sorted and ranged according to the query
+	 *
+	 * @param query the {@link DataSourceQuery}
+	 * @return the {@link Iterator}
+	 */
+	Iterator<? extends T> iterator(DataSourceQuery query);
+}
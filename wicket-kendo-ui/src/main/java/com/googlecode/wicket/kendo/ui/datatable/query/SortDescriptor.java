@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.datatable.query;
+
+import org.apache.wicket.extensions.markup.html.repeater.data.sort.SortOrder;
+import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * Provides a sort criterion of a {@link DataSourceQuery}
+ */
+public class SortDescriptor implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final String field;
+	private final SortOrder order;
+
+	/**
+	 * Constructor
+	 *
+	 * @param field the property (unescaped) the rows should be sorted by (ie: "vendor.name")
+	 * @param order the {@link SortOrder}
+	 */
+	public SortDescriptor(String field, SortOrder order)
+	{
+		this.field = Args.notNull(field, "field");
+		this.order = Args.notNull(order, "order");
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the property (unescaped) the rows should be sorted by
+	 *
+	 * @return the field (ie: "vendor.name")
+	 */
+	public String getField()
+	{
+		return this.field;
+	}
+
+	/**
+	 * Gets the {@link SortOrder}
+	 *
+	 * @return the {@link SortOrder}
+	 */
+	public SortOrder getOrder()
+	{
+		return this.order;
+	}
+
+	/**
+	 * Indicates whether the sort order is ascending
+	 *
+	 * @return {@code true} if the sort order is {@link SortOrder#ASCENDING}
+	 */
+	public boolean isAscending()
+	{
+		return this.order == SortOrder.ASCENDING;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.field + (this.isAscending() ? " asc" : " desc");
+	}
+}
@@ -22,6 +22,7 @@ import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.markup.ComponentTag;
 import org.apache.wicket.markup.html.form.TextField;
 import org.apache.wicket.model.IModel;
+import org.apache.wicket.util.string.Strings;
 
 import com.googlecode.wicket.jquery.core.IJQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
@@ -43,7 +44,7 @@ import com.googlecode.wicket.kendo.ui.renderer.ChoiceRenderer;
  * @param <T> the model object type
  * @param <C> the model of choices
  */
-public abstract class AbstractAutoCompleteTextField<T, C> extends TextField<T> implements IJQueryWidget, IAutoCompleteListener
+public abstract class AbstractAutoCompleteTextField<T, C> extends TextField<T> implements IJQueryWidget, IAutoCompleteTermListener
 {
 	private static final long serialVersionUID = 1L;
 
@@ -55,6 +56,9 @@ public abstract class AbstractAutoCompleteTextField<T, C> extends TextField<T> i
 	/** cache of current choices, needed to retrieve the user selected object */
 	private List<C> choices;
 
+	/** the term of the current choices */
+	private String term;
+
 	/** inner list width. 0 means that it will not be handled */
 	private int width = 0;
 
@@ -153,6 +157,7 @@ public abstract class AbstractAutoCompleteTextField<T, C> extends TextField<T> i
 	 */
 	private List<C> internalGetChoices(String input)
 	{
+		this.term = input;
 		this.choices = this.getChoices(input);
 
 		return this.choices;
@@ -216,7 +221,18 @@ public abstract class AbstractAutoCompleteTextField<T, C> extends TextField<T> i
 	@Override
 	public final void onSelect(AjaxRequestTarget target, int index)
 	{
-		if (-1 < index && index < this.choices.size())
+		this.onSelect(target, index, null);
+	}
+
+	@Override
+	public final void onSelect(AjaxRequestTarget target, int index, String term)
+	{
+		if (!Strings.isEmpty(term) && !term.equals(this.term))
+		{
+			this.internalGetChoices(term); // choices have been served from the client cache
+		}
+
+		if (this.choices != null && -1 < index && index < this.choices.size())
 		{
 			this.onSelected(target, this.choices.get(index));
 		}
@@ -272,12 +288,11 @@ public abstract class AbstractAutoCompleteTextField<T, C> extends TextField<T> i
 		return new ChoiceModelBehavior<C>(this.renderer) {
 
 			private static final long serialVersionUID = 1L;
-			private static final String TERM = "filter[filters][0][value]";
 
 			@Override
 			public List<C> getChoices()
 			{
-				final String input = RequestCycleUtils.getQueryParameterValue(TERM).toString();
+				final String input = RequestCycleUtils.getQueryParameterValue(AutoCompleteBehavior.FILTER_VALUE).toString();
 
 				return AbstractAutoCompleteTextField.this.internalGetChoices(input);
 			}
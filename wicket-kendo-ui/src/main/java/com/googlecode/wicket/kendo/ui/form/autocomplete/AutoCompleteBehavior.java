@@ -19,18 +19,26 @@ package com.googlecode.wicket.kendo.ui.form.autocomplete;
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
 import org.apache.wicket.util.lang.Args;
 
 import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+import com.googlecode.wicket.jquery.core.ajax.RequestSequencer;
+import com.googlecode.wicket.jquery.core.behavior.ChoiceModelBehavior;
+import com.googlecode.wicket.jquery.core.data.ChoiceIndex;
+import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
 import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 import com.googlecode.wicket.kendo.ui.utils.DebugUtils;
 
 /**
- * Provides a Kendo UI auto-complete behavior
+ * Provides a Kendo UI auto-complete behavior<br/>
+ * Choices are fetched through {@code jQuery.choiceCache} (see {@link ChoiceModelBehavior#CHOICE_CACHE}): responses are cached by term and narrowed on the client for
+ * longer terms, superseded requests are aborted and skipped by the server. Requests are debounced by the 'delay' option.
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -40,9 +48,23 @@ public abstract class AutoCompleteBehavior extends KendoUIBehavior implements IJ
 	private static final long serialVersionUID = 1L;
 	public static final String METHOD = "kendoAutoComplete";
 
+	/** The query parameter holding the term of the choice requests */
+	public static final String FILTER_VALUE = "filter[filters][0][value]";
+
+	/** The query parameter holding the term of the select event */
+	public static final String TERM = "term";
+
+	/** Default number of terms cached on the client */
+	public static final int CACHE_SIZE = 50;
+
 	private final IAutoCompleteListener listener;
 	private JQueryAjaxBehavior onSelectAjaxBehavior = null;
 
+	private int cacheSize = CACHE_SIZE;
+	private int maxChoices = 0;
+	private String filter = "contains";
+	private boolean accentInsensitive = false;
+
 	/**
 	 * Constructor
 	 *
@@ -77,10 +99,116 @@ public abstract class AutoCompleteBehavior extends KendoUIBehavior implements IJ
 
 		this.onSelectAjaxBehavior = this.newOnSelectAjaxBehavior(this);
 		component.add(this.onSelectAjaxBehavior);
+
+		RequestSequencer.get(component.getApplication()); // records the sequence numbers of choice requests
 	}
 
 	protected abstract CharSequence getChoiceCallbackUrl();
 
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		super.renderHead(component, response);
+
+		response.render(JavaScriptHeaderItem.forReference(ChoiceModelBehavior.CHOICE_CACHE));
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the number of terms cached on the client
+	 *
+	 * @return the cache size
+	 */
+	public int getCacheSize()
+	{
+		return this.cacheSize;
+	}
+
+	/**
+	 * Sets the number of terms cached on the client
+	 *
+	 * @param size the cache size, {@code 0} disables the cache
+	 * @return this, for chaining
+	 */
+	public AutoCompleteBehavior setCacheSize(int size)
+	{
+		this.cacheSize = size;
+
+		return this;
+	}
+
+	/**
+	 * Gets the max number of choices returned for a term
+	 *
+	 * @return {@code 0} by default, the choices of longer terms are not narrowed on the client
+	 */
+	public int getMaxChoices()
+	{
+		return this.maxChoices;
+	}
+
+	/**
+	 * Sets the max number of choices returned for a term<br/>
+	 * A response having less choices is complete, so the choices of longer terms are narrowed from it on the client. The server should then return at most
+	 * {@code max} choices, as {@link ChoiceIndex} does with {@link ChoiceIndex#MAX}.
+	 *
+	 * @param max the max number of choices, {@code 0} disables the narrowing
+	 * @return this, for chaining
+	 */
+	public AutoCompleteBehavior setMaxChoices(int max)
+	{
+		this.maxChoices = max;
+
+		return this;
+	}
+
+	/**
+	 * Gets the filter used to narrow the cached choices, which should match the way choices are retrieved on the server
+	 *
+	 * @return 'contains' by default
+	 */
+	public String getFilter()
+	{
+		return this.filter;
+	}
+
+	/**
+	 * Sets the filter used to narrow the cached choices, which should match the way choices are retrieved on the server
+	 *
+	 * @param filter 'contains', 'startswith' or 'words' (each word of the term starts a word of the choice)
+	 * @return this, for chaining
+	 */
+	public AutoCompleteBehavior setFilter(String filter)
+	{
+		this.filter = Args.notNull(filter, "filter");
+
+		return this;
+	}
+
+	/**
+	 * Indicates whether accents are ignored when narrowing the cached choices
+	 *
+	 * @return {@code false} by default, like {@link com.googlecode.wicket.jquery.core.utils.ListUtils#contains(String, java.util.List)}
+	 */
+	public boolean isAccentInsensitive()
+	{
+		return this.accentInsensitive;
+	}
+
+	/**
+	 * Sets whether accents are ignored when narrowing the cached choices, which should match the way choices are retrieved on the server
+	 *
+	 * @param insensitive {@code true} if choices are retrieved from a {@link ChoiceIndex}
+	 * @return this, for chaining
+	 */
+	public AutoCompleteBehavior setAccentInsensitive(boolean insensitive)
+	{
+		this.accentInsensitive = insensitive;
+
+		return this;
+	}
+
 	// Events //
 
 	@Override
@@ -101,7 +229,16 @@ public abstract class AutoCompleteBehavior extends KendoUIBehavior implements IJ
 	{
 		if (event instanceof SelectEvent)
 		{
-			this.listener.onSelect(target, ((SelectEvent) event).getIndex());
+			SelectEvent e = (SelectEvent) event;
+
+			if (this.listener instanceof IAutoCompleteTermListener)
+			{
+				((IAutoCompleteTermListener) this.listener).onSelect(target, e.getIndex(), e.getTerm());
+			}
+			else
+			{
+				this.listener.onSelect(target, e.getIndex());
+			}
 		}
 	}
 
@@ -114,7 +251,39 @@ public abstract class AutoCompleteBehavior extends KendoUIBehavior implements IJ
 	 */
 	protected String newDataSource()
 	{
-		return String.format("{ serverFiltering: true, transport: { read: { url: '%s', dataType: 'json' } }, error: %s }", this.getChoiceCallbackUrl(), DebugUtils.errorCallback);
+		return String.format("(function(cache) { return { serverFiltering: true, transport: { read: %s }, error: %s }; })(jQuery.choiceCache(%s, %s))", // lf
+				this.newReadFunction(), DebugUtils.errorCallback, Options.asString(this.getChoiceCallbackUrl()), this.newCacheSettings());
+	}
+
+	/**
+	 * Gets a new 'read' transport function, fetching the choices through {@code jQuery.choiceCache}. Superseded requests are silently discarded.
+	 *
+	 * @return the 'read' function
+	 */
+	protected String newReadFunction()
+	{
+		return "function(options) { var f = options.data.filter, term = f && f.filters.length ? f.filters[0].value : ''; " // lf
+				+ "cache.fetch(term, options.success, function(status, xhr) { if (status !== 'abort' && status !== 'obsolete') { options.error(xhr); } }); }";
+	}
+
+	/**
+	 * Gets the settings of {@code jQuery.choiceCache}
+	 *
+	 * @return the {@link Options}
+	 */
+	protected Options newCacheSettings()
+	{
+		Object field = this.getOption("dataTextField"); // already quoted
+
+		Options settings = new Options();
+		settings.set("param", Options.asString(FILTER_VALUE));
+		settings.set("field", field != null ? field : Options.asString(TextRenderer.TEXT_FIELD));
+		settings.set("filter", Options.asString(this.getFilter()));
+		settings.set("max", this.getMaxChoices());
+		settings.set("accents", this.isAccentInsensitive());
+		settings.set("size", this.getCacheSize());
+
+		return settings;
 	}
 
 	/**
@@ -146,7 +315,8 @@ public abstract class AutoCompleteBehavior extends KendoUIBehavior implements IJ
 		protected CallbackParameter[] getCallbackParameters()
 		{
 			return new CallbackParameter[] { CallbackParameter.context("e"), // lf
-					CallbackParameter.resolved("index", "e.item.index()"), // lf
+					CallbackParameter.resolved("index", "e.sender.dataItem(e.item.index())._index"), // lf
+					CallbackParameter.resolved(TERM, "e.sender.dataItem(e.item.index())._term"), // lf
 					CallbackParameter.resolved("value", "e.item.text") };
 		}
 
@@ -165,11 +335,13 @@ public abstract class AutoCompleteBehavior extends KendoUIBehavior implements IJ
 	protected static class SelectEvent extends JQueryEvent
 	{
 		private final int index;
+		private final String term;
 		private final String value;
 
 		public SelectEvent()
 		{
 			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(-1);
+			this.term = RequestCycleUtils.getQueryParameterValue(TERM).toOptionalString();
 			this.value = RequestCycleUtils.getQueryParameterValue("value").toString();
 		}
 
@@ -178,6 +350,16 @@ public abstract class AutoCompleteBehavior extends KendoUIBehavior implements IJ
 			return this.index;
 		}
 
+		/**
+		 * Gets the term the selected choice has been returned for
+		 *
+		 * @return the term, or {@code null} if unknown
+		 */
+		public String getTerm()
+		{
+			return this.term;
+		}
+
 		public String getValue()
 		{
 			return this.value;
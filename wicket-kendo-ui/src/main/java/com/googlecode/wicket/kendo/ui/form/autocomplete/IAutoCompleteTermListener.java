@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.form.autocomplete;
+
+import org.apache.wicket.ajax.AjaxRequestTarget;
+
+/**
+ * Event listener of auto-complete widgets whose choices may be served from the client cache<br/>
+ * If the listener of the {@link AutoCompleteBehavior} implements this interface, the selection is notified along with the term it has been returned for.
+ *
+ *
+ */
+public interface IAutoCompleteTermListener extends IAutoCompleteListener
+{
+	/**
+	 * Triggered when a selection has been made
+	 *
+	 * @param target the {@link AjaxRequestTarget}
+	 * @param index the index of the selected item
+	 * @param term the term the selected item has been returned for, or {@code null} if unknown. It may differ from the last term sent to the server if the choices
+	 *            have been served from the client cache
+	 */
+	void onSelect(AjaxRequestTarget target, int index, String term);
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.form.autocomplete;
+
+import java.util.List;
+
+import org.apache.wicket.model.IModel;
+
+import com.googlecode.wicket.jquery.core.JQueryBehavior;
+import com.googlecode.wicket.jquery.core.data.ChoiceIndex;
+import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+import com.googlecode.wicket.kendo.ui.renderer.ChoiceRenderer;
+
+/**
+ * Provides a Kendo UI auto-complete widget whose choices are searched in a {@link ChoiceIndex}<br/>
+ * The choices have a word starting with each word of the input (see {@link ChoiceIndex#startsWith(String)}). As the index returns at most {@link ChoiceIndex#MAX}
+ * choices, complete responses are narrowed on the client for longer inputs.
+ *
+ * @param <T> the model object type
+ */
+public abstract class IndexedAutoCompleteTextField<T> extends AutoCompleteTextField<T>
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 */
+	public IndexedAutoCompleteTextField(String id)
+	{
+		super(id);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param renderer the {@link ChoiceRenderer}
+	 */
+	public IndexedAutoCompleteTextField(String id, ITextRenderer<? super T> renderer)
+	{
+		super(id, renderer);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param model the {@link IModel}
+	 */
+	public IndexedAutoCompleteTextField(String id, IModel<T> model)
+	{
+		super(id, model);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param id the markup id
+	 * @param model the {@link IModel}
+	 * @param renderer the {@link ChoiceRenderer}
+	 */
+	public IndexedAutoCompleteTextField(String id, IModel<T> model, ITextRenderer<? super T> renderer)
+	{
+		super(id, model, renderer);
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link ChoiceIndex} searched by {@link #getChoices(String)}<br/>
+	 * The index is meant to be shared across sessions, so it should not be held by the component (ie: it can be held by a static field or by the application)
+	 *
+	 * @return the {@link ChoiceIndex}
+	 */
+	protected abstract ChoiceIndex<T> getChoiceIndex();
+
+	// Methods //
+
+	@Override
+	protected List<T> getChoices(String input)
+	{
+		return this.getChoiceIndex().startsWith(input);
+	}
+
+	// IJQueryWidget //
+
+	@Override
+	public JQueryBehavior newWidgetBehavior(String selector)
+	{
+		AutoCompleteBehavior behavior = (AutoCompleteBehavior) super.newWidgetBehavior(selector);
+		behavior.setFilter("words");
+		behavior.setMaxChoices(ChoiceIndex.MAX);
+		behavior.setAccentInsensitive(true);
+
+		return behavior;
+	}
+}
@@ -17,8 +17,8 @@
 package com.googlecode.wicket.kendo.ui.renderer;
 
 import org.apache.wicket.ajax.json.JSONObject;
-import org.apache.wicket.core.util.lang.PropertyResolver;
 
+import com.googlecode.wicket.jquery.core.lang.PropertyAccessor;
 import com.googlecode.wicket.jquery.core.renderer.IChoiceRenderer;
 import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
 
@@ -87,7 +87,7 @@ public class ChoiceRenderer<T> extends TextRenderer<T> implements IChoiceRendere
 	{
 		if (this.valueExpression != null)
 		{
-			Object value = PropertyResolver.getValue(this.valueExpression, object); // if the object is null, null is returned
+			Object value = PropertyAccessor.getValue(this.valueExpression, object); // if the object is null, null is returned
 
 			if (value != null)
 			{
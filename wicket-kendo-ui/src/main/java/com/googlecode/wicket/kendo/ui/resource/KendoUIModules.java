@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.resource;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.wicket.request.resource.ResourceReference;
+
+import com.googlecode.wicket.jquery.core.resource.JQueryModuleRegistry;
+import com.googlecode.wicket.jquery.core.resource.JQueryModuleResourceReference;
+import com.googlecode.wicket.kendo.ui.settings.KendoUILibrarySettings;
+
+/**
+ * Provides the resource references of the Kendo UI modules, ie: {@code kendo.datepicker.js}<br/>
+ * <br/>
+ * The module files are not shipped with this library: they should be copied from the Kendo UI distribution ({@code js/} folder) to the
+ * {@code com/googlecode/wicket/kendo/ui/resource} package of the application. The modules of the Kendo UI Core widgets are registered by default; the modules of other
+ * widgets (ie: grid, editor, scheduler) should be registered using {@link #register(String, String...)}, as the library is not rendered when the modular references are
+ * enabled.
+ *
+ * @see KendoUILibrarySettings#isModularReferencesEnabled()
+ */
+public class KendoUIModules
+{
+	private static final JQueryModuleRegistry REGISTRY = new JQueryModuleRegistry(KendoUIJavaScriptResourceReference.class, "%s.js");
+
+	/** Methods whose module is not named after the widget */
+	private static final Map<String, String> METHODS = new HashMap<String, String>();
+
+	static
+	{
+		METHODS.put("kendoContextMenu", "kendo.menu");
+		METHODS.put("kendoDraggable", "kendo.draganddrop");
+		METHODS.put("kendoDropTarget", "kendo.draganddrop");
+
+		// framework //
+		REGISTRY.register("kendo.core");
+		REGISTRY.register("kendo.fx", "kendo.core");
+		REGISTRY.register("kendo.userevents", "kendo.core");
+		REGISTRY.register("kendo.draganddrop", "kendo.core", "kendo.userevents");
+		REGISTRY.register("kendo.data.odata", "kendo.core");
+		REGISTRY.register("kendo.data.xml", "kendo.core");
+		REGISTRY.register("kendo.data", "kendo.core", "kendo.data.odata", "kendo.data.xml");
+		REGISTRY.register("kendo.popup", "kendo.core");
+		REGISTRY.register("kendo.list", "kendo.data", "kendo.popup");
+		REGISTRY.register("kendo.mobile.scroller", "kendo.fx", "kendo.draganddrop");
+		REGISTRY.register("kendo.resizable", "kendo.core", "kendo.draganddrop");
+
+		// widgets //
+		REGISTRY.register("kendo.autocomplete", "kendo.list", "kendo.mobile.scroller");
+		REGISTRY.register("kendo.button", "kendo.core");
+		REGISTRY.register("kendo.calendar", "kendo.core");
+		REGISTRY.register("kendo.combobox", "kendo.list", "kendo.mobile.scroller");
+		REGISTRY.register("kendo.datepicker", "kendo.calendar", "kendo.popup");
+		REGISTRY.register("kendo.dropdownlist", "kendo.list", "kendo.mobile.scroller");
+		REGISTRY.register("kendo.menu", "kendo.popup");
+		REGISTRY.register("kendo.multiselect", "kendo.list", "kendo.mobile.scroller");
+		REGISTRY.register("kendo.notification", "kendo.core", "kendo.popup");
+		REGISTRY.register("kendo.numerictextbox", "kendo.core", "kendo.userevents");
+		REGISTRY.register("kendo.panelbar", "kendo.core");
+		REGISTRY.register("kendo.progressbar", "kendo.core");
+		REGISTRY.register("kendo.splitter", "kendo.resizable");
+		REGISTRY.register("kendo.tabstrip", "kendo.data");
+		REGISTRY.register("kendo.timepicker", "kendo.popup");
+		REGISTRY.register("kendo.datetimepicker", "kendo.datepicker", "kendo.timepicker");
+		REGISTRY.register("kendo.tooltip", "kendo.core", "kendo.popup");
+		REGISTRY.register("kendo.window", "kendo.draganddrop");
+	}
+
+	/**
+	 * Registers a module<br/>
+	 * This should be called from {@code Application#init()}
+	 *
+	 * @param name the module name, ie: "kendo.grid"
+	 * @param dependencies the names of the modules it directly depends on, which should be registered already
+	 * @return the {@link JQueryModuleResourceReference}
+	 */
+	public static JQueryModuleResourceReference register(String name, String... dependencies)
+	{
+		return REGISTRY.register(name, dependencies);
+	}
+
+	/**
+	 * Gets the reference of a module
+	 *
+	 * @param name the module name, ie: "kendo.datepicker"
+	 * @return the {@link JQueryModuleResourceReference}, or {@code null} if the module is not registered
+	 */
+	public static JQueryModuleResourceReference get(String name)
+	{
+		return REGISTRY.get(name);
+	}
+
+	/**
+	 * Gets the references of the supplied modules
+	 *
+	 * @param names the module names
+	 * @return the list of {@link ResourceReference}, or {@code null} if one of the module is not registered
+	 */
+	public static List<ResourceReference> get(List<String> names)
+	{
+		return REGISTRY.get(names);
+	}
+
+	/**
+	 * Gets the names of the modules needed by a Kendo UI method
+	 *
+	 * @param method the Kendo UI method, ie: "kendoDatePicker"
+	 * @return the list of module names, or {@code null} if no module is registered for the method
+	 */
+	public static List<String> getModules(String method)
+	{
+		String name = METHODS.get(method);
+
+		if (name == null && method != null && method.startsWith("kendo"))
+		{
+			name = "kendo." + method.substring("kendo".length()).toLowerCase();
+		}
+
+		if (name != null && REGISTRY.contains(name))
+		{
+			return Collections.singletonList(name);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Utility class
+	 */
+	private KendoUIModules()
+	{
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.markup.head.CssHeaderItem;
+import org.apache.wicket.markup.head.CssReferenceHeaderItem;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.markup.head.JavaScriptReferenceHeaderItem;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.resource.bundles.ConcatResourceBundleReference;
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.jquery.core.resource.PrecompressedResourceCachingStrategy;
+import com.googlecode.wicket.kendo.ui.settings.KendoUILibrarySettings;
+
+/**
+ * Provides the registration of the Kendo UI resource bundles, so that a page loads one script and one stylesheet instead of one per library, theme and culture<br/>
+ * <ul>
+ * <li>The javascript bundle concatenates the Kendo UI library and the supplied cultures</li>
+ * <li>The stylesheet bundle concatenates the common and the theme stylesheets. It is scoped to the theme, so the relative urls of the theme images still resolve</li>
+ * </ul>
+ * Bundles are versioned like any other package resource, and can be served compressed by the {@link PrecompressedResourceCachingStrategy}.<br/>
+ * This should be called from {@link Application#init()}, after the theme has been set. The javascript bundle is not relevant if
+ * {@link KendoUILibrarySettings#isModularReferencesEnabled()} is {@code true}.
+ */
+public class KendoUIResourceBundles
+{
+	/** File name of the javascript bundle */
+	public static final String JAVASCRIPT_BUNDLE = "kendo.bundle.js";
+
+	/** File name of the stylesheet bundle */
+	public static final String STYLESHEET_BUNDLE = "kendo.bundle.css";
+
+	/**
+	 * Utility class
+	 */
+	private KendoUIResourceBundles()
+	{
+	}
+
+	/**
+	 * Registers the Kendo UI resource bundles to the supplied {@link Application}
+	 *
+	 * @param application the {@link Application}
+	 * @param cultures the culture {@link ResourceReference}{@code s} to bundle with the library, ie: {@code new KendoGlobalizeResourceReference("fr")}
+	 */
+	public static void install(Application application, ResourceReference... cultures)
+	{
+		Args.notNull(application, "application");
+
+		KendoUILibrarySettings settings = KendoUILibrarySettings.get();
+
+		// javascript //
+		ResourceReference javascript = settings.getJavaScriptReference();
+
+		if (javascript != null)
+		{
+			List<JavaScriptReferenceHeaderItem> items = new ArrayList<JavaScriptReferenceHeaderItem>();
+			items.add(JavaScriptHeaderItem.forReference(javascript));
+
+			for (ResourceReference culture : cultures)
+			{
+				items.add(JavaScriptHeaderItem.forReference(culture));
+			}
+
+			ResourceReference bundle = new ConcatResourceBundleReference<JavaScriptReferenceHeaderItem>(KendoUIJavaScriptResourceReference.class, JAVASCRIPT_BUNDLE, items);
+			application.getResourceBundles().addBundle(JavaScriptHeaderItem.forReference(bundle));
+		}
+
+		// stylesheets //
+		ResourceReference common = settings.getCommonStyleSheetReference();
+		ResourceReference theme = settings.getThemeStyleSheetReference();
+
+		if (common != null && theme != null)
+		{
+			List<CssReferenceHeaderItem> items = new ArrayList<CssReferenceHeaderItem>();
+			items.add(CssHeaderItem.forReference(common));
+			items.add(CssHeaderItem.forReference(theme));
+
+			ResourceReference bundle = new ConcatResourceBundleReference<CssReferenceHeaderItem>(theme.getScope(), STYLESHEET_BUNDLE, items);
+			application.getResourceBundles().addBundle(CssHeaderItem.forReference(bundle));
+		}
+	}
+}
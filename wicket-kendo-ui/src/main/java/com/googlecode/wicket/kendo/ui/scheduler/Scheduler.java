@@ -209,6 +209,13 @@ public class Scheduler extends JQueryContainer implements ISchedulerListener
 
 		behavior.setOption("timezone", Options.asString("Etc/UTC"));
 
+		// recurrence //
+		if (this.modelBehavior.isRecurrenceExpanded() && behavior.getOption("editable") == null)
+		{
+			// the series of expanded occurrences are not on the client, so only occurrences can be edited (see SchedulerModelBehavior) //
+			behavior.setOption("editable", new Options("editRecurringMode", Options.asString("occurrence")));
+		}
+
 		// groups //
 		List<String> groups = this.resourceListModel.getGroups();
 
@@ -275,6 +282,12 @@ public class Scheduler extends JQueryContainer implements ISchedulerListener
 				return Scheduler.this.modelBehavior.getCallbackUrl();
 			}
 
+			@Override
+			protected boolean isSyncEnabled()
+			{
+				return Scheduler.this.modelBehavior.isSyncEnabled();
+			}
+
 			@Override
 			protected ResourceListModel getResourceListModel()
 			{
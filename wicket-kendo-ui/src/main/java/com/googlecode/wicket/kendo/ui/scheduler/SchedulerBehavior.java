@@ -34,6 +34,7 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+import com.googlecode.wicket.jquery.core.data.ChangeSet;
 import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
 import com.googlecode.wicket.kendo.ui.KendoUIBehavior;
 import com.googlecode.wicket.kendo.ui.scheduler.resource.ResourceList;
@@ -123,6 +124,11 @@ public abstract class SchedulerBehavior extends KendoUIBehavior implements IJQue
 		super.renderHead(component, response);
 
 		response.render(JavaScriptHeaderItem.forReference(JS));
+
+		if (this.isSyncEnabled())
+		{
+			response.render(JavaScriptHeaderItem.forReference(ChangeSet.SYNC_STORE));
+		}
 	}
 
 	// Properties //
@@ -141,6 +147,19 @@ public abstract class SchedulerBehavior extends KendoUIBehavior implements IJQue
 	 */
 	protected abstract ResourceListModel getResourceListModel();
 
+	/**
+	 * Indicates whether the events are synchronized rather than reloaded<br/>
+	 * If {@code true}, the data-source sends back the sync token of the last response, and the response - a {@link ChangeSet} - is merged into the events already
+	 * loaded for the same period.
+	 *
+	 * @return {@code false} by default
+	 * @see SchedulerModelBehavior#isSyncEnabled()
+	 */
+	protected boolean isSyncEnabled()
+	{
+		return false;
+	}
+
 	/**
 	 * Gets the 'read' callback function<br/>
 	 * As create, update and destroy need to be supplied, we should declare read as a function. Weird...
@@ -153,6 +172,18 @@ public abstract class SchedulerBehavior extends KendoUIBehavior implements IJQue
 		String start = widget + ".view().startDate().getTime()";
 		String end = String.format("calculateKendoSchedulerViewEndPeriod(%s.view().endDate()).getTime()", widget);
 
+		if (this.isSyncEnabled())
+		{
+			return "(function() {" // lf
+					+ " var store = jQuery.syncStore('" + this.getDataSourceUrl() + "');" // lf
+					+ " return function(options) {" // lf
+					+ "		store.fetch({ start: " + start + ", end: " + end + " }," // lf
+					+ "			function(events) { options.success(events); }," // lf
+					+ "			function(status, jqXHR) { if (status !== 'abort' && status !== 'obsolete') { options.error(jqXHR || status); } });" // lf
+					+ "	};" // lf
+					+ "})()";
+		}
+
 		return "function(options) {" // lf
 				+ " jQuery.ajax({" // lf
 				+ "		url: '" + this.getDataSourceUrl() + "'," // lf
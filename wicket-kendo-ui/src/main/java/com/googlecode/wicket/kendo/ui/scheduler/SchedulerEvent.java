@@ -49,6 +49,18 @@ public class SchedulerEvent implements Serializable
 		return event != null && event.id == NEW_ID;
 	}
 
+	/**
+	 * Indicates whether the event is an occurrence of a series that has been expanded on the server (see {@link SchedulerModelBehavior#setRecurrenceExpanded(boolean)})<br/>
+	 * Such an occurrence has a temporary negative id, and the id of its series as recurrence id. It should be handled as a recurrence exception of that series.
+	 *
+	 * @param event the {@link SchedulerEvent}
+	 * @return {@code true} if the event is an expanded occurrence
+	 */
+	public static boolean isOccurrence(SchedulerEvent event)
+	{
+		return event != null && event.id < NEW_ID && event.recurrenceId != null;
+	}
+
 	private int id;
 	private String title;
 	private String description;
@@ -452,6 +464,28 @@ public class SchedulerEvent implements Serializable
 		visitor.visit(this);
 	}
 
+	/**
+	 * Gets a new occurrence of this recurring event<br/>
+	 * The occurrence has the title, the description, the all-day and visible flags and the resources of this event, and the id of this event as recurrence id (see
+	 * {@link #isOccurrence(SchedulerEvent)}). It has no recurrence rule.
+	 *
+	 * @param id the occurrence id, which should be negative
+	 * @param start the occurrence start date
+	 * @param end the occurrence end date
+	 * @return a new {@link SchedulerEvent}
+	 */
+	public SchedulerEvent newOccurrence(int id, long start, long end)
+	{
+		SchedulerEvent occurrence = new SchedulerEvent(id, this.title, start, end);
+		occurrence.setRecurrenceId(String.valueOf(this.id));
+		occurrence.setDescription(this.description);
+		occurrence.setAllDay(this.allDay);
+		occurrence.setVisible(this.visible);
+		occurrence.resources.putAll(this.resources);
+
+		return occurrence;
+	}
+
 	/**
 	 * Converts this event to a {@link JSONObject}
 	 * 
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.scheduler;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.wicket.util.string.Strings;
+
+import com.googlecode.wicket.jquery.core.data.IntervalIndex;
+
+/**
+ * Provides an in-memory store of {@link SchedulerEvent}{@code s}, indexed by id and by time interval, to be shared across sessions (ie: held by the application)<br/>
+ * Recurring events are indexed from their start onward, with no end, so that they are returned for any later period; their occurrences are expanded afterward (see
+ * {@link SchedulerModelBehavior#setRecurrenceExpanded(boolean)}).<br/>
+ * The store is thread-safe. The stored events are shared, so they should be replaced rather than modified once added.
+ *
+ * @see SchedulerEventStoreModel
+ */
+public class SchedulerEventStore extends IntervalIndex<SchedulerEvent>
+{
+	/**
+	 * Constructor
+	 */
+	public SchedulerEventStore()
+	{
+		super();
+	}
+
+	// Methods //
+
+	/**
+	 * Adds or replaces an event, according to its id
+	 *
+	 * @param event the {@link SchedulerEvent}
+	 * @return this, for chaining
+	 */
+	public SchedulerEventStore add(SchedulerEvent event)
+	{
+		long start = event.getStart().getTime();
+		long end = Strings.isEmpty(event.getRecurrenceRule()) ? event.getEnd().getTime() : Long.MAX_VALUE;
+
+		this.put(event.getId(), start, end, event);
+
+		return this;
+	}
+
+	/**
+	 * Adds or replaces events, according to their id
+	 *
+	 * @param events the {@link SchedulerEvent}{@code s}
+	 * @return this, for chaining
+	 */
+	public SchedulerEventStore addAll(Collection<? extends SchedulerEvent> events)
+	{
+		for (SchedulerEvent event : events)
+		{
+			this.add(event);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Gets the events that intersect the supplied period, ordered by start date
+	 *
+	 * @param start the period start
+	 * @param end the period end
+	 * @return the list of {@link SchedulerEvent}
+	 */
+	public List<SchedulerEvent> getEvents(Date start, Date end)
+	{
+		return this.query(start.getTime(), end.getTime());
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.scheduler;
+
+import java.util.List;
+
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
+
+/**
+ * Provides a {@link SchedulerModel} that reads the {@link SchedulerEvent}{@code s} of the requested period from a {@link SchedulerEventStore}<br/>
+ * The version of the store is the version of the model, so a period that has not changed is revalidated by the browser rather than loaded again.<br/>
+ * The store is meant to be shared across sessions, so it should not be held by the model (ie: it can be held by a static field or by the application). As the events
+ * are shared, the model should not modify them (ie: as an {@link ISchedulerVisitor}).
+ */
+public abstract class SchedulerEventStoreModel extends SchedulerModel implements IVersionProvider
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor
+	 */
+	public SchedulerEventStoreModel()
+	{
+		super();
+	}
+
+	/**
+	 * Gets the {@link SchedulerEventStore}
+	 *
+	 * @return the {@link SchedulerEventStore}
+	 */
+	protected abstract SchedulerEventStore getStore();
+
+	@Override
+	protected List<SchedulerEvent> load()
+	{
+		return this.getStore().getEvents(this.getStart(), this.getEnd());
+	}
+
+	@Override
+	public String getVersion()
+	{
+		return this.getStore().getVersion();
+	}
+}
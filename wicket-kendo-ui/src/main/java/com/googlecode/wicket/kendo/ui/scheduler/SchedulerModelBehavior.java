@@ -16,7 +16,9 @@
  */
 package com.googlecode.wicket.kendo.ui.scheduler;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.TimeZone;
 
 import org.apache.wicket.Application;
 import org.apache.wicket.behavior.AbstractAjaxBehavior;
@@ -25,9 +27,27 @@ import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.IRequestParameters;
 import org.apache.wicket.request.cycle.RequestCycle;
 import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.util.string.Strings;
+import org.apache.wicket.util.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.googlecode.wicket.jquery.core.data.ChangeSet;
+import com.googlecode.wicket.jquery.core.data.IChangeSetProvider;
+import com.googlecode.wicket.jquery.core.data.IVersionProvider;
+import com.googlecode.wicket.jquery.core.utils.HttpCacheUtils;
+import com.googlecode.wicket.kendo.ui.scheduler.recurrence.RecurrenceExpander;
 
 /**
- * Provides the behavior that loads {@link SchedulerEvent}{@code s} according to {@link SchedulerModel} start &amp; end dates
+ * Provides the behavior that loads {@link SchedulerEvent}{@code s} according to {@link SchedulerModel} start &amp; end dates<br/>
+ * If the {@link SchedulerModel} is an {@link IChangeSetProvider}, a request carrying the sync token of the client (see {@link ChangeSet#PARAMETER}) is responded with the
+ * {@link ChangeSet} since that token, instead of all the events of the period.<br/>
+ * If the recurrence expansion is enabled (see {@link #setRecurrenceExpanded(boolean)}), recurring events are sent as their occurrences within the period, rather than
+ * as series the client expands over and over. Each occurrence has a temporary negative id and the id of its series as recurrence id, so that an edited or deleted
+ * occurrence is received as a recurrence exception of its series (see {@link SchedulerEvent#isOccurrence(SchedulerEvent)}). The expansion does not apply to synchronized
+ * events.<br/>
+ * The series themselves are not sent, so the client cannot edit a whole series: the {@link Scheduler} sets the {@code editable.editRecurringMode} option to
+ * {@code 'occurrence'} unless the {@code editable} option is already set, in which case it should do the same.
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -35,8 +55,13 @@ import org.apache.wicket.request.http.WebResponse;
 public class SchedulerModelBehavior extends AbstractAjaxBehavior
 {
 	private static final long serialVersionUID = 1L;
+	private static final Logger LOG = LoggerFactory.getLogger(SchedulerModelBehavior.class);
 
 	private final SchedulerModel model;
+	private boolean recurrenceExpanded = false;
+
+	/** the sync token of the current request, {@code null} if it is not a sync request */
+	private transient String token = null;
 
 	/**
 	 * Constructor
@@ -56,6 +81,7 @@ public class SchedulerModelBehavior extends AbstractAjaxBehavior
 
 		final long start = parameters.getParameterValue("start").toLong(0);
 		final long end = parameters.getParameterValue("end").toLong(0);
+		this.token = parameters.getParameterValue(ChangeSet.PARAMETER).toString();
 
 		if (this.model != null)
 		{
@@ -90,6 +116,62 @@ public class SchedulerModelBehavior extends AbstractAjaxBehavior
 		model.setEnd(date);
 	}
 
+	/**
+	 * Indicates whether the events can be synchronized, that is, whether the {@link SchedulerModel} is an {@link IChangeSetProvider}
+	 *
+	 * @return {@code true} or {@code false}
+	 */
+	public boolean isSyncEnabled()
+	{
+		return this.model instanceof IChangeSetProvider;
+	}
+
+	/**
+	 * Indicates whether recurring events are expanded on the server
+	 *
+	 * @return {@code false} by default
+	 */
+	public boolean isRecurrenceExpanded()
+	{
+		return this.recurrenceExpanded;
+	}
+
+	/**
+	 * Sets whether recurring events are expanded on the server, to their occurrences within the {@link SchedulerModel} period<br/>
+	 * Events having a rule that is not supported by the {@link RecurrenceExpander}, including HOURLY and MINUTELY rules, are still sent as series.
+	 *
+	 * @param expanded {@code true} to expand recurring events
+	 * @return this, for chaining
+	 */
+	public SchedulerModelBehavior setRecurrenceExpanded(boolean expanded)
+	{
+		this.recurrenceExpanded = expanded;
+
+		return this;
+	}
+
+	/**
+	 * Gets the {@link TimeZone} recurrence rules are evaluated in (for day boundaries and daylight saving time)<br/>
+	 * It should be the {@code timezone} option of the widget, which the {@link Scheduler} sets to {@code 'Etc/UTC'}.
+	 *
+	 * @return the {@code Etc/UTC} {@link TimeZone} by default
+	 */
+	protected TimeZone getTimeZone()
+	{
+		return TimeZone.getTimeZone("Etc/UTC");
+	}
+
+	/**
+	 * Gets the version of the events, which is used as the {@code ETag} of the response<br/>
+	 * As long as the version does not change, the browser revalidates its copy of the requested period and the events are not loaded.
+	 *
+	 * @return the version of the {@link SchedulerModel} if it is an {@link IVersionProvider}, {@code null} otherwise (the response is not cacheable)
+	 */
+	protected String getVersion()
+	{
+		return HttpCacheUtils.getVersion(this.model);
+	}
+
 	/**
 	 * Gets the new {@link IRequestHandler} that will respond the list of {@link SchedulerEvent} in a JSON format
 	 *
@@ -100,6 +182,77 @@ public class SchedulerModelBehavior extends AbstractAjaxBehavior
 		return new SchedulerModelRequestHandler();
 	}
 
+	/**
+	 * Gets the events to be sent for the supplied event, that is, its occurrences within the {@link SchedulerModel} period if the event is recurring and the recurrence
+	 * expansion is enabled, or the event itself otherwise
+	 *
+	 * @param event the {@link SchedulerEvent}
+	 * @param id the id of the first occurrence, the next ones having decreasing ids (see {@link RecurrenceExpander#expand(SchedulerEvent, int, java.util.Date, java.util.Date, TimeZone)})
+	 * @return the list of {@link SchedulerEvent}
+	 */
+	protected List<SchedulerEvent> expand(SchedulerEvent event, int id)
+	{
+		if (this.recurrenceExpanded && !Strings.isEmpty(event.getRecurrenceRule()))
+		{
+			try
+			{
+				return RecurrenceExpander.get().expand(event, id, this.model.getStart(), this.model.getEnd(), this.getTimeZone());
+			}
+			catch (IllegalArgumentException e)
+			{
+				LOG.debug(e.getMessage()); // the series is expanded by the client
+			}
+		}
+
+		return Collections.singletonList(event);
+	}
+
+	/**
+	 * Gets the json representation of the {@link ChangeSet} since the supplied token<br/>
+	 * Updated events that are not visible are sent as deleted.
+	 *
+	 * @param token the sync token of the client, or {@code null}
+	 * @return the json representation
+	 */
+	@SuppressWarnings("unchecked")
+	private String getChanges(String token)
+	{
+		ChangeSet<SchedulerEvent> changes = ((IChangeSetProvider<SchedulerEvent>) this.model).getChanges(token);
+		ChangeSet<SchedulerEvent> result = new ChangeSet<SchedulerEvent>(changes.getToken(), changes.isFull()); // the provider's change set is left untouched
+
+		for (Object id : changes.getDeleted())
+		{
+			result.delete(id);
+		}
+
+		StringBuilder builder = new StringBuilder("[ ");
+
+		int count = 0;
+		for (SchedulerEvent event : changes.getUpdated())
+		{
+			if (this.model instanceof ISchedulerVisitor)
+			{
+				event.accept((ISchedulerVisitor) this.model); // last chance to set options
+			}
+
+			if (event.isVisible())
+			{
+				if (count++ > 0)
+				{
+					builder.append(", ");
+				}
+
+				builder.append(event.toJson());
+			}
+			else
+			{
+				result.delete(event.getId());
+			}
+		}
+
+		return result.toJson(builder.append(" ]"));
+	}
+
 	/**
 	 * Provides the {@link IRequestHandler}
 	 */
@@ -112,7 +265,19 @@ public class SchedulerModelBehavior extends AbstractAjaxBehavior
 
 			final String encoding = Application.get().getRequestCycleSettings().getResponseRequestEncoding();
 			response.setContentType("text/json; charset=" + encoding);
-			response.disableCaching();
+
+			if (token != null && SchedulerModelBehavior.this.isSyncEnabled())
+			{
+				response.disableCaching(); // the response depends on the changes since the token
+				response.write(SchedulerModelBehavior.this.getChanges(Strings.isEmpty(token) ? null : token));
+
+				return;
+			}
+
+			if (HttpCacheUtils.isNotModified(response, SchedulerModelBehavior.this.getVersion(), Duration.NONE))
+			{
+				return;
+			}
 
 			if (model != null)
 			{
@@ -123,6 +288,7 @@ public class SchedulerModelBehavior extends AbstractAjaxBehavior
 					StringBuilder builder = new StringBuilder("[ ");
 
 					int count = 0;
+					int id = -1; // the id of the next occurrence
 					for (SchedulerEvent event : list)
 					{
 						if (model instanceof ISchedulerVisitor)
@@ -132,12 +298,18 @@ public class SchedulerModelBehavior extends AbstractAjaxBehavior
 
 						if (event.isVisible())
 						{
-							if (count++ > 0)
+							List<SchedulerEvent> items = SchedulerModelBehavior.this.expand(event, id);
+							id -= items.size();
+
+							for (SchedulerEvent item : items)
 							{
-								builder.append(", ");
-							}
+								if (count++ > 0)
+								{
+									builder.append(", ");
+								}
 
-							builder.append(event.toJson());
+								builder.append(item.toJson());
+							}
 						}
 					}
 
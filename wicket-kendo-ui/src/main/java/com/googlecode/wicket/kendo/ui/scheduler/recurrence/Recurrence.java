@@ -0,0 +1,734 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.scheduler.recurrence;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.kendo.ui.scheduler.recurrence.RecurrenceRule.Frequency;
+
+/**
+ * Provides a recurring series, defined by a {@link RecurrenceRule}, a start date and a set of exception dates<br/>
+ * Occurrences are expanded lazily, period after period, up to the end of the requested range only. The expanded occurrences are kept so that subsequent requests over
+ * the same or a following range cost a binary search. For unbounded-count rules, a request far away from the expanded range restarts the expansion at the period
+ * containing the requested start rather than expanding every period in between.<br/>
+ * <br/>
+ * The first occurrence is the series start, whether or not it matches the rule (as Kendo does). Exception dates are applied after COUNT, as RFC 5545 states.<br/>
+ * Instances are thread-safe.
+ */
+public class Recurrence
+{
+	/** Maximum number of kept occurrences; beyond it, bounded-count series stop expanding (later occurrences are dropped) and unbounded ones restart at the requested range */
+	public static final int MAX_OCCURRENCES = 10000;
+
+	/** Maximum number of consecutive periods without any occurrence before the expansion is considered exhausted */
+	private static final int MAX_EMPTY_PERIODS = 1000;
+
+	private static final long DAY = 86400000L;
+	private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+	private final RecurrenceRule rule;
+	private final long start;
+	private final TimeZone timezone;
+	private final Set<Long> exceptions;
+	private final long until;
+
+	private final int[] byMonth;
+	private final int[] byMonthDay;
+	private final int[] byDay;
+	private final int[] byDayOrdinal;
+
+	// local fields of the series start //
+	private final long startDay; // epoch day
+	private final int startYear;
+	private final int startMonth; // 0-based
+	private final int hour;
+	private final int minute;
+	private final int second;
+
+	// expansion state //
+	private final Calendar local; // calendar in the series timezone
+	private final Calendar day; // calendar in UTC, used for date arithmetic
+	private long[] occurrences = new long[16];
+	private int size = 0;
+	private long first = 0; // index of the first expanded period
+	private long horizon = Long.MIN_VALUE; // last generated occurrence, excluded ones included
+	private long period = 0; // index of the next period to expand
+	private int generated = 0; // number of generated occurrences (for COUNT)
+	private boolean done = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param rule the {@link RecurrenceRule}
+	 * @param start the series start, in milliseconds
+	 * @param timezone the {@link TimeZone} the rule is evaluated in
+	 * @param exceptions the exception dates, in the Kendo format (ie: "20150610T080000Z;20150617T080000Z"), or {@code null}
+	 * @throws IllegalArgumentException if the exception dates or the UNTIL value are malformed
+	 */
+	public Recurrence(RecurrenceRule rule, long start, TimeZone timezone, String exceptions)
+	{
+		this.rule = Args.notNull(rule, "rule");
+		this.start = start - (start % 1000); // RFC 5545 date-times do not have milliseconds
+		this.timezone = Args.notNull(timezone, "timezone");
+
+		this.local = new GregorianCalendar(this.timezone);
+		this.day = new GregorianCalendar(UTC);
+
+		this.local.setTimeInMillis(this.start);
+		this.startYear = this.local.get(Calendar.YEAR);
+		this.startMonth = this.local.get(Calendar.MONTH);
+		this.hour = this.local.get(Calendar.HOUR_OF_DAY);
+		this.minute = this.local.get(Calendar.MINUTE);
+		this.second = this.local.get(Calendar.SECOND);
+		this.startDay = this.toEpochDay(this.startYear, this.startMonth, this.local.get(Calendar.DAY_OF_MONTH));
+
+		this.exceptions = this.parseExceptions(exceptions);
+		this.until = this.parseUntil(rule.getUntil());
+
+		// defaults, as per RFC 5545: the missing parts are taken from the series start //
+		int[] months = rule.getByMonth();
+		int[] monthDays = rule.getByMonthDay();
+		int[] days = rule.getByDay();
+		int[] ordinals = rule.getByDayOrdinal();
+
+		switch (rule.getFrequency())
+		{
+		case YEARLY:
+			if (monthDays == null && days == null)
+			{
+				months = months != null ? months : new int[] { this.startMonth + 1 };
+				monthDays = new int[] { this.local.get(Calendar.DAY_OF_MONTH) };
+			}
+			break;
+
+		case MONTHLY:
+			if (monthDays == null && days == null)
+			{
+				monthDays = new int[] { this.local.get(Calendar.DAY_OF_MONTH) };
+			}
+			break;
+
+		case WEEKLY:
+			if (days == null)
+			{
+				days = new int[] { this.local.get(Calendar.DAY_OF_WEEK) };
+				ordinals = new int[] { 0 };
+			}
+			break;
+
+		default:
+			break;
+		}
+
+		this.byMonth = months;
+		this.byMonthDay = monthDays;
+		this.byDay = days;
+		this.byDayOrdinal = ordinals;
+
+		this.reset(0);
+	}
+
+	// Methods //
+
+	/**
+	 * Gets the start of the occurrences that start within the supplied range
+	 *
+	 * @param from the range start, inclusive, in milliseconds
+	 * @param to the range end, exclusive, in milliseconds
+	 * @return the list of occurrence starts, in milliseconds
+	 */
+	public synchronized List<Long> getOccurrences(long from, long to)
+	{
+		if (to <= from || to <= this.start)
+		{
+			return Collections.emptyList();
+		}
+
+		if (this.rule.getCount() == 0)
+		{
+			long index = this.getPeriod(from);
+
+			if (index < this.first || (from > this.horizon && index > this.period))
+			{
+				this.reset(index);
+			}
+		}
+		else if (this.first > 0)
+		{
+			this.reset(0); // COUNT requires the expansion from the series start
+		}
+
+		while (!this.done && this.horizon < to)
+		{
+			this.expand();
+
+			if (this.size > MAX_OCCURRENCES)
+			{
+				if (this.rule.getCount() == 0 && this.getPeriod(from) > this.first)
+				{
+					this.reset(this.getPeriod(from));
+				}
+				else
+				{
+					this.done = true;
+				}
+			}
+		}
+
+		List<Long> list = new ArrayList<Long>();
+
+		for (int i = this.search(from); i < this.size && this.occurrences[i] < to; i++)
+		{
+			list.add(this.occurrences[i]);
+		}
+
+		return list;
+	}
+
+	/**
+	 * Restarts the expansion at the supplied period
+	 *
+	 * @param index the period index
+	 */
+	private void reset(long index)
+	{
+		this.size = 0;
+		this.first = index;
+		this.period = index;
+		this.done = false;
+		this.generated = 0;
+		this.horizon = Long.MIN_VALUE;
+
+		if (index == 0)
+		{
+			this.generated = 1;
+			this.horizon = this.start;
+
+			if (!this.exceptions.contains(this.start))
+			{
+				this.add(this.start);
+			}
+		}
+	}
+
+	/**
+	 * Expands the next period
+	 */
+	private void expand()
+	{
+		int count = this.rule.getCount();
+		int empty = 0;
+		List<Long> candidates = Collections.emptyList();
+
+		while (candidates.isEmpty() && !this.done)
+		{
+			candidates = this.getCandidates(this.period);
+			this.period++;
+
+			if (candidates.isEmpty() && ++empty > MAX_EMPTY_PERIODS)
+			{
+				this.done = true;
+			}
+		}
+
+		for (long candidate : candidates)
+		{
+			if (candidate <= this.start)
+			{
+				continue;
+			}
+
+			if (candidate > this.until || (count > 0 && this.generated >= count))
+			{
+				this.done = true;
+				break;
+			}
+
+			this.generated++;
+			this.horizon = candidate;
+
+			if (!this.exceptions.contains(candidate))
+			{
+				this.add(candidate);
+			}
+		}
+	}
+
+	/**
+	 * Adds an occurrence
+	 *
+	 * @param occurrence the occurrence start
+	 */
+	private void add(long occurrence)
+	{
+		if (this.size == this.occurrences.length)
+		{
+			this.occurrences = Arrays.copyOf(this.occurrences, this.size * 2);
+		}
+
+		this.occurrences[this.size++] = occurrence;
+	}
+
+	/**
+	 * Gets the index of the first occurrence starting at or after the supplied time
+	 *
+	 * @param time the time, in milliseconds
+	 * @return the index
+	 */
+	private int search(long time)
+	{
+		int index = Arrays.binarySearch(this.occurrences, 0, this.size, time);
+
+		return index < 0 ? -(index + 1) : index;
+	}
+
+	// Periods //
+
+	/**
+	 * Gets the sorted occurrence candidates of a period
+	 *
+	 * @param index the period index
+	 * @return the candidates, in milliseconds
+	 */
+	private List<Long> getCandidates(long index)
+	{
+		List<Long> candidates = new ArrayList<Long>();
+		Frequency frequency = this.rule.getFrequency();
+
+		if (frequency == Frequency.HOURLY || frequency == Frequency.MINUTELY)
+		{
+			long time = this.getPeriodStart(index);
+			this.local.setTimeInMillis(time);
+
+			if (this.matches(this.local, false))
+			{
+				candidates.add(time);
+			}
+		}
+		else
+		{
+			long first = this.getPeriodFirstDay(index);
+			long last = this.getPeriodLastDay(first);
+			boolean monthly = frequency == Frequency.MONTHLY || (frequency == Frequency.YEARLY && this.byMonth != null);
+
+			for (long d = first; d < last; d++)
+			{
+				this.day.setTimeInMillis(d * DAY);
+
+				if (this.matches(this.day, monthly))
+				{
+					candidates.add(this.toMillis(this.day.get(Calendar.YEAR), this.day.get(Calendar.MONTH), this.day.get(Calendar.DAY_OF_MONTH)));
+				}
+			}
+		}
+
+		return this.applySetPos(candidates);
+	}
+
+	/**
+	 * Applies BYSETPOS to the candidates of a period
+	 *
+	 * @param candidates the sorted candidates
+	 * @return the selected candidates
+	 */
+	private List<Long> applySetPos(List<Long> candidates)
+	{
+		int[] positions = this.rule.getBySetPos();
+
+		if (positions == null || candidates.isEmpty())
+		{
+			return candidates;
+		}
+
+		List<Long> list = new ArrayList<Long>();
+		int size = candidates.size();
+
+		for (int i = 0; i < size; i++)
+		{
+			for (int position : positions)
+			{
+				if (position == i + 1 || position == i - size)
+				{
+					list.add(candidates.get(i));
+					break;
+				}
+			}
+		}
+
+		return list;
+	}
+
+	/**
+	 * Indicates whether a day matches the BYMONTH, BYMONTHDAY and BYDAY rule parts
+	 *
+	 * @param calendar the {@link Calendar} set to the day
+	 * @param monthly whether BYDAY ordinals are relative to the month, or to the year
+	 * @return {@code true} if the day matches
+	 */
+	private boolean matches(Calendar calendar, boolean monthly)
+	{
+		if (this.byMonth != null && !Recurrence.contains(this.byMonth, calendar.get(Calendar.MONTH) + 1))
+		{
+			return false;
+		}
+
+		if (this.byMonthDay != null)
+		{
+			int dom = calendar.get(Calendar.DAY_OF_MONTH);
+			int max = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+
+			if (!Recurrence.contains(this.byMonthDay, dom) && !Recurrence.contains(this.byMonthDay, dom - max - 1))
+			{
+				return false;
+			}
+		}
+
+		if (this.byDay != null)
+		{
+			int weekday = calendar.get(Calendar.DAY_OF_WEEK);
+			int position = monthly ? calendar.get(Calendar.DAY_OF_MONTH) : calendar.get(Calendar.DAY_OF_YEAR);
+			int max = monthly ? calendar.getActualMaximum(Calendar.DAY_OF_MONTH) : calendar.getActualMaximum(Calendar.DAY_OF_YEAR);
+
+			for (int i = 0; i < this.byDay.length; i++)
+			{
+				if (this.byDay[i] == weekday)
+				{
+					int ordinal = this.byDayOrdinal[i];
+
+					if (ordinal == 0 || ordinal == (position - 1) / 7 + 1 || ordinal == -((max - position) / 7 + 1))
+					{
+						return true;
+					}
+				}
+			}
+
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gets the first day of a period (for DAILY frequency and above)
+	 *
+	 * @param index the period index
+	 * @return the epoch day
+	 */
+	private long getPeriodFirstDay(long index)
+	{
+		int interval = this.rule.getInterval();
+
+		switch (this.rule.getFrequency())
+		{
+		case YEARLY:
+			return this.toEpochDay((int) (this.startYear + index * interval), Calendar.JANUARY, 1);
+
+		case MONTHLY:
+			long month = this.startMonth + index * interval;
+			return this.toEpochDay((int) (this.startYear + month / 12), (int) (month % 12), 1);
+
+		case WEEKLY:
+			return this.getWeekStart() + index * interval * 7;
+
+		default:
+			return this.startDay + index * interval;
+		}
+	}
+
+	/**
+	 * Gets the day following the last day of a period (for DAILY frequency and above)
+	 *
+	 * @param first the first day of the period, as an epoch day
+	 * @return the epoch day
+	 */
+	private long getPeriodLastDay(long first)
+	{
+		switch (this.rule.getFrequency())
+		{
+		case YEARLY:
+			this.day.setTimeInMillis(first * DAY);
+			return first + this.day.getActualMaximum(Calendar.DAY_OF_YEAR);
+
+		case MONTHLY:
+			this.day.setTimeInMillis(first * DAY);
+			return first + this.day.getActualMaximum(Calendar.DAY_OF_MONTH);
+
+		case WEEKLY:
+			return first + 7;
+
+		default:
+			return first + 1;
+		}
+	}
+
+	/**
+	 * Gets the start of a period (for HOURLY and MINUTELY frequencies)
+	 *
+	 * @param index the period index
+	 * @return the period start, in milliseconds
+	 */
+	private long getPeriodStart(long index)
+	{
+		switch (this.rule.getFrequency())
+		{
+		case HOURLY:
+			return this.start + index * this.rule.getInterval() * 3600000L;
+
+		case MINUTELY:
+			return this.start + index * this.rule.getInterval() * 60000L;
+
+		default:
+			throw new IllegalStateException(this.rule.getFrequency().name());
+		}
+	}
+
+	/**
+	 * Gets the index of the period containing the supplied time, or the previous one
+	 *
+	 * @param time the time, in milliseconds
+	 * @return the period index
+	 */
+	private long getPeriod(long time)
+	{
+		long interval = this.rule.getInterval();
+		long index;
+
+		this.local.setTimeInMillis(time);
+
+		switch (this.rule.getFrequency())
+		{
+		case YEARLY:
+			index = (this.local.get(Calendar.YEAR) - this.startYear) / interval;
+			break;
+
+		case MONTHLY:
+			index = ((this.local.get(Calendar.YEAR) - this.startYear) * 12L + this.local.get(Calendar.MONTH) - this.startMonth) / interval;
+			break;
+
+		case WEEKLY:
+			index = (this.toLocalEpochDay() - this.getWeekStart()) / 7 / interval;
+			break;
+
+		case DAILY:
+			index = (this.toLocalEpochDay() - this.startDay) / interval;
+			break;
+
+		case HOURLY:
+			index = (time - this.start) / 3600000L / interval;
+			break;
+
+		default:
+			index = (time - this.start) / 60000L / interval;
+			break;
+		}
+
+		return Math.max(0, index - 1);
+	}
+
+	/**
+	 * Gets the first day of the week containing the series start, according to WKST
+	 *
+	 * @return the epoch day
+	 */
+	private long getWeekStart()
+	{
+		int weekday = (int) ((this.startDay % 7 + 11) % 7) + 1; // 1970-01-01 is a Thursday; as a Calendar.DAY_OF_WEEK
+
+		return this.startDay - ((weekday - this.rule.getWeekStart() + 7) % 7);
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link RecurrenceRule}
+	 *
+	 * @return the {@link RecurrenceRule}
+	 */
+	public RecurrenceRule getRule()
+	{
+		return this.rule;
+	}
+
+	/**
+	 * Gets the series start
+	 *
+	 * @return the series start, in milliseconds
+	 */
+	public long getStart()
+	{
+		return this.start;
+	}
+
+	/**
+	 * Gets the {@link TimeZone} the rule is evaluated in
+	 *
+	 * @return the {@link TimeZone}
+	 */
+	public TimeZone getTimeZone()
+	{
+		return this.timezone;
+	}
+
+	// Helpers //
+
+	/**
+	 * Gets the epoch day of a date
+	 *
+	 * @param year the year
+	 * @param month the month, 0-based
+	 * @param dom the day of the month
+	 * @return the epoch day
+	 */
+	private long toEpochDay(int year, int month, int dom)
+	{
+		this.day.clear();
+		this.day.set(year, month, dom);
+
+		long time = this.day.getTimeInMillis();
+
+		return time >= 0 ? time / DAY : -((-time + DAY - 1) / DAY);
+	}
+
+	/**
+	 * Gets the epoch day of the local calendar date
+	 *
+	 * @return the epoch day
+	 */
+	private long toLocalEpochDay()
+	{
+		return this.toEpochDay(this.local.get(Calendar.YEAR), this.local.get(Calendar.MONTH), this.local.get(Calendar.DAY_OF_MONTH));
+	}
+
+	/**
+	 * Gets the time of a date, at the time of day of the series start, in the series timezone
+	 *
+	 * @param year the year
+	 * @param month the month, 0-based
+	 * @param dom the day of the month
+	 * @return the time, in milliseconds
+	 */
+	private long toMillis(int year, int month, int dom)
+	{
+		this.local.clear();
+		this.local.set(year, month, dom, this.hour, this.minute, this.second);
+
+		return this.local.getTimeInMillis();
+	}
+
+	/**
+	 * Parses the UNTIL value
+	 *
+	 * @param value the UNTIL value, or {@code null}
+	 * @return the time, in milliseconds, or {@link Long#MAX_VALUE}
+	 */
+	private long parseUntil(String value)
+	{
+		if (value == null)
+		{
+			return Long.MAX_VALUE;
+		}
+
+		if (value.length() == 8)
+		{
+			return this.parse(value, "yyyyMMdd", this.timezone) + DAY - 1; // the whole day is included
+		}
+
+		return this.parse(value, value.endsWith("Z") ? "yyyyMMdd'T'HHmmss'Z'" : "yyyyMMdd'T'HHmmss", value.endsWith("Z") ? UTC : this.timezone);
+	}
+
+	/**
+	 * Parses the exception dates
+	 *
+	 * @param value the exception dates, separated by ';' or ','
+	 * @return the {@link Set} of exception dates, in milliseconds
+	 */
+	private Set<Long> parseExceptions(String value)
+	{
+		Set<Long> set = new HashSet<Long>();
+
+		if (value != null)
+		{
+			for (String item : value.split("[;,]"))
+			{
+				item = item.trim();
+
+				if (!item.isEmpty())
+				{
+					set.add(this.parse(item, item.endsWith("Z") ? "yyyyMMdd'T'HHmmss'Z'" : "yyyyMMdd'T'HHmmss", item.endsWith("Z") ? UTC : this.timezone));
+				}
+			}
+		}
+
+		return set;
+	}
+
+	/**
+	 * Parses a date
+	 *
+	 * @param value the date
+	 * @param pattern the {@link SimpleDateFormat} pattern
+	 * @param timezone the {@link TimeZone}
+	 * @return the time, in milliseconds
+	 */
+	private long parse(String value, String pattern, TimeZone timezone)
+	{
+		SimpleDateFormat format = new SimpleDateFormat(pattern);
+		format.setTimeZone(timezone);
+		format.setLenient(false);
+
+		try
+		{
+			return format.parse(value).getTime();
+		}
+		catch (ParseException e)
+		{
+			throw new IllegalArgumentException(String.format("Invalid recurrence date '%s' (%s)", value, this.rule), e);
+		}
+	}
+
+	/**
+	 * Indicates whether the array contains the value
+	 *
+	 * @param array the array
+	 * @param value the value
+	 * @return {@code true} if found
+	 */
+	private static boolean contains(int[] array, int value)
+	{
+		for (int item : array)
+		{
+			if (item == value)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
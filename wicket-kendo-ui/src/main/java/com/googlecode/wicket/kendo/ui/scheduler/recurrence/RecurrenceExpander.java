@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.scheduler.recurrence;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.util.lang.Args;
+
+import com.googlecode.wicket.kendo.ui.scheduler.SchedulerEvent;
+import com.googlecode.wicket.kendo.ui.scheduler.recurrence.RecurrenceRule.Frequency;
+
+/**
+ * Provides the application-scoped expander of recurring {@link SchedulerEvent}{@code s}<br/>
+ * The expanded series ({@link Recurrence}) are kept in a bounded LRU cache, keyed by their definition (rule, start, exceptions and timezone), so that a series is not
+ * parsed nor re-expanded each time the scheduler requests a period. A modified series has a new key, and the stale entry is eventually evicted.<br/>
+ * HOURLY and MINUTELY rules are not supported: they may exceed {@link Recurrence#MAX_OCCURRENCES} within a few days, so such series should be expanded by the client.
+ */
+public class RecurrenceExpander
+{
+	/** Default number of cached series */
+	public static final int CAPACITY = 1000;
+
+	private static final MetaDataKey<RecurrenceExpander> KEY = new MetaDataKey<RecurrenceExpander>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	/**
+	 * Gets the {@link RecurrenceExpander} of the current {@link Application}, installing one with default values if needed
+	 *
+	 * @return the {@link RecurrenceExpander}
+	 */
+	public static RecurrenceExpander get()
+	{
+		return RecurrenceExpander.get(Application.get());
+	}
+
+	/**
+	 * Gets the {@link RecurrenceExpander} of the supplied {@link Application}, installing one with default values if needed
+	 *
+	 * @param application the {@link Application}
+	 * @return the {@link RecurrenceExpander}
+	 */
+	public static RecurrenceExpander get(Application application)
+	{
+		RecurrenceExpander expander = application.getMetaData(KEY);
+
+		if (expander == null)
+		{
+			expander = RecurrenceExpander.installIfAbsent(application);
+		}
+
+		return expander;
+	}
+
+	/**
+	 * Installs a {@link RecurrenceExpander} with default values to the supplied {@link Application}, unless another thread did it in the meantime
+	 *
+	 * @param application the {@link Application}
+	 * @return the {@link RecurrenceExpander}
+	 */
+	private static synchronized RecurrenceExpander installIfAbsent(Application application)
+	{
+		RecurrenceExpander expander = application.getMetaData(KEY);
+
+		if (expander == null)
+		{
+			expander = RecurrenceExpander.install(application, CAPACITY);
+		}
+
+		return expander;
+	}
+
+	/**
+	 * Installs a {@link RecurrenceExpander} to the supplied {@link Application}<br/>
+	 * This should be called from {@link Application#init()} in order to override the default values.
+	 *
+	 * @param application the {@link Application}
+	 * @param capacity the number of cached series
+	 * @return the {@link RecurrenceExpander}
+	 */
+	public static synchronized RecurrenceExpander install(Application application, int capacity)
+	{
+		RecurrenceExpander expander = new RecurrenceExpander(capacity);
+		application.setMetaData(KEY, expander);
+
+		return expander;
+	}
+
+	private final Map<String, Recurrence> cache;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity the number of cached series
+	 */
+	public RecurrenceExpander(final int capacity)
+	{
+		Args.withinRange(1, Integer.MAX_VALUE, capacity, "capacity");
+
+		this.cache = new LinkedHashMap<String, Recurrence>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Recurrence> eldest)
+			{
+				return this.size() > capacity;
+			}
+		};
+	}
+
+	// Methods //
+
+	/**
+	 * Gets the (cached) {@link Recurrence} of a series
+	 *
+	 * @param rule the recurrence rule
+	 * @param start the series start, in milliseconds
+	 * @param exceptions the exception dates, or {@code null}
+	 * @param timezone the {@link TimeZone} the rule is evaluated in
+	 * @return the {@link Recurrence}
+	 * @throws IllegalArgumentException if the rule is malformed or not supported, including HOURLY and MINUTELY rules
+	 */
+	public Recurrence getRecurrence(String rule, long start, String exceptions, TimeZone timezone)
+	{
+		String key = rule + '|' + start + '|' + exceptions + '|' + timezone.getID();
+
+		synchronized (this.cache)
+		{
+			Recurrence recurrence = this.cache.get(key);
+
+			if (recurrence != null)
+			{
+				return recurrence;
+			}
+		}
+
+		RecurrenceRule parsed = RecurrenceRule.parse(rule); // not holding the lock
+
+		if (parsed.getFrequency() == Frequency.HOURLY || parsed.getFrequency() == Frequency.MINUTELY)
+		{
+			throw new IllegalArgumentException(String.format("Recurrence rule '%s' is not expanded on the server, its frequency is less than a day", rule));
+		}
+
+		Recurrence recurrence = new Recurrence(parsed, start, timezone, exceptions);
+
+		synchronized (this.cache)
+		{
+			this.cache.put(key, recurrence);
+		}
+
+		return recurrence;
+	}
+
+	/**
+	 * Expands a recurring event to its occurrences that intersect the supplied period<br/>
+	 * The occurrences are given decreasing ids, from the supplied id onward (ie: -1, -2, -3), which should not be used by other events of the same response.
+	 *
+	 * @param event the recurring {@link SchedulerEvent}
+	 * @param id the id of the first occurrence, which should be negative
+	 * @param start the period start
+	 * @param end the period end
+	 * @param timezone the {@link TimeZone} the rule is evaluated in
+	 * @return the list of occurrences, see {@link SchedulerEvent#newOccurrence(int, long, long)}
+	 * @throws IllegalArgumentException if the rule is malformed or not supported
+	 */
+	public List<SchedulerEvent> expand(SchedulerEvent event, int id, Date start, Date end, TimeZone timezone)
+	{
+		long duration = Math.max(0, event.getEnd().getTime() - event.getStart().getTime());
+		Recurrence recurrence = this.getRecurrence(event.getRecurrenceRule(), event.getStart().getTime(), event.getRecurrenceException(), timezone);
+
+		long from = duration > 0 ? start.getTime() - duration + 1 : start.getTime(); // occurrences that end after the period start
+
+		List<SchedulerEvent> list = new ArrayList<SchedulerEvent>();
+
+		for (long time : recurrence.getOccurrences(from, end.getTime()))
+		{
+			list.add(event.newOccurrence(id - list.size(), time, time + duration));
+		}
+
+		return list;
+	}
+
+	/**
+	 * Clears the cached series
+	 */
+	public void clear()
+	{
+		synchronized (this.cache)
+		{
+			this.cache.clear();
+		}
+	}
+}
@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.kendo.ui.scheduler.recurrence;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Provides a parsed RFC 5545 recurrence rule, as used by {@code SchedulerEvent#getRecurrenceRule()} (ie: "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;COUNT=10")<br/>
+ * Supported rule parts are FREQ, INTERVAL, COUNT, UNTIL, BYMONTH, BYMONTHDAY, BYDAY (with ordinals for MONTHLY and YEARLY rules), BYSETPOS and WKST.
+ * Other parts (BYYEARDAY, BYWEEKNO, BYHOUR, BYMINUTE, BYSECOND) are not supported and make {@link #parse(String)} fail, so that the rule can be left to the client.
+ */
+public class RecurrenceRule implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** Provides an enum of the recurrence frequencies */
+	public enum Frequency
+	{
+		MINUTELY, HOURLY, DAILY, WEEKLY, MONTHLY, YEARLY
+	}
+
+	private static final String[] WEEKDAYS = { "SU", "MO", "TU", "WE", "TH", "FR", "SA" }; // indexed by Calendar.DAY_OF_WEEK - 1
+
+	private final String rule;
+	private Frequency frequency = null;
+	private int interval = 1;
+	private int count = 0;
+	private String until = null;
+	private int[] byMonth = null;
+	private int[] byMonthDay = null;
+	private int[] byDay = null;
+	private int[] byDayOrdinal = null;
+	private int[] bySetPos = null;
+	private int weekStart = Calendar.MONDAY;
+
+	/**
+	 * Parses a recurrence rule
+	 *
+	 * @param rule the rule, ie: "FREQ=DAILY;COUNT=5", optionally prefixed by "RRULE:"
+	 * @return the {@link RecurrenceRule}
+	 * @throws IllegalArgumentException if the rule is malformed or uses an unsupported rule part
+	 */
+	public static RecurrenceRule parse(String rule)
+	{
+		if (rule == null || rule.trim().isEmpty())
+		{
+			throw new IllegalArgumentException("The recurrence rule is empty");
+		}
+
+		return new RecurrenceRule(rule.trim());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param rule the rule
+	 */
+	private RecurrenceRule(String rule)
+	{
+		this.rule = rule;
+
+		String text = rule.toUpperCase(Locale.ROOT);
+
+		if (text.startsWith("RRULE:"))
+		{
+			text = text.substring(6);
+		}
+
+		for (String part : text.split(";"))
+		{
+			if (part.isEmpty())
+			{
+				continue;
+			}
+
+			int equal = part.indexOf('=');
+
+			if (equal < 1)
+			{
+				throw this.newException("malformed rule part '" + part + "'");
+			}
+
+			this.parse(part.substring(0, equal), part.substring(equal + 1));
+		}
+
+		if (this.frequency == null)
+		{
+			throw this.newException("FREQ is missing");
+		}
+
+		if (this.byDayOrdinal != null && this.frequency != Frequency.MONTHLY && this.frequency != Frequency.YEARLY)
+		{
+			for (int ordinal : this.byDayOrdinal)
+			{
+				if (ordinal != 0)
+				{
+					throw this.newException("BYDAY ordinals are only allowed for MONTHLY and YEARLY rules");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Parses a rule part
+	 *
+	 * @param name the rule part name
+	 * @param value the rule part value
+	 */
+	private void parse(String name, String value)
+	{
+		try
+		{
+			if ("FREQ".equals(name))
+			{
+				this.frequency = Frequency.valueOf(value);
+			}
+			else if ("INTERVAL".equals(name))
+			{
+				this.interval = RecurrenceRule.positive(Integer.parseInt(value));
+			}
+			else if ("COUNT".equals(name))
+			{
+				this.count = RecurrenceRule.positive(Integer.parseInt(value));
+			}
+			else if ("UNTIL".equals(name))
+			{
+				this.until = value;
+			}
+			else if ("BYMONTH".equals(name))
+			{
+				this.byMonth = RecurrenceRule.toInts(value, 1, 12, false);
+			}
+			else if ("BYMONTHDAY".equals(name))
+			{
+				this.byMonthDay = RecurrenceRule.toInts(value, 1, 31, true);
+			}
+			else if ("BYSETPOS".equals(name))
+			{
+				this.bySetPos = RecurrenceRule.toInts(value, 1, 366, true);
+			}
+			else if ("BYDAY".equals(name))
+			{
+				this.parseByDay(value);
+			}
+			else if ("WKST".equals(name))
+			{
+				this.weekStart = RecurrenceRule.toWeekday(value);
+			}
+			else
+			{
+				throw this.newException(name + " is not supported");
+			}
+		}
+		catch (IllegalArgumentException e) // includes NumberFormatException
+		{
+			if (e.getMessage() != null && e.getMessage().startsWith("Invalid recurrence rule"))
+			{
+				throw e;
+			}
+
+			throw this.newException("invalid " + name + " value '" + value + "'");
+		}
+	}
+
+	/**
+	 * Parses the BYDAY rule part, ie: "MO,WE" or "1MO,-1FR"
+	 *
+	 * @param value the rule part value
+	 */
+	private void parseByDay(String value)
+	{
+		String[] days = value.split(",");
+
+		this.byDay = new int[days.length];
+		this.byDayOrdinal = new int[days.length];
+
+		for (int i = 0; i < days.length; i++)
+		{
+			String day = days[i].trim();
+
+			if (day.length() < 2)
+			{
+				throw new IllegalArgumentException(day);
+			}
+
+			int split = day.length() - 2;
+
+			this.byDay[i] = RecurrenceRule.toWeekday(day.substring(split));
+			this.byDayOrdinal[i] = split > 0 ? Integer.parseInt(day.substring(0, split).replace("+", "")) : 0;
+
+			if (this.byDayOrdinal[i] < -53 || this.byDayOrdinal[i] > 53)
+			{
+				throw new IllegalArgumentException(day);
+			}
+		}
+	}
+
+	/**
+	 * Gets a new {@link IllegalArgumentException}
+	 *
+	 * @param message the reason
+	 * @return a new {@link IllegalArgumentException}
+	 */
+	private IllegalArgumentException newException(String message)
+	{
+		return new IllegalArgumentException(String.format("Invalid recurrence rule '%s': %s", this.rule, message));
+	}
+
+	// Properties //
+
+	/**
+	 * Gets the {@link Frequency}
+	 *
+	 * @return the {@link Frequency}
+	 */
+	public Frequency getFrequency()
+	{
+		return this.frequency;
+	}
+
+	/**
+	 * Gets the interval
+	 *
+	 * @return the interval, 1 by default
+	 */
+	public int getInterval()
+	{
+		return this.interval;
+	}
+
+	/**
+	 * Gets the maximum number of occurrences
+	 *
+	 * @return the count, or 0 if not bounded by a count
+	 */
+	public int getCount()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Gets the UNTIL value, ie: "20150610T215959Z", "20150610T215959" or "20150610"
+	 *
+	 * @return the UNTIL value, or {@code null} if not bounded by a date
+	 */
+	public String getUntil()
+	{
+		return this.until;
+	}
+
+	/**
+	 * Gets the BYMONTH values (1 to 12)
+	 *
+	 * @return the BYMONTH values, or {@code null}
+	 */
+	public int[] getByMonth()
+	{
+		return this.byMonth;
+	}
+
+	/**
+	 * Gets the BYMONTHDAY values (1 to 31, or -31 to -1 from the end of the month)
+	 *
+	 * @return the BYMONTHDAY values, or {@code null}
+	 */
+	public int[] getByMonthDay()
+	{
+		return this.byMonthDay;
+	}
+
+	/**
+	 * Gets the BYDAY weekdays, as {@link Calendar#DAY_OF_WEEK} values
+	 *
+	 * @return the BYDAY weekdays, or {@code null}
+	 * @see #getByDayOrdinal()
+	 */
+	public int[] getByDay()
+	{
+		return this.byDay;
+	}
+
+	/**
+	 * Gets the BYDAY ordinals, 0 meaning every weekday of the period
+	 *
+	 * @return the BYDAY ordinals, or {@code null}
+	 * @see #getByDay()
+	 */
+	public int[] getByDayOrdinal()
+	{
+		return this.byDayOrdinal;
+	}
+
+	/**
+	 * Gets the BYSETPOS values
+	 *
+	 * @return the BYSETPOS values, or {@code null}
+	 */
+	public int[] getBySetPos()
+	{
+		return this.bySetPos;
+	}
+
+	/**
+	 * Gets the first day of the week, as a {@link Calendar#DAY_OF_WEEK} value
+	 *
+	 * @return {@link Calendar#MONDAY} by default
+	 */
+	public int getWeekStart()
+	{
+		return this.weekStart;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.rule;
+	}
+
+	// Helpers //
+
+	/**
+	 * Checks that the value is positive
+	 *
+	 * @param value the value
+	 * @return the value
+	 */
+	private static int positive(int value)
+	{
+		if (value < 1)
+		{
+			throw new IllegalArgumentException(String.valueOf(value));
+		}
+
+		return value;
+	}
+
+	/**
+	 * Parses a comma separated list of integers
+	 *
+	 * @param value the list
+	 * @param min the minimum absolute value
+	 * @param max the maximum absolute value
+	 * @param negative whether negative values are allowed
+	 * @return the integers
+	 */
+	private static int[] toInts(String value, int min, int max, boolean negative)
+	{
+		List<Integer> list = new ArrayList<Integer>();
+
+		for (String item : value.split(","))
+		{
+			int i = Integer.parseInt(item.trim().replace("+", ""));
+
+			if ((i < 0 && !negative) || Math.abs(i) < min || Math.abs(i) > max)
+			{
+				throw new IllegalArgumentException(item);
+			}
+
+			list.add(i);
+		}
+
+		int[] ints = new int[list.size()];
+
+		for (int i = 0; i < ints.length; i++)
+		{
+			ints[i] = list.get(i);
+		}
+
+		return ints;
+	}
+
+	/**
+	 * Converts a two-letter weekday to a {@link Calendar#DAY_OF_WEEK} value
+	 *
+	 * @param weekday the weekday, ie: "MO"
+	 * @return the {@link Calendar#DAY_OF_WEEK} value
+	 */
+	private static int toWeekday(String weekday)
+	{
+		for (int i = 0; i < WEEKDAYS.length; i++)
+		{
+			if (WEEKDAYS[i].equals(weekday))
+			{
+				return i + 1;
+			}
+		}
+
+		throw new IllegalArgumentException(weekday);
+	}
+}
@@ -19,6 +19,7 @@ package com.googlecode.wicket.kendo.ui.settings;
 import org.apache.wicket.request.resource.ResourceReference;
 
 import com.googlecode.wicket.kendo.ui.resource.KendoUIJavaScriptResourceReference;
+import com.googlecode.wicket.kendo.ui.resource.KendoUIModules;
 
 /**
  * Provides library settings for Kendo UI resource references<br/>
@@ -68,6 +69,7 @@ public class KendoUILibrarySettings
 	private ResourceReference javascriptReference = KendoUIJavaScriptResourceReference.get();
 	private ResourceReference stylesheetReferenceC = null;
 	private ResourceReference stylesheetReferenceT = null;
+	private boolean modularReferencesEnabled = false;
 
 	/**
 	 * Constructor
@@ -97,6 +99,28 @@ public class KendoUILibrarySettings
 		this.javascriptReference = reference;
 	}
 
+	/**
+	 * Indicates whether Kendo UI is rendered by modules (see {@link KendoUIModules}), each behavior rendering only the modules its widget depends on<br/>
+	 * The module of each widget used by the application should be registered, the library is not rendered at all.
+	 *
+	 * @return {@code false} by default, because the module files are not shipped with this library
+	 */
+	public boolean isModularReferencesEnabled()
+	{
+		return this.modularReferencesEnabled;
+	}
+
+	/**
+	 * Sets whether Kendo UI is rendered by modules, or as a whole<br/>
+	 * The module files should be supplied by the application, see {@link KendoUIModules}
+	 *
+	 * @param enabled {@code true} or {@code false}
+	 */
+	public void setModularReferencesEnabled(boolean enabled)
+	{
+		this.modularReferencesEnabled = enabled;
+	}
+
 	/**
 	 * Gets the Kendo UI common stylesheet resource reference
 	 *